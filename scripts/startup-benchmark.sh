@@ -0,0 +1,88 @@
+#!/usr/bin/env bash
+#
+# Startup-time benchmark: regular jar vs. the fast-start (AOT + CDS) artifact.
+#
+# Measures wall-clock time from process launch until /actuator/health/readiness
+# reports UP (i.e. including schedule warm-up), RUNS times per variant, and prints
+# min / median / max in milliseconds.
+#
+# Needs a reachable database for the chosen profiles (dev: see application-dev.properties).
+#
+#   RUNS=10 PROFILES=dev scripts/startup-benchmark.sh
+#   SKIP_BUILD=1 scripts/startup-benchmark.sh          # reuse the artifacts in $BENCH_DIR
+#   EXTRA_ARGS="--booking.warmup.enabled=false" scripts/startup-benchmark.sh
+#
+set -euo pipefail
+
+RUNS=${RUNS:-5}
+PROFILES=${PROFILES:-dev}
+PORT=${PORT:-18080}
+TIMEOUT_S=${TIMEOUT_S:-180}
+EXTRA_ARGS=${EXTRA_ARGS:-}
+MVN=${MVN:-mvn}
+
+cd "$(dirname "$0")/.."
+
+ARTIFACT=booking-service-0.0.1-SNAPSHOT.jar
+# outside target/ so the clean builds below do not wipe it
+BENCH_DIR=${BENCH_DIR:-${TMPDIR:-/tmp}/booking-startup-bench}
+
+if [[ -z "${SKIP_BUILD:-}" ]]; then
+    rm -rf "$BENCH_DIR"
+    mkdir -p "$BENCH_DIR"
+
+    # Both builds write target/$ARTIFACT, so copy each result away before the next build
+    "$MVN" -q -B clean package -DskipTests
+    mkdir -p "$BENCH_DIR/plain"
+    cp "target/$ARTIFACT" "$BENCH_DIR/plain/$ARTIFACT"
+
+    "$MVN" -q -B clean package -Pfast-start -DskipTests -Dfast-start.profiles="$PROFILES"
+    cp -r target/fast-start "$BENCH_DIR/fast-start"
+fi
+
+measure() {
+    local label=$1
+    shift
+    local results=()
+
+    for ((i = 1; i <= RUNS; i++)); do
+        local log="$BENCH_DIR/$label-$i.log"
+        local start end pid
+        start=$(date +%s%N)
+
+        # shellcheck disable=SC2086
+        "$@" --spring.profiles.active="$PROFILES" --server.port="$PORT" $EXTRA_ARGS >"$log" 2>&1 &
+        pid=$!
+
+        until curl -fs "http://localhost:$PORT/actuator/health/readiness" 2>/dev/null | grep -q '"UP"'; do
+            if ! kill -0 "$pid" 2>/dev/null; then
+                echo "$label run $i: process exited early, see $log" >&2
+                exit 1
+            fi
+            if (( ($(date +%s%N) - start) / 1000000000 > TIMEOUT_S )); then
+                kill "$pid"
+                echo "$label run $i: not ready after ${TIMEOUT_S}s, see $log" >&2
+                exit 1
+            fi
+            sleep 0.05
+        done
+
+        end=$(date +%s%N)
+        kill "$pid"
+        wait "$pid" 2>/dev/null || true
+
+        results+=($(( (end - start) / 1000000 )))
+    done
+
+    local sorted
+    sorted=($(printf '%s\n' "${results[@]}" | sort -n))
+    printf '%-12s runs=%-3d min=%6d ms  median=%6d ms  max=%6d ms\n' \
+        "$label" "$RUNS" "${sorted[0]}" "${sorted[$((RUNS / 2))]}" "${sorted[$((RUNS - 1))]}"
+}
+
+measure plain \
+    java -jar "$BENCH_DIR/plain/$ARTIFACT"
+
+measure fast-start \
+    java -XX:SharedArchiveFile="$BENCH_DIR/fast-start/application.jsa" -Dspring.aot.enabled=true \
+         -jar "$BENCH_DIR/fast-start/$ARTIFACT"
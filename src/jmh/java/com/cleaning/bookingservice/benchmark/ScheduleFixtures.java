@@ -0,0 +1,116 @@
+package com.cleaning.bookingservice.benchmark;
+
+import com.cleaning.bookingservice.constants.BookingServiceConstants;
+import com.cleaning.bookingservice.constants.BookingServiceConstants.BookingBlockType;
+import com.cleaning.bookingservice.entity.AvailabilityBlock;
+import com.cleaning.bookingservice.entity.CleanerProfessional;
+import com.cleaning.bookingservice.entity.Vehicle;
+import com.cleaning.bookingservice.repository.AvailabilityBlockRepository;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Deterministic fleets and day schedules shared by the JMH benchmarks.
+ * Everything is seeded so two runs (or two releases) measure the same inputs.
+ */
+public final class ScheduleFixtures {
+
+    public static final LocalDate DAY = LocalDate.of(2025, 1, 6);   // a Monday
+
+    private ScheduleFixtures() {
+    }
+
+    public static List<Vehicle> vehicles(int fleetSize) {
+        List<Vehicle> vehicles = new ArrayList<>(fleetSize);
+        for (long id = 1; id <= fleetSize; id++) {
+            Vehicle v = new Vehicle();
+            v.setId(id);
+            v.setName("Vehicle " + id);
+            v.setZone(BookingServiceConstants.DEFAULT_ZONE);
+            vehicles.add(v);
+        }
+        return vehicles;
+    }
+
+    public static List<CleanerProfessional> cleaners(List<Vehicle> vehicles, int cleanersPerVehicle) {
+        List<CleanerProfessional> cleaners = new ArrayList<>(vehicles.size() * cleanersPerVehicle);
+        long id = 1;
+        for (Vehicle v : vehicles) {
+            for (int i = 0; i < cleanersPerVehicle; i++, id++) {
+                CleanerProfessional c = new CleanerProfessional();
+                c.setId(id);
+                c.setName("Cleaner " + id);
+                c.setVehicle(v);
+                cleaners.add(c);
+            }
+        }
+        return cleaners;
+    }
+
+    /**
+     * {@code count} blocks spread over the working day, alternating BOOKED and BREAK,
+     * with jittered lengths so a share of them overlap and have to be merged.
+     */
+    public static List<AvailabilityBlock> dayBlocks(long cleanerId, int count, Random random) {
+        int workStart = BookingServiceConstants.WORK_START_MINUTES;
+        int workEnd = BookingServiceConstants.WORK_END_MINUTES;
+        int slot = Math.max(1, (workEnd - workStart) / count);
+
+        List<AvailabilityBlock> blocks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int start = workStart + i * slot + random.nextInt(Math.max(1, slot / 4));
+            int length = Math.max(5, slot / 2 + random.nextInt(slot));
+            int end = Math.min(workEnd, start + length);
+            BookingBlockType type = i % 2 == 0 ? BookingBlockType.BOOKED : BookingBlockType.BREAK;
+            blocks.add(block(cleanerId, start, end, type));
+        }
+        return blocks;
+    }
+
+    public static AvailabilityBlock block(long cleanerId, int startMinutes, int endMinutes, BookingBlockType type) {
+        AvailabilityBlock b = new AvailabilityBlock();
+        b.setCleanerId(cleanerId);
+        b.setStartDatetime(DAY.atStartOfDay().plusMinutes(startMinutes));
+        b.setEndDatetime(DAY.atStartOfDay().plusMinutes(endMinutes));
+        b.setBlockType(type.name());
+        return b;
+    }
+
+    /**
+     * Repository stand-in answering {@code hasOverlap} and {@code findBlocksForCleanersBetween}
+     * from memory, so team selection is measured without a database round trip. Any other repository call fails loudly.
+     */
+    public static AvailabilityBlockRepository inMemoryBlocks(Map<Long, List<AvailabilityBlock>> blocksByCleaner) {
+        return (AvailabilityBlockRepository) Proxy.newProxyInstance(
+                AvailabilityBlockRepository.class.getClassLoader(),
+                new Class<?>[]{AvailabilityBlockRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findBlocksForCleanersBetween")) {
+                        List<AvailabilityBlock> rows = new ArrayList<>();
+                        for (Object cleanerId : (Collection<?>) args[0]) {
+                            for (AvailabilityBlock b : blocksByCleaner.getOrDefault((Long) cleanerId, List.of())) {
+                                if (!b.getStartDatetime().isBefore((LocalDateTime) args[1])
+                                        && b.getStartDatetime().isBefore((LocalDateTime) args[2])) {
+                                    rows.add(b);
+                                }
+                            }
+                        }
+                        return rows;
+                    }
+                    if (!method.getName().equals("hasOverlap")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    LocalDateTime start = (LocalDateTime) args[1];
+                    LocalDateTime end = (LocalDateTime) args[2];
+                    for (AvailabilityBlock b : blocksByCleaner.getOrDefault((Long) args[0], List.of())) {
+                        if (b.getStartDatetime().isBefore(end) && b.getEndDatetime().isAfter(start)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                });
+    }
+}
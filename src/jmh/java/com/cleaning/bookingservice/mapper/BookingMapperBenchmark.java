@@ -0,0 +1,50 @@
+package com.cleaning.bookingservice.mapper;
+
+import com.cleaning.bookingservice.benchmark.ScheduleFixtures;
+import com.cleaning.bookingservice.dto.response.BookingResponse;
+import com.cleaning.bookingservice.entity.Booking;
+import com.cleaning.bookingservice.entity.BookingCleaner;
+import com.cleaning.bookingservice.entity.CleanerProfessional;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BookingMapperBenchmark {
+
+    @Param({"1", "3"})
+    public int cleanersPerBooking;
+
+    private Booking booking;
+
+    @Setup
+    public void setUp() {
+        List<CleanerProfessional> cleaners =
+                ScheduleFixtures.cleaners(ScheduleFixtures.vehicles(1), cleanersPerBooking);
+
+        booking = new Booking();
+        booking.setId(1L);
+        booking.setStartDatetime(ScheduleFixtures.DAY.atTime(10, 0));
+        booking.setEndDatetime(ScheduleFixtures.DAY.atTime(12, 0));
+        booking.setDurationInHours(2);
+        booking.setRequestedCleanerCount(cleanersPerBooking);
+        booking.setAssignedCleaners(cleaners.stream()
+                .map(c -> {
+                    BookingCleaner bc = new BookingCleaner();
+                    bc.setBooking(booking);
+                    bc.setCleaner(c);
+                    return bc;
+                })
+                .toList());
+    }
+
+    @Benchmark
+    public BookingResponse toResponse() {
+        return BookingMapper.toResponse(booking);
+    }
+}
@@ -0,0 +1,72 @@
+package com.cleaning.bookingservice.schedule;
+
+import com.cleaning.bookingservice.benchmark.ScheduleFixtures;
+import com.cleaning.bookingservice.constants.BookingServiceConstants;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One vehicle's free-cleaner index: building it (done once per vehicle-day and after each write to
+ * one of its cleaners) and asking who is free during a window (done once per vehicle by team
+ * selection and time-filtered availability). Windows are cycled so no single answer is learned.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FreeCleanerIndexBenchmark {
+
+    private static final int WINDOWS = 64;
+
+    @Param({"3", "5", "10"})
+    public int cleanersPerVehicle;
+
+    @Param({"2", "8", "32"})
+    public int blocksPerCleaner;
+
+    private long dayStart;
+    private List<List<CleanerTimeline.Block>> blocks;
+    private FreeCleanerIndex index;
+    private long[] windowStarts;
+    private long[] windowEnds;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        dayStart = CleanerTimeline.epoch(ScheduleFixtures.DAY.atStartOfDay());
+        blocks = new ArrayList<>(cleanersPerVehicle);
+        for (long cleanerId = 1; cleanerId <= cleanersPerVehicle; cleanerId++) {
+            blocks.add(ScheduleFixtures.dayBlocks(cleanerId, blocksPerCleaner, random).stream()
+                    .map(CleanerTimeline.Block::of)
+                    .toList());
+        }
+        index = FreeCleanerIndex.build(dayStart, blocks);
+
+        int workStart = BookingServiceConstants.WORK_START_MINUTES * 60;
+        int workEnd = BookingServiceConstants.WORK_END_MINUTES * 60;
+        windowStarts = new long[WINDOWS];
+        windowEnds = new long[WINDOWS];
+        for (int i = 0; i < WINDOWS; i++) {
+            int length = (random.nextBoolean() ? 2 : 4) * 3600;
+            windowStarts[i] = workStart + random.nextInt(workEnd - workStart - length);
+            windowEnds[i] = windowStarts[i] + length;
+        }
+    }
+
+    @Benchmark
+    public FreeCleanerIndex build() {
+        return FreeCleanerIndex.build(dayStart, blocks);
+    }
+
+    @Benchmark
+    public long freeDuring() {
+        cursor = (cursor + 1) & (WINDOWS - 1);
+        return index.freeDuring(windowStarts[cursor], windowEnds[cursor]);
+    }
+}
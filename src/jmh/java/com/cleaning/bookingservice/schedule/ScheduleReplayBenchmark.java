@@ -0,0 +1,101 @@
+package com.cleaning.bookingservice.schedule;
+
+import com.cleaning.bookingservice.benchmark.ScheduleFixtures;
+import com.cleaning.bookingservice.entity.AvailabilityBlock;
+import com.cleaning.bookingservice.entity.ScheduleEvent;
+import com.cleaning.bookingservice.entity.ScheduleSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rebuilding one zone-day (25 cleaners) from the event log: replaying every event since the day
+ * was first written, against the compacted form the log actually keeps (snapshot plus fewer than
+ * {@code snapshot-every} events). Each cleaner's history is a handful of bookings followed by
+ * {@code eventsPerCleaner} moves, the worst case for a long-lived stream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ScheduleReplayBenchmark {
+
+    private static final int CLEANERS = 25;
+    private static final int BLOCKS_PER_CLEANER = 8;
+
+    @Param({"32", "256", "1024"})
+    public int eventsPerCleaner;
+
+    @Param({"32"})
+    public int snapshotEvery;
+
+    private List<ScheduleEvent> fullLog;
+    private List<ScheduleSnapshot> snapshots;
+    private List<ScheduleEvent> tail;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        fullLog = new ArrayList<>();
+        snapshots = new ArrayList<>();
+        tail = new ArrayList<>();
+
+        for (long cleanerId = 1; cleanerId <= CLEANERS; cleanerId++) {
+            List<ScheduleEvent> stream = new ArrayList<>();
+            List<AvailabilityBlock> current = new ArrayList<>(
+                    ScheduleFixtures.dayBlocks(cleanerId, BLOCKS_PER_CLEANER, random));
+            for (AvailabilityBlock b : current) {
+                stream.add(event(ScheduleEvent.Type.ADD, b, null, null, stream.size() + 1));
+            }
+            while (stream.size() < eventsPerCleaner) {
+                AvailabilityBlock b = current.get(random.nextInt(current.size()));
+                LocalDateTime fromStart = b.getStartDatetime();
+                LocalDateTime fromEnd = b.getEndDatetime();
+                int shift = (random.nextInt(5) - 2) * 5;
+                b.setStartDatetime(fromStart.plusMinutes(shift));
+                b.setEndDatetime(fromEnd.plusMinutes(shift));
+                stream.add(event(ScheduleEvent.Type.MOVE, b, fromStart, fromEnd, stream.size() + 1));
+            }
+            fullLog.addAll(stream);
+
+            int folded = (stream.size() / snapshotEvery) * snapshotEvery;
+            CleanerTimeline timeline = new CleanerTimeline();
+            stream.subList(0, folded).forEach(e -> ScheduleEventLog.apply(timeline, e));
+            ScheduleSnapshot s = new ScheduleSnapshot();
+            s.setCleanerId(cleanerId);
+            s.setScheduleDate(ScheduleFixtures.DAY);
+            s.setLastSeq(folded);
+            s.setBlocks(ScheduleEventLog.encode(timeline.all()));
+            snapshots.add(s);
+            tail.addAll(stream.subList(folded, stream.size()));
+        }
+    }
+
+    private static ScheduleEvent event(ScheduleEvent.Type type, AvailabilityBlock b,
+                                       LocalDateTime fromStart, LocalDateTime fromEnd, int seq) {
+        ScheduleEvent e = new ScheduleEvent();
+        e.setCleanerId(b.getCleanerId());
+        e.setScheduleDate(ScheduleFixtures.DAY);
+        e.setSeq(seq);
+        e.setEventType(type);
+        e.setBlockType(b.getBlockType());
+        e.setStartDatetime(b.getStartDatetime());
+        e.setEndDatetime(b.getEndDatetime());
+        e.setFromStart(fromStart);
+        e.setFromEnd(fromEnd);
+        return e;
+    }
+
+    @Benchmark
+    public Map<ScheduleEventLog.CleanerDay, CleanerTimeline> fullReplay() {
+        return ScheduleEventLog.replay(List.of(), fullLog);
+    }
+
+    @Benchmark
+    public Map<ScheduleEventLog.CleanerDay, CleanerTimeline> snapshotPlusTail() {
+        return ScheduleEventLog.replay(snapshots, tail);
+    }
+}
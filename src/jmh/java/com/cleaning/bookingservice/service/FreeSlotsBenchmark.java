@@ -0,0 +1,74 @@
+package com.cleaning.bookingservice.service;
+
+import com.cleaning.bookingservice.benchmark.ScheduleFixtures;
+import com.cleaning.bookingservice.constants.BookingServiceConstants.BookingBlockType;
+import com.cleaning.bookingservice.entity.AvailabilityBlock;
+import com.cleaning.bookingservice.metrics.BookingMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.antlr.v4.runtime.misc.Interval;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-cleaner free-slot computation: the work availability does once for every cleaner in a zone.
+ * A pool of different schedules is cycled through so one branch pattern doesn't get learned.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FreeSlotsBenchmark {
+
+    private static final int POOL = 64;
+
+    @Param({"2", "8", "32"})
+    public int blocksPerCleaner;
+
+    private AvailabilityServiceImpl service;
+    private List<List<AvailabilityBlock>> blocks;
+    private List<List<Interval>> busy;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        service = new AvailabilityServiceImpl();
+        ReflectionTestUtils.setField(service, "bookingMetrics", new BookingMetrics(new SimpleMeterRegistry()));
+
+        Random random = new Random(42);
+        blocks = new ArrayList<>(POOL);
+        busy = new ArrayList<>(POOL);
+        for (long cleanerId = 1; cleanerId <= POOL; cleanerId++) {
+            List<AvailabilityBlock> day = ScheduleFixtures.dayBlocks(cleanerId, blocksPerCleaner, random);
+            blocks.add(day);
+            busy.add(day.stream()
+                    .filter(b -> !BookingBlockType.FREE.name().equals(b.getBlockType()))
+                    .map(b -> new Interval(
+                            b.getStartDatetime().toLocalTime().toSecondOfDay() / 60,
+                            b.getEndDatetime().toLocalTime().toSecondOfDay() / 60))
+                    .sorted(Comparator.comparingInt(i -> i.a))
+                    .toList());
+        }
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (POOL - 1);
+        return cursor;
+    }
+
+    @Benchmark
+    public List<String> calculateFreeSlots() {
+        return service.calculateFreeSlots(blocks.get(next()));
+    }
+
+    @Benchmark
+    public List<Interval> mergeBusy() {
+        return service.mergeBusy(busy.get(next()));
+    }
+}
@@ -0,0 +1,104 @@
+package com.cleaning.bookingservice.service;
+
+import com.cleaning.bookingservice.benchmark.ScheduleFixtures;
+import com.cleaning.bookingservice.constants.BookingServiceConstants.BookingBlockType;
+import com.cleaning.bookingservice.entity.AvailabilityBlock;
+import com.cleaning.bookingservice.entity.CleanerProfessional;
+import com.cleaning.bookingservice.entity.Vehicle;
+import com.cleaning.bookingservice.fleet.ZoneFleet;
+import com.cleaning.bookingservice.metrics.BookingMetrics;
+import com.cleaning.bookingservice.schedule.RelationalScheduleStore;
+import com.cleaning.bookingservice.schedule.ScheduleCache;
+import com.cleaning.bookingservice.schedule.ScheduleVersions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Team selection for a 10:00-12:00 booking, worst case: every vehicle but the last is busy in
+ * that window, so the scan walks the whole fleet before it finds a team. The overlap checks run
+ * against a preloaded {@link ScheduleCache}, as in production once the day is loaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TeamSelectionBenchmark {
+
+    private static final int REQUEST_START = 10 * 60;
+    private static final int REQUEST_END = 12 * 60;
+
+    @Param({"5", "50", "200"})
+    public int fleetSize;
+
+    @Param({"3", "5", "10"})
+    public int cleanersPerVehicle;
+
+    @Param({"2", "8", "32"})
+    public int blocksPerCleaner;
+
+    private BookingServiceImpl service;
+    private ZoneFleet fleet;
+    private List<Long> vehicleOrder;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private int requestedCount;
+
+    @Setup
+    public void setUp() {
+        List<Vehicle> vehicles = ScheduleFixtures.vehicles(fleetSize);
+        List<CleanerProfessional> cleaners = ScheduleFixtures.cleaners(vehicles, cleanersPerVehicle);
+        long freeVehicleId = vehicles.get(vehicles.size() - 1).getId();
+
+        Random random = new Random(42);
+        Map<Long, List<AvailabilityBlock>> blocksByCleaner = new HashMap<>();
+        for (CleanerProfessional c : cleaners) {
+            List<AvailabilityBlock> day = new ArrayList<>(ScheduleFixtures.dayBlocks(c.getId(), blocksPerCleaner, random));
+            if (c.getVehicle().getId() == freeVehicleId) {
+                day.removeIf(b -> minuteOf(b.getStartDatetime()) < REQUEST_END
+                        && minuteOf(b.getEndDatetime()) > REQUEST_START);
+            } else {
+                day.add(ScheduleFixtures.block(c.getId(), REQUEST_START + 60, REQUEST_START + 90, BookingBlockType.BOOKED));
+            }
+            day.sort(Comparator.comparing(AvailabilityBlock::getStartDatetime));
+            blocksByCleaner.put(c.getId(), day);
+        }
+
+        fleet = ZoneFleet.of(vehicles.get(0).getZone(), vehicles, cleaners);
+        vehicleOrder = vehicles.stream().map(Vehicle::getId).toList();
+        start = ScheduleFixtures.DAY.atStartOfDay().plusMinutes(REQUEST_START);
+        end = ScheduleFixtures.DAY.atStartOfDay().plusMinutes(REQUEST_END);
+        requestedCount = Math.min(3, cleanersPerVehicle);
+
+        ScheduleCache scheduleCache = new ScheduleCache(
+                new RelationalScheduleStore(ScheduleFixtures.inMemoryBlocks(blocksByCleaner)),
+                new ScheduleVersions(), Long.MAX_VALUE);
+        scheduleCache.preload(fleet, ScheduleFixtures.DAY, 1);
+
+        service = new BookingServiceImpl(
+                null,
+                null,
+                null,
+                null,
+                null,
+                scheduleCache,
+                null,
+                null,
+                new BookingMetrics(new SimpleMeterRegistry()),
+                null,
+                new BookingAlternatives(scheduleCache, 3, 30, 1));
+    }
+
+    private static int minuteOf(LocalDateTime t) {
+        return t.toLocalTime().toSecondOfDay() / 60;
+    }
+
+    @Benchmark
+    public List<CleanerProfessional> findAvailableCleaners() {
+        return service.findAvailableCleaners(fleet, vehicleOrder, start, end, requestedCount);
+    }
+}
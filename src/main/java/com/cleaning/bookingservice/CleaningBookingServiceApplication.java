@@ -2,8 +2,13 @@ package com.cleaning.bookingservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// R2DBC belongs to the reactive availability service (reactive.ReactiveAvailabilityApplication); the
+// packaged jar leaves it out, but it is on the classpath under spring-boot:run and in tests
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@EnableScheduling
 public class CleaningBookingServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,69 @@
+package com.cleaning.bookingservice.bulkhead;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A fixed number of permits for one class of requests. Callers that find no permit wait up to
+ * the acquire timeout and are then turned away. Under virtual threads, waiting here costs
+ * almost nothing; waiting inside the connection pool holds whatever the request already locked.
+ *
+ * <p>Metrics: {@code booking.bulkhead.active} and {@code booking.bulkhead.rejected}, tagged with
+ * the bulkhead name.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int permits;
+    private final long acquireTimeoutMillis;
+    private final Semaphore semaphore;
+    private final Counter rejected;
+
+    public Bulkhead(String name, int permits, long acquireTimeoutMillis, MeterRegistry registry) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("Bulkhead " + name + " needs at least one permit");
+        }
+        this.name = name;
+        this.permits = permits;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        // fair: a long wait should not be overtaken indefinitely by new arrivals
+        this.semaphore = new Semaphore(permits, true);
+        this.rejected = Counter.builder("booking.bulkhead.rejected")
+                .description("Requests turned away because the bulkhead stayed full")
+                .tag("bulkhead", name)
+                .register(registry);
+        Gauge.builder("booking.bulkhead.active", this, Bulkhead::active)
+                .description("Requests currently holding a bulkhead permit")
+                .tag("bulkhead", name)
+                .register(registry);
+    }
+
+    /** Whether a permit was taken; if so, {@link #release()} must follow. */
+    public boolean tryAcquire() throws InterruptedException {
+        if (semaphore.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public void release() {
+        semaphore.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPermits() {
+        return permits;
+    }
+
+    public int active() {
+        return permits - semaphore.availablePermits();
+    }
+}
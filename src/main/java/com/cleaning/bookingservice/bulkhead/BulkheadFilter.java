@@ -0,0 +1,110 @@
+package com.cleaning.bookingservice.bulkhead;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Separate concurrency limits for availability reads and booking writes, sized to the JDBC
+ * connection pool. With platform threads, Tomcat's thread pool used to be the only limit. With
+ * virtual threads every request gets a thread, and a read storm would queue for connections in
+ * front of the writes. Here the pool is split instead: booking endpoints keep
+ * {@code booking.bulkhead.booking.max-concurrent} permits (default half the pool) that
+ * availability traffic cannot take. A request that gets no permit within
+ * {@code booking.bulkhead.acquire-timeout-ms} is answered with 503 and {@code Retry-After}.
+ *
+ * <p>On by default when {@code spring.threads.virtual.enabled=true}; switch with
+ * {@code booking.bulkhead.enabled}.
+ */
+@Component
+@ConditionalOnExpression("${booking.bulkhead.enabled:${spring.threads.virtual.enabled:false}}")
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkheadFilter.class);
+
+    private final Bulkhead availability;
+    private final Bulkhead booking;
+    private final ObjectMapper objectMapper;
+
+    public BulkheadFilter(MeterRegistry registry,
+                          ObjectMapper objectMapper,
+                          @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                          @Value("${booking.bulkhead.availability.max-concurrent:0}") int availabilityPermits,
+                          @Value("${booking.bulkhead.booking.max-concurrent:0}") int bookingPermits,
+                          @Value("${booking.bulkhead.acquire-timeout-ms:1000}") long acquireTimeoutMillis) {
+        int bookingShare = bookingPermits > 0 ? bookingPermits : Math.max(1, poolSize / 2);
+        int availabilityShare = availabilityPermits > 0 ? availabilityPermits : Math.max(1, poolSize - bookingShare);
+        this.availability = new Bulkhead("availability", availabilityShare, acquireTimeoutMillis, registry);
+        this.booking = new Bulkhead("booking", bookingShare, acquireTimeoutMillis, registry);
+        this.objectMapper = objectMapper;
+        log.info("Bulkheads: availability={} booking={} permits (connection pool {})",
+                availabilityShare, bookingShare, poolSize);
+    }
+
+    Bulkhead bulkheadFor(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/api/availability")) return availability;
+        if (path.startsWith("/api/bookings") || path.startsWith("/api/booking-series")
+                || path.startsWith("/api/defragmentation")) return booking;
+        return null;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return bulkheadFor(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+
+        Bulkhead bulkhead = bulkheadFor(request);
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            reject(response, bulkhead);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private void reject(HttpServletResponse response, Bulkhead bulkhead) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", OffsetDateTime.now());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Service Unavailable");
+        body.put("message", "Too many concurrent " + bulkhead.getName() + " requests; retry shortly");
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
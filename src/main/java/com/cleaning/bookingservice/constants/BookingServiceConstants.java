@@ -9,6 +9,9 @@ public final class BookingServiceConstants {
     // Break Duration
     public static final int BREAK_MINUTES = 30;
 
+    // Zones (city partitions of the fleet)
+    public static final String DEFAULT_ZONE = "DXB";
+
     public static final String BOOKING_NOT_POSSIBLE_FRIDAY_ERR_MSG= "Friday Booking is not possible";
 
     public enum BookingBlockType {
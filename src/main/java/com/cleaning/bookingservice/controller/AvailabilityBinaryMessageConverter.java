@@ -0,0 +1,52 @@
+package com.cleaning.bookingservice.controller;
+
+import com.cleaning.bookingservice.dto.response.AvailabilityBinaryFormat;
+import com.cleaning.bookingservice.dto.response.AvailabilityResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link AvailabilityResponse} as {@link AvailabilityBinaryFormat} when the client asks for
+ * {@value AvailabilityBinaryFormat#MEDIA_TYPE}. Picked up by Spring Boot as an extra converter;
+ * JSON stays the default.
+ */
+@Component
+public class AvailabilityBinaryMessageConverter extends AbstractHttpMessageConverter<AvailabilityResponse> {
+
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(AvailabilityBinaryFormat.MEDIA_TYPE);
+
+    private final AvailabilityBinaryFormat format;
+
+    public AvailabilityBinaryMessageConverter(
+            @Value("${booking.availability.binary.slot-minutes:15}") int slotMinutes) {
+        super(MEDIA_TYPE);
+        this.format = new AvailabilityBinaryFormat(slotMinutes);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return AvailabilityResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected AvailabilityResponse readInternal(Class<? extends AvailabilityResponse> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Availability requests are JSON", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(AvailabilityResponse response, HttpOutputMessage outputMessage) throws IOException {
+        format.write(response, outputMessage.getBody());
+    }
+}
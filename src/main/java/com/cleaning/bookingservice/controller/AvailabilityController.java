@@ -1,12 +1,27 @@
 package com.cleaning.bookingservice.controller;
 
 import com.cleaning.bookingservice.dto.request.AvailabilityRequest;
+import com.cleaning.bookingservice.dto.response.AvailabilityBinaryFormat;
 import com.cleaning.bookingservice.dto.response.AvailabilityResponse;
+import com.cleaning.bookingservice.fleet.FleetRegistry;
+import com.cleaning.bookingservice.schedule.AvailabilityResultCache;
 import com.cleaning.bookingservice.service.AvailabilityService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/availability")
@@ -15,8 +30,100 @@ public class AvailabilityController {
     @Autowired
     private AvailabilityService availabilityService;
 
-    @PostMapping
-    public ResponseEntity<AvailabilityResponse> checkAvailability(@Valid @RequestBody AvailabilityRequest request) {
-        return ResponseEntity.ok(availabilityService.checkAvailability(request));
+    @Value("${booking.availability.http.max-age-seconds:5}")
+    private long maxAgeSeconds;
+
+    // JSON first: it is what clients get for */* or no Accept header
+    @PostMapping(produces = {MediaType.APPLICATION_JSON_VALUE, AvailabilityBinaryFormat.MEDIA_TYPE})
+    public ResponseEntity<AvailabilityResponse> checkAvailability(
+            @Valid @RequestBody AvailabilityRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+
+        return respond(request, ifNoneMatch, accept, CacheControl.empty());
+    }
+
+    /**
+     * Same as the POST, as a cacheable GET. Parameters are redirected to one canonical query string
+     * (fixed order, normalized zone, sorted ids) so caches keep one entry per logical request, and
+     * responses may be reused for {@code booking.availability.http.max-age-seconds}, then revalidated
+     * with the ETag.
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, AvailabilityBinaryFormat.MEDIA_TYPE})
+    public ResponseEntity<AvailabilityResponse> getAvailability(
+            @Valid @ModelAttribute AvailabilityRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            HttpServletRequest servletRequest) {
+
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic();
+        String canonical = canonicalQuery(request);
+        if (!canonical.equals(servletRequest.getQueryString())) {
+            return ResponseEntity.status(HttpStatus.PERMANENT_REDIRECT)
+                    .location(URI.create(servletRequest.getRequestURI() + "?" + canonical))
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return respond(request, ifNoneMatch, accept, cacheControl);
+    }
+
+    private ResponseEntity<AvailabilityResponse> respond(AvailabilityRequest request, String ifNoneMatch,
+                                                         String accept, CacheControl cacheControl) {
+
+        // usually a cache hit, so a 304 still costs no computation
+        AvailabilityResultCache.Result result = availabilityService.checkAvailabilityWithETag(request);
+        String etag = representationETag(result.etag(), accept);
+        if (matchesETag(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(result.response());
+    }
+
+    static String canonicalQuery(AvailabilityRequest request) {
+        UriComponentsBuilder query = UriComponentsBuilder.newInstance()
+                .queryParam("date", request.getDate())
+                .queryParam("zone", FleetRegistry.normalizeZone(request.getZone()));
+        optional(query, "startTime", request.getStartTime());
+        optional(query, "durationHours", request.getDurationHours());
+        optional(query, "cleanerCount", request.getCleanerCount());
+        optional(query, "vehicleIds", sortedIds(request.getVehicleIds()));
+        optional(query, "cleanerIds", sortedIds(request.getCleanerIds()));
+        optional(query, "minFreeMinutes", request.getMinFreeMinutes());
+        optional(query, "pageSize", request.getPageSize());
+        optional(query, "cursor", request.getCursor());
+        return query.encode().build().getQuery();
+    }
+
+    private static void optional(UriComponentsBuilder query, String name, Object value) {
+        if (value != null) query.queryParam(name, value);
+    }
+
+    private static String sortedIds(List<Long> ids) {
+        if (ids == null) return null;
+        return ids.stream().distinct().sorted().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    // the binary and JSON bodies of one result are different representations and need different tags
+    private String representationETag(String etag, String accept) {
+        if (accept == null || !accept.contains(AvailabilityBinaryFormat.MEDIA_TYPE)) return etag;
+        return etag.substring(0, etag.length() - 1) + "-bin\"";
+    }
+
+    private boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals(etag) || tag.equals("*")) return true;
+        }
+        return false;
     }
-}
\ No newline at end of file
+}
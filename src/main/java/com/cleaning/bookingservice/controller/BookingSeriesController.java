@@ -0,0 +1,35 @@
+package com.cleaning.bookingservice.controller;
+
+import com.cleaning.bookingservice.dto.request.CreateBookingSeriesRequest;
+import com.cleaning.bookingservice.dto.response.BookingSeriesResponse;
+import com.cleaning.bookingservice.service.BookingSeriesService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/booking-series")
+public class BookingSeriesController {
+    @Autowired
+    private BookingSeriesService bookingSeriesService;
+
+    @PostMapping
+    public ResponseEntity<BookingSeriesResponse> create(@Valid @RequestBody CreateBookingSeriesRequest request) {
+        return ResponseEntity.ok(bookingSeriesService.createSeries(request));
+    }
+
+
+    @DeleteMapping("/{seriesId}/occurrences/{date}")
+    public ResponseEntity<Void> skipOccurrence(
+            @PathVariable Long seriesId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        bookingSeriesService.skipOccurrence(seriesId, date);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.cleaning.bookingservice.controller;
+
+import com.cleaning.bookingservice.dto.request.DefragmentationRequest;
+import com.cleaning.bookingservice.dto.response.DefragmentationPlan;
+import com.cleaning.bookingservice.service.DefragmentationService;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+
+@RestController
+@RequestMapping("/api/defragmentation")
+public class DefragmentationController {
+    @Autowired
+    private DefragmentationService defragmentationService;
+
+    @PostMapping("/plan")
+    public ResponseEntity<DefragmentationPlan> plan(@Valid @RequestBody DefragmentationRequest request) {
+        return ResponseEntity.ok(defragmentationService.plan(request));
+    }
+
+    @PostMapping("/apply")
+    public ResponseEntity<DefragmentationPlan> apply(@Valid @RequestBody DefragmentationPlan plan) {
+        return ResponseEntity.ok(defragmentationService.apply(plan));
+    }
+}
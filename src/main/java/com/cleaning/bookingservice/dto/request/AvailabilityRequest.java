@@ -6,8 +6,11 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
+import java.util.List;
+
 @Data
 public class AvailabilityRequest {
 
@@ -42,4 +45,55 @@ public class AvailabilityRequest {
     @Min(1)
     @Max(3)
     private Integer cleanerCount;
+
+    @Schema(
+            description = "City/zone of the fleet to search (optional, defaults to DXB)",
+            example = "DXB",
+            nullable = true
+    )
+    @Size(max = 32)
+    private String zone;
+
+    @Schema(
+            description = "Only these vehicles (optional)",
+            example = "[1, 2]",
+            nullable = true
+    )
+    @Size(max = 200)
+    private List<Long> vehicleIds;
+
+    @Schema(
+            description = "Only these cleaners (optional); vehicles left without any are omitted",
+            example = "[10, 11]",
+            nullable = true
+    )
+    @Size(max = 500)
+    private List<Long> cleanerIds;
+
+    @Schema(
+            description = "Only list free slots at least this long, and cleaners that have one (optional, "
+                    + "ignored with a time filter)",
+            example = "120",
+            nullable = true
+    )
+    @Min(1)
+    @Max(24 * 60)
+    private Integer minFreeMinutes;
+
+    @Schema(
+            description = "Vehicles examined per page, in id order (optional, default: all). A page may "
+                    + "return fewer; continue with nextCursor while it is present",
+            example = "20",
+            nullable = true
+    )
+    @Min(1)
+    @Max(500)
+    private Integer pageSize;
+
+    @Schema(
+            description = "nextCursor of the previous page (optional)",
+            nullable = true
+    )
+    @Size(max = 64)
+    private String cursor;
 }
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import com.cleaning.bookingservice.validation.ValidDurationHours;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 @Data
@@ -48,4 +49,12 @@ public class CreateBookingRequest {
             nullable = true
     )
     private Long preferredVehicleId;
+
+    @Schema(
+            description = "City/zone the booking belongs to (optional, defaults to DXB). Only vehicles of this zone are considered.",
+            example = "DXB",
+            nullable = true
+    )
+    @Size(max = 32)
+    private String zone;
 }
@@ -0,0 +1,92 @@
+package com.cleaning.bookingservice.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.cleaning.bookingservice.validation.ValidDurationHours;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CreateBookingSeriesRequest {
+
+    @Schema(
+            description = "Date of the first occurrence; the series repeats on the same weekday",
+            example = "2026-01-05",
+            format = "date"
+    )
+    @NotNull
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private String startDate;
+
+    @Schema(
+            description = "Start time of every occurrence",
+            example = "10:00",
+            format = "time"
+    )
+    @NotNull
+    @JsonFormat(pattern = "HH:mm")
+    private String startTime;
+
+    @Schema(
+            description = "Duration of every occurrence in hours (valid: 2 or 4)",
+            example = "2"
+    )
+    @NotNull
+    @ValidDurationHours
+    private Integer durationHours;
+
+    @Schema(
+            description = "Requested cleaner count (1–3); the same team serves every occurrence",
+            example = "2"
+    )
+    @NotNull
+    private Integer requestedCleanerCount;
+
+    @Schema(
+            description = "Weeks between occurrences (1 = weekly, 2 = fortnightly; up to 4)",
+            example = "1",
+            nullable = true
+    )
+    private Integer intervalWeeks;
+
+    @Schema(
+            description = "Number of occurrences, counting excluded ones. Give this or untilDate.",
+            example = "52",
+            nullable = true
+    )
+    private Integer occurrences;
+
+    @Schema(
+            description = "Last possible date of an occurrence. Give this or occurrences.",
+            example = "2026-12-28",
+            format = "date",
+            nullable = true
+    )
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private String untilDate;
+
+    @Schema(
+            description = "Occurrence dates to leave out (optional)",
+            example = "[\"2026-04-06\"]",
+            nullable = true
+    )
+    private List<String> excludedDates;
+
+    @Schema(
+            description = "Preferred vehicle ID (optional). If not provided, system will auto-assign.",
+            example = "1",
+            nullable = true
+    )
+    private Long preferredVehicleId;
+
+    @Schema(
+            description = "City/zone the series belongs to (optional, defaults to DXB).",
+            example = "DXB",
+            nullable = true
+    )
+    @Size(max = 32)
+    private String zone;
+}
@@ -0,0 +1,35 @@
+package com.cleaning.bookingservice.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class DefragmentationRequest {
+
+    @Schema(
+            description = "Day whose bookings are reassigned",
+            example = "2025-11-16",
+            format = "date"
+    )
+    @NotNull
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private String date;
+
+    @Schema(
+            description = "City/zone (optional, defaults to DXB)",
+            example = "DXB",
+            nullable = true
+    )
+    @Size(max = 32)
+    private String zone;
+
+    @Schema(
+            description = "How long the search may run, in milliseconds (optional, capped by booking.defrag.max-time-budget-ms)",
+            example = "2000",
+            nullable = true
+    )
+    private Long timeBudgetMs;
+}
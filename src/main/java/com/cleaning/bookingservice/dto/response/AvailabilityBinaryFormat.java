@@ -0,0 +1,286 @@
+package com.cleaning.bookingservice.dto.response;
+
+import com.cleaning.bookingservice.constants.BookingServiceConstants;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Compact binary encoding of an {@link AvailabilityResponse}, for clients on slow links.
+ *
+ * <pre>
+ * "AVB" version(1)
+ * flags (bit 0: masks, bit 1: date, bit 2: next cursor present)  [date (epoch day)]  [length utf8-cursor]
+ * workStart workEnd slotMinutes
+ * nameCount  { length utf8-bytes }*                  every vehicle and cleaner name, once
+ * vehicleCount { vehicleId nameIndex cleanerCount { cleanerId nameIndex [mask] }* }*
+ * </pre>
+ *
+ * Numbers are unsigned LEB128 varints. A mask has one bit per {@code slotMinutes} slot of the
+ * working window, first slot in the high bit of the first byte; a bit is set only if the whole
+ * slot is free, so rounding never shows a busy cleaner as free. Masks are present when the
+ * response lists free slots (no time filter); with a time filter only the fitting cleaners are
+ * listed.
+ */
+public final class AvailabilityBinaryFormat {
+
+    public static final String MEDIA_TYPE = "application/vnd.cleaning.availability+binary";
+
+    private static final byte[] MAGIC = {'A', 'V', 'B'};
+    private static final int VERSION = 1;
+    private static final int FLAG_MASKS = 1;
+    private static final int FLAG_DATE = 2;
+    private static final int FLAG_CURSOR = 4;
+
+    private final int workStart;
+    private final int workEnd;
+    private final int slotMinutes;
+    private final int slots;
+
+    public AvailabilityBinaryFormat(int slotMinutes) {
+        if (slotMinutes < 1) {
+            throw new IllegalArgumentException("slotMinutes must be positive");
+        }
+        this.workStart = BookingServiceConstants.WORK_START_MINUTES;
+        this.workEnd = BookingServiceConstants.WORK_END_MINUTES;
+        this.slotMinutes = slotMinutes;
+        this.slots = (workEnd - workStart + slotMinutes - 1) / slotMinutes;
+    }
+
+    public void write(AvailabilityResponse response, OutputStream out) throws IOException {
+        Writer w = new Writer(out);
+        List<AvailabilityResponse.VehicleAvailability> vehicles = response.getAvailableVehicles();
+
+        Map<String, Integer> names = new LinkedHashMap<>();
+        boolean masks = false;
+        for (AvailabilityResponse.VehicleAvailability v : vehicles) {
+            names.putIfAbsent(nameOf(v.getVehicleName()), names.size());
+            for (AvailabilityResponse.CleanerAvailability c : cleanersOf(v)) {
+                names.putIfAbsent(nameOf(c.getName()), names.size());
+                masks |= c.getAvailableSlots() != null;
+            }
+        }
+
+        w.bytes(MAGIC, MAGIC.length);
+        w.varint(VERSION);
+        w.varint((masks ? FLAG_MASKS : 0)
+                | (response.getDate() != null ? FLAG_DATE : 0)
+                | (response.getNextCursor() != null ? FLAG_CURSOR : 0));
+        if (response.getDate() != null) {
+            w.varint(LocalDate.parse(response.getDate()).toEpochDay());
+        }
+        if (response.getNextCursor() != null) {
+            w.string(response.getNextCursor());
+        }
+        w.varint(workStart);
+        w.varint(workEnd);
+        w.varint(slotMinutes);
+
+        w.varint(names.size());
+        for (String name : names.keySet()) {
+            w.string(name);
+        }
+
+        byte[] mask = new byte[(slots + 7) / 8];
+        w.varint(vehicles.size());
+        for (AvailabilityResponse.VehicleAvailability v : vehicles) {
+            List<AvailabilityResponse.CleanerAvailability> cleaners = cleanersOf(v);
+            w.varint(v.getVehicleId());
+            w.varint(names.get(nameOf(v.getVehicleName())));
+            w.varint(cleaners.size());
+            for (AvailabilityResponse.CleanerAvailability c : cleaners) {
+                w.varint(c.getCleanerId());
+                w.varint(names.get(nameOf(c.getName())));
+                if (masks) {
+                    fillMask(c.getAvailableSlots(), mask);
+                    w.bytes(mask, mask.length);
+                }
+            }
+        }
+        w.flush();
+    }
+
+    /** Decodes a stream written by {@link #write}; free slots come back at mask resolution. */
+    public static AvailabilityResponse read(InputStream in) throws IOException {
+        Reader r = new Reader(in);
+        for (byte b : MAGIC) {
+            if (r.read() != b) throw new IOException("Not an availability stream");
+        }
+        int version = (int) r.varint();
+        if (version != VERSION) throw new IOException("Unsupported version " + version);
+
+        long flags = r.varint();
+        boolean masks = (flags & FLAG_MASKS) != 0;
+        LocalDate date = (flags & FLAG_DATE) != 0 ? LocalDate.ofEpochDay(r.varint()) : null;
+        String nextCursor = (flags & FLAG_CURSOR) != 0 ? r.string() : null;
+        int workStart = (int) r.varint();
+        int workEnd = (int) r.varint();
+        int slotMinutes = (int) r.varint();
+        int slots = (workEnd - workStart + slotMinutes - 1) / slotMinutes;
+
+        String[] names = new String[(int) r.varint()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = r.string();
+        }
+
+        AvailabilityResponse response = new AvailabilityResponse();
+        response.setDate(date == null ? null : date.toString());
+        response.setNextCursor(nextCursor);
+        int vehicleCount = (int) r.varint();
+        for (int i = 0; i < vehicleCount; i++) {
+            AvailabilityResponse.VehicleAvailability v = new AvailabilityResponse.VehicleAvailability();
+            v.setVehicleId(r.varint());
+            v.setVehicleName(names[(int) r.varint()]);
+            int cleanerCount = (int) r.varint();
+            List<AvailabilityResponse.CleanerAvailability> cleaners = new ArrayList<>(cleanerCount);
+            for (int j = 0; j < cleanerCount; j++) {
+                AvailabilityResponse.CleanerAvailability c = new AvailabilityResponse.CleanerAvailability();
+                c.setCleanerId(r.varint());
+                c.setName(names[(int) r.varint()]);
+                if (masks) {
+                    c.setAvailableSlots(slotsOf(r.bytes((slots + 7) / 8), slots, workStart, workEnd, slotMinutes));
+                }
+                cleaners.add(c);
+            }
+            v.setCleaners(cleaners);
+            response.getAvailableVehicles().add(v);
+        }
+        response.setCount(vehicleCount);
+        return response;
+    }
+
+    private void fillMask(List<String> freeSlots, byte[] mask) {
+        Arrays.fill(mask, (byte) 0);
+        if (freeSlots == null) return;
+        for (String slot : freeSlots) {
+            // "HH:mm-HH:mm", parsed in place
+            int from = Math.max(minutes(slot, 0), workStart);
+            int to = Math.min(minutes(slot, 6), workEnd);
+            int first = (from - workStart + slotMinutes - 1) / slotMinutes;
+            int last = to == workEnd ? slots : (to - workStart) / slotMinutes;
+            for (int i = first; i < last; i++) {
+                mask[i >> 3] |= (byte) (0x80 >>> (i & 7));
+            }
+        }
+    }
+
+    private static int minutes(String slot, int offset) {
+        return ((slot.charAt(offset) - '0') * 10 + (slot.charAt(offset + 1) - '0')) * 60
+                + (slot.charAt(offset + 3) - '0') * 10 + (slot.charAt(offset + 4) - '0');
+    }
+
+    private static List<String> slotsOf(byte[] mask, int slots, int workStart, int workEnd, int slotMinutes) {
+        List<String> result = new ArrayList<>();
+        int runStart = -1;
+        for (int i = 0; i <= slots; i++) {
+            boolean free = i < slots && (mask[i >> 3] & (0x80 >>> (i & 7))) != 0;
+            if (free && runStart < 0) {
+                runStart = i;
+            } else if (!free && runStart >= 0) {
+                result.add(format(workStart + runStart * slotMinutes) + "-"
+                        + format(Math.min(workEnd, workStart + i * slotMinutes)));
+                runStart = -1;
+            }
+        }
+        return result;
+    }
+
+    private static String format(int minutes) {
+        return String.format("%02d:%02d", minutes / 60, minutes % 60);
+    }
+
+    private static String nameOf(String name) {
+        return name == null ? "" : name;
+    }
+
+    private static List<AvailabilityResponse.CleanerAvailability> cleanersOf(AvailabilityResponse.VehicleAvailability v) {
+        return v.getCleaners() == null ? List.of() : v.getCleaners();
+    }
+
+    /** Buffers into one small array and hands it to the stream as it fills. */
+    private static final class Writer {
+
+        private final OutputStream out;
+        private final byte[] buffer = new byte[4096];
+        private int position;
+
+        Writer(OutputStream out) {
+            this.out = out;
+        }
+
+        void varint(long value) throws IOException {
+            if (position + 10 > buffer.length) drain();
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void bytes(byte[] bytes, int length) throws IOException {
+            if (position + length > buffer.length) drain();
+            if (length > buffer.length) {
+                out.write(bytes, 0, length);
+                return;
+            }
+            System.arraycopy(bytes, 0, buffer, position, length);
+            position += length;
+        }
+
+        void string(String value) throws IOException {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            varint(utf8.length);
+            bytes(utf8, utf8.length);
+        }
+
+        void flush() throws IOException {
+            drain();
+            out.flush();
+        }
+
+        private void drain() throws IOException {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private static final class Reader {
+
+        private final InputStream in;
+
+        Reader(InputStream in) {
+            this.in = in;
+        }
+
+        int read() throws IOException {
+            int b = in.read();
+            if (b < 0) throw new EOFException();
+            return b;
+        }
+
+        long varint() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = read();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        String string() throws IOException {
+            return new String(bytes((int) varint()), StandardCharsets.UTF_8);
+        }
+
+        byte[] bytes(int length) throws IOException {
+            byte[] bytes = in.readNBytes(length);
+            if (bytes.length != length) throw new EOFException();
+            return bytes;
+        }
+    }
+}
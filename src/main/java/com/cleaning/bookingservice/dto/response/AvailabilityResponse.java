@@ -15,7 +15,19 @@ public class AvailabilityResponse {
     private String date;
     private List<VehicleAvailability> availableVehicles= new ArrayList<>();;
     private Integer count;
+    // present when more vehicles remain; send it back as the request's cursor
+    private String nextCursor;
 
+    /** Deep copy, for handing out a response that is also kept (e.g. cached). */
+    public AvailabilityResponse copy() {
+        AvailabilityResponse copy = new AvailabilityResponse();
+        copy.setDate(date);
+        copy.setCount(count);
+        copy.setNextCursor(nextCursor);
+        copy.setAvailableVehicles(availableVehicles == null ? null
+                : new ArrayList<>(availableVehicles.stream().map(VehicleAvailability::copy).toList()));
+        return copy;
+    }
 
     @Data
     @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -24,6 +36,15 @@ public class AvailabilityResponse {
         private String vehicleName;
         @JsonInclude(JsonInclude.Include.NON_NULL)
         private List<CleanerAvailability> cleaners;
+
+        public VehicleAvailability copy() {
+            VehicleAvailability copy = new VehicleAvailability();
+            copy.setVehicleId(vehicleId);
+            copy.setVehicleName(vehicleName);
+            copy.setCleaners(cleaners == null ? null
+                    : new ArrayList<>(cleaners.stream().map(CleanerAvailability::copy).toList()));
+            return copy;
+        }
     }
 
 
@@ -34,5 +55,13 @@ public class AvailabilityResponse {
         private String name;
         @JsonInclude(JsonInclude.Include.NON_NULL)
         private List<String> availableSlots; // like "08:00-22:00"
+
+        public CleanerAvailability copy() {
+            CleanerAvailability copy = new CleanerAvailability();
+            copy.setCleanerId(cleanerId);
+            copy.setName(name);
+            copy.setAvailableSlots(availableSlots == null ? null : new ArrayList<>(availableSlots));
+            return copy;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.cleaning.bookingservice.dto.response;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+import java.time.LocalDateTime;
+
+
+/** A slot that had a free team when a booking request was turned down. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingAlternative {
+    private LocalDateTime startDatetime;
+    private LocalDateTime endDatetime;
+    private Long vehicleId;
+    // free cleaners of that vehicle at that time (at least the requested count)
+    private Integer freeCleanerCount;
+}
@@ -0,0 +1,27 @@
+package com.cleaning.bookingservice.dto.response;
+
+
+import lombok.Data;
+
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+
+@Data
+public class BookingSeriesResponse {
+    private Long seriesId;
+    private String zone;
+    private Long assignedVehicleId;
+    private List<Long> assignedCleanerIds;
+    private LocalTime startTime;
+    private Integer durationHours;
+    private Integer intervalWeeks;
+    private LocalDate firstDate;
+    private LocalDate lastDate;
+    private Integer occurrenceCount;
+    // occurrences up to here are bookings; later ones are held by the rule
+    private LocalDate materializedUntil;
+    private List<Long> bookingIds;
+}
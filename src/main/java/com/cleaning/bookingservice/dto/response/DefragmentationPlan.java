@@ -0,0 +1,50 @@
+package com.cleaning.bookingservice.dto.response;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cleaner reassignments for one day's bookings, at unchanged times. Returned by the plan
+ * endpoint and sent back as is to apply it.
+ */
+@Data
+public class DefragmentationPlan {
+
+    @NotNull
+    private String date;
+    @Size(max = 32)
+    private String zone;
+    // free minutes in windows too short for a booking, before and after the moves
+    private Long fragmentedMinutesBefore;
+    private Long fragmentedMinutesAfter;
+    // false if the time budget ran out before the search did
+    private Boolean completed;
+    private Long nodesExplored;
+    private Long elapsedMs;
+    private Boolean applied;
+    @NotNull
+    private List<@NotNull @Valid Move> moves = new ArrayList<>();
+
+    @Data
+    public static class Move {
+        @NotNull
+        private Long bookingId;
+        @NotNull
+        private LocalDateTime startDatetime;
+        @NotNull
+        private LocalDateTime endDatetime;
+        @NotEmpty
+        private List<@NotNull Long> fromCleanerIds;
+        @NotEmpty
+        private List<@NotNull Long> toCleanerIds;
+        // optional when applying: the vehicle of toCleanerIds
+        private Long toVehicleId;
+    }
+}
@@ -18,6 +18,8 @@ public class Booking {
     private LocalDateTime endDatetime;
     private Integer durationInHours;
     private Integer requestedCleanerCount;
+    private String zone;
+    private Long seriesId;
     @OneToMany(mappedBy = "booking", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<BookingCleaner> assignedCleaners;
 }
\ No newline at end of file
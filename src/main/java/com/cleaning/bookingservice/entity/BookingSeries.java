@@ -0,0 +1,37 @@
+package com.cleaning.bookingservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Set;
+
+
+@Entity
+@Table(name = "booking_series")
+@Data
+public class BookingSeries {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private String zone;
+    private Long vehicleId;
+    private LocalDate firstDate;
+    private LocalDate lastDate;
+    private LocalTime startTime;
+    private Integer durationHours;
+    private Integer intervalWeeks;
+    private LocalDate materializedUntil;
+    private LocalDateTime createdAt;
+    @ElementCollection
+    @CollectionTable(name = "booking_series_cleaner", joinColumns = @JoinColumn(name = "series_id"))
+    @Column(name = "cleaner_id")
+    private Set<Long> cleanerIds = new HashSet<>();
+    @ElementCollection
+    @CollectionTable(name = "booking_series_exclusion", joinColumns = @JoinColumn(name = "series_id"))
+    @Column(name = "excluded_date")
+    private Set<LocalDate> excludedDates = new HashSet<>();
+}
@@ -0,0 +1,22 @@
+package com.cleaning.bookingservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+
+@Entity
+@Table(name = "booking_outbox")
+@Data
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private Long bookingId;
+    private String eventType;
+    private String payload;
+    private LocalDateTime createdAt;
+    private LocalDateTime dispatchedAt;
+    private int attempts;
+}
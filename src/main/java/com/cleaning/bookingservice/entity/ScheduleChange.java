@@ -0,0 +1,22 @@
+package com.cleaning.bookingservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+
+@Entity
+@Table(name = "schedule_change_log")
+@Data
+public class ScheduleChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private String zone;
+    private Long cleanerId;
+    private LocalDate changeDate;
+    private String origin;
+    private LocalDateTime createdAt;
+}
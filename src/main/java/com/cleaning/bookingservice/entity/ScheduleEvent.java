@@ -0,0 +1,37 @@
+package com.cleaning.bookingservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+
+@Entity
+@Table(name = "cleaner_schedule_event")
+@Data
+public class ScheduleEvent {
+
+    public enum Type {
+        ADD,
+        MOVE,
+        REMOVE
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private Long cleanerId;
+    private LocalDate scheduleDate;
+    private Integer seq;
+    @Enumerated(EnumType.STRING)
+    private Type eventType;
+    private String blockType;
+    private Long bookingId;
+    private LocalDateTime startDatetime;
+    private LocalDateTime endDatetime;
+    // MOVE only: where the block was
+    private LocalDateTime fromStart;
+    private LocalDateTime fromEnd;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,22 @@
+package com.cleaning.bookingservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+
+@Entity
+@Table(name = "cleaner_schedule_snapshot")
+@Data
+public class ScheduleSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private Long cleanerId;
+    private LocalDate scheduleDate;
+    private Integer lastSeq;
+    private String blocks;
+    private LocalDateTime createdAt;
+}
@@ -13,4 +13,6 @@ public class Vehicle {
     private Long id;
     @Column(nullable = false, unique = true)
     private String name;
+    @Column(nullable = false)
+    private String zone;
 }
\ No newline at end of file
@@ -0,0 +1,6 @@
+package com.cleaning.bookingservice.exception;
+
+public class AvailabilityOverloadedException extends RuntimeException {
+    public AvailabilityOverloadedException(String message) { super(message); }
+    public AvailabilityOverloadedException(String message, Throwable cause) { super(message, cause); }
+}
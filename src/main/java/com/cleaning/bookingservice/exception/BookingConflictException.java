@@ -1,7 +1,20 @@
 package com.cleaning.bookingservice.exception;
 
+import com.cleaning.bookingservice.dto.response.BookingAlternative;
+
+import java.util.List;
+
 public class BookingConflictException extends RuntimeException {
-    public BookingConflictException() { super(); }
-    public BookingConflictException(String message) { super(message); }
-    public BookingConflictException(String message, Throwable cause) { super(message, cause); }
+    private final List<BookingAlternative> alternatives;
+
+    public BookingConflictException() { super(); this.alternatives = List.of(); }
+    public BookingConflictException(String message) { super(message); this.alternatives = List.of(); }
+    public BookingConflictException(String message, Throwable cause) { super(message, cause); this.alternatives = List.of(); }
+    public BookingConflictException(String message, List<BookingAlternative> alternatives) {
+        super(message);
+        this.alternatives = List.copyOf(alternatives);
+    }
+
+    /** Nearby slots that could be booked instead; empty when none were looked for. */
+    public List<BookingAlternative> getAlternatives() { return alternatives; }
 }
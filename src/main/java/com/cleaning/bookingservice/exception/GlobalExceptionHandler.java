@@ -1,5 +1,6 @@
 package com.cleaning.bookingservice.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -8,6 +9,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.time.OffsetDateTime;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestControllerAdvice
@@ -15,13 +17,28 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(BookingConflictException.class)
     public ResponseEntity<Object> handleBookingConflict(BookingConflictException ex) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", OffsetDateTime.now());
+        body.put("status", HttpStatus.CONFLICT.value());
+        body.put("error", "Conflict");
+        body.put("message", ex.getMessage());
+        if (!ex.getAlternatives().isEmpty()) {
+            body.put("alternatives", ex.getAlternatives());
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
+    @ExceptionHandler(AvailabilityOverloadedException.class)
+    public ResponseEntity<Object> handleAvailabilityOverloaded(AvailabilityOverloadedException ex) {
         Map<String, Object> body = Map.of(
                 "timestamp", OffsetDateTime.now(),
-                "status", HttpStatus.CONFLICT.value(),
-                "error", "Conflict",
+                "status", HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "error", "Service Unavailable",
                 "message", ex.getMessage()
         );
-        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body);
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
@@ -0,0 +1,117 @@
+package com.cleaning.bookingservice.fleet;
+
+import com.cleaning.bookingservice.constants.BookingServiceConstants;
+import com.cleaning.bookingservice.entity.CleanerProfessional;
+import com.cleaning.bookingservice.entity.Vehicle;
+import com.cleaning.bookingservice.repository.CleanerRepository;
+import com.cleaning.bookingservice.repository.VehicleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the fleet, partitioned by zone. Each zone is loaded on first use
+ * (or during startup warm-up when listed in {@code booking.fleet.preload-zones}) with two
+ * queries, independently of every other zone.
+ */
+@Component
+public class FleetRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(FleetRegistry.class);
+
+    private final VehicleRepository vehicleRepository;
+    private final CleanerRepository cleanerRepository;
+    private final List<String> preloadZones;
+
+    private final Map<String, ZoneFleet> zones = new ConcurrentHashMap<>();
+
+    public FleetRegistry(VehicleRepository vehicleRepository,
+                         CleanerRepository cleanerRepository,
+                         @Value("${booking.fleet.preload-zones:}") List<String> preloadZones) {
+        this.vehicleRepository = vehicleRepository;
+        this.cleanerRepository = cleanerRepository;
+        this.preloadZones = preloadZones;
+    }
+
+    public static String normalizeZone(String zone) {
+        if (zone == null || zone.isBlank()) {
+            return BookingServiceConstants.DEFAULT_ZONE;
+        }
+        return zone.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * The zone's fleet. Only zones that have vehicles are kept: the zone comes from the request,
+     * and caching (and refreshing) every string a client sends would grow without bound. An
+     * unknown zone costs one query and yields an empty fleet.
+     */
+    public ZoneFleet zone(String zone) {
+        String key = normalizeZone(zone);
+        ZoneFleet fleet = zones.computeIfAbsent(key, k -> {
+            ZoneFleet loaded = load(k);
+            return loaded.getVehicles().isEmpty() ? null : loaded;
+        });
+        return fleet != null ? fleet : ZoneFleet.of(key, List.of(), List.of());
+    }
+
+    public Set<String> loadedZones() {
+        return Set.copyOf(zones.keySet());
+    }
+
+    public ZoneFleet reload(String zone) {
+        String key = normalizeZone(zone);
+        ZoneFleet fleet = load(key);
+        if (fleet.getVehicles().isEmpty()) {
+            zones.remove(key);
+        } else {
+            zones.put(key, fleet);
+        }
+        return fleet;
+    }
+
+    /**
+     * Loads every zone listed in {@code booking.fleet.preload-zones}.
+     *
+     * @return the zones that loaded successfully
+     */
+    public List<ZoneFleet> preload() {
+        List<ZoneFleet> loaded = new ArrayList<>();
+        for (String zone : preloadZones) {
+            if (zone.isBlank()) continue;
+            try {
+                loaded.add(reload(zone));
+            } catch (RuntimeException ex) {
+                // one broken partition must not keep the other zones from loading
+                log.warn("Could not preload fleet for zone {}", zone, ex);
+            }
+        }
+        return loaded;
+    }
+
+    @Scheduled(fixedDelayString = "${booking.fleet.refresh-interval-ms:300000}",
+            initialDelayString = "${booking.fleet.refresh-interval-ms:300000}")
+    public void refreshLoadedZones() {
+        loadedZones().forEach(this::reload);
+    }
+
+    private ZoneFleet load(String zone) {
+        List<Vehicle> vehicles = vehicleRepository.findByZoneOrderByIdAsc(zone);
+        if (vehicles.isEmpty()) {
+            log.debug("No vehicles in zone {}", zone);
+            return ZoneFleet.of(zone, List.of(), List.of());
+        }
+        List<CleanerProfessional> cleaners = cleanerRepository.findByZoneWithVehicle(zone);
+
+        log.info("Loaded fleet for zone {}: {} vehicles, {} cleaners", zone, vehicles.size(), cleaners.size());
+        return ZoneFleet.of(zone, vehicles, cleaners);
+    }
+}
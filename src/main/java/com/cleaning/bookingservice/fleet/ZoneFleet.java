@@ -0,0 +1,75 @@
+package com.cleaning.bookingservice.fleet;
+
+import com.cleaning.bookingservice.entity.CleanerProfessional;
+import com.cleaning.bookingservice.entity.Vehicle;
+
+import java.util.*;
+
+/**
+ * Immutable snapshot of one zone's vehicles and the cleaners assigned to them.
+ * Requests for a zone only ever see this partition, never the global fleet.
+ */
+public final class ZoneFleet {
+
+    private final String zone;
+    private final List<Vehicle> vehicles;
+    private final Map<Long, Vehicle> vehiclesById;
+    private final Map<Long, List<CleanerProfessional>> cleanersByVehicle;
+    private final List<Long> cleanerIds;
+    private final Map<Long, Long> vehicleByCleaner;
+
+    private ZoneFleet(String zone, List<Vehicle> vehicles, List<CleanerProfessional> cleaners) {
+        this.zone = zone;
+        this.vehicles = vehicles.stream()
+                .sorted(Comparator.comparing(Vehicle::getId))
+                .toList();
+
+        Map<Long, Vehicle> byId = new LinkedHashMap<>();
+        this.vehicles.forEach(v -> byId.put(v.getId(), v));
+        this.vehiclesById = Collections.unmodifiableMap(byId);
+
+        Map<Long, List<CleanerProfessional>> byVehicle = new HashMap<>();
+        for (CleanerProfessional c : cleaners) {
+            byVehicle.computeIfAbsent(c.getVehicle().getId(), id -> new ArrayList<>()).add(c);
+        }
+        byVehicle.replaceAll((id, list) -> List.copyOf(list));
+        this.cleanersByVehicle = Collections.unmodifiableMap(byVehicle);
+
+        this.cleanerIds = cleaners.stream().map(CleanerProfessional::getId).toList();
+
+        Map<Long, Long> vehicleByCleaner = new HashMap<>();
+        cleaners.forEach(c -> vehicleByCleaner.put(c.getId(), c.getVehicle().getId()));
+        this.vehicleByCleaner = Collections.unmodifiableMap(vehicleByCleaner);
+    }
+
+    public static ZoneFleet of(String zone, List<Vehicle> vehicles, List<CleanerProfessional> cleaners) {
+        return new ZoneFleet(zone, vehicles, cleaners);
+    }
+
+    public String getZone() {
+        return zone;
+    }
+
+    /** Vehicles of the zone, ordered by id. */
+    public List<Vehicle> getVehicles() {
+        return vehicles;
+    }
+
+    public boolean containsVehicle(Long vehicleId) {
+        return vehiclesById.containsKey(vehicleId);
+    }
+
+    public List<CleanerProfessional> cleanersOf(Long vehicleId) {
+        return cleanersByVehicle.getOrDefault(vehicleId, List.of());
+    }
+
+    /** Vehicle the cleaner is assigned to, or null if the cleaner is not in this zone. */
+    public Long vehicleOf(Long cleanerId) {
+        return vehicleByCleaner.get(cleanerId);
+    }
+
+    /** Ids of every cleaner in the zone, grouped by vehicle. */
+    public List<Long> getCleanerIds() {
+        return cleanerIds;
+    }
+}
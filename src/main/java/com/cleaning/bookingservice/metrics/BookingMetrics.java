@@ -0,0 +1,145 @@
+package com.cleaning.bookingservice.metrics;
+
+import io.micrometer.core.instrument.*;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Timers, counters and scan-size summaries for the booking and availability hot paths,
+ * published through {@code /actuator/metrics} and {@code /actuator/prometheus}:
+ *
+ * <ul>
+ *   <li>{@code booking.phase{phase=...}} - duration of each scheduling phase</li>
+ *   <li>{@code booking.conflicts{reason=...}} - rejected bookings by reason</li>
+ *   <li>{@code booking.scan.vehicles|cleaners{operation=...}} - fleet scanned per request</li>
+ * </ul>
+ *
+ * Each timed phase (except the per-cleaner free-slot calculation) is also a tracing span
+ * ({@code booking.<phase>}) under the request span, and
+ * {@link #tag} / {@link #scanned} annotate whichever span is current.
+ */
+@Component
+public class BookingMetrics {
+
+    public enum Phase {
+        CHECK_AVAILABILITY,
+        CALCULATE_FREE_SLOTS,
+        FIND_AVAILABLE_CLEANERS,
+        VERIFY_CLEANER_STILL_FREE,
+        CREATE_AVAILABILITY_BLOCKS,
+        UPDATE_BOOKING
+    }
+
+    public enum ConflictReason {
+        FRIDAY,
+        WORKING_HOURS,
+        NO_TEAM,
+        RACE,
+        CLEANER_BUSY
+    }
+
+    public enum Operation {
+        AVAILABILITY,
+        CREATE_BOOKING
+    }
+
+    // runs once per cleaner; a span each would bury the request in near-identical children
+    private static final Set<Phase> UNTRACED = EnumSet.of(Phase.CALCULATE_FREE_SLOTS);
+
+    private final Map<Phase, Timer> timers = new EnumMap<>(Phase.class);
+    private final Map<ConflictReason, Counter> conflicts = new EnumMap<>(ConflictReason.class);
+    private final Map<Operation, DistributionSummary> vehiclesScanned = new EnumMap<>(Operation.class);
+    private final Map<Operation, DistributionSummary> cleanersScanned = new EnumMap<>(Operation.class);
+    private final Tracer tracer;
+
+    public BookingMetrics(MeterRegistry registry) {
+        this(registry, Tracer.NOOP);
+    }
+
+    @Autowired
+    public BookingMetrics(MeterRegistry registry, ObjectProvider<Tracer> tracer) {
+        this(registry, tracer.getIfAvailable(() -> Tracer.NOOP));
+    }
+
+    private BookingMetrics(MeterRegistry registry, Tracer tracer) {
+        this.tracer = tracer;
+        for (Phase phase : Phase.values()) {
+            timers.put(phase, Timer.builder("booking.phase")
+                    .description("Time spent in a booking/availability phase")
+                    .tag("phase", tagValue(phase))
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        for (ConflictReason reason : ConflictReason.values()) {
+            conflicts.put(reason, Counter.builder("booking.conflicts")
+                    .description("Booking requests rejected with a conflict")
+                    .tag("reason", tagValue(reason))
+                    .register(registry));
+        }
+        for (Operation operation : Operation.values()) {
+            vehiclesScanned.put(operation, DistributionSummary.builder("booking.scan.vehicles")
+                    .description("Vehicles examined per request")
+                    .tag("operation", tagValue(operation))
+                    .register(registry));
+            cleanersScanned.put(operation, DistributionSummary.builder("booking.scan.cleaners")
+                    .description("Cleaners examined per request")
+                    .tag("operation", tagValue(operation))
+                    .register(registry));
+        }
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+
+    public <T> T time(Phase phase, Supplier<T> body) {
+        if (UNTRACED.contains(phase)) {
+            return timers.get(phase).record(body);
+        }
+        Span span = tracer.nextSpan().name("booking." + tagValue(phase)).start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return timers.get(phase).record(body);
+        } catch (RuntimeException ex) {
+            span.error(ex);
+            throw ex;
+        } finally {
+            span.end();
+        }
+    }
+
+    public void time(Phase phase, Runnable body) {
+        time(phase, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    /** Adds an attribute to the current span (request, phase or repository call), if any. */
+    public void tag(String key, Object value) {
+        Span span = tracer.currentSpan();
+        if (span != null && value != null) {
+            span.tag(key, String.valueOf(value));
+        }
+    }
+
+    public void conflict(ConflictReason reason) {
+        conflicts.get(reason).increment();
+    }
+
+    public void scanned(Operation operation, int vehicles, int cleaners) {
+        vehiclesScanned.get(operation).record(vehicles);
+        cleanersScanned.get(operation).record(cleaners);
+        tag("vehicles.scanned", vehicles);
+        tag("cleaners.scanned", cleaners);
+    }
+}
@@ -0,0 +1,60 @@
+package com.cleaning.bookingservice.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Reports the number of SQL statements each HTTP request ran, as the
+ * {@value #HEADER} response header and the {@code booking.sql.statements{method,uri}} summary.
+ *
+ * <p>The response body is buffered so the header can still be set after the controller (and any
+ * lazy loading during serialization) has run; that costs a copy per request, hence dev only.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.sql.statement-count.enabled", havingValue = "true")
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-SQL-Statement-Count";
+
+    private final SqlStatementCounter counter;
+    private final MeterRegistry registry;
+
+    public SqlStatementCountFilter(SqlStatementCounter counter, MeterRegistry registry) {
+        this.counter = counter;
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        counter.begin();
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            int statements = counter.end();
+            wrapper.setHeader(HEADER, String.valueOf(statements));
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("booking.sql.statements")
+                    .description("SQL statements executed per HTTP request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .register(registry)
+                    .record(statements);
+            wrapper.copyBodyToResponse();
+        }
+    }
+}
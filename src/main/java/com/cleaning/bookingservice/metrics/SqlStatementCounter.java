@@ -0,0 +1,48 @@
+package com.cleaning.bookingservice.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #begin()}
+ * and {@link #end()}. Registered as Hibernate's statement inspector, so every query, insert,
+ * update and lazy load is seen, whichever repository or mapper triggered it.
+ *
+ * <p>Enabled with {@code booking.sql.statement-count.enabled=true} (dev and tests).
+ */
+@Component
+@ConditionalOnProperty(name = "booking.sql.statement-count.enabled", havingValue = "true")
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<int[]> CURRENT = new ThreadLocal<>();
+
+    public void begin() {
+        CURRENT.set(new int[1]);
+    }
+
+    /** Statements since {@link #begin()}; stops counting on this thread. */
+    public int end() {
+        int[] count = CURRENT.get();
+        CURRENT.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = CURRENT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+}
@@ -0,0 +1,12 @@
+package com.cleaning.bookingservice.outbox;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/** Not produced yet: the API has no cancellation. Defined so sinks can be written against it. */
+public record BookingCancelled(Long bookingId,
+                               String zone,
+                               LocalDateTime start,
+                               LocalDateTime end,
+                               List<Long> cleanerIds) implements BookingEvent {
+}
@@ -0,0 +1,11 @@
+package com.cleaning.bookingservice.outbox;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record BookingCreated(Long bookingId,
+                             String zone,
+                             LocalDateTime start,
+                             LocalDateTime end,
+                             List<Long> cleanerIds) implements BookingEvent {
+}
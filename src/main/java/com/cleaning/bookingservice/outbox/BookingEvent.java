@@ -0,0 +1,13 @@
+package com.cleaning.bookingservice.outbox;
+
+/**
+ * Something that happened to a booking, published through the outbox after the write that
+ * caused it committed. Consumers may see an event more than once (see {@link OutboxMessage#id()}),
+ * but events of one booking always arrive in the order they were written.
+ */
+public sealed interface BookingEvent permits BookingCreated, BookingUpdated, BookingCancelled {
+
+    Long bookingId();
+
+    String zone();
+}
@@ -0,0 +1,18 @@
+package com.cleaning.bookingservice.outbox;
+
+import java.util.List;
+
+/**
+ * In-process consumer of booking events. Every bean of this type receives every event, in
+ * batches ordered by {@link OutboxMessage#id()}. Throwing from {@link #publish} means "not
+ * delivered": the events are offered again later, possibly to sinks that already took them.
+ */
+public interface BookingEventSink {
+
+    void publish(List<OutboxMessage> batch) throws Exception;
+
+    /** Tag value of this sink in the {@code booking.outbox.*} metrics. */
+    default String name() {
+        return getClass().getSimpleName();
+    }
+}
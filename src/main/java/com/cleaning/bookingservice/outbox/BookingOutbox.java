@@ -0,0 +1,56 @@
+package com.cleaning.bookingservice.outbox;
+
+import com.cleaning.bookingservice.entity.OutboxEvent;
+import com.cleaning.bookingservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Writes {@link BookingEvent}s to the {@code booking_outbox} table as JSON, inside the
+ * transaction of the booking write they describe: the event exists if and only if the write
+ * committed. {@link OutboxDispatcher} publishes them afterwards.
+ */
+@Component
+public class BookingOutbox {
+
+    private static final Map<String, Class<? extends BookingEvent>> TYPES = Map.of(
+            BookingCreated.class.getSimpleName(), BookingCreated.class,
+            BookingUpdated.class.getSimpleName(), BookingUpdated.class,
+            BookingCancelled.class.getSimpleName(), BookingCancelled.class);
+
+    private final OutboxEventRepository repository;
+    private final ObjectMapper objectMapper;
+
+    public BookingOutbox(OutboxEventRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void append(BookingEvent event) {
+        OutboxEvent row = new OutboxEvent();
+        row.setBookingId(event.bookingId());
+        row.setEventType(event.getClass().getSimpleName());
+        try {
+            row.setPayload(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize " + event, ex);
+        }
+        row.setCreatedAt(LocalDateTime.now());
+        repository.save(row);
+    }
+
+    /** The stored event as sinks see it. */
+    OutboxMessage read(OutboxEvent row) throws JsonProcessingException {
+        Class<? extends BookingEvent> type = TYPES.get(row.getEventType());
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown booking event type " + row.getEventType());
+        }
+        return new OutboxMessage(row.getId(), row.getCreatedAt(), objectMapper.readValue(row.getPayload(), type));
+    }
+}
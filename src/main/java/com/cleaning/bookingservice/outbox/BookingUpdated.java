@@ -0,0 +1,13 @@
+package com.cleaning.bookingservice.outbox;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record BookingUpdated(Long bookingId,
+                             String zone,
+                             LocalDateTime previousStart,
+                             LocalDateTime previousEnd,
+                             LocalDateTime start,
+                             LocalDateTime end,
+                             List<Long> cleanerIds) implements BookingEvent {
+}
@@ -0,0 +1,28 @@
+package com.cleaning.bookingservice.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/** Logs every event at INFO; enabled with {@code booking.outbox.log-events=true}. */
+@Component
+@ConditionalOnProperty(name = "booking.outbox.log-events", havingValue = "true")
+public class LoggingBookingEventSink implements BookingEventSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingBookingEventSink.class);
+
+    @Override
+    public void publish(List<OutboxMessage> batch) {
+        for (OutboxMessage message : batch) {
+            log.info("Booking event #{}: {}", message.id(), message.event());
+        }
+    }
+
+    @Override
+    public String name() {
+        return "log";
+    }
+}
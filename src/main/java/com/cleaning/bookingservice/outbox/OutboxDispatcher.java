@@ -0,0 +1,225 @@
+package com.cleaning.bookingservice.outbox;
+
+import com.cleaning.bookingservice.entity.OutboxEvent;
+import com.cleaning.bookingservice.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Publishes pending outbox events to every {@link BookingEventSink}, oldest first, in batches.
+ *
+ * <ul>
+ *   <li>At least once: an event is marked dispatched only after every sink accepted it, so a
+ *   crash or a failing sink means it is offered again.</li>
+ *   <li>Per-booking order: only one instance dispatches at a time (a lease row in
+ *   {@code outbox_dispatcher_lease}), and once an event of a booking fails, that booking's later
+ *   events are held back until it goes through. Other bookings keep flowing.</li>
+ * </ul>
+ *
+ * A failed batch is retried event by event to find the failing bookings; those are retried
+ * after {@code booking.outbox.retry-delay-ms}. Metrics, reported by the dispatching instance:
+ * {@code booking.outbox.pending}, {@code booking.outbox.lag} (age of the oldest undelivered
+ * event, seconds), {@code booking.outbox.delivery} (write-to-delivery time),
+ * {@code booking.outbox.failures{sink=...}}.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private static final String LEASE = "booking-events";
+
+    private final OutboxEventRepository repository;
+    private final BookingOutbox outbox;
+    private final List<BookingEventSink> sinks;
+    private final boolean enabled;
+    private final String owner;
+    private final int batchSize;
+    private final Duration lease;
+    private final long retryDelayMillis;
+    private final long retentionHours;
+
+    private final MeterRegistry registry;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final Timer delivery;
+    // booking id -> earliest time its events are offered again
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, Long> retryAt = new HashMap<>();
+
+    public OutboxDispatcher(OutboxEventRepository repository,
+                            BookingOutbox outbox,
+                            List<BookingEventSink> sinks,
+                            MeterRegistry registry,
+                            @Value("${booking.outbox.dispatch.enabled:true}") boolean enabled,
+                            @Value("${booking.instance-id:}") String instanceId,
+                            @Value("${booking.outbox.batch-size:100}") int batchSize,
+                            @Value("${booking.outbox.lease-ms:10000}") long leaseMillis,
+                            @Value("${booking.outbox.retry-delay-ms:5000}") long retryDelayMillis,
+                            @Value("${booking.outbox.retention-hours:24}") long retentionHours) {
+        this.repository = repository;
+        this.outbox = outbox;
+        this.sinks = List.copyOf(sinks);
+        this.registry = registry;
+        this.enabled = enabled;
+        this.owner = instanceId.isBlank() ? UUID.randomUUID().toString() : instanceId;
+        this.batchSize = batchSize;
+        this.lease = Duration.ofMillis(leaseMillis);
+        this.retryDelayMillis = retryDelayMillis;
+        this.retentionHours = retentionHours;
+
+        Gauge.builder("booking.outbox.pending", pending, AtomicLong::get)
+                .description("Booking events written but not yet delivered to every sink")
+                .register(registry);
+        Gauge.builder("booking.outbox.lag", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest undelivered booking event")
+                .baseUnit("seconds")
+                .register(registry);
+        this.delivery = Timer.builder("booking.outbox.delivery")
+                .description("Time from writing a booking event to delivering it to every sink")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * One dispatch round, if this instance holds (or can take) the lease.
+     *
+     * @return number of events delivered
+     */
+    @Scheduled(fixedDelayString = "${booking.outbox.poll-interval-ms:500}")
+    public int dispatch() {
+        // one round at a time within the instance; the lease keeps other instances out
+        lock.lock();
+        try {
+            return dispatchLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int dispatchLocked() {
+        if (!enabled) return 0;
+        LocalDateTime now = LocalDateTime.now();
+        if (repository.acquireLease(LEASE, owner, now, now.plus(lease)) == 0) {
+            return 0;
+        }
+
+        List<OutboxEvent> rows = repository.findByDispatchedAtIsNullOrderByIdAsc(Limit.of(batchSize));
+        long nowMillis = System.currentTimeMillis();
+        retryAt.values().removeIf(at -> at <= nowMillis);
+
+        Set<Long> held = new HashSet<>(retryAt.keySet());
+        List<OutboxMessage> ready = new ArrayList<>(rows.size());
+        for (OutboxEvent row : rows) {
+            if (held.contains(row.getBookingId())) continue;
+            try {
+                ready.add(outbox.read(row));
+            } catch (Exception ex) {
+                log.error("Unreadable outbox event {}", row.getId(), ex);
+                held.add(row.getBookingId());
+            }
+        }
+
+        List<OutboxMessage> delivered = publish(ready) ? ready : publishOneByOne(ready, held);
+        Set<Long> failedBookings = new HashSet<>(held);
+        failedBookings.removeAll(retryAt.keySet());
+        for (Long bookingId : failedBookings) {
+            retryAt.put(bookingId, nowMillis + retryDelayMillis);
+        }
+
+        Set<Long> deliveredIds = new HashSet<>();
+        LocalDateTime dispatchedAt = LocalDateTime.now();
+        for (OutboxMessage message : delivered) {
+            deliveredIds.add(message.id());
+            delivery.record(Duration.between(message.createdAt(), dispatchedAt));
+        }
+        if (!deliveredIds.isEmpty()) {
+            repository.markDispatched(deliveredIds, dispatchedAt);
+        }
+        // the first pending event of a failed booking is the one that failed; the rest were held
+        List<Long> failedIds = new ArrayList<>();
+        Set<Long> counted = new HashSet<>();
+        for (OutboxEvent row : rows) {
+            if (failedBookings.contains(row.getBookingId()) && counted.add(row.getBookingId())) {
+                failedIds.add(row.getId());
+            }
+        }
+        if (!failedIds.isEmpty()) {
+            repository.countAttempt(failedIds);
+        }
+
+        updateGauges(rows, deliveredIds, dispatchedAt);
+        return delivered.size();
+    }
+
+    private List<OutboxMessage> publishOneByOne(List<OutboxMessage> ready, Set<Long> held) {
+        List<OutboxMessage> delivered = new ArrayList<>(ready.size());
+        for (OutboxMessage message : ready) {
+            Long bookingId = message.event().bookingId();
+            if (held.contains(bookingId)) continue;
+            if (publish(List.of(message))) {
+                delivered.add(message);
+            } else {
+                held.add(bookingId);
+            }
+        }
+        return delivered;
+    }
+
+    /** Offers {@code batch} to every sink; true if all of them accepted it. */
+    private boolean publish(List<OutboxMessage> batch) {
+        if (batch.isEmpty()) return true;
+        boolean accepted = true;
+        for (BookingEventSink sink : sinks) {
+            try {
+                sink.publish(batch);
+            } catch (Exception ex) {
+                accepted = false;
+                Counter.builder("booking.outbox.failures")
+                        .description("Booking event batches a sink rejected")
+                        .tag("sink", sink.name())
+                        .register(registry)
+                        .increment();
+                log.warn("Sink {} rejected {} booking events starting at #{}",
+                        sink.name(), batch.size(), batch.get(0).id(), ex);
+            }
+        }
+        return accepted;
+    }
+
+    private void updateGauges(List<OutboxEvent> rows, Set<Long> deliveredIds, LocalDateTime now) {
+        long left = rows.size() < batchSize
+                ? rows.size() - deliveredIds.size()
+                : repository.countByDispatchedAtIsNull();
+        pending.set(left);
+        lagSeconds.set(rows.stream()
+                .filter(r -> !deliveredIds.contains(r.getId()))
+                .findFirst()
+                .map(r -> Math.max(0, Duration.between(r.getCreatedAt(), now).toSeconds()))
+                .orElse(0L));
+    }
+
+    @Scheduled(fixedDelayString = "${booking.outbox.prune-interval-ms:3600000}",
+            initialDelayString = "${booking.outbox.prune-interval-ms:3600000}")
+    public void prune() {
+        if (!enabled) return;
+        int deleted = repository.deleteDispatchedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            log.info("Pruned {} dispatched outbox events older than {}h", deleted, retentionHours);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.cleaning.bookingservice.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * A {@link BookingEvent} as handed to sinks. {@code id} increases with every event written and is
+ * the same on every redelivery, so a sink that must not act twice can remember the last id it
+ * processed per booking.
+ */
+public record OutboxMessage(long id, LocalDateTime createdAt, BookingEvent event) {
+}
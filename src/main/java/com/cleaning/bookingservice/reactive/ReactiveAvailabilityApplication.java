@@ -0,0 +1,45 @@
+package com.cleaning.bookingservice.reactive;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+
+import java.util.Map;
+
+/**
+ * Read-only availability service on WebFlux and R2DBC, run next to the servlet application
+ * against the same database: a request holds no thread while its queries run, so one instance
+ * keeps many more availability requests in flight. Bookings, schema migrations and the
+ * in-memory schedule stay with the servlet application. Only the relational schedule
+ * ({@code booking.schedule.store=relational}) is read.
+ *
+ * <p>Its beans are conditional on a reactive context, so the servlet application's component
+ * scan skips this package.
+ */
+@SpringBootApplication(exclude = {
+        DataSourceAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        FlywayAutoConfiguration.class
+})
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAvailabilityApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveAvailabilityApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .properties(Map.of("server.port", "8081"))
+                .run(args);
+    }
+
+    // Tomcat is on the classpath for the servlet application and would otherwise be picked
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
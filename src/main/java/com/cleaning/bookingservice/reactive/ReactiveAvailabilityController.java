@@ -0,0 +1,48 @@
+package com.cleaning.bookingservice.reactive;
+
+import com.cleaning.bookingservice.dto.request.AvailabilityRequest;
+import com.cleaning.bookingservice.dto.response.AvailabilityResponse;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/availability")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAvailabilityController {
+
+    private final ReactiveAvailabilityService availabilityService;
+
+    public ReactiveAvailabilityController(ReactiveAvailabilityService availabilityService) {
+        this.availabilityService = availabilityService;
+    }
+
+    /**
+     * The vehicles of {@code POST /api/availability} as newline-delimited JSON, one line per
+     * available vehicle, written as each is computed. Takes the same request; with a large
+     * {@code pageSize}, or none, clients start on the first vehicles while the rest are read.
+     */
+    @PostMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<AvailabilityResponse.VehicleAvailability> streamAvailability(
+            @Valid @RequestBody AvailabilityRequest request) {
+        return availabilityService.stream(request);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Object> handleBadRequest(IllegalArgumentException ex) {
+        Map<String, Object> body = Map.of(
+                "timestamp", OffsetDateTime.now(),
+                "status", HttpStatus.BAD_REQUEST.value(),
+                "error", "Bad Request",
+                "message", ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+}
@@ -0,0 +1,95 @@
+package com.cleaning.bookingservice.reactive;
+
+import com.cleaning.bookingservice.dto.request.AvailabilityRequest;
+import com.cleaning.bookingservice.dto.response.AvailabilityResponse;
+import com.cleaning.bookingservice.entity.AvailabilityBlock;
+import com.cleaning.bookingservice.entity.CleanerProfessional;
+import com.cleaning.bookingservice.entity.Vehicle;
+import com.cleaning.bookingservice.fleet.ZoneFleet;
+import com.cleaning.bookingservice.service.AvailabilityServiceImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Availability computed per vehicle as its blocks arrive: each vehicle is one non-blocking query,
+ * up to {@code booking.reactive.vehicle-concurrency} in flight, and its entry is emitted (in
+ * vehicle order) as soon as it and the vehicles before it are done. The per-vehicle result is
+ * {@link AvailabilityServiceImpl#vehicleAvailability}, exactly as the servlet endpoint builds it.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAvailabilityService {
+
+    private final ReactiveScheduleReader reader;
+    private final int vehicleConcurrency;
+
+    public ReactiveAvailabilityService(ReactiveScheduleReader reader,
+                                       @Value("${booking.reactive.vehicle-concurrency:8}") int vehicleConcurrency) {
+        this.reader = reader;
+        this.vehicleConcurrency = vehicleConcurrency;
+    }
+
+    public Flux<AvailabilityResponse.VehicleAvailability> stream(AvailabilityRequest request) {
+        LocalDate date = LocalDate.parse(request.getDate());
+        if (date.getDayOfWeek() == DayOfWeek.FRIDAY) {
+            return Flux.empty();
+        }
+
+        boolean filterByTime = request.getStartTime() != null
+                && request.getDurationHours() != null
+                && request.getCleanerCount() != null;
+        LocalDateTime startDt = filterByTime ? LocalDateTime.of(date, LocalTime.parse(request.getStartTime())) : null;
+        LocalDateTime endDt = filterByTime ? startDt.plusHours(request.getDurationHours()) : null;
+
+        // shared by every vehicle of the request, read once
+        Mono<List<AvailabilityBlock>> seriesBlocks = reader.seriesBlocks(request.getZone(), date).cache();
+
+        return reader.fleet(request.getZone()).flatMapMany(fleet -> {
+            List<Vehicle> candidates = AvailabilityServiceImpl.candidateVehicles(fleet, request);
+            int pageSize = request.getPageSize() == null ? candidates.size() : request.getPageSize();
+            Set<Long> cleanerFilter = request.getCleanerIds() == null ? null : new HashSet<>(request.getCleanerIds());
+
+            return Flux.fromIterable(candidates.subList(0, Math.min(pageSize, candidates.size())))
+                    .flatMapSequential(v -> {
+                        List<CleanerProfessional> cleaners = cleanersOf(fleet, v, cleanerFilter);
+                        if (cleaners.isEmpty()) return Mono.empty();
+                        List<Long> cleanerIds = cleaners.stream().map(CleanerProfessional::getId).toList();
+
+                        return Mono.zip(reader.blocks(cleanerIds, date), seriesBlocks)
+                                .mapNotNull(blocks -> {
+                                    Map<Long, List<AvailabilityBlock>> byCleaner = byCleaner(blocks.getT1(), blocks.getT2());
+                                    return AvailabilityServiceImpl.vehicleAvailability(v, cleaners,
+                                            id -> byCleaner.getOrDefault(id, List.of()),
+                                            AvailabilityServiceImpl::freeSlotsOf,
+                                            startDt, endDt, request.getCleanerCount(), request.getMinFreeMinutes());
+                                });
+                    }, vehicleConcurrency);
+        });
+    }
+
+    private static List<CleanerProfessional> cleanersOf(ZoneFleet fleet, Vehicle v, Set<Long> cleanerFilter) {
+        List<CleanerProfessional> cleaners = fleet.cleanersOf(v.getId());
+        if (cleanerFilter == null) return cleaners;
+        return cleaners.stream().filter(c -> cleanerFilter.contains(c.getId())).toList();
+    }
+
+    private static Map<Long, List<AvailabilityBlock>> byCleaner(List<AvailabilityBlock> stored,
+                                                                List<AvailabilityBlock> series) {
+        Map<Long, List<AvailabilityBlock>> byCleaner = new HashMap<>();
+        for (List<AvailabilityBlock> blocks : List.of(stored, series)) {
+            for (AvailabilityBlock b : blocks) {
+                byCleaner.computeIfAbsent(b.getCleanerId(), id -> new ArrayList<>()).add(b);
+            }
+        }
+        return byCleaner;
+    }
+}
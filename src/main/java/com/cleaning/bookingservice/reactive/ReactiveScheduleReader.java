@@ -0,0 +1,161 @@
+package com.cleaning.bookingservice.reactive;
+
+import com.cleaning.bookingservice.entity.AvailabilityBlock;
+import com.cleaning.bookingservice.entity.BookingSeries;
+import com.cleaning.bookingservice.entity.CleanerProfessional;
+import com.cleaning.bookingservice.entity.Vehicle;
+import com.cleaning.bookingservice.fleet.FleetRegistry;
+import com.cleaning.bookingservice.fleet.ZoneFleet;
+import com.cleaning.bookingservice.schedule.BookingSeriesCalendar;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Non-blocking reads of the relational schedule tables for the reactive availability service:
+ * the zone's fleet (cached like {@link FleetRegistry}), one vehicle's blocks for a day, and the
+ * blocks of booking series not yet materialized on that day.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveScheduleReader {
+
+    private final DatabaseClient db;
+    private final Duration fleetTtl;
+    private final Map<String, Mono<ZoneFleet>> fleets = new ConcurrentHashMap<>();
+
+    public ReactiveScheduleReader(DatabaseClient db,
+                                  @Value("${booking.fleet.refresh-interval-ms:300000}") long fleetTtlMs) {
+        this.db = db;
+        this.fleetTtl = Duration.ofMillis(fleetTtlMs);
+    }
+
+    public Mono<ZoneFleet> fleet(String zone) {
+        String normalized = FleetRegistry.normalizeZone(zone);
+        return fleets.computeIfAbsent(normalized, z -> loadFleet(z).cache(fleetTtl));
+    }
+
+    private Mono<ZoneFleet> loadFleet(String zone) {
+        return db.sql("""
+                        SELECT v.id AS vehicle_id, v.name AS vehicle_name, c.id AS cleaner_id, c.name AS cleaner_name
+                        FROM vehicle v
+                        LEFT JOIN cleaner_professional c ON c.vehicle_id = v.id
+                        WHERE v.zone = :zone
+                        ORDER BY v.id, c.id
+                        """)
+                .bind("zone", zone)
+                .map(row -> new FleetRow(row.get("vehicle_id", Long.class), row.get("vehicle_name", String.class),
+                        row.get("cleaner_id", Long.class), row.get("cleaner_name", String.class)))
+                .all()
+                .collectList()
+                .map(rows -> {
+                    Map<Long, Vehicle> vehicles = new LinkedHashMap<>();
+                    List<CleanerProfessional> cleaners = new ArrayList<>();
+                    for (FleetRow row : rows) {
+                        Vehicle v = vehicles.computeIfAbsent(row.vehicleId(), id -> {
+                            Vehicle vehicle = new Vehicle();
+                            vehicle.setId(id);
+                            vehicle.setName(row.vehicleName());
+                            vehicle.setZone(zone);
+                            return vehicle;
+                        });
+                        if (row.cleanerId() != null) {
+                            cleaners.add(new CleanerProfessional(row.cleanerId(), row.cleanerName(), v));
+                        }
+                    }
+                    return ZoneFleet.of(zone, List.copyOf(vehicles.values()), cleaners);
+                });
+    }
+
+    /** Blocks of {@code cleanerIds} starting on {@code date}, in start order. */
+    public Mono<List<AvailabilityBlock>> blocks(Collection<Long> cleanerIds, LocalDate date) {
+        if (cleanerIds.isEmpty()) return Mono.just(List.of());
+        return db.sql("""
+                        SELECT id, cleaner_id, start_datetime, end_datetime, block_type, booking_id
+                        FROM availability_blocks
+                        WHERE cleaner_id IN (:cleanerIds)
+                          AND start_datetime >= :from
+                          AND start_datetime < :to
+                        ORDER BY start_datetime
+                        """)
+                .bind("cleanerIds", List.copyOf(cleanerIds))
+                .bind("from", date.atStartOfDay())
+                .bind("to", date.plusDays(1).atStartOfDay())
+                .map(row -> {
+                    AvailabilityBlock b = new AvailabilityBlock();
+                    b.setId(row.get("id", Long.class));
+                    b.setCleanerId(row.get("cleaner_id", Long.class));
+                    b.setStartDatetime(row.get("start_datetime", LocalDateTime.class));
+                    b.setEndDatetime(row.get("end_datetime", LocalDateTime.class));
+                    b.setBlockType(row.get("block_type", String.class));
+                    b.setBookingId(row.get("booking_id", Long.class));
+                    return b;
+                })
+                .all()
+                .collectList();
+    }
+
+    /**
+     * Expanded blocks on {@code date} of the zone's series whose horizon has not reached it yet,
+     * as {@link BookingSeriesCalendar} expands them for the servlet reads.
+     */
+    public Mono<List<AvailabilityBlock>> seriesBlocks(String zone, LocalDate date) {
+        return db.sql("""
+                        SELECT s.id, s.first_date, s.last_date, s.start_time, s.duration_hours, s.interval_weeks,
+                               s.materialized_until, sc.cleaner_id
+                        FROM booking_series s
+                        JOIN booking_series_cleaner sc ON sc.series_id = s.id
+                        LEFT JOIN booking_series_exclusion e ON e.series_id = s.id AND e.excluded_date = :date
+                        WHERE s.zone = :zone
+                          AND s.first_date <= :date
+                          AND s.last_date >= :date
+                          AND s.materialized_until < :date
+                          AND e.series_id IS NULL
+                        """)
+                .bind("zone", FleetRegistry.normalizeZone(zone))
+                .bind("date", date)
+                .map(row -> {
+                    BookingSeries s = new BookingSeries();
+                    s.setId(row.get("id", Long.class));
+                    s.setFirstDate(row.get("first_date", LocalDate.class));
+                    s.setLastDate(row.get("last_date", LocalDate.class));
+                    s.setStartTime(row.get("start_time", LocalTime.class));
+                    s.setDurationHours(row.get("duration_hours", Integer.class));
+                    s.setIntervalWeeks(row.get("interval_weeks", Integer.class));
+                    s.setMaterializedUntil(row.get("materialized_until", LocalDate.class));
+                    s.getCleanerIds().add(row.get("cleaner_id", Long.class));
+                    return s;
+                })
+                .all()
+                .collectList()
+                .map(rows -> {
+                    // one row per series and cleaner
+                    Map<Long, BookingSeries> series = new LinkedHashMap<>();
+                    for (BookingSeries row : rows) {
+                        series.merge(row.getId(), row, (s, more) -> {
+                            s.getCleanerIds().addAll(more.getCleanerIds());
+                            return s;
+                        });
+                    }
+                    List<AvailabilityBlock> blocks = new ArrayList<>();
+                    for (BookingSeries s : series.values()) {
+                        if (BookingSeriesCalendar.isOccurrence(s, date)) {
+                            blocks.addAll(BookingSeriesCalendar.blocksOf(s, date));
+                        }
+                    }
+                    return blocks;
+                });
+    }
+
+    private record FleetRow(Long vehicleId, String vehicleName, Long cleanerId, String cleanerName) {
+    }
+}
@@ -30,6 +30,36 @@ public interface AvailabilityBlockRepository extends BaseRepository<Availability
 
 
 
+    @Query("""
+        SELECT a
+        FROM AvailabilityBlock a
+        WHERE a.cleanerId IN :cleanerIds
+          AND a.startDatetime >= :from
+          AND a.startDatetime < :to
+        ORDER BY a.cleanerId, a.startDatetime
+    """)
+    List<AvailabilityBlock> findBlocksForCleanersBetween(
+            @Param("cleanerIds") List<Long> cleanerIds,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+
+
+    @Query("""
+        SELECT a
+        FROM AvailabilityBlock a
+        WHERE a.startDatetime >= :from
+          AND a.startDatetime < :to
+        ORDER BY a.cleanerId, a.startDatetime
+    """)
+    List<AvailabilityBlock> findBlocksBetween(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+
+
     @Query("""
         SELECT a
         FROM AvailabilityBlock a
@@ -50,6 +80,7 @@ public interface AvailabilityBlockRepository extends BaseRepository<Availability
         WHERE a.cleanerId = :cleanerId
           AND a.startDatetime < :end
           AND a.endDatetime > :start
+          AND (a.blockType IS NULL OR UPPER(a.blockType) <> 'FREE')
     """)
     boolean hasOverlap(@Param("cleanerId") Long cleanerId,
                        @Param("start") LocalDateTime start,
@@ -70,6 +101,7 @@ public interface AvailabilityBlockRepository extends BaseRepository<Availability
       AND a.bookingId <> :bookingId
       AND a.startDatetime < :end
       AND a.endDatetime > :start
+      AND (a.blockType IS NULL OR UPPER(a.blockType) <> 'FREE')
 """)
     boolean hasOverlapExcludingBooking(Long cleanerId,
                                        Long bookingId,
@@ -113,4 +145,20 @@ public interface AvailabilityBlockRepository extends BaseRepository<Availability
                           LocalDateTime newBreakEnd,
                           String type);
 
+
+    @Modifying
+    @Query("""
+       DELETE FROM AvailabilityBlock a
+       WHERE a.cleanerId = :cleanerId
+         AND a.bookingId = :bookingId
+         AND a.startDatetime = :start
+         AND a.endDatetime = :end
+         AND a.blockType = :type
+       """)
+    int deleteBlock(Long cleanerId,
+                    Long bookingId,
+                    LocalDateTime start,
+                    LocalDateTime end,
+                    String type);
+
 }
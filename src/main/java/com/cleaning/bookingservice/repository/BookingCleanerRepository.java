@@ -8,12 +8,14 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface BookingCleanerRepository extends BaseRepository<BookingCleaner, Long> {
     List<BookingCleaner> findByBooking_Id(Long bookingId);
     List<BookingCleaner> findByCleaner_Id(Long cleanerId);
+    List<BookingCleaner> findByBooking_IdIn(Collection<Long> bookingIds);
     @Modifying
     @Query("""
    UPDATE BookingCleaner bc 
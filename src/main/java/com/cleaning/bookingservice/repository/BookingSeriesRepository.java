@@ -0,0 +1,67 @@
+package com.cleaning.bookingservice.repository;
+
+import com.cleaning.bookingservice.entity.BookingSeries;
+import com.cleaning.bookingservice.repository.base.BaseRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface BookingSeriesRepository extends BaseRepository<BookingSeries, Long> {
+
+    /** Series of the zone with occurrences after their materialized horizon falling in {@code from..to}. */
+    @Query("""
+        SELECT DISTINCT s
+        FROM BookingSeries s
+        LEFT JOIN FETCH s.cleanerIds
+        LEFT JOIN FETCH s.excludedDates
+        WHERE s.zone = :zone
+          AND s.lastDate >= :from
+          AND s.firstDate <= :to
+          AND s.materializedUntil < :to
+          AND s.materializedUntil < s.lastDate
+    """)
+    List<BookingSeries> findUnmaterializedBetween(@Param("zone") String zone,
+                                                  @Param("from") LocalDate from,
+                                                  @Param("to") LocalDate to);
+
+
+
+    @Query("""
+        SELECT s.id
+        FROM BookingSeries s
+        WHERE s.materializedUntil < s.lastDate
+          AND s.materializedUntil < :horizon
+        ORDER BY s.id
+    """)
+    List<Long> findDueForMaterialization(@Param("horizon") LocalDate horizon);
+
+
+
+    @Query("""
+        SELECT DISTINCT s
+        FROM BookingSeries s
+        LEFT JOIN FETCH s.cleanerIds
+        LEFT JOIN FETCH s.excludedDates
+        WHERE s.id = :id
+    """)
+    List<BookingSeries> findWithRule(@Param("id") Long id);
+
+
+
+    /** Moves the horizon only if nobody else moved it since {@code expected} was read. */
+    @Modifying
+    @Query("""
+        UPDATE BookingSeries s
+        SET s.materializedUntil = :until
+        WHERE s.id = :id
+          AND s.materializedUntil = :expected
+    """)
+    int advanceMaterialized(@Param("id") Long id,
+                            @Param("expected") LocalDate expected,
+                            @Param("until") LocalDate until);
+}
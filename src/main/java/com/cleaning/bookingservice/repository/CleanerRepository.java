@@ -17,4 +17,14 @@ public interface CleanerRepository extends BaseRepository<CleanerProfessional, L
 
     @Query("SELECT c FROM CleanerProfessional c WHERE c.id IN :ids")
     List<CleanerProfessional> findAllByIds(@Param("ids") List<Long> ids);
+
+
+    @Query("""
+        SELECT c
+        FROM CleanerProfessional c
+        JOIN FETCH c.vehicle v
+        WHERE v.zone = :zone
+        ORDER BY v.id, c.id
+    """)
+    List<CleanerProfessional> findByZoneWithVehicle(@Param("zone") String zone);
 }
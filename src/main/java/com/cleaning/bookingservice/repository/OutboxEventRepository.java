@@ -0,0 +1,59 @@
+package com.cleaning.bookingservice.repository;
+
+import com.cleaning.bookingservice.entity.OutboxEvent;
+import com.cleaning.bookingservice.repository.base.BaseRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends BaseRepository<OutboxEvent, Long> {
+
+    List<OutboxEvent> findByDispatchedAtIsNullOrderByIdAsc(Limit limit);
+
+    long countByDispatchedAtIsNull();
+
+
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.dispatchedAt = :at WHERE e.id IN :ids")
+    int markDispatched(@Param("ids") Collection<Long> ids, @Param("at") LocalDateTime at);
+
+
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1 WHERE e.id IN :ids")
+    int countAttempt(@Param("ids") Collection<Long> ids);
+
+
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.dispatchedAt < :before")
+    int deleteDispatchedBefore(@Param("before") LocalDateTime before);
+
+
+
+    /** Takes or renews the dispatcher lease; 1 if {@code owner} now holds it. */
+    @Transactional
+    @Modifying
+    @Query(value = """
+        UPDATE outbox_dispatcher_lease
+        SET owner = :owner, expires_at = :until
+        WHERE name = :name
+          AND (owner = :owner OR expires_at < :now)
+    """, nativeQuery = true)
+    int acquireLease(@Param("name") String name,
+                     @Param("owner") String owner,
+                     @Param("now") LocalDateTime now,
+                     @Param("until") LocalDateTime until);
+}
@@ -0,0 +1,42 @@
+package com.cleaning.bookingservice.repository;
+
+import com.cleaning.bookingservice.entity.ScheduleChange;
+import com.cleaning.bookingservice.repository.base.BaseRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ScheduleChangeRepository extends BaseRepository<ScheduleChange, Long> {
+
+    List<ScheduleChange> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+
+
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM ScheduleChange c")
+    long findMaxId();
+
+
+
+    @Query("""
+        SELECT c
+        FROM ScheduleChange c
+        WHERE c.id > :after
+           OR c.createdAt >= :since
+        ORDER BY c.id
+    """)
+    List<ScheduleChange> findChangedSince(@Param("after") long after, @Param("since") LocalDateTime since);
+
+
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ScheduleChange c WHERE c.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
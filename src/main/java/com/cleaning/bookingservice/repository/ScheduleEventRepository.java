@@ -0,0 +1,80 @@
+package com.cleaning.bookingservice.repository;
+
+import com.cleaning.bookingservice.entity.ScheduleEvent;
+import com.cleaning.bookingservice.repository.base.BaseRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ScheduleEventRepository extends BaseRepository<ScheduleEvent, Long> {
+
+    /** Size of a cleaner-day's log since its last compaction. */
+    interface TailSize {
+        Long getCleanerId();
+        LocalDate getScheduleDate();
+        long getEvents();
+    }
+
+
+
+    @Query("""
+        SELECT e
+        FROM ScheduleEvent e
+        WHERE e.cleanerId IN :cleanerIds
+          AND e.scheduleDate BETWEEN :from AND :to
+        ORDER BY e.cleanerId, e.scheduleDate, e.seq
+    """)
+    List<ScheduleEvent> findForCleanersBetween(@Param("cleanerIds") List<Long> cleanerIds,
+                                               @Param("from") LocalDate from,
+                                               @Param("to") LocalDate to);
+
+
+
+    @Query("""
+        SELECT e
+        FROM ScheduleEvent e
+        WHERE e.scheduleDate BETWEEN :from AND :to
+        ORDER BY e.cleanerId, e.scheduleDate, e.seq
+    """)
+    List<ScheduleEvent> findBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+
+
+    @Query("""
+        SELECT e.cleanerId AS cleanerId, e.scheduleDate AS scheduleDate, COUNT(e) AS events
+        FROM ScheduleEvent e
+        GROUP BY e.cleanerId, e.scheduleDate
+        HAVING COUNT(e) >= :min
+    """)
+    List<TailSize> findTailsOfAtLeast(@Param("min") long min);
+
+
+
+    @Modifying
+    @Query("""
+        DELETE FROM ScheduleEvent e
+        WHERE e.cleanerId = :cleanerId
+          AND e.scheduleDate = :date
+          AND e.seq <= :upTo
+    """)
+    int deleteCompacted(@Param("cleanerId") Long cleanerId,
+                        @Param("date") LocalDate date,
+                        @Param("upTo") int upTo);
+
+
+
+    /** Next free seq of a cleaner-day, counting events already folded into its snapshot. */
+    @Query(value = """
+        SELECT GREATEST(
+            COALESCE((SELECT MAX(e.seq) FROM cleaner_schedule_event e
+                      WHERE e.cleaner_id = :cleanerId AND e.schedule_date = :date), 0),
+            COALESCE((SELECT s.last_seq FROM cleaner_schedule_snapshot s
+                      WHERE s.cleaner_id = :cleanerId AND s.schedule_date = :date), 0)) + 1
+    """, nativeQuery = true)
+    int nextSeq(@Param("cleanerId") Long cleanerId, @Param("date") LocalDate date);
+}
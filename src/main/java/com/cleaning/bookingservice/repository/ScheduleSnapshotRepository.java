@@ -0,0 +1,31 @@
+package com.cleaning.bookingservice.repository;
+
+import com.cleaning.bookingservice.entity.ScheduleSnapshot;
+import com.cleaning.bookingservice.repository.base.BaseRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ScheduleSnapshotRepository extends BaseRepository<ScheduleSnapshot, Long> {
+
+    @Query("""
+        SELECT s
+        FROM ScheduleSnapshot s
+        WHERE s.cleanerId IN :cleanerIds
+          AND s.scheduleDate BETWEEN :from AND :to
+    """)
+    List<ScheduleSnapshot> findForCleanersBetween(@Param("cleanerIds") List<Long> cleanerIds,
+                                                  @Param("from") LocalDate from,
+                                                  @Param("to") LocalDate to);
+
+
+
+    List<ScheduleSnapshot> findByScheduleDateBetween(LocalDate from, LocalDate to);
+
+    Optional<ScheduleSnapshot> findByCleanerIdAndScheduleDate(Long cleanerId, LocalDate date);
+}
@@ -5,6 +5,9 @@ import com.cleaning.bookingservice.entity.Vehicle;
 import com.cleaning.bookingservice.repository.base.BaseRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface VehicleRepository extends BaseRepository<Vehicle, Long> {
-}
\ No newline at end of file
+    List<Vehicle> findByZoneOrderByIdAsc(String zone);
+}
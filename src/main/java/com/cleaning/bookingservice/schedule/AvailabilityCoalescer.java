@@ -0,0 +1,110 @@
+package com.cleaning.bookingservice.schedule;
+
+import com.cleaning.bookingservice.exception.AvailabilityOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of availability computations: while one computation for a key is
+ * running, identical requests wait for its result instead of starting their own. Keys carry
+ * the schedule version, so a booking write in between starts a fresh flight.
+ *
+ * <p>Each flight accepts at most {@code booking.availability.coalescing.max-waiters} followers
+ * and makes them wait at most {@code booking.availability.coalescing.wait-timeout-ms}; beyond
+ * that callers get an {@link AvailabilityOverloadedException} (HTTP 503).
+ *
+ * <p>Metrics: {@code availability.coalescing.calls{role=leader|follower|rejected}} (coalescing
+ * ratio = follower / (leader + follower)) and {@code availability.coalescing.inflight}.
+ */
+@Component
+public class AvailabilityCoalescer {
+
+    private static final class Flight {
+        final CompletableFuture<AvailabilityResultCache.Result> result = new CompletableFuture<>();
+        final AtomicInteger waiters = new AtomicInteger();
+    }
+
+    private final Map<AvailabilityResultCache.Key, Flight> inFlight = new ConcurrentHashMap<>();
+
+    private final int maxWaiters;
+    private final long waitTimeoutMillis;
+
+    private final Counter leaders;
+    private final Counter followers;
+    private final Counter rejected;
+
+    public AvailabilityCoalescer(MeterRegistry meterRegistry,
+                                 @Value("${booking.availability.coalescing.max-waiters:1000}") int maxWaiters,
+                                 @Value("${booking.availability.coalescing.wait-timeout-ms:5000}") long waitTimeoutMillis) {
+        this.maxWaiters = maxWaiters;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+
+        this.leaders = calls(meterRegistry, "leader");
+        this.followers = calls(meterRegistry, "follower");
+        this.rejected = calls(meterRegistry, "rejected");
+        Gauge.builder("availability.coalescing.inflight", inFlight, Map::size)
+                .description("Availability computations currently running")
+                .register(meterRegistry);
+    }
+
+    private static Counter calls(MeterRegistry registry, String role) {
+        return Counter.builder("availability.coalescing.calls")
+                .description("Availability computations by coalescing role")
+                .tag("role", role)
+                .register(registry);
+    }
+
+    public AvailabilityResultCache.Result execute(AvailabilityResultCache.Key key,
+                                              Supplier<AvailabilityResultCache.Result> computation) {
+        Flight mine = new Flight();
+        Flight running = inFlight.putIfAbsent(key, mine);
+
+        if (running == null) {
+            leaders.increment();
+            try {
+                AvailabilityResultCache.Result result = computation.get();
+                mine.result.complete(result);
+                return result;
+            } catch (RuntimeException | Error ex) {
+                mine.result.completeExceptionally(ex);
+                throw ex;
+            } finally {
+                inFlight.remove(key, mine);
+            }
+        }
+
+        return await(running);
+    }
+
+    private AvailabilityResultCache.Result await(Flight running) {
+        if (running.waiters.incrementAndGet() > maxWaiters) {
+            running.waiters.decrementAndGet();
+            rejected.increment();
+            throw new AvailabilityOverloadedException("Too many identical availability requests in flight, retry shortly");
+        }
+        followers.increment();
+        try {
+            return running.result.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException re) throw re;
+            if (ex.getCause() instanceof Error err) throw err;
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            rejected.increment();
+            throw new AvailabilityOverloadedException("Timed out waiting for an identical availability request", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new AvailabilityOverloadedException("Interrupted while waiting for availability", ex);
+        } finally {
+            running.waiters.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.cleaning.bookingservice.schedule;
+
+import com.cleaning.bookingservice.dto.response.AvailabilityResponse;
+import com.cleaning.bookingservice.fleet.ZoneFleet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of computed availability responses. Entries are keyed by the schedule
+ * version and the fleet snapshot they were computed from, so a booking write or a fleet reload
+ * makes them unreachable without any explicit eviction; the LRU bound drops them eventually.
+ * Changes neither of those sees (rows edited outside the service) are picked up once an entry
+ * is older than {@code booking.availability.result-cache-ttl-ms}.
+ *
+ * <p>Cached responses are shared: callers must copy them before handing them out.
+ */
+@Component
+public class AvailabilityResultCache {
+
+    // fleet compares by identity: every reload is a new snapshot
+    public record Key(ZoneDay day, ZoneFleet fleet, long version, String variant) {
+    }
+
+    /** A computed response and its entity tag, which depends on nothing but the content. */
+    public record Result(AvailabilityResponse response, String etag) {
+
+        public static Result of(AvailabilityResponse response) {
+            return new Result(response, etagOf(response));
+        }
+    }
+
+    private record Entry(Result result, long storedAtNanos) {
+    }
+
+    private final Map<Key, Entry> entries;
+    private final long ttlNanos;
+
+    public AvailabilityResultCache(@Value("${booking.availability.result-cache-size:1024}") int maxEntries,
+                                   @Value("${booking.availability.result-cache-ttl-ms:30000}") long ttlMillis) {
+        this.ttlNanos = ttlMillis * 1_000_000;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public Result get(Key key) {
+        Entry entry = entries.get(key);
+        if (entry == null) return null;
+        if (System.nanoTime() - entry.storedAtNanos() > ttlNanos) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.result();
+    }
+
+    public void put(Key key, Result result) {
+        entries.put(key, new Entry(result, System.nanoTime()));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Strong tag over everything the response shows, so replicas (and restarts) that compute the
+     * same answer hand out the same tag, and a different answer never reuses one.
+     */
+    static String etagOf(AvailabilityResponse response) {
+        StringBuilder content = new StringBuilder(256)
+                .append(response.getDate()).append('|')
+                .append(response.getCount()).append('|')
+                .append(response.getNextCursor());
+        if (response.getAvailableVehicles() != null) {
+            for (AvailabilityResponse.VehicleAvailability v : response.getAvailableVehicles()) {
+                content.append("|v").append(v.getVehicleId()).append(',').append(v.getVehicleName());
+                if (v.getCleaners() == null) continue;
+                for (AvailabilityResponse.CleanerAvailability c : v.getCleaners()) {
+                    content.append("|c").append(c.getCleanerId()).append(',').append(c.getName())
+                            .append(',').append(c.getAvailableSlots());
+                }
+            }
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(content.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
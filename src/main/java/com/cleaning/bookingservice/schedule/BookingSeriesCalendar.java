@@ -0,0 +1,150 @@
+package com.cleaning.bookingservice.schedule;
+
+import com.cleaning.bookingservice.constants.BookingServiceConstants;
+import com.cleaning.bookingservice.constants.BookingServiceConstants.BookingBlockType;
+import com.cleaning.bookingservice.entity.AvailabilityBlock;
+import com.cleaning.bookingservice.entity.BookingSeries;
+import com.cleaning.bookingservice.fleet.ZoneFleet;
+import com.cleaning.bookingservice.repository.BookingSeriesRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * The occurrences of every {@link BookingSeries} that are not bookings yet (after
+ * {@code materialized_until}), expanded from the rule when a schedule is read instead of being
+ * stored as blocks. {@link ScheduleCache} and the booking conflict checks add them to what the
+ * {@link ScheduleStore} returns, so a series holds its team on every future occurrence while
+ * writing rows only up to the rolling horizon.
+ *
+ * <p>Expanded blocks look like the ones a booking writes (BOOKED plus the BREAK after it) with
+ * no booking id.
+ */
+@Component
+public class BookingSeriesCalendar {
+
+    private final BookingSeriesRepository repository;
+    private final ScheduleStore scheduleStore;
+
+    public BookingSeriesCalendar(BookingSeriesRepository repository, ScheduleStore scheduleStore) {
+        this.repository = repository;
+        this.scheduleStore = scheduleStore;
+    }
+
+    /**
+     * Expanded blocks of {@code cleanerIds} on days {@code from..to} (inclusive), one query for
+     * the zone's series reaching past their horizon into the range.
+     */
+    public List<AvailabilityBlock> blocksBetween(String zone, Collection<Long> cleanerIds, LocalDate from, LocalDate to) {
+        if (cleanerIds.isEmpty()) return List.of();
+        List<BookingSeries> series = repository.findUnmaterializedBetween(zone, from, to);
+        if (series.isEmpty()) return List.of();
+
+        Set<Long> wanted = cleanerIds instanceof Set<Long> set ? set : new HashSet<>(cleanerIds);
+        List<AvailabilityBlock> blocks = new ArrayList<>();
+        for (BookingSeries s : series) {
+            if (Collections.disjoint(s.getCleanerIds(), wanted)) continue;
+            LocalDate first = from.isAfter(s.getMaterializedUntil()) ? from : s.getMaterializedUntil().plusDays(1);
+            for (LocalDate date : occurrences(s, first, to)) {
+                for (AvailabilityBlock b : blocksOf(s, date)) {
+                    if (wanted.contains(b.getCleanerId())) blocks.add(b);
+                }
+            }
+        }
+        return blocks;
+    }
+
+    /** Whether an expanded block of {@code cleanerId} intersects {@code [start, end)}. */
+    public static boolean overlaps(List<AvailabilityBlock> blocks, Long cleanerId, LocalDateTime start, LocalDateTime end) {
+        for (AvailabilityBlock b : blocks) {
+            if (b.getCleanerId().equals(cleanerId)
+                    && b.getStartDatetime().isBefore(end) && b.getEndDatetime().isAfter(start)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * For each cleaner of the zone, the dates among {@code dates} on which
+     * {@code [start, start + hours)} intersects one of their blocks, stored or expanded. Reads
+     * the whole span once (one block query, one series query) and sweeps it once, however many
+     * occurrences there are. Cleaners free on every date are absent from the result.
+     */
+    public Map<Long, SortedSet<LocalDate>> busyDates(ZoneFleet fleet, SortedSet<LocalDate> dates,
+                                                     LocalTime start, int hours) {
+        if (dates.isEmpty() || fleet.getCleanerIds().isEmpty()) return Map.of();
+        LocalDate first = dates.first();
+        LocalDate last = dates.last();
+
+        Map<LocalDate, LocalDateTime[]> windows = new HashMap<>(dates.size() * 2);
+        for (LocalDate date : dates) {
+            LocalDateTime from = date.atTime(start);
+            windows.put(date, new LocalDateTime[]{from, from.plusHours(hours)});
+        }
+
+        List<AvailabilityBlock> blocks = new ArrayList<>(scheduleStore.findBlocksBetween(
+                fleet.getCleanerIds(), first.atStartOfDay(), last.plusDays(1).atStartOfDay()));
+        blocks.addAll(blocksBetween(fleet.getZone(), fleet.getCleanerIds(), first, last));
+
+        Map<Long, SortedSet<LocalDate>> busy = new HashMap<>();
+        for (AvailabilityBlock b : blocks) {
+            // blocks never cross midnight, so only the window of their own day can intersect them
+            LocalDate date = b.getStartDatetime().toLocalDate();
+            LocalDateTime[] window = windows.get(date);
+            if (window != null && b.getStartDatetime().isBefore(window[1]) && b.getEndDatetime().isAfter(window[0])) {
+                busy.computeIfAbsent(b.getCleanerId(), id -> new TreeSet<>()).add(date);
+            }
+        }
+        return busy;
+    }
+
+    /** The series' occurrence dates within {@code from..to} (inclusive), without excluded dates. */
+    public static List<LocalDate> occurrences(BookingSeries s, LocalDate from, LocalDate to) {
+        LocalDate last = to.isBefore(s.getLastDate()) ? to : s.getLastDate();
+        int stepDays = 7 * s.getIntervalWeeks();
+        LocalDate date = s.getFirstDate();
+        if (from.isAfter(date)) {
+            long steps = (ChronoUnit.DAYS.between(date, from) + stepDays - 1) / stepDays;
+            date = date.plusDays(steps * stepDays);
+        }
+        List<LocalDate> result = new ArrayList<>();
+        for (; !date.isAfter(last); date = date.plusDays(stepDays)) {
+            if (!s.getExcludedDates().contains(date)) result.add(date);
+        }
+        return result;
+    }
+
+    /** Whether {@code date} is a (not excluded) occurrence of the series. */
+    public static boolean isOccurrence(BookingSeries s, LocalDate date) {
+        return !date.isBefore(s.getFirstDate()) && !date.isAfter(s.getLastDate())
+                && ChronoUnit.DAYS.between(s.getFirstDate(), date) % (7L * s.getIntervalWeeks()) == 0
+                && !s.getExcludedDates().contains(date);
+    }
+
+    /** BOOKED and BREAK blocks of every cleaner of the series on {@code date}, as a booking would write them. */
+    public static List<AvailabilityBlock> blocksOf(BookingSeries s, LocalDate date) {
+        LocalDateTime start = date.atTime(s.getStartTime());
+        LocalDateTime end = start.plusHours(s.getDurationHours());
+        LocalDateTime breakEnd = end.plusMinutes(BookingServiceConstants.BREAK_MINUTES);
+        List<AvailabilityBlock> blocks = new ArrayList<>(s.getCleanerIds().size() * 2);
+        for (Long cleanerId : new TreeSet<>(s.getCleanerIds())) {
+            blocks.add(block(cleanerId, start, end, BookingBlockType.BOOKED));
+            blocks.add(block(cleanerId, end, breakEnd, BookingBlockType.BREAK));
+        }
+        return blocks;
+    }
+
+    private static AvailabilityBlock block(Long cleanerId, LocalDateTime start, LocalDateTime end, BookingBlockType type) {
+        AvailabilityBlock b = new AvailabilityBlock();
+        b.setCleanerId(cleanerId);
+        b.setStartDatetime(start);
+        b.setEndDatetime(end);
+        b.setBlockType(type.name());
+        return b;
+    }
+}
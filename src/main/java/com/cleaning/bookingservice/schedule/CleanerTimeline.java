@@ -0,0 +1,98 @@
+package com.cleaning.bookingservice.schedule;
+
+import com.cleaning.bookingservice.constants.BookingServiceConstants.BookingBlockType;
+import com.cleaning.bookingservice.entity.AvailabilityBlock;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * One cleaner's blocks over a multi-day horizon, ordered by (start, end, type) - the same key
+ * the {@code uq_cleaner_block} constraint enforces, so adding a block twice is a no-op.
+ *
+ * <p>Times are epoch seconds, so any duration or start minute is representable. Overlap
+ * queries only look at blocks starting in {@code (start - longest block, end)}: O(log n) to find
+ * that range plus the few blocks in it. Not thread-safe; {@link ScheduleCache} guards it.
+ */
+final class CleanerTimeline {
+
+    record Block(long start, long end, String type, Long bookingId) {
+
+        /** FREE blocks mark time as available, so they never conflict with anything. */
+        boolean busy() {
+            return !BookingBlockType.FREE.name().equalsIgnoreCase(type);
+        }
+
+        static Block of(AvailabilityBlock b) {
+            return new Block(epoch(b.getStartDatetime()), epoch(b.getEndDatetime()), b.getBlockType(), b.getBookingId());
+        }
+
+        AvailabilityBlock toEntity(Long cleanerId) {
+            AvailabilityBlock b = new AvailabilityBlock();
+            b.setCleanerId(cleanerId);
+            b.setStartDatetime(LocalDateTime.ofEpochSecond(start, 0, ZoneOffset.UTC));
+            b.setEndDatetime(LocalDateTime.ofEpochSecond(end, 0, ZoneOffset.UTC));
+            b.setBlockType(type);
+            b.setBookingId(bookingId);
+            return b;
+        }
+    }
+
+    private static final Comparator<Block> ORDER = Comparator.comparingLong(Block::start)
+            .thenComparingLong(Block::end)
+            .thenComparing(Block::type);
+
+    private final TreeSet<Block> blocks = new TreeSet<>(ORDER);
+    // never shrinks; only widens the scanned range, never hides an overlap
+    private long longest;
+
+    static long epoch(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static Block probe(long start) {
+        return new Block(start, Long.MIN_VALUE, "", null);
+    }
+
+    void add(Block block) {
+        blocks.add(block);
+        longest = Math.max(longest, block.end() - block.start());
+    }
+
+    /** @return whether a block with the same (start, end, type) was there */
+    boolean remove(Block block) {
+        return blocks.remove(block);
+    }
+
+    /** Blocks starting in {@code [from, to)}. */
+    NavigableSet<Block> startingBetween(long from, long to) {
+        return blocks.subSet(probe(from), true, probe(to), false);
+    }
+
+    void removeStartingBetween(long from, long to) {
+        startingBetween(from, to).clear();
+    }
+
+    /** Whether any busy block intersects {@code [start, end)} (same rule as the repository's hasOverlap). */
+    boolean overlaps(long start, long end) {
+        for (Block b : startingBetween(start - longest, end)) {
+            if (b.end() > start && b.busy()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    NavigableSet<Block> all() {
+        return Collections.unmodifiableNavigableSet(blocks);
+    }
+
+    boolean isEmpty() {
+        return blocks.isEmpty();
+    }
+
+    int size() {
+        return blocks.size();
+    }
+}
@@ -0,0 +1,57 @@
+package com.cleaning.bookingservice.schedule;
+
+import com.cleaning.bookingservice.entity.AvailabilityBlock;
+
+import java.util.*;
+
+/**
+ * Immutable view of every availability block of one zone for one day, grouped by cleaner
+ * and ordered by start time.
+ */
+public final class DaySchedule {
+
+    private final Map<Long, List<AvailabilityBlock>> blocksByCleaner;
+    private final int rowCount;
+    private final long version;
+    private final long loadedAtMillis;
+
+    DaySchedule(Collection<AvailabilityBlock> blocks, long version, long loadedAtMillis) {
+        Map<Long, List<AvailabilityBlock>> grouped = new HashMap<>();
+        for (AvailabilityBlock b : blocks) {
+            grouped.computeIfAbsent(b.getCleanerId(), id -> new ArrayList<>()).add(b);
+        }
+        grouped.replaceAll((id, list) -> {
+            list.sort(Comparator.comparing(AvailabilityBlock::getStartDatetime));
+            return List.copyOf(list);
+        });
+        this.blocksByCleaner = Collections.unmodifiableMap(grouped);
+        this.rowCount = blocks.size();
+        this.version = version;
+        this.loadedAtMillis = loadedAtMillis;
+    }
+
+    public static DaySchedule of(Collection<AvailabilityBlock> blocks) {
+        return new DaySchedule(blocks, 0, System.currentTimeMillis());
+    }
+
+    public List<AvailabilityBlock> blocksOf(Long cleanerId) {
+        return blocksByCleaner.getOrDefault(cleanerId, List.of());
+    }
+
+    public Map<Long, List<AvailabilityBlock>> getBlocksByCleaner() {
+        return blocksByCleaner;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /** Schedule version of the day this snapshot was loaded at. */
+    public long getVersion() {
+        return version;
+    }
+
+    long getLoadedAtMillis() {
+        return loadedAtMillis;
+    }
+}
@@ -0,0 +1,353 @@
+package com.cleaning.bookingservice.schedule;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Searches for a reassignment of one day's bookings to teams that leaves the cleaners' free time
+ * in fewer, longer windows. Bookings keep their times and team sizes; a team still comes from a
+ * single vehicle and may not overlap a fixed block (anything not being reassigned) or another
+ * booking of the same cleaner. A booking occupies its time plus the break after it.
+ *
+ * <p>Assignments are compared by fragmented minutes (free minutes in windows shorter than
+ * {@code minUsefulMinutes}, too short to sell), then by the sum of squared window lengths
+ * (longer windows win), then by the number of bookings moved. Bookings are assigned in start
+ * order, depth first; each step tries only the {@code branching} best-fitting teams (those
+ * leaving the smallest unusable gaps around the booking) plus the current one. The first
+ * {@code forkDepth} levels fork into the {@link ForkJoinPool}; deeper levels run sequentially
+ * inside their task. At the time budget every task stops and the best assignment seen so far
+ * is returned - never worse than the current one, which is the starting point.
+ *
+ * <p>Minutes of the day are kept as one bitset per cleaner (1440 bits), so the overlap and gap
+ * lookups a step needs are a few word operations.
+ */
+public final class DefragSearch {
+
+    private static final int MINUTES = 24 * 60;
+    private static final int WORDS = (MINUTES + 63) >> 6;
+
+    /** A booking to (re)assign, in minutes of the day; {@code end} includes the break. */
+    public record Job(Long bookingId, int start, int end, List<Long> currentTeam) {
+    }
+
+    public record Score(long fragmentedMinutes, long squaredWindows, int moved) {
+
+        public boolean betterThan(Score other) {
+            if (fragmentedMinutes != other.fragmentedMinutes) return fragmentedMinutes < other.fragmentedMinutes;
+            if (squaredWindows != other.squaredWindows) return squaredWindows > other.squaredWindows;
+            return moved < other.moved;
+        }
+    }
+
+    /**
+     * @param teams     best team per booking id (every job, moved or not)
+     * @param completed whether the search ran out of candidates before the time budget
+     * @param nodes     partial assignments explored
+     */
+    public record Result(Map<Long, List<Long>> teams, Score before, Score after, boolean completed, long nodes) {
+    }
+
+    private final Long[] cleanerIds;
+    private final int[][] vehicles;
+    private final long[][] fixed;
+    private final int windowStart;
+    private final int windowEnd;
+    private final int minUsefulMinutes;
+    private final int branching;
+    private final int forkDepth;
+
+    /**
+     * @param cleanersByVehicle every cleaner that may take a booking, per vehicle
+     * @param fixedBlocks       per cleaner, {@code [start, end)} minute ranges that stay where they are
+     * @param windowStart       first minute of the working window free time is measured in
+     * @param windowEnd         end of that window (exclusive)
+     */
+    public DefragSearch(Map<Long, List<Long>> cleanersByVehicle, Map<Long, List<int[]>> fixedBlocks,
+                        int windowStart, int windowEnd, int minUsefulMinutes, int branching, int forkDepth) {
+        List<Long> ids = new ArrayList<>();
+        this.vehicles = new int[cleanersByVehicle.size()][];
+        int v = 0;
+        for (List<Long> cleaners : cleanersByVehicle.values()) {
+            vehicles[v] = new int[cleaners.size()];
+            for (int i = 0; i < cleaners.size(); i++) {
+                vehicles[v][i] = ids.size();
+                ids.add(cleaners.get(i));
+            }
+            v++;
+        }
+        this.cleanerIds = ids.toArray(Long[]::new);
+        this.fixed = new long[cleanerIds.length][WORDS];
+        for (int c = 0; c < cleanerIds.length; c++) {
+            for (int[] range : fixedBlocks.getOrDefault(cleanerIds[c], List.of())) {
+                set(fixed[c], clamp(range[0]), clamp(range[1]));
+            }
+        }
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+        this.minUsefulMinutes = minUsefulMinutes;
+        this.branching = branching;
+        this.forkDepth = forkDepth;
+    }
+
+    public Result run(List<Job> jobs, ForkJoinPool pool, long budgetNanos) {
+        Run run = new Run(jobs, System.nanoTime() + budgetNanos);
+        if (!run.jobs.isEmpty()) {
+            pool.invoke(run.new Node(0, copy(fixed), new int[run.jobs.size()][]));
+        }
+
+        Map<Long, List<Long>> teams = new LinkedHashMap<>();
+        for (int j = 0; j < run.jobs.size(); j++) {
+            List<Long> team = new ArrayList<>();
+            for (int c : run.best[j]) team.add(cleanerIds[c]);
+            teams.put(run.jobs.get(j).bookingId(), team);
+        }
+        return new Result(teams, run.baseline, run.bestScore, !run.timedOut, run.nodes.sum());
+    }
+
+    /** State of one {@link #run}: jobs in start order, the best assignment so far, the budget. */
+    private final class Run {
+
+        final List<Job> jobs;
+        final int[][] current;
+        final long deadline;
+        final LongAdder nodes = new LongAdder();
+        final Score baseline;
+        volatile boolean timedOut;
+        int[][] best;
+        Score bestScore;
+
+        Run(List<Job> jobs, long deadline) {
+            this.jobs = jobs.stream().sorted(Comparator.comparingInt(Job::start).thenComparing(Job::bookingId)).toList();
+            this.deadline = deadline;
+            Map<Long, Integer> index = new HashMap<>();
+            for (int c = 0; c < cleanerIds.length; c++) index.put(cleanerIds[c], c);
+            this.current = new int[this.jobs.size()][];
+            for (int j = 0; j < this.jobs.size(); j++) {
+                current[j] = this.jobs.get(j).currentTeam().stream().mapToInt(index::get).sorted().toArray();
+            }
+            this.best = current;
+            this.baseline = score(baselineBusy(), current);
+            this.bestScore = baseline;
+        }
+
+        long[][] baselineBusy() {
+            long[][] busy = copy(fixed);
+            for (int j = 0; j < jobs.size(); j++) {
+                for (int c : current[j]) set(busy[c], jobs.get(j).start(), jobs.get(j).end());
+            }
+            return busy;
+        }
+
+        final class Node extends RecursiveAction {
+
+            final int depth;
+            final long[][] busy;
+            final int[][] chosen;
+
+            Node(int depth, long[][] busy, int[][] chosen) {
+                this.depth = depth;
+                this.busy = busy;
+                this.chosen = chosen;
+            }
+
+            @Override
+            protected void compute() {
+                if (depth >= forkDepth || depth == jobs.size()) {
+                    search(depth, busy, chosen);
+                    return;
+                }
+                if (expired()) return;
+                nodes.increment();
+                Job job = jobs.get(depth);
+                List<Node> children = new ArrayList<>();
+                for (int[] team : candidates(depth, busy)) {
+                    long[][] next = copy(busy);
+                    for (int c : team) set(next[c], job.start(), job.end());
+                    int[][] nextChosen = chosen.clone();
+                    nextChosen[depth] = team;
+                    children.add(new Node(depth + 1, next, nextChosen));
+                }
+                invokeAll(children);
+            }
+        }
+
+        void search(int depth, long[][] busy, int[][] chosen) {
+            if (depth == jobs.size()) {
+                offer(score(busy, chosen), chosen);
+                return;
+            }
+            if (expired()) return;
+            nodes.increment();
+            Job job = jobs.get(depth);
+            for (int[] team : candidates(depth, busy)) {
+                for (int c : team) set(busy[c], job.start(), job.end());
+                chosen[depth] = team;
+                search(depth + 1, busy, chosen);
+                for (int c : team) clear(busy[c], job.start(), job.end());
+                if (timedOut) return;
+            }
+            chosen[depth] = null;
+        }
+
+        boolean expired() {
+            if (!timedOut && System.nanoTime() > deadline) timedOut = true;
+            return timedOut;
+        }
+
+        synchronized void offer(Score score, int[][] chosen) {
+            if (score.betterThan(bestScore)) {
+                bestScore = score;
+                best = chosen.clone();
+            }
+        }
+
+        /** Best-fitting free teams for job {@code j}, one vehicle each, plus the current team if free. */
+        List<int[]> candidates(int j, long[][] busy) {
+            Job job = jobs.get(j);
+            int size = current[j].length;
+            List<int[]> teams = new ArrayList<>();
+            List<Long> costs = new ArrayList<>();
+            for (int[] vehicle : vehicles) {
+                List<long[]> free = new ArrayList<>();
+                for (int c : vehicle) {
+                    if (!any(busy[c], job.start(), job.end())) free.add(new long[]{fit(busy[c], job), c});
+                }
+                if (free.size() < size) continue;
+                free.sort(Comparator.comparingLong(f -> f[0]));
+                // the tightest fits, plus one spare to vary the team a little
+                List<long[]> top = free.subList(0, Math.min(free.size(), size + 1));
+                combinations(top, size, 0, new int[size], 0, 0, teams, costs);
+            }
+
+            Integer[] order = new Integer[teams.size()];
+            for (int i = 0; i < order.length; i++) order[i] = i;
+            Arrays.sort(order, Comparator.comparingLong(costs::get));
+            List<int[]> result = new ArrayList<>(branching + 1);
+            boolean currentFree = true;
+            for (int c : current[j]) currentFree &= !any(busy[c], job.start(), job.end());
+            if (currentFree) result.add(current[j]);
+            for (Integer i : order) {
+                if (result.size() >= branching + (currentFree ? 1 : 0)) break;
+                if (!Arrays.equals(teams.get(i), current[j])) result.add(teams.get(i));
+            }
+            return result;
+        }
+
+        private void combinations(List<long[]> pool, int size, int from, int[] picked, int count, long cost,
+                                  List<int[]> teams, List<Long> costs) {
+            if (count == size) {
+                int[] team = picked.clone();
+                Arrays.sort(team);
+                teams.add(team);
+                costs.add(cost);
+                return;
+            }
+            for (int i = from; i <= pool.size() - (size - count); i++) {
+                picked[count] = (int) pool.get(i)[1];
+                combinations(pool, size, i + 1, picked, count + 1, cost + pool.get(i)[0], teams, costs);
+            }
+        }
+
+        /**
+         * How badly {@code job} fits the cleaner: unusable gaps it leaves before and after it
+         * dominate, then the gaps' total length (packing next to other work first).
+         */
+        long fit(long[] busy, Job job) {
+            int before = job.start() - prevBusyEnd(busy, job.start(), windowStart);
+            int after = nextBusyStart(busy, job.end(), windowEnd) - job.end();
+            long unusable = (before > 0 && before < minUsefulMinutes ? before : 0)
+                    + (after > 0 && after < minUsefulMinutes ? after : 0);
+            return unusable * MINUTES * 2 + Math.max(before, 0) + Math.max(after, 0);
+        }
+
+        Score score(long[][] busy, int[][] chosen) {
+            long fragmented = 0;
+            long squared = 0;
+            for (long[] bits : busy) {
+                int pos = windowStart;
+                while (pos < windowEnd) {
+                    int end = nextBusyStart(bits, pos, windowEnd);
+                    long run = end - pos;
+                    if (run < minUsefulMinutes) fragmented += run;
+                    squared += run * run;
+                    if (end >= windowEnd) break;
+                    pos = nextFree(bits, end, windowEnd);
+                }
+            }
+            int moved = 0;
+            for (int j = 0; j < chosen.length; j++) {
+                if (!Arrays.equals(chosen[j], current[j])) moved++;
+            }
+            return new Score(fragmented, squared, moved);
+        }
+    }
+
+    private static int clamp(int minute) {
+        return Math.max(0, Math.min(MINUTES, minute));
+    }
+
+    private static long[][] copy(long[][] bits) {
+        long[][] copy = new long[bits.length][];
+        for (int i = 0; i < bits.length; i++) copy[i] = bits[i].clone();
+        return copy;
+    }
+
+    /** Bits of word {@code w} that fall in {@code [from, to)}. */
+    private static long mask(int w, int from, int to) {
+        int lo = Math.max(from - (w << 6), 0);
+        int hi = Math.min(to - (w << 6), 64);
+        if (lo >= hi) return 0;
+        long upTo = hi == 64 ? -1L : (1L << hi) - 1;
+        return upTo & (-1L << lo);
+    }
+
+    static void set(long[] bits, int from, int to) {
+        if (from >= to) return;
+        for (int w = from >> 6; w <= (to - 1) >> 6; w++) bits[w] |= mask(w, from, to);
+    }
+
+    static void clear(long[] bits, int from, int to) {
+        if (from >= to) return;
+        for (int w = from >> 6; w <= (to - 1) >> 6; w++) bits[w] &= ~mask(w, from, to);
+    }
+
+    static boolean any(long[] bits, int from, int to) {
+        if (from >= to) return false;
+        for (int w = from >> 6; w <= (to - 1) >> 6; w++) {
+            if ((bits[w] & mask(w, from, to)) != 0) return true;
+        }
+        return false;
+    }
+
+    /** One past the last busy minute in {@code [floor, before)}, or {@code floor} if there is none. */
+    static int prevBusyEnd(long[] bits, int before, int floor) {
+        if (floor >= before) return before;
+        for (int w = (before - 1) >> 6; w >= floor >> 6; w--) {
+            long m = bits[w] & mask(w, floor, before);
+            if (m != 0) return (w << 6) + 64 - Long.numberOfLeadingZeros(m);
+        }
+        return floor;
+    }
+
+    /** First busy minute in {@code [from, ceiling)}, or {@code ceiling} if there is none. */
+    static int nextBusyStart(long[] bits, int from, int ceiling) {
+        if (from >= ceiling) return ceiling;
+        for (int w = from >> 6; w <= (ceiling - 1) >> 6; w++) {
+            long m = bits[w] & mask(w, from, ceiling);
+            if (m != 0) return (w << 6) + Long.numberOfTrailingZeros(m);
+        }
+        return ceiling;
+    }
+
+    /** First free minute in {@code [from, ceiling)}, or {@code ceiling} if there is none. */
+    static int nextFree(long[] bits, int from, int ceiling) {
+        if (from >= ceiling) return ceiling;
+        for (int w = from >> 6; w <= (ceiling - 1) >> 6; w++) {
+            long m = ~bits[w] & mask(w, from, ceiling);
+            if (m != 0) return (w << 6) + Long.numberOfTrailingZeros(m);
+        }
+        return ceiling;
+    }
+}
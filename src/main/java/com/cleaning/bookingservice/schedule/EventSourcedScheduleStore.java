@@ -0,0 +1,117 @@
+package com.cleaning.bookingservice.schedule;
+
+import com.cleaning.bookingservice.constants.BookingServiceConstants.BookingBlockType;
+import com.cleaning.bookingservice.entity.AvailabilityBlock;
+import com.cleaning.bookingservice.exception.BookingConflictException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * {@link ScheduleStore} backed only by the {@link ScheduleEventLog}; {@code availability_blocks}
+ * is neither read nor written. Every read rebuilds the cleaner-days it needs (snapshot plus
+ * tail, two queries for any number of cleaners). A write that races another write to the same
+ * cleaner-day loses on the log's sequence constraint and is reported as a booking conflict.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.schedule.store", havingValue = "events")
+public class EventSourcedScheduleStore implements ScheduleStore {
+
+    private final ScheduleEventLog eventLog;
+
+    public EventSourcedScheduleStore(ScheduleEventLog eventLog) {
+        this.eventLog = eventLog;
+    }
+
+    @Override
+    public List<AvailabilityBlock> findBlocksBetween(List<Long> cleanerIds, LocalDateTime from, LocalDateTime to) {
+        long fromEpoch = CleanerTimeline.epoch(from);
+        long toEpoch = CleanerTimeline.epoch(to);
+        Map<ScheduleEventLog.CleanerDay, CleanerTimeline> days =
+                eventLog.rebuild(cleanerIds, from.toLocalDate(), to.minusNanos(1).toLocalDate());
+
+        List<AvailabilityBlock> result = new ArrayList<>();
+        List<ScheduleEventLog.CleanerDay> keys = new ArrayList<>(days.keySet());
+        keys.sort(Comparator.comparing(ScheduleEventLog.CleanerDay::cleanerId)
+                .thenComparing(ScheduleEventLog.CleanerDay::date));
+        for (ScheduleEventLog.CleanerDay key : keys) {
+            for (CleanerTimeline.Block b : days.get(key).startingBetween(fromEpoch, toEpoch)) {
+                result.add(b.toEntity(key.cleanerId()));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean hasOverlap(Long cleanerId, LocalDateTime start, LocalDateTime end) {
+        return overlapping(cleanerId, start, end).findAny().isPresent();
+    }
+
+    @Override
+    public boolean hasOverlapExcludingBooking(Long cleanerId, Long bookingId, LocalDateTime start, LocalDateTime end) {
+        // bookingId <> :bookingId in SQL is never true for a NULL booking id
+        return overlapping(cleanerId, start, end)
+                .anyMatch(b -> b.bookingId() != null && !b.bookingId().equals(bookingId));
+    }
+
+    @Override
+    public boolean exists(Long cleanerId, LocalDateTime start, LocalDateTime end) {
+        long s = CleanerTimeline.epoch(start);
+        long e = CleanerTimeline.epoch(end);
+        return day(cleanerId, start.toLocalDate()).startingBetween(s, s + 1).stream()
+                .anyMatch(b -> b.end() == e);
+    }
+
+    @Override
+    public void add(AvailabilityBlock block) {
+        try {
+            eventLog.add(block);
+        } catch (DataIntegrityViolationException ex) {
+            throw concurrentWrite(block.getCleanerId());
+        }
+    }
+
+    @Override
+    public void move(Long cleanerId, Long bookingId, BookingBlockType type,
+                     LocalDateTime oldStart, LocalDateTime oldEnd, LocalDateTime newStart, LocalDateTime newEnd) {
+        try {
+            eventLog.move(cleanerId, bookingId, type, oldStart, oldEnd, newStart, newEnd);
+        } catch (DataIntegrityViolationException ex) {
+            throw concurrentWrite(cleanerId);
+        }
+    }
+
+    @Override
+    public void remove(Long cleanerId, Long bookingId, BookingBlockType type, LocalDateTime start, LocalDateTime end) {
+        try {
+            eventLog.remove(cleanerId, bookingId, type, start, end);
+        } catch (DataIntegrityViolationException ex) {
+            throw concurrentWrite(cleanerId);
+        }
+    }
+
+    private static BookingConflictException concurrentWrite(Long cleanerId) {
+        return new BookingConflictException("Cleaner " + cleanerId + "'s schedule changed concurrently, please retry");
+    }
+
+    // blocks never cross midnight, so the days [start, end) touches are enough
+    private Stream<CleanerTimeline.Block> overlapping(Long cleanerId, LocalDateTime start, LocalDateTime end) {
+        long s = CleanerTimeline.epoch(start);
+        long e = CleanerTimeline.epoch(end);
+        LocalDate first = start.toLocalDate();
+        LocalDate last = end.minusNanos(1).toLocalDate();
+        return eventLog.rebuild(List.of(cleanerId), first, last).values().stream()
+                .flatMap(t -> t.all().stream())
+                .filter(b -> b.start() < e && b.end() > s && b.busy());
+    }
+
+    private CleanerTimeline day(Long cleanerId, LocalDate date) {
+        return eventLog.rebuild(List.of(cleanerId), date, date)
+                .getOrDefault(new ScheduleEventLog.CleanerDay(cleanerId, date), new CleanerTimeline());
+    }
+}
@@ -0,0 +1,110 @@
+package com.cleaning.bookingservice.schedule;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Which cleaners of one vehicle are free, over one day. Bit {@code i} stands for the vehicle's
+ * i-th cleaner (fleet order), so at most 64 cleaners per vehicle.
+ *
+ * <p>The day is cut at every block boundary into segments during which the set of free cleaners
+ * is constant. "Who is free during [start, end)" is the AND of the segments the window touches:
+ * a binary search finds them, and a sparse table over the segments ANDs any run of them in two
+ * lookups. Size is O(k log k) for k block boundaries, independent of the time resolution.
+ * Immutable; {@link ScheduleCache} rebuilds a vehicle's index when one of its cleaners' blocks
+ * change.
+ */
+final class FreeCleanerIndex {
+
+    static final int MAX_CLEANERS = Long.SIZE;
+
+    // segment i covers [starts[i], starts[i + 1]), the last one runs to the end of the day
+    private final long[] starts;
+    // and[k][i] = free mask of segments i .. i + 2^k - 1
+    private final long[][] and;
+
+    private FreeCleanerIndex(long[] starts, long[][] and) {
+        this.starts = starts;
+        this.and = and;
+    }
+
+    /**
+     * @param dayStart       first second of the day, in {@link CleanerTimeline#epoch} seconds
+     * @param blocksByCleaner the day's blocks of each cleaner, indexed like the result bits
+     */
+    static FreeCleanerIndex build(long dayStart, List<? extends Iterable<CleanerTimeline.Block>> blocksByCleaner) {
+        if (blocksByCleaner.size() > MAX_CLEANERS) {
+            throw new IllegalArgumentException("At most " + MAX_CLEANERS + " cleaners per vehicle");
+        }
+
+        // (time, cleaner, +1/-1) packed so that a plain sort orders by time
+        int eventCount = 0;
+        long[] events = new long[16];
+        for (int i = 0; i < blocksByCleaner.size(); i++) {
+            for (CleanerTimeline.Block b : blocksByCleaner.get(i)) {
+                if (!b.busy() || b.end() <= b.start()) continue;
+                if (eventCount + 2 > events.length) events = Arrays.copyOf(events, events.length * 2);
+                events[eventCount++] = pack(b.start() - dayStart, i, true);
+                events[eventCount++] = pack(b.end() - dayStart, i, false);
+            }
+        }
+        Arrays.sort(events, 0, eventCount);
+
+        long all = blocksByCleaner.size() == MAX_CLEANERS ? -1L : (1L << blocksByCleaner.size()) - 1;
+        long[] segmentStarts = new long[eventCount + 1];
+        long[] masks = new long[eventCount + 1];
+        int[] busy = new int[blocksByCleaner.size()];
+        long free = all;
+        int segments = 0;
+        segmentStarts[segments] = Long.MIN_VALUE;
+        masks[segments++] = all;
+
+        for (int e = 0; e < eventCount; ) {
+            long time = events[e] >> 16;
+            // apply every event at this instant first, so back-to-back blocks leave no free gap
+            for (; e < eventCount && (events[e] >> 16) == time; e++) {
+                int cleaner = (int) ((events[e] >> 1) & 0x7FFF);
+                boolean start = (events[e] & 1) == 1;
+                busy[cleaner] += start ? 1 : -1;
+                free = busy[cleaner] == 0 ? free | (1L << cleaner) : free & ~(1L << cleaner);
+            }
+            if (masks[segments - 1] == free) continue;
+            segmentStarts[segments] = time;
+            masks[segments++] = free;
+        }
+
+        long[] starts = Arrays.copyOf(segmentStarts, segments);
+        int levels = 32 - Integer.numberOfLeadingZeros(segments);
+        long[][] and = new long[levels][];
+        and[0] = Arrays.copyOf(masks, segments);
+        for (int k = 1; k < levels; k++) {
+            int half = 1 << (k - 1);
+            and[k] = new long[segments - (1 << k) + 1];
+            for (int i = 0; i < and[k].length; i++) {
+                and[k][i] = and[k - 1][i] & and[k - 1][i + half];
+            }
+        }
+        return new FreeCleanerIndex(starts, and);
+    }
+
+    private static long pack(long secondOfDay, int cleaner, boolean start) {
+        return (secondOfDay << 16) | ((long) cleaner << 1) | (start ? 1 : 0);
+    }
+
+    /** Mask of the cleaners with no busy block intersecting {@code [start, end)} (seconds of the day). */
+    long freeDuring(long start, long end) {
+        int first = segmentOf(start);
+        int last = segmentOf(end - 1);
+        int k = 31 - Integer.numberOfLeadingZeros(last - first + 1);
+        return and[k][first] & and[k][last - (1 << k) + 1];
+    }
+
+    int segmentCount() {
+        return starts.length;
+    }
+
+    private int segmentOf(long time) {
+        int i = Arrays.binarySearch(starts, time);
+        return i >= 0 ? i : -i - 2;
+    }
+}
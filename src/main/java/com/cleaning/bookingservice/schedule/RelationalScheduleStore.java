@@ -0,0 +1,81 @@
+package com.cleaning.bookingservice.schedule;
+
+import com.cleaning.bookingservice.constants.BookingServiceConstants.BookingBlockType;
+import com.cleaning.bookingservice.entity.AvailabilityBlock;
+import com.cleaning.bookingservice.repository.AvailabilityBlockRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * {@link ScheduleStore} over the {@code availability_blocks} table. With
+ * {@code booking.schedule.events.shadow=true} every write is also appended to the
+ * {@link ScheduleEventLog}, so the two can be compared ({@link ScheduleConsistencyChecker})
+ * before switching {@code booking.schedule.store} to {@code events}.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.schedule.store", havingValue = "relational", matchIfMissing = true)
+public class RelationalScheduleStore implements ScheduleStore {
+
+    private final AvailabilityBlockRepository repository;
+    private final ScheduleEventLog shadow;
+
+    public RelationalScheduleStore(AvailabilityBlockRepository repository) {
+        this(repository, null, false);
+    }
+
+    @Autowired
+    public RelationalScheduleStore(AvailabilityBlockRepository repository,
+                                   ScheduleEventLog eventLog,
+                                   @Value("${booking.schedule.events.shadow:false}") boolean shadow) {
+        this.repository = repository;
+        this.shadow = shadow ? eventLog : null;
+    }
+
+    @Override
+    public List<AvailabilityBlock> findBlocksBetween(List<Long> cleanerIds, LocalDateTime from, LocalDateTime to) {
+        return repository.findBlocksForCleanersBetween(cleanerIds, from, to);
+    }
+
+    @Override
+    public boolean hasOverlap(Long cleanerId, LocalDateTime start, LocalDateTime end) {
+        return repository.hasOverlap(cleanerId, start, end);
+    }
+
+    @Override
+    public boolean hasOverlapExcludingBooking(Long cleanerId, Long bookingId, LocalDateTime start, LocalDateTime end) {
+        return repository.hasOverlapExcludingBooking(cleanerId, bookingId, start, end);
+    }
+
+    @Override
+    public boolean exists(Long cleanerId, LocalDateTime start, LocalDateTime end) {
+        return repository.existsByCleanerIdAndStartDatetimeAndEndDatetime(cleanerId, start, end);
+    }
+
+    @Override
+    public void add(AvailabilityBlock block) {
+        repository.save(block);
+        if (shadow != null) shadow.add(block);
+    }
+
+    @Override
+    public void move(Long cleanerId, Long bookingId, BookingBlockType type,
+                     LocalDateTime oldStart, LocalDateTime oldEnd, LocalDateTime newStart, LocalDateTime newEnd) {
+        if (type == BookingBlockType.BREAK) {
+            repository.updateBreakBlock(cleanerId, oldStart, oldEnd, newStart, newEnd, type.name());
+        } else {
+            repository.updateBlock(cleanerId, oldStart, oldEnd, newStart, newEnd, type.name());
+        }
+        if (shadow != null) shadow.move(cleanerId, bookingId, type, oldStart, oldEnd, newStart, newEnd);
+    }
+
+    @Override
+    public void remove(Long cleanerId, Long bookingId, BookingBlockType type, LocalDateTime start, LocalDateTime end) {
+        int deleted = repository.deleteBlock(cleanerId, bookingId, start, end, type.name());
+        if (shadow != null && deleted > 0) shadow.remove(cleanerId, bookingId, type, start, end);
+    }
+}
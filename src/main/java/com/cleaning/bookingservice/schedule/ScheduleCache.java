@@ -0,0 +1,553 @@
+package com.cleaning.bookingservice.schedule;
+
+import com.cleaning.bookingservice.entity.AvailabilityBlock;
+import com.cleaning.bookingservice.entity.CleanerProfessional;
+import com.cleaning.bookingservice.fleet.FleetRegistry;
+import com.cleaning.bookingservice.fleet.ZoneFleet;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory view of the {@link ScheduleStore}: per zone, one sorted {@link CleanerTimeline} per cleaner covering
+ * every loaded day. Days are loaded with a single range query covering every cleaner of the
+ * zone, either on demand or in bulk during startup warm-up, and afterwards kept current by
+ * applying each booking write's block delta once it commits.
+ *
+ * <p>Writes made by other instances arrive through {@link ScheduleChangeLog} and are applied
+ * with {@link #refresh}. {@link ScheduleSnapshotFile} saves the loaded days to disk and puts them
+ * back after a restart. Every read from the store also takes in the series occurrences
+ * {@link BookingSeriesCalendar} expands for the same days.
+ *
+ * <p>A loaded day is only used while its {@link ScheduleVersions} version equals the version
+ * the timelines were brought to; a write that could not be applied (day not loaded, or already
+ * stale) just bumps the version, so the day is reloaded on next use.
+ */
+@Component
+public class ScheduleCache {
+
+    private final ScheduleStore scheduleStore;
+    private final BookingSeriesCalendar seriesCalendar;
+    private final ScheduleVersions scheduleVersions;
+    private final long ttlMillis;
+
+    private final Map<String, ZoneSchedule> zones = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ScheduleCache(ScheduleStore scheduleStore,
+                         BookingSeriesCalendar seriesCalendar,
+                         ScheduleVersions scheduleVersions,
+                         @Value("${booking.schedule.cache-ttl-ms:300000}") long ttlMillis) {
+        this.scheduleStore = scheduleStore;
+        this.seriesCalendar = seriesCalendar;
+        this.scheduleVersions = scheduleVersions;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /** Without booking series. */
+    public ScheduleCache(ScheduleStore scheduleStore, ScheduleVersions scheduleVersions, long ttlMillis) {
+        this(scheduleStore, null, scheduleVersions, ttlMillis);
+    }
+
+    public DaySchedule day(ZoneFleet fleet, LocalDate date) {
+        ZoneSchedule zone = zone(fleet.getZone());
+        long version = scheduleVersions.current(new ZoneDay(fleet.getZone(), date));
+
+        zone.lock.readLock().lock();
+        try {
+            LoadedDay loaded = zone.days.get(date);
+            if (isCurrent(loaded, fleet, version, System.currentTimeMillis())) {
+                DaySchedule snapshot = loaded.snapshot;
+                if (snapshot == null) {
+                    // racing readers may both build it; they build the same thing
+                    snapshot = zone.snapshot(fleet.getCleanerIds(), date, loaded);
+                    loaded.snapshot = snapshot;
+                }
+                return snapshot;
+            }
+        } finally {
+            zone.lock.readLock().unlock();
+        }
+        return load(fleet, date, 1).get(date);
+    }
+
+    /**
+     * The day's blocks of {@code cleanerIds} only: from memory when the zone-day is loaded,
+     * otherwise one query restricted to those cleaners. That result is not kept, since it does
+     * not cover the zone.
+     */
+    public DaySchedule day(ZoneFleet fleet, LocalDate date, Collection<Long> cleanerIds) {
+        ZoneSchedule zone = zone(fleet.getZone());
+        long version = scheduleVersions.current(new ZoneDay(fleet.getZone(), date));
+
+        zone.lock.readLock().lock();
+        try {
+            LoadedDay loaded = zone.days.get(date);
+            if (isCurrent(loaded, fleet, version, System.currentTimeMillis())) {
+                return zone.snapshot(cleanerIds, date, loaded);
+            }
+        } finally {
+            zone.lock.readLock().unlock();
+        }
+
+        long now = System.currentTimeMillis();
+        List<AvailabilityBlock> rows = read(fleet.getZone(), List.copyOf(cleanerIds), date, date);
+        return new DaySchedule(rows, version, now);
+    }
+
+    /**
+     * Whether {@code cleanerId} has any block intersecting {@code [start, end)}; same answer as
+     * {@link ScheduleStore#hasOverlap} but from the timelines, loading the day
+     * (for the whole zone) first if needed. Blocks never cross midnight (work ends at 22:00 plus
+     * the break), so only the days the window itself touches are consulted.
+     */
+    public boolean hasOverlap(ZoneFleet fleet, Long cleanerId, LocalDateTime start, LocalDateTime end) {
+        ZoneSchedule zone = zone(fleet.getZone());
+        LocalDate first = start.toLocalDate();
+        LocalDate last = end.minusNanos(1).toLocalDate();
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            zone.lock.readLock().lock();
+            try {
+                if (allCurrent(zone, fleet, first, last)) {
+                    CleanerTimeline timeline = zone.timelines.get(cleanerId);
+                    return timeline != null
+                            && timeline.overlaps(CleanerTimeline.epoch(start), CleanerTimeline.epoch(end));
+                }
+            } finally {
+                zone.lock.readLock().unlock();
+            }
+            load(fleet, first, (int) ChronoUnit.DAYS.between(first, last) + 1);
+        }
+        // the day keeps changing under us; ask the store
+        return storeHasOverlap(fleet.getZone(), cleanerId, start, end);
+    }
+
+    /**
+     * Cleaners of {@code vehicleId} (in fleet order) with no block intersecting
+     * {@code [start, end)}, from the vehicle's {@link FreeCleanerIndex} for the day. The index is
+     * built on first use and rebuilt only after one of the vehicle's cleaners was written to.
+     */
+    public List<CleanerProfessional> freeCleaners(ZoneFleet fleet, Long vehicleId,
+                                                  LocalDateTime start, LocalDateTime end) {
+        List<CleanerProfessional> cleaners = fleet.cleanersOf(vehicleId);
+        LocalDate date = start.toLocalDate();
+        if (cleaners.isEmpty() || !date.equals(end.minusNanos(1).toLocalDate())
+                || cleaners.size() > FreeCleanerIndex.MAX_CLEANERS) {
+            return cleaners.stream().filter(c -> !hasOverlap(fleet, c.getId(), start, end)).toList();
+        }
+
+        ZoneSchedule zone = zone(fleet.getZone());
+        long dayStart = CleanerTimeline.epoch(date.atStartOfDay());
+        for (int attempt = 0; attempt < 2; attempt++) {
+            zone.lock.readLock().lock();
+            try {
+                if (allCurrent(zone, fleet, date, date)) {
+                    FreeCleanerIndex index = zone.days.get(date).vehicles
+                            .computeIfAbsent(vehicleId, id -> zone.index(cleaners, date));
+                    long free = index.freeDuring(CleanerTimeline.epoch(start) - dayStart,
+                            CleanerTimeline.epoch(end) - dayStart);
+                    return select(cleaners, free);
+                }
+            } finally {
+                zone.lock.readLock().unlock();
+            }
+            load(fleet, date, 1);
+        }
+        return cleaners.stream()
+                .filter(c -> !storeHasOverlap(fleet.getZone(), c.getId(), start, end))
+                .toList();
+    }
+
+    private static List<CleanerProfessional> select(List<CleanerProfessional> cleaners, long mask) {
+        List<CleanerProfessional> selected = new ArrayList<>(Long.bitCount(mask));
+        for (long m = mask; m != 0; m &= m - 1) {
+            selected.add(cleaners.get(Long.numberOfTrailingZeros(m)));
+        }
+        return selected;
+    }
+
+    /**
+     * Applies a booking write to the loaded timelines once the surrounding transaction commits
+     * and bumps the versions of the days it touches. Applies immediately outside a transaction.
+     */
+    public void applyAfterCommit(String zone, List<AvailabilityBlock> removed, List<AvailabilityBlock> added) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(zone, removed, added);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(zone, removed, added);
+            }
+        });
+    }
+
+    /**
+     * Brings {@code cleanerIds}' blocks on {@code day} up to date after another instance wrote
+     * them: re-reads just those cleaners when the day is loaded, and bumps the day's version in
+     * any case so results and ETags derived from the old state are dropped. If a local write
+     * lands while the rows are read, the day is left stale and reloaded on next use instead.
+     */
+    public void refresh(ZoneDay day, Collection<Long> cleanerIds) {
+        ZoneSchedule zone = zone(day.zone());
+        long before = scheduleVersions.current(day);
+        boolean loaded;
+        zone.lock.readLock().lock();
+        try {
+            LoadedDay current = zone.days.get(day.date());
+            loaded = current != null && current.version == before;
+        } finally {
+            zone.lock.readLock().unlock();
+        }
+
+        List<AvailabilityBlock> rows = !loaded
+                ? List.of()
+                : read(day.zone(), List.copyOf(cleanerIds), day.date(), day.date());
+
+        zone.lock.writeLock().lock();
+        try {
+            long after = scheduleVersions.bump(day);
+            LoadedDay current = zone.days.get(day.date());
+            if (!loaded || current == null || current.version != before) {
+                return;
+            }
+            LoadedDay updated = new LoadedDay(after, current.loadedAtMillis, current.fleet);
+            updated.vehicles.putAll(current.vehicles);
+            long from = CleanerTimeline.epoch(day.date().atStartOfDay());
+            long to = CleanerTimeline.epoch(day.date().plusDays(1).atStartOfDay());
+            for (Long cleanerId : cleanerIds) {
+                CleanerTimeline timeline = zone.timelines.get(cleanerId);
+                if (timeline != null) timeline.removeStartingBetween(from, to);
+                Long vehicleId = current.fleet.vehicleOf(cleanerId);
+                if (vehicleId != null) updated.vehicles.remove(vehicleId);
+            }
+            for (AvailabilityBlock b : rows) {
+                zone.timeline(b.getCleanerId()).add(CleanerTimeline.Block.of(b));
+            }
+            zone.days.put(day.date(), updated);
+        } finally {
+            zone.lock.writeLock().unlock();
+        }
+    }
+
+    /** A loaded, current day of one zone: every cleaner's blocks, as {@link ScheduleSnapshotFile} keeps them. */
+    record CachedDay(ZoneFleet fleet, LocalDate date, Map<Long, List<CleanerTimeline.Block>> blocks) {
+    }
+
+    /** Copies of every loaded day that is still current (not stale, not expired). */
+    List<CachedDay> currentDays() {
+        List<CachedDay> result = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, ZoneSchedule> e : zones.entrySet()) {
+            ZoneSchedule zone = e.getValue();
+            zone.lock.readLock().lock();
+            try {
+                for (Map.Entry<LocalDate, LoadedDay> day : zone.days.entrySet()) {
+                    LoadedDay loaded = day.getValue();
+                    long version = scheduleVersions.current(new ZoneDay(e.getKey(), day.getKey()));
+                    if (loaded.version != version || isExpired(loaded, now)) continue;
+
+                    long from = CleanerTimeline.epoch(day.getKey().atStartOfDay());
+                    long to = CleanerTimeline.epoch(day.getKey().plusDays(1).atStartOfDay());
+                    Map<Long, List<CleanerTimeline.Block>> blocks = new LinkedHashMap<>();
+                    for (Long cleanerId : loaded.fleet.getCleanerIds()) {
+                        CleanerTimeline timeline = zone.timelines.get(cleanerId);
+                        if (timeline == null) continue;
+                        List<CleanerTimeline.Block> own = List.copyOf(timeline.startingBetween(from, to));
+                        if (!own.isEmpty()) blocks.put(cleanerId, own);
+                    }
+                    result.add(new CachedDay(loaded.fleet, day.getKey(), blocks));
+                }
+            } finally {
+                zone.lock.readLock().unlock();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Installs a day read back by {@link ScheduleSnapshotFile} as if it had just been loaded.
+     * Skipped if the day is already loaded.
+     *
+     * @return whether the day was installed
+     */
+    boolean install(ZoneFleet fleet, LocalDate date, Map<Long, List<CleanerTimeline.Block>> blocks) {
+        ZoneSchedule zone = zone(fleet.getZone());
+        zone.lock.writeLock().lock();
+        try {
+            if (zone.days.containsKey(date)) return false;
+            zone.clear(date);
+            blocks.forEach((cleanerId, own) -> {
+                CleanerTimeline timeline = zone.timeline(cleanerId);
+                own.forEach(timeline::add);
+            });
+            long version = scheduleVersions.current(new ZoneDay(fleet.getZone(), date));
+            zone.days.put(date, new LoadedDay(version, System.currentTimeMillis(), fleet));
+            return true;
+        } finally {
+            zone.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Loads {@code dayCount} consecutive days starting at {@code from} with one query.
+     *
+     * @return number of block rows loaded
+     */
+    public int preload(ZoneFleet fleet, LocalDate from, int dayCount) {
+        int rows = 0;
+        for (DaySchedule day : load(fleet, from, dayCount).values()) {
+            rows += day.getRowCount();
+        }
+        return rows;
+    }
+
+    /** Number of loaded (zone, day) entries. */
+    public int size() {
+        int size = 0;
+        for (ZoneSchedule zone : zones.values()) {
+            zone.lock.readLock().lock();
+            try {
+                size += zone.days.size();
+            } finally {
+                zone.lock.readLock().unlock();
+            }
+        }
+        return size;
+    }
+
+    @Scheduled(fixedDelayString = "${booking.schedule.cache-ttl-ms:300000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, ZoneSchedule> e : zones.entrySet()) {
+            ZoneSchedule zone = e.getValue();
+            zone.lock.writeLock().lock();
+            try {
+                Iterator<Map.Entry<LocalDate, LoadedDay>> it = zone.days.entrySet().iterator();
+                while (it.hasNext()) {
+                    Map.Entry<LocalDate, LoadedDay> day = it.next();
+                    if (isExpired(day.getValue(), now)
+                            || day.getValue().version != scheduleVersions.current(new ZoneDay(e.getKey(), day.getKey()))) {
+                        zone.clear(day.getKey());
+                        it.remove();
+                    }
+                }
+                zone.timelines.values().removeIf(CleanerTimeline::isEmpty);
+            } finally {
+                zone.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private ZoneSchedule zone(String zone) {
+        return zones.computeIfAbsent(zone, z -> new ZoneSchedule());
+    }
+
+    private boolean isCurrent(LoadedDay loaded, ZoneFleet fleet, long version, long now) {
+        // a refreshed fleet may have cleaners the day was never loaded for
+        return loaded != null && loaded.fleet == fleet && loaded.version == version && !isExpired(loaded, now);
+    }
+
+    private boolean allCurrent(ZoneSchedule zone, ZoneFleet fleet, LocalDate first, LocalDate last) {
+        long now = System.currentTimeMillis();
+        for (LocalDate d = first; !d.isAfter(last); d = d.plusDays(1)) {
+            long version = scheduleVersions.current(new ZoneDay(fleet.getZone(), d));
+            if (!isCurrent(zone.days.get(d), fleet, version, now)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isExpired(LoadedDay loaded, long now) {
+        return now - loaded.loadedAtMillis > ttlMillis;
+    }
+
+    private Map<LocalDate, DaySchedule> load(ZoneFleet fleet, LocalDate from, int dayCount) {
+        // versions are read before the query: a write committing meanwhile moves them on,
+        // and the rows are then handed to the caller but not installed
+        Map<LocalDate, Long> versions = new HashMap<>();
+        for (int i = 0; i < dayCount; i++) {
+            LocalDate d = from.plusDays(i);
+            versions.put(d, scheduleVersions.current(new ZoneDay(fleet.getZone(), d)));
+        }
+
+        long now = System.currentTimeMillis();
+        List<AvailabilityBlock> rows = read(fleet.getZone(), fleet.getCleanerIds(), from, from.plusDays(dayCount - 1));
+
+        Map<LocalDate, List<AvailabilityBlock>> byDate = new HashMap<>();
+        for (AvailabilityBlock b : rows) {
+            byDate.computeIfAbsent(b.getStartDatetime().toLocalDate(), d -> new ArrayList<>()).add(b);
+        }
+
+        Map<LocalDate, DaySchedule> result = new LinkedHashMap<>();
+        ZoneSchedule zone = zone(fleet.getZone());
+        zone.lock.writeLock().lock();
+        try {
+            for (int i = 0; i < dayCount; i++) {
+                LocalDate d = from.plusDays(i);
+                List<AvailabilityBlock> blocks = byDate.getOrDefault(d, List.of());
+                long version = versions.get(d);
+                DaySchedule schedule = new DaySchedule(blocks, version, now);
+                result.put(d, schedule);
+
+                if (version == scheduleVersions.current(new ZoneDay(fleet.getZone(), d))) {
+                    zone.clear(d);
+                    for (AvailabilityBlock b : blocks) {
+                        zone.timeline(b.getCleanerId()).add(CleanerTimeline.Block.of(b));
+                    }
+                    LoadedDay loaded = new LoadedDay(version, now, fleet);
+                    loaded.snapshot = schedule;
+                    zone.days.put(d, loaded);
+                }
+            }
+        } finally {
+            zone.lock.writeLock().unlock();
+        }
+        return result;
+    }
+
+    /** Stored plus expanded blocks of {@code cleanerIds} on days {@code from..to} (inclusive). */
+    private List<AvailabilityBlock> read(String zone, List<Long> cleanerIds, LocalDate from, LocalDate to) {
+        if (cleanerIds.isEmpty()) return List.of();
+        List<AvailabilityBlock> rows = scheduleStore.findBlocksBetween(
+                cleanerIds, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+        List<AvailabilityBlock> expanded = seriesCalendar == null
+                ? List.of()
+                : seriesCalendar.blocksBetween(zone, cleanerIds, from, to);
+        if (expanded.isEmpty()) return rows;
+        List<AvailabilityBlock> all = new ArrayList<>(rows.size() + expanded.size());
+        all.addAll(rows);
+        all.addAll(expanded);
+        return all;
+    }
+
+    private boolean storeHasOverlap(String zone, Long cleanerId, LocalDateTime start, LocalDateTime end) {
+        if (scheduleStore.hasOverlap(cleanerId, start, end)) return true;
+        return seriesCalendar != null && BookingSeriesCalendar.overlaps(seriesCalendar.blocksBetween(
+                zone, List.of(cleanerId), start.toLocalDate(), end.minusNanos(1).toLocalDate()), cleanerId, start, end);
+    }
+
+    private void apply(String zoneName, List<AvailabilityBlock> removed, List<AvailabilityBlock> added) {
+        String key = FleetRegistry.normalizeZone(zoneName);
+        SortedSet<LocalDate> dates = new TreeSet<>();
+        removed.forEach(b -> dates.add(b.getStartDatetime().toLocalDate()));
+        added.forEach(b -> dates.add(b.getStartDatetime().toLocalDate()));
+
+        ZoneSchedule zone = zone(key);
+        zone.lock.writeLock().lock();
+        try {
+            Set<LocalDate> applicable = new HashSet<>();
+            for (LocalDate d : dates) {
+                ZoneDay day = new ZoneDay(key, d);
+                long before = scheduleVersions.current(day);
+                long after = scheduleVersions.bump(day);
+                LoadedDay loaded = zone.days.get(d);
+                if (loaded != null && loaded.version == before) {
+                    LoadedDay updated = new LoadedDay(after, loaded.loadedAtMillis, loaded.fleet);
+                    // only the vehicles whose cleaners were written to need a new index
+                    updated.vehicles.putAll(loaded.vehicles);
+                    zone.days.put(d, updated);
+                    applicable.add(d);
+                }
+            }
+            for (AvailabilityBlock b : removed) dropIndex(zone, b);
+            for (AvailabilityBlock b : added) dropIndex(zone, b);
+            for (AvailabilityBlock b : removed) {
+                CleanerTimeline timeline = zone.timelines.get(b.getCleanerId());
+                if (timeline != null && applicable.contains(b.getStartDatetime().toLocalDate())) {
+                    timeline.remove(CleanerTimeline.Block.of(b));
+                }
+            }
+            for (AvailabilityBlock b : added) {
+                if (applicable.contains(b.getStartDatetime().toLocalDate())) {
+                    zone.timeline(b.getCleanerId()).add(CleanerTimeline.Block.of(b));
+                }
+            }
+        } finally {
+            zone.lock.writeLock().unlock();
+        }
+    }
+
+    private static void dropIndex(ZoneSchedule zone, AvailabilityBlock b) {
+        LoadedDay loaded = zone.days.get(b.getStartDatetime().toLocalDate());
+        if (loaded != null) {
+            Long vehicleId = loaded.fleet.vehicleOf(b.getCleanerId());
+            if (vehicleId != null) loaded.vehicles.remove(vehicleId);
+        }
+    }
+
+    /** Timelines of one zone plus the days they hold; every field is guarded by {@code lock}. */
+    private static final class ZoneSchedule {
+
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        final Map<Long, CleanerTimeline> timelines = new HashMap<>();
+        final Map<LocalDate, LoadedDay> days = new HashMap<>();
+
+        CleanerTimeline timeline(Long cleanerId) {
+            return timelines.computeIfAbsent(cleanerId, id -> new CleanerTimeline());
+        }
+
+        void clear(LocalDate date) {
+            long from = CleanerTimeline.epoch(date.atStartOfDay());
+            long to = CleanerTimeline.epoch(date.plusDays(1).atStartOfDay());
+            for (CleanerTimeline timeline : timelines.values()) {
+                timeline.removeStartingBetween(from, to);
+            }
+        }
+
+        FreeCleanerIndex index(List<CleanerProfessional> cleaners, LocalDate date) {
+            long from = CleanerTimeline.epoch(date.atStartOfDay());
+            long to = CleanerTimeline.epoch(date.plusDays(1).atStartOfDay());
+            List<Iterable<CleanerTimeline.Block>> blocks = new ArrayList<>(cleaners.size());
+            for (CleanerProfessional c : cleaners) {
+                CleanerTimeline timeline = timelines.get(c.getId());
+                blocks.add(timeline == null ? List.of() : timeline.startingBetween(from, to));
+            }
+            return FreeCleanerIndex.build(from, blocks);
+        }
+
+        DaySchedule snapshot(Collection<Long> cleanerIds, LocalDate date, LoadedDay loaded) {
+            long from = CleanerTimeline.epoch(date.atStartOfDay());
+            long to = CleanerTimeline.epoch(date.plusDays(1).atStartOfDay());
+            List<AvailabilityBlock> blocks = new ArrayList<>();
+            for (Long cleanerId : cleanerIds) {
+                CleanerTimeline timeline = timelines.get(cleanerId);
+                if (timeline == null) continue;
+                for (CleanerTimeline.Block b : timeline.startingBetween(from, to)) {
+                    blocks.add(b.toEntity(cleanerId));
+                }
+            }
+            return new DaySchedule(blocks, loaded.version, loaded.loadedAtMillis);
+        }
+    }
+
+    private static final class LoadedDay {
+
+        final long version;
+        final long loadedAtMillis;
+        final ZoneFleet fleet;
+        // per vehicle, built lazily under the read lock
+        final Map<Long, FreeCleanerIndex> vehicles = new ConcurrentHashMap<>();
+        // built lazily from the timelines after a write was applied
+        volatile DaySchedule snapshot;
+
+        LoadedDay(long version, long loadedAtMillis, ZoneFleet fleet) {
+            this.version = version;
+            this.loadedAtMillis = loadedAtMillis;
+            this.fleet = fleet;
+        }
+    }
+}
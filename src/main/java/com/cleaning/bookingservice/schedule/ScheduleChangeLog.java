@@ -0,0 +1,231 @@
+package com.cleaning.bookingservice.schedule;
+
+import com.cleaning.bookingservice.entity.AvailabilityBlock;
+import com.cleaning.bookingservice.entity.ScheduleChange;
+import com.cleaning.bookingservice.fleet.FleetRegistry;
+import com.cleaning.bookingservice.repository.ScheduleChangeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the {@link ScheduleCache} of every instance current with the writes of the others,
+ * through the {@code schedule_change_log} table; no broker involved.
+ *
+ * <p>A booking write {@linkplain #record records} one row per (cleaner, day) it touched, in its
+ * own transaction. Each instance {@linkplain #poll polls} the rows past its high-water mark and
+ * refreshes just those cleaners' days, skipping rows it wrote itself (those were applied on
+ * commit). Ids are assigned at insert but become visible at commit, so a row can appear after
+ * a higher id was already read: ids skipped that way are asked for again on each poll until
+ * they show up or {@code gap-timeout-ms} passes (a rolled-back write leaves a permanent gap).
+ *
+ * <p>The mark starts at the newest row when the instance starts: read in {@link #start()}, which
+ * runs after the context is refreshed but before the web server, the scheduled polls and the
+ * warm-up, so before any schedule is loaded. Nothing is read during construction, so a run that
+ * only refreshes the context (the CDS training run) needs no database. Older rows are pruned
+ * after {@code retention-hours}.
+ */
+@Component
+public class ScheduleChangeLog implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduleChangeLog.class);
+
+    private final ScheduleChangeRepository repository;
+    private final ScheduleCache scheduleCache;
+    private final boolean enabled;
+    private final String origin;
+    private final int batchSize;
+    private final long gapTimeoutMillis;
+    private final long retentionHours;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // every id up to here has been applied or given up on
+    private long highWaterMark;
+    // ids above the mark already applied
+    private final NavigableSet<Long> seen = new TreeSet<>();
+    // when the id right after the mark was first found missing, or -1
+    private long gapSince = -1;
+    private volatile boolean running;
+
+    public ScheduleChangeLog(ScheduleChangeRepository repository,
+                             ScheduleCache scheduleCache,
+                             @Value("${booking.schedule.change-log.enabled:true}") boolean enabled,
+                             @Value("${booking.instance-id:}") String instanceId,
+                             @Value("${booking.schedule.change-log.batch-size:500}") int batchSize,
+                             @Value("${booking.schedule.change-log.gap-timeout-ms:10000}") long gapTimeoutMillis,
+                             @Value("${booking.schedule.change-log.retention-hours:24}") long retentionHours) {
+        this.repository = repository;
+        this.scheduleCache = scheduleCache;
+        this.enabled = enabled;
+        this.origin = instanceId.isBlank() ? UUID.randomUUID().toString() : instanceId;
+        this.batchSize = batchSize;
+        this.gapTimeoutMillis = gapTimeoutMillis;
+        this.retentionHours = retentionHours;
+    }
+
+    @Override
+    public void start() {
+        lock.lock();
+        try {
+            highWaterMark = enabled ? repository.findMaxId() : 0;
+            running = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // ahead of the web server (and so of any request loading a schedule)
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    /**
+     * Logs the (cleaner, day) pairs a booking write removed or added blocks for. Must run inside
+     * the write's transaction, so the log and the blocks commit or roll back together.
+     */
+    public void record(String zone, List<AvailabilityBlock> removed, List<AvailabilityBlock> added) {
+        if (!enabled) return;
+        String key = FleetRegistry.normalizeZone(zone);
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<Long, Set<LocalDate>> touched = new LinkedHashMap<>();
+        removed.forEach(b -> touched.computeIfAbsent(b.getCleanerId(), id -> new TreeSet<>())
+                .add(b.getStartDatetime().toLocalDate()));
+        added.forEach(b -> touched.computeIfAbsent(b.getCleanerId(), id -> new TreeSet<>())
+                .add(b.getStartDatetime().toLocalDate()));
+
+        List<ScheduleChange> rows = new ArrayList<>();
+        touched.forEach((cleanerId, dates) -> dates.forEach(date -> {
+            ScheduleChange change = new ScheduleChange();
+            change.setZone(key);
+            change.setCleanerId(cleanerId);
+            change.setChangeDate(date);
+            change.setOrigin(origin);
+            change.setCreatedAt(now);
+            rows.add(change);
+        }));
+        repository.saveAll(rows);
+    }
+
+    /**
+     * Applies the rows committed since the last poll.
+     *
+     * @return number of rows from other instances that were applied
+     */
+    @Scheduled(fixedDelayString = "${booking.schedule.change-log.poll-interval-ms:1000}")
+    public int poll() {
+        // held across the change-log queries and the cache refreshes they trigger
+        lock.lock();
+        try {
+            return pollLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int pollLocked() {
+        if (!enabled || !running) return 0;
+
+        long after = seen.isEmpty() ? highWaterMark : seen.last();
+        List<ScheduleChange> rows = new ArrayList<>(
+                repository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(batchSize)));
+        List<Long> missing = missingIds(after);
+        if (!missing.isEmpty()) {
+            rows.addAll(repository.findAllById(missing));
+        }
+
+        Map<ZoneDay, Set<Long>> touched = new LinkedHashMap<>();
+        int applied = 0;
+        for (ScheduleChange row : rows) {
+            if (row.getId() <= highWaterMark || seen.contains(row.getId()) || origin.equals(row.getOrigin())) {
+                continue;
+            }
+            touched.computeIfAbsent(ZoneDay.of(row.getZone(), row.getChangeDate()), d -> new TreeSet<>())
+                    .add(row.getCleanerId());
+            applied++;
+        }
+        touched.forEach(scheduleCache::refresh);
+
+        // only now: if a refresh failed, the next poll sees the same rows again
+        for (ScheduleChange row : rows) {
+            if (row.getId() > highWaterMark) seen.add(row.getId());
+        }
+        advance(System.currentTimeMillis());
+        if (applied > 0) {
+            log.debug("Applied {} schedule changes from other instances across {} days", applied, touched.size());
+        }
+        return applied;
+    }
+
+    /** Ids between the mark and {@code upTo} not read yet, oldest first. */
+    private List<Long> missingIds(long upTo) {
+        List<Long> missing = new ArrayList<>();
+        for (long id = highWaterMark + 1; id < upTo && missing.size() < batchSize; id++) {
+            if (!seen.contains(id)) missing.add(id);
+        }
+        return missing;
+    }
+
+    private void advance(long now) {
+        while (!seen.isEmpty()) {
+            if (seen.first() == highWaterMark + 1) {
+                highWaterMark = seen.pollFirst();
+                gapSince = -1;
+                continue;
+            }
+            if (gapSince < 0) {
+                gapSince = now;
+            }
+            if (now - gapSince < gapTimeoutMillis) {
+                return;
+            }
+            log.debug("Giving up on schedule change ids {}..{}", highWaterMark + 1, seen.first() - 1);
+            highWaterMark = seen.first() - 1;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.schedule.change-log.prune-interval-ms:3600000}",
+            initialDelayString = "${booking.schedule.change-log.prune-interval-ms:3600000}")
+    public void prune() {
+        if (!enabled) return;
+        int deleted = repository.deleteCreatedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            log.info("Pruned {} schedule change log rows older than {}h", deleted, retentionHours);
+        }
+    }
+
+    /** Every change-log id up to this one has been applied to the {@link ScheduleCache} (or given up on). */
+    public long highWaterMark() {
+        lock.lock();
+        try {
+            return highWaterMark;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Id of this instance in the {@code origin} column. */
+    public String origin() {
+        return origin;
+    }
+}
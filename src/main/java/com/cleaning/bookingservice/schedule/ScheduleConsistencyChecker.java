@@ -0,0 +1,142 @@
+package com.cleaning.bookingservice.schedule;
+
+import com.cleaning.bookingservice.entity.AvailabilityBlock;
+import com.cleaning.bookingservice.repository.AvailabilityBlockRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the blocks rebuilt from the {@link ScheduleEventLog} with the {@code availability_blocks}
+ * table, cleaner-day by cleaner-day. Meant for the shadow period
+ * ({@code booking.schedule.events.shadow=true}), when both are written: a clean run over the
+ * coming days is the signal that switching {@code booking.schedule.store} to {@code events}
+ * changes nothing.
+ *
+ * <p>In shadow mode the next {@code check-days} days are checked every {@code check-interval-ms};
+ * the number of mismatching cleaner-days of the last run is the
+ * {@code booking.schedule.events.mismatches} gauge. Blocks written before the log was turned on
+ * are copied into it once with {@link #backfill}.
+ */
+@Component
+public class ScheduleConsistencyChecker {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduleConsistencyChecker.class);
+
+    /** A cleaner-day whose blocks differ; both lists are empty when it matches. */
+    public record Mismatch(ScheduleEventLog.CleanerDay day,
+                           List<AvailabilityBlock> onlyInTable,
+                           List<AvailabilityBlock> onlyInLog) {
+    }
+
+    public record Report(LocalDate from, LocalDate to, int cleanerDays, List<Mismatch> mismatches) {
+
+        public boolean consistent() {
+            return mismatches.isEmpty();
+        }
+    }
+
+    private final AvailabilityBlockRepository table;
+    private final ScheduleEventLog eventLog;
+    private final boolean shadow;
+    private final int checkDays;
+    private final AtomicLong lastMismatches = new AtomicLong();
+
+    public ScheduleConsistencyChecker(AvailabilityBlockRepository table,
+                                      ScheduleEventLog eventLog,
+                                      MeterRegistry registry,
+                                      @Value("${booking.schedule.events.shadow:false}") boolean shadow,
+                                      @Value("${booking.schedule.events.check-days:7}") int checkDays) {
+        this.table = table;
+        this.eventLog = eventLog;
+        this.shadow = shadow;
+        this.checkDays = checkDays;
+        if (shadow) {
+            Gauge.builder("booking.schedule.events.mismatches", lastMismatches, AtomicLong::get)
+                    .description("Cleaner-days whose event log disagrees with availability_blocks, last check")
+                    .register(registry);
+        }
+    }
+
+    /** Checks days {@code from..to} (inclusive). */
+    public Report check(LocalDate from, LocalDate to) {
+        // log first: a write landing in between then shows up as only-in-table, never the reverse
+        Map<ScheduleEventLog.CleanerDay, CleanerTimeline> logged = eventLog.rebuildAll(from, to);
+        Map<ScheduleEventLog.CleanerDay, List<AvailabilityBlock>> rows = tableBlocks(from, to);
+
+        Set<ScheduleEventLog.CleanerDay> days = new TreeSet<>(Comparator
+                .comparing(ScheduleEventLog.CleanerDay::cleanerId)
+                .thenComparing(ScheduleEventLog.CleanerDay::date));
+        days.addAll(rows.keySet());
+        logged.forEach((day, timeline) -> {
+            if (!timeline.isEmpty()) days.add(day);
+        });
+
+        List<Mismatch> mismatches = new ArrayList<>();
+        for (ScheduleEventLog.CleanerDay day : days) {
+            Set<CleanerTimeline.Block> inTable = new LinkedHashSet<>();
+            rows.getOrDefault(day, List.of()).forEach(b -> inTable.add(CleanerTimeline.Block.of(b)));
+            Set<CleanerTimeline.Block> inLog = new LinkedHashSet<>(
+                    logged.getOrDefault(day, new CleanerTimeline()).all());
+
+            List<AvailabilityBlock> onlyInTable = difference(inTable, inLog, day.cleanerId());
+            List<AvailabilityBlock> onlyInLog = difference(inLog, inTable, day.cleanerId());
+            if (!onlyInTable.isEmpty() || !onlyInLog.isEmpty()) {
+                mismatches.add(new Mismatch(day, onlyInTable, onlyInLog));
+            }
+        }
+        return new Report(from, to, days.size(), mismatches);
+    }
+
+    /**
+     * Seeds the log with the table's blocks for cleaner-days {@code from..to} that have nothing
+     * logged yet.
+     *
+     * @return number of cleaner-days seeded
+     */
+    public int backfill(LocalDate from, LocalDate to) {
+        int seeded = eventLog.seed(tableBlocks(from, to));
+        log.info("Seeded the schedule log with {} cleaner-days from availability_blocks ({}..{})", seeded, from, to);
+        return seeded;
+    }
+
+    @Scheduled(fixedDelayString = "${booking.schedule.events.check-interval-ms:300000}",
+            initialDelayString = "${booking.schedule.events.check-interval-ms:300000}")
+    public void checkUpcoming() {
+        if (!shadow) return;
+        LocalDate today = LocalDate.now();
+        Report report = check(today, today.plusDays(checkDays - 1));
+        lastMismatches.set(report.mismatches().size());
+        if (!report.consistent()) {
+            Mismatch first = report.mismatches().get(0);
+            log.warn("Schedule log disagrees with availability_blocks on {} of {} cleaner-days, e.g. cleaner {} on {}",
+                    report.mismatches().size(), report.cleanerDays(), first.day().cleanerId(), first.day().date());
+        }
+    }
+
+    private Map<ScheduleEventLog.CleanerDay, List<AvailabilityBlock>> tableBlocks(LocalDate from, LocalDate to) {
+        Map<ScheduleEventLog.CleanerDay, List<AvailabilityBlock>> byDay = new LinkedHashMap<>();
+        for (AvailabilityBlock b : table.findBlocksBetween(from.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+            byDay.computeIfAbsent(new ScheduleEventLog.CleanerDay(b.getCleanerId(), b.getStartDatetime().toLocalDate()),
+                    d -> new ArrayList<>()).add(b);
+        }
+        return byDay;
+    }
+
+    private static List<AvailabilityBlock> difference(Set<CleanerTimeline.Block> a, Set<CleanerTimeline.Block> b,
+                                                      Long cleanerId) {
+        List<AvailabilityBlock> result = new ArrayList<>();
+        for (CleanerTimeline.Block block : a) {
+            if (!b.contains(block)) result.add(block.toEntity(cleanerId));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,252 @@
+package com.cleaning.bookingservice.schedule;
+
+import com.cleaning.bookingservice.constants.BookingServiceConstants.BookingBlockType;
+import com.cleaning.bookingservice.entity.AvailabilityBlock;
+import com.cleaning.bookingservice.entity.ScheduleEvent;
+import com.cleaning.bookingservice.entity.ScheduleSnapshot;
+import com.cleaning.bookingservice.repository.ScheduleEventRepository;
+import com.cleaning.bookingservice.repository.ScheduleSnapshotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Append-only schedule log: one stream of {@link ScheduleEvent}s per cleaner-day, numbered by
+ * {@code seq}, plus at most one {@link ScheduleSnapshot} per cleaner-day holding the blocks as of
+ * {@code last_seq}. A cleaner-day is rebuilt by replaying the events after the snapshot onto it.
+ *
+ * <p>Every {@code compact-interval-ms}, streams with {@code snapshot-every} or more events are
+ * folded into their snapshot and the folded events deleted (one transaction), which bounds
+ * replay work per cleaner-day. Reads fetch events before snapshots: a compaction in between
+ * yields a newer snapshot plus events it already contains, which are skipped by seq.
+ *
+ * <p>Used as the store itself with {@code booking.schedule.store=events}, or fed alongside the
+ * relational table with {@code booking.schedule.events.shadow=true}.
+ */
+@Component
+public class ScheduleEventLog {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduleEventLog.class);
+
+    public record CleanerDay(Long cleanerId, LocalDate date) {
+    }
+
+    private final ScheduleEventRepository events;
+    private final ScheduleSnapshotRepository snapshots;
+    private final TransactionTemplate transactions;
+    private final boolean enabled;
+    private final int snapshotEvery;
+
+    public ScheduleEventLog(ScheduleEventRepository events,
+                            ScheduleSnapshotRepository snapshots,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${booking.schedule.store:relational}") String store,
+                            @Value("${booking.schedule.events.shadow:false}") boolean shadow,
+                            @Value("${booking.schedule.events.snapshot-every:32}") int snapshotEvery) {
+        this.events = events;
+        this.snapshots = snapshots;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.enabled = "events".equals(store) || shadow;
+        this.snapshotEvery = snapshotEvery;
+    }
+
+    public void add(AvailabilityBlock block) {
+        append(ScheduleEvent.Type.ADD, block.getCleanerId(), block.getBookingId(), block.getBlockType(),
+                block.getStartDatetime(), block.getEndDatetime(), null, null);
+    }
+
+    public void move(Long cleanerId, Long bookingId, BookingBlockType type,
+                     LocalDateTime oldStart, LocalDateTime oldEnd, LocalDateTime newStart, LocalDateTime newEnd) {
+        if (oldStart.toLocalDate().equals(newStart.toLocalDate())) {
+            append(ScheduleEvent.Type.MOVE, cleanerId, bookingId, type.name(), newStart, newEnd, oldStart, oldEnd);
+        } else {
+            append(ScheduleEvent.Type.REMOVE, cleanerId, bookingId, type.name(), oldStart, oldEnd, null, null);
+            append(ScheduleEvent.Type.ADD, cleanerId, bookingId, type.name(), newStart, newEnd, null, null);
+        }
+    }
+
+    public void remove(Long cleanerId, Long bookingId, BookingBlockType type, LocalDateTime start, LocalDateTime end) {
+        append(ScheduleEvent.Type.REMOVE, cleanerId, bookingId, type.name(), start, end, null, null);
+    }
+
+    private void append(ScheduleEvent.Type type, Long cleanerId, Long bookingId, String blockType,
+                        LocalDateTime start, LocalDateTime end, LocalDateTime fromStart, LocalDateTime fromEnd) {
+        // a MOVE never leaves its day (see move)
+        LocalDate date = start.toLocalDate();
+        ScheduleEvent e = new ScheduleEvent();
+        e.setCleanerId(cleanerId);
+        e.setScheduleDate(date);
+        e.setSeq(events.nextSeq(cleanerId, date));
+        e.setEventType(type);
+        e.setBlockType(blockType);
+        e.setBookingId(bookingId);
+        e.setStartDatetime(start);
+        e.setEndDatetime(end);
+        e.setFromStart(fromStart);
+        e.setFromEnd(fromEnd);
+        e.setCreatedAt(LocalDateTime.now());
+        events.save(e);
+    }
+
+    /** Current blocks of {@code cleanerIds} on days {@code from..to} (inclusive). */
+    Map<CleanerDay, CleanerTimeline> rebuild(List<Long> cleanerIds, LocalDate from, LocalDate to) {
+        if (cleanerIds.isEmpty()) return Map.of();
+        List<ScheduleEvent> tail = events.findForCleanersBetween(cleanerIds, from, to);
+        return replay(snapshots.findForCleanersBetween(cleanerIds, from, to), tail);
+    }
+
+    /** As {@link #rebuild}, for every cleaner with anything logged in the range. */
+    Map<CleanerDay, CleanerTimeline> rebuildAll(LocalDate from, LocalDate to) {
+        List<ScheduleEvent> tail = events.findBetween(from, to);
+        return replay(snapshots.findByScheduleDateBetween(from, to), tail);
+    }
+
+    /**
+     * Snapshot plus tail, per cleaner-day. {@code tail} must be ordered by (cleaner, date, seq);
+     * events at or below the snapshot's {@code last_seq} are already part of it.
+     */
+    static Map<CleanerDay, CleanerTimeline> replay(Collection<ScheduleSnapshot> snapshots, List<ScheduleEvent> tail) {
+        Map<CleanerDay, CleanerTimeline> result = new LinkedHashMap<>();
+        Map<CleanerDay, Integer> applied = new HashMap<>();
+        for (ScheduleSnapshot s : snapshots) {
+            CleanerDay key = new CleanerDay(s.getCleanerId(), s.getScheduleDate());
+            result.put(key, decode(s.getBlocks()));
+            applied.put(key, s.getLastSeq());
+        }
+        for (ScheduleEvent e : tail) {
+            CleanerDay key = new CleanerDay(e.getCleanerId(), e.getScheduleDate());
+            if (e.getSeq() <= applied.getOrDefault(key, 0)) continue;
+            apply(result.computeIfAbsent(key, k -> new CleanerTimeline()), e);
+        }
+        return result;
+    }
+
+    static void apply(CleanerTimeline timeline, ScheduleEvent e) {
+        CleanerTimeline.Block block = new CleanerTimeline.Block(CleanerTimeline.epoch(e.getStartDatetime()),
+                CleanerTimeline.epoch(e.getEndDatetime()), e.getBlockType(), e.getBookingId());
+        switch (e.getEventType()) {
+            case ADD -> timeline.add(block);
+            case REMOVE -> timeline.remove(block);
+            case MOVE -> {
+                // like updateBlock: nothing at the old place, nothing moves
+                CleanerTimeline.Block old = new CleanerTimeline.Block(CleanerTimeline.epoch(e.getFromStart()),
+                        CleanerTimeline.epoch(e.getFromEnd()), e.getBlockType(), e.getBookingId());
+                if (timeline.remove(old)) timeline.add(block);
+            }
+        }
+    }
+
+    /** {@code type,start,end,bookingId} per block (epoch seconds, empty booking id if none), ';'-separated. */
+    static String encode(Collection<CleanerTimeline.Block> blocks) {
+        StringBuilder sb = new StringBuilder(blocks.size() * 40);
+        for (CleanerTimeline.Block b : blocks) {
+            if (!sb.isEmpty()) sb.append(';');
+            sb.append(b.type()).append(',').append(b.start()).append(',').append(b.end()).append(',');
+            if (b.bookingId() != null) sb.append(b.bookingId());
+        }
+        return sb.toString();
+    }
+
+    static CleanerTimeline decode(String encoded) {
+        CleanerTimeline timeline = new CleanerTimeline();
+        if (encoded.isEmpty()) return timeline;
+        for (String block : encoded.split(";")) {
+            String[] f = block.split(",", -1);
+            timeline.add(new CleanerTimeline.Block(Long.parseLong(f[1]), Long.parseLong(f[2]), f[0],
+                    f[3].isEmpty() ? null : Long.valueOf(f[3])));
+        }
+        return timeline;
+    }
+
+    /**
+     * Writes the current blocks of cleaner-days that have none logged yet as their first
+     * snapshot, e.g. from the relational table when turning the log on.
+     *
+     * @return number of cleaner-days seeded
+     */
+    public int seed(Map<CleanerDay, List<AvailabilityBlock>> blocks) {
+        int seeded = 0;
+        for (Map.Entry<CleanerDay, List<AvailabilityBlock>> e : blocks.entrySet()) {
+            CleanerDay day = e.getKey();
+            Boolean done = transactions.execute(status -> {
+                if (snapshots.findByCleanerIdAndScheduleDate(day.cleanerId(), day.date()).isPresent()
+                        || events.nextSeq(day.cleanerId(), day.date()) > 1) {
+                    return false;
+                }
+                CleanerTimeline timeline = new CleanerTimeline();
+                e.getValue().forEach(b -> timeline.add(CleanerTimeline.Block.of(b)));
+                ScheduleSnapshot s = new ScheduleSnapshot();
+                s.setCleanerId(day.cleanerId());
+                s.setScheduleDate(day.date());
+                s.setLastSeq(0);
+                s.setBlocks(encode(timeline.all()));
+                s.setCreatedAt(LocalDateTime.now());
+                snapshots.save(s);
+                return true;
+            });
+            if (Boolean.TRUE.equals(done)) seeded++;
+        }
+        return seeded;
+    }
+
+    /**
+     * Folds the cleaner-day's events into its snapshot and deletes them.
+     *
+     * @return number of events folded
+     */
+    public int compact(Long cleanerId, LocalDate date) {
+        Integer folded = transactions.execute(status -> {
+            List<ScheduleEvent> tail = events.findForCleanersBetween(List.of(cleanerId), date, date);
+            Optional<ScheduleSnapshot> existing = snapshots.findByCleanerIdAndScheduleDate(cleanerId, date);
+            int lastSeq = existing.map(ScheduleSnapshot::getLastSeq).orElse(0);
+            CleanerTimeline timeline = existing.map(s -> decode(s.getBlocks())).orElseGet(CleanerTimeline::new);
+            int count = 0;
+            for (ScheduleEvent e : tail) {
+                if (e.getSeq() <= lastSeq) continue;
+                apply(timeline, e);
+                lastSeq = e.getSeq();
+                count++;
+            }
+            if (count == 0) return 0;
+
+            ScheduleSnapshot s = existing.orElseGet(ScheduleSnapshot::new);
+            s.setCleanerId(cleanerId);
+            s.setScheduleDate(date);
+            s.setLastSeq(lastSeq);
+            s.setBlocks(encode(timeline.all()));
+            s.setCreatedAt(LocalDateTime.now());
+            snapshots.save(s);
+            events.deleteCompacted(cleanerId, date, lastSeq);
+            return count;
+        });
+        return folded == null ? 0 : folded;
+    }
+
+    @Scheduled(fixedDelayString = "${booking.schedule.events.compact-interval-ms:60000}",
+            initialDelayString = "${booking.schedule.events.compact-interval-ms:60000}")
+    public void compactLongTails() {
+        if (!enabled) return;
+        int streams = 0;
+        for (ScheduleEventRepository.TailSize t : events.findTailsOfAtLeast(snapshotEvery)) {
+            try {
+                compact(t.getCleanerId(), t.getScheduleDate());
+                streams++;
+            } catch (DataAccessException ex) {
+                // another instance compacted it at the same time
+                log.debug("Skipped compacting cleaner {} on {}", t.getCleanerId(), t.getScheduleDate(), ex);
+            }
+        }
+        if (streams > 0) {
+            log.info("Compacted the schedule log of {} cleaner-days", streams);
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.cleaning.bookingservice.schedule;
+
+import com.cleaning.bookingservice.entity.ScheduleChange;
+import com.cleaning.bookingservice.fleet.ZoneFleet;
+import com.cleaning.bookingservice.repository.ScheduleChangeRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Saves the {@link ScheduleCache}'s loaded days to a local memory-mapped file and puts them back
+ * on the next start, so a restart does not reload the whole warm-up horizon from the database.
+ *
+ * <p>The file is tagged with the {@link ScheduleChangeLog} high-water mark at the time it was
+ * written. {@link #restore} installs the saved days and then refreshes only the cleaner-days of
+ * change-log rows past that mark (plus rows created within {@code replay-lookback-ms} before the
+ * file was written, covering local writes whose cache update was still in flight). Refreshing is
+ * idempotent, so replaying a change twice is harmless. The file is ignored when it is older than
+ * the change log's retention (rows may be gone), when its mark is ahead of the database (a
+ * different or reset database), or when a zone's cleaners changed since.
+ *
+ * <pre>
+ * magic "BSS1" formatVersion writtenAtMillis(long) changeLogMark(long)
+ * typeCount { length utf8 }*
+ * zoneCount { length utf8-zone cleanerCount cleanerId(long)* dayCount
+ *             { epochDay blockCount { cleanerIndex startSecond endSecond type(byte) bookingId(long, -1 if none) }* }* }*
+ * crc32 of everything before
+ * </pre>
+ *
+ * Unmarked numbers are ints; seconds are from the start of the day. Written every
+ * {@code interval-ms} and on shutdown, to a temporary file that then replaces the old one.
+ * Disabled while {@code booking.schedule.snapshot.path} is empty.
+ */
+@Component
+public class ScheduleSnapshotFile {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduleSnapshotFile.class);
+
+    private static final int MAGIC = 0x42535331;
+    private static final int FORMAT_VERSION = 1;
+
+    private final ScheduleCache scheduleCache;
+    private final ScheduleChangeLog changeLog;
+    private final ScheduleChangeRepository changes;
+    private final Path path;
+    private final boolean enabled;
+    private final long lookbackMillis;
+    private final long retentionHours;
+
+    public ScheduleSnapshotFile(ScheduleCache scheduleCache,
+                                ScheduleChangeLog changeLog,
+                                ScheduleChangeRepository changes,
+                                @Value("${booking.schedule.snapshot.path:}") String path,
+                                @Value("${booking.schedule.change-log.enabled:true}") boolean changeLogEnabled,
+                                @Value("${booking.schedule.snapshot.replay-lookback-ms:5000}") long lookbackMillis,
+                                @Value("${booking.schedule.change-log.retention-hours:24}") long retentionHours) {
+        this.scheduleCache = scheduleCache;
+        this.changeLog = changeLog;
+        this.changes = changes;
+        this.path = path.isBlank() ? null : Path.of(path);
+        // without the change log there is no telling what changed while we were down
+        this.enabled = this.path != null && changeLogEnabled;
+        this.lookbackMillis = lookbackMillis;
+        this.retentionHours = retentionHours;
+        if (this.path != null && !changeLogEnabled) {
+            log.warn("Schedule snapshot file disabled: it needs booking.schedule.change-log.enabled=true");
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Writes every current day of the cache.
+     *
+     * @return number of days written, or -1 if disabled or the write failed
+     */
+    @Scheduled(fixedDelayString = "${booking.schedule.snapshot.interval-ms:60000}",
+            initialDelayString = "${booking.schedule.snapshot.interval-ms:60000}")
+    public int write() {
+        if (!enabled) return -1;
+        long started = System.nanoTime();
+        // the mark first: every change up to it is already in the days read afterwards
+        long mark = changeLog.highWaterMark();
+        long writtenAt = System.currentTimeMillis();
+        List<ScheduleCache.CachedDay> days = scheduleCache.currentDays();
+
+        Map<String, List<ScheduleCache.CachedDay>> byZone = new TreeMap<>();
+        Map<String, Integer> types = new LinkedHashMap<>();
+        for (ScheduleCache.CachedDay day : days) {
+            byZone.computeIfAbsent(day.fleet().getZone(), z -> new ArrayList<>()).add(day);
+        }
+        // a fleet reload mid-way can leave days of two fleets; keep those of the newest
+        byZone.replaceAll((zone, zoneDays) -> {
+            ZoneFleet newest = zoneDays.get(zoneDays.size() - 1).fleet();
+            return zoneDays.stream().filter(d -> d.fleet() == newest).toList();
+        });
+        int written = 0;
+        for (List<ScheduleCache.CachedDay> zoneDays : byZone.values()) {
+            for (ScheduleCache.CachedDay day : zoneDays) {
+                day.blocks().values().forEach(own -> own.forEach(b -> types.putIfAbsent(b.type(), types.size())));
+                written++;
+            }
+        }
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Path dir = path.toAbsolutePath().getParent();
+            if (dir != null) Files.createDirectories(dir);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                        size(byZone, types.keySet()));
+                out.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(writtenAt).putLong(mark);
+                out.putInt(types.size());
+                types.keySet().forEach(t -> putString(out, t));
+                out.putInt(byZone.size());
+                for (Map.Entry<String, List<ScheduleCache.CachedDay>> zone : byZone.entrySet()) {
+                    putZone(out, zone.getKey(), zone.getValue(), types);
+                }
+                CRC32 crc = new CRC32();
+                crc.update(out.duplicate().flip());
+                out.putInt((int) crc.getValue());
+                out.force();
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not write the schedule snapshot to {}", path, ex);
+            return -1;
+        }
+        log.debug("Wrote {} schedule days to {} in {} us (change log mark {})",
+                written, path, (System.nanoTime() - started) / 1_000, mark);
+        return written;
+    }
+
+    @PreDestroy
+    void writeOnShutdown() {
+        write();
+    }
+
+    /**
+     * Installs the saved days of {@code fleets} from today on, then replays the change-log rows
+     * written since. Anything wrong with the file just means nothing is restored.
+     *
+     * @return the zone-days now loaded from the file
+     */
+    public Set<ZoneDay> restore(List<ZoneFleet> fleets) {
+        if (!enabled || !Files.isReadable(path)) return Set.of();
+        long started = System.nanoTime();
+
+        Snapshot snapshot;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            snapshot = read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Ignoring unreadable schedule snapshot {}", path, ex);
+            return Set.of();
+        }
+        if (snapshot == null) {
+            log.warn("Ignoring schedule snapshot {}: not a snapshot or damaged", path);
+            return Set.of();
+        }
+
+        long ageMillis = System.currentTimeMillis() - snapshot.writtenAtMillis;
+        if (ageMillis > retentionHours * 3_600_000L) {
+            log.info("Ignoring schedule snapshot {}: older than the change log's retention", path);
+            return Set.of();
+        }
+        // read before installing anything: if the database is unreachable nothing is restored
+        List<ScheduleChange> newer;
+        try {
+            if (snapshot.mark > changes.findMaxId()) {
+                log.info("Ignoring schedule snapshot {}: written against another database", path);
+                return Set.of();
+            }
+            LocalDateTime since = LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(snapshot.writtenAtMillis - lookbackMillis), ZoneId.systemDefault());
+            newer = changes.findChangedSince(snapshot.mark, since);
+        } catch (RuntimeException ex) {
+            log.warn("Not restoring the schedule snapshot: could not read the change log", ex);
+            return Set.of();
+        }
+
+        LocalDate today = LocalDate.now();
+        Set<ZoneDay> restored = new LinkedHashSet<>();
+        for (ZoneFleet fleet : fleets) {
+            SavedZone zone = snapshot.zones.get(fleet.getZone());
+            if (zone == null) continue;
+            if (!zone.cleanerIds.equals(fleet.getCleanerIds())) {
+                log.info("Not restoring zone {} from the schedule snapshot: its cleaners changed", fleet.getZone());
+                continue;
+            }
+            zone.days.forEach((date, blocks) -> {
+                if (!date.isBefore(today) && scheduleCache.install(fleet, date, blocks)) {
+                    restored.add(new ZoneDay(fleet.getZone(), date));
+                }
+            });
+        }
+
+        int replayed = replay(newer, restored);
+        log.info("Restored {} schedule days from {} in {} ms; replayed {} newer changes",
+                restored.size(), path, (System.nanoTime() - started) / 1_000_000, replayed);
+        return restored;
+    }
+
+    private int replay(List<ScheduleChange> newer, Set<ZoneDay> restored) {
+        Map<ZoneDay, Set<Long>> touched = new LinkedHashMap<>();
+        int replayed = 0;
+        for (ScheduleChange row : newer) {
+            ZoneDay day = ZoneDay.of(row.getZone(), row.getChangeDate());
+            if (!restored.contains(day)) continue;
+            touched.computeIfAbsent(day, d -> new TreeSet<>()).add(row.getCleanerId());
+            replayed++;
+        }
+        touched.forEach((day, cleanerIds) -> {
+            try {
+                scheduleCache.refresh(day, cleanerIds);
+            } catch (RuntimeException ex) {
+                // leave the day stale, so it is reloaded in full on first use
+                scheduleCache.refresh(day, List.of());
+                log.warn("Could not replay schedule changes of {}; it will be reloaded", day, ex);
+            }
+        });
+        return replayed;
+    }
+
+    private static long size(Map<String, List<ScheduleCache.CachedDay>> byZone, Collection<String> types) {
+        long size = 4 + 4 + 8 + 8 + 4 + 4;
+        for (String t : types) size += 4 + utf8(t).length;
+        for (Map.Entry<String, List<ScheduleCache.CachedDay>> zone : byZone.entrySet()) {
+            size += 4 + utf8(zone.getKey()).length;
+            size += 4 + 8L * zone.getValue().get(0).fleet().getCleanerIds().size() + 4;
+            for (ScheduleCache.CachedDay day : zone.getValue()) {
+                size += 4 + 4;
+                for (List<CleanerTimeline.Block> own : day.blocks().values()) {
+                    size += (4 + 4 + 4 + 1 + 8L) * own.size();
+                }
+            }
+        }
+        return size + 4;
+    }
+
+    private static void putZone(ByteBuffer out, String zone, List<ScheduleCache.CachedDay> days,
+                                Map<String, Integer> types) {
+        List<Long> cleanerIds = days.get(0).fleet().getCleanerIds();
+        Map<Long, Integer> index = new HashMap<>();
+        putString(out, zone);
+        out.putInt(cleanerIds.size());
+        for (Long id : cleanerIds) {
+            index.put(id, index.size());
+            out.putLong(id);
+        }
+        out.putInt(days.size());
+        for (ScheduleCache.CachedDay day : days) {
+            long dayStart = CleanerTimeline.epoch(day.date().atStartOfDay());
+            out.putInt((int) day.date().toEpochDay());
+            out.putInt(day.blocks().values().stream().mapToInt(List::size).sum());
+            day.blocks().forEach((cleanerId, own) -> {
+                for (CleanerTimeline.Block b : own) {
+                    out.putInt(index.get(cleanerId));
+                    out.putInt((int) (b.start() - dayStart));
+                    out.putInt((int) (b.end() - dayStart));
+                    out.put(types.get(b.type()).byteValue());
+                    out.putLong(b.bookingId() == null ? -1 : b.bookingId());
+                }
+            });
+        }
+    }
+
+    /** Parses a mapped snapshot; null if the header or checksum do not match. */
+    static Snapshot read(ByteBuffer in) {
+        if (in.remaining() < 4 + 4 + 8 + 8 + 4) return null;
+        CRC32 crc = new CRC32();
+        crc.update(in.duplicate().limit(in.limit() - 4));
+        if ((int) crc.getValue() != in.getInt(in.limit() - 4)) return null;
+        if (in.getInt() != MAGIC || in.getInt() != FORMAT_VERSION) return null;
+
+        try {
+            long writtenAt = in.getLong();
+            long mark = in.getLong();
+            String[] types = new String[in.getInt()];
+            for (int i = 0; i < types.length; i++) types[i] = getString(in);
+
+            Map<String, SavedZone> zones = new HashMap<>();
+            for (int z = in.getInt(); z > 0; z--) {
+                String zone = getString(in);
+                List<Long> cleanerIds = new ArrayList<>();
+                for (int c = in.getInt(); c > 0; c--) cleanerIds.add(in.getLong());
+                Map<LocalDate, Map<Long, List<CleanerTimeline.Block>>> days = new TreeMap<>();
+                for (int d = in.getInt(); d > 0; d--) {
+                    LocalDate date = LocalDate.ofEpochDay(in.getInt());
+                    long dayStart = CleanerTimeline.epoch(date.atStartOfDay());
+                    Map<Long, List<CleanerTimeline.Block>> blocks = new HashMap<>();
+                    for (int b = in.getInt(); b > 0; b--) {
+                        Long cleanerId = cleanerIds.get(in.getInt());
+                        long start = dayStart + in.getInt();
+                        long end = dayStart + in.getInt();
+                        String type = types[in.get()];
+                        long bookingId = in.getLong();
+                        blocks.computeIfAbsent(cleanerId, id -> new ArrayList<>())
+                                .add(new CleanerTimeline.Block(start, end, type, bookingId < 0 ? null : bookingId));
+                    }
+                    days.put(date, blocks);
+                }
+                zones.put(zone, new SavedZone(List.copyOf(cleanerIds), days));
+            }
+            return new Snapshot(writtenAt, mark, zones);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException ex) {
+            return null;
+        }
+    }
+
+    record Snapshot(long writtenAtMillis, long mark, Map<String, SavedZone> zones) {
+    }
+
+    record SavedZone(List<Long> cleanerIds, Map<LocalDate, Map<Long, List<CleanerTimeline.Block>>> days) {
+    }
+
+    private static void putString(ByteBuffer out, String value) {
+        byte[] utf8 = utf8(value);
+        out.putInt(utf8.length);
+        out.put(utf8);
+    }
+
+    private static String getString(ByteBuffer in) {
+        byte[] utf8 = new byte[in.getInt()];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,40 @@
+package com.cleaning.bookingservice.schedule;
+
+import com.cleaning.bookingservice.constants.BookingServiceConstants.BookingBlockType;
+import com.cleaning.bookingservice.entity.AvailabilityBlock;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Where cleaners' blocks are persisted, chosen with {@code booking.schedule.store}:
+ * {@code relational} (default, {@link RelationalScheduleStore}) keeps one mutable
+ * {@code availability_blocks} row per block; {@code events} ({@link EventSourcedScheduleStore})
+ * keeps an append-only log per cleaner-day ({@link ScheduleEventLog}).
+ *
+ * <p>Overlap and existence checks follow the relational queries exactly, whichever store
+ * answers them.
+ */
+public interface ScheduleStore {
+
+    /** Blocks of {@code cleanerIds} starting in {@code [from, to)}, by cleaner, then start. */
+    List<AvailabilityBlock> findBlocksBetween(List<Long> cleanerIds, LocalDateTime from, LocalDateTime to);
+
+    /** Whether {@code cleanerId} has a busy (not FREE) block intersecting {@code [start, end)}. */
+    boolean hasOverlap(Long cleanerId, LocalDateTime start, LocalDateTime end);
+
+    /** As {@link #hasOverlap}, ignoring blocks of {@code bookingId} (and blocks of no booking). */
+    boolean hasOverlapExcludingBooking(Long cleanerId, Long bookingId, LocalDateTime start, LocalDateTime end);
+
+    /** Whether {@code cleanerId} has a block of any type spanning exactly {@code [start, end)}. */
+    boolean exists(Long cleanerId, LocalDateTime start, LocalDateTime end);
+
+    void add(AvailabilityBlock block);
+
+    /** Moves the block of {@code type} at {@code [oldStart, oldEnd)}; no-op if there is none. */
+    void move(Long cleanerId, Long bookingId, BookingBlockType type,
+              LocalDateTime oldStart, LocalDateTime oldEnd, LocalDateTime newStart, LocalDateTime newEnd);
+
+    /** Removes {@code bookingId}'s block of {@code type} at {@code [start, end)}; no-op if there is none. */
+    void remove(Long cleanerId, Long bookingId, BookingBlockType type, LocalDateTime start, LocalDateTime end);
+}
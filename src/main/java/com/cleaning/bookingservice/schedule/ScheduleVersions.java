@@ -0,0 +1,48 @@
+package com.cleaning.bookingservice.schedule;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonically increasing schedule version per (zone, date). Every booking write bumps the
+ * versions of the days it touches; anything derived from a day's schedule (cached days,
+ * cached availability results) is keyed by the version it was computed from and is
+ * simply never matched again once the version moves on.
+ */
+@Component
+public class ScheduleVersions {
+
+    private final Map<ZoneDay, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public long current(ZoneDay key) {
+        AtomicLong version = versions.get(key);
+        return version == null ? 0 : version.get();
+    }
+
+    public long bump(ZoneDay key) {
+        return versions.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Bumps the given days once the surrounding transaction commits, so readers cannot cache
+     * pre-commit state under the new version. Bumps immediately outside a transaction.
+     */
+    public void bumpAfterCommit(String zone, LocalDate... dates) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            for (LocalDate d : dates) bump(ZoneDay.of(zone, d));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (LocalDate d : dates) bump(ZoneDay.of(zone, d));
+            }
+        });
+    }
+}
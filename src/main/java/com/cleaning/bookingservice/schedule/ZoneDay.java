@@ -0,0 +1,15 @@
+package com.cleaning.bookingservice.schedule;
+
+import com.cleaning.bookingservice.fleet.FleetRegistry;
+
+import java.time.LocalDate;
+
+/**
+ * Partition key for schedule data: one calendar day of one zone.
+ */
+public record ZoneDay(String zone, LocalDate date) {
+
+    public static ZoneDay of(String zone, LocalDate date) {
+        return new ZoneDay(FleetRegistry.normalizeZone(zone), date);
+    }
+}
@@ -2,9 +2,13 @@ package com.cleaning.bookingservice.service;
 
 import com.cleaning.bookingservice.dto.request.AvailabilityRequest;
 import com.cleaning.bookingservice.dto.response.AvailabilityResponse;
+import com.cleaning.bookingservice.schedule.AvailabilityResultCache;
 import org.springframework.stereotype.Service;
 
 @Service
 public interface AvailabilityService {
     AvailabilityResponse checkAvailability(AvailabilityRequest request);
+
+    /** The response together with its entity tag, which is derived from the content only. */
+    AvailabilityResultCache.Result checkAvailabilityWithETag(AvailabilityRequest request);
 }
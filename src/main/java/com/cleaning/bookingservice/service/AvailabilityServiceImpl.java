@@ -7,38 +7,101 @@ import com.cleaning.bookingservice.dto.response.AvailabilityResponse;
 import com.cleaning.bookingservice.entity.AvailabilityBlock;
 import com.cleaning.bookingservice.entity.CleanerProfessional;
 import com.cleaning.bookingservice.entity.Vehicle;
-import com.cleaning.bookingservice.repository.AvailabilityBlockRepository;
-import com.cleaning.bookingservice.repository.CleanerRepository;
-import com.cleaning.bookingservice.repository.VehicleRepository;
+import com.cleaning.bookingservice.fleet.FleetRegistry;
+import com.cleaning.bookingservice.fleet.ZoneFleet;
+import com.cleaning.bookingservice.metrics.BookingMetrics;
+import com.cleaning.bookingservice.metrics.BookingMetrics.Operation;
+import com.cleaning.bookingservice.metrics.BookingMetrics.Phase;
+import com.cleaning.bookingservice.schedule.AvailabilityCoalescer;
+import com.cleaning.bookingservice.schedule.AvailabilityResultCache;
+import com.cleaning.bookingservice.schedule.DaySchedule;
+import com.cleaning.bookingservice.schedule.ScheduleCache;
+import com.cleaning.bookingservice.schedule.ScheduleVersions;
+import com.cleaning.bookingservice.schedule.ZoneDay;
 import org.antlr.v4.runtime.misc.Interval;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.*;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Service
 public class AvailabilityServiceImpl implements AvailabilityService {
 
     @Autowired
-    private CleanerRepository cleanerRepository;
+    private FleetRegistry fleetRegistry;
 
     @Autowired
-    private VehicleRepository vehicleRepository;
+    private ScheduleCache scheduleCache;
 
     @Autowired
-    private AvailabilityBlockRepository availabilityBlockRepository;
+    private ScheduleVersions scheduleVersions;
+
+    @Autowired
+    private AvailabilityResultCache resultCache;
+
+    @Autowired
+    private AvailabilityCoalescer coalescer;
+
+    @Autowired
+    private BookingMetrics bookingMetrics;
 
     @Override
     public AvailabilityResponse checkAvailability(AvailabilityRequest request) {
+        return checkAvailabilityWithETag(request).response();
+    }
+
+    @Override
+    public AvailabilityResultCache.Result checkAvailabilityWithETag(AvailabilityRequest request) {
+        AvailabilityResultCache.Result result =
+                bookingMetrics.time(Phase.CHECK_AVAILABILITY, () -> availabilityFor(request));
+        // the cached instance is shared; callers get their own
+        return new AvailabilityResultCache.Result(result.response().copy(), result.etag());
+    }
+
+    private AvailabilityResultCache.Result availabilityFor(AvailabilityRequest request) {
 
         LocalDate date = LocalDate.parse(request.getDate());
 
         if (date.getDayOfWeek() == DayOfWeek.FRIDAY) {
-            return new AvailabilityResponse();
+            return AvailabilityResultCache.Result.of(new AvailabilityResponse());
+        }
+
+        // read the version before computing: the result reflects at least this version
+        ZoneDay day = ZoneDay.of(request.getZone(), date);
+        ZoneFleet fleet = fleetRegistry.zone(request.getZone());
+        AvailabilityResultCache.Key key =
+                new AvailabilityResultCache.Key(day, fleet, scheduleVersions.current(day), variantOf(request));
+
+        bookingMetrics.tag("zone", day.zone());
+        bookingMetrics.tag("date", date);
+        bookingMetrics.tag("cleaner.count", request.getCleanerCount());
+
+        AvailabilityResultCache.Result cached = resultCache.get(key);
+        bookingMetrics.tag("result.cached", cached != null);
+        if (cached != null) {
+            return cached;
         }
 
+        // identical concurrent misses share one computation
+        return coalescer.execute(key, () -> {
+            AvailabilityResultCache.Result computed =
+                    AvailabilityResultCache.Result.of(computeAvailability(request, fleet, date));
+            resultCache.put(key, computed);
+            return computed;
+        });
+    }
+
+    private String variantOf(AvailabilityRequest request) {
+        return request.getStartTime() + "|" + request.getDurationHours() + "|" + request.getCleanerCount()
+                + "|" + request.getVehicleIds() + "|" + request.getCleanerIds() + "|" + request.getMinFreeMinutes()
+                + "|" + request.getPageSize() + "|" + request.getCursor();
+    }
+
+    private AvailabilityResponse computeAvailability(AvailabilityRequest request, ZoneFleet fleet, LocalDate date) {
+
         boolean filterByTime =
                 request.getStartTime() != null &&
                         request.getDurationHours() != null &&
@@ -56,72 +119,201 @@ public class AvailabilityServiceImpl implements AvailabilityService {
         List<AvailabilityResponse.VehicleAvailability> vehiclesResponse = new ArrayList<>();
         int availableVehicleCount = 0;
 
-        for (Vehicle v : vehicleRepository.findAll()) {
-
-            List<CleanerProfessional> cleaners = cleanerRepository.findByVehicle_Id(v.getId());
-            if (cleaners.isEmpty()) continue;
+        if (fleet.getCleanerIds().isEmpty()) {
+            response.setAvailableVehicles(vehiclesResponse);
+            response.setCount(availableVehicleCount);
+            return response;
+        }
 
-            List<Long> cleanerIds = cleaners.stream().map(CleanerProfessional::getId).toList();
+        // vehicles of this page, and the cleaners of each that pass the cleaner filter
+        List<Vehicle> candidates = candidateVehicles(fleet, request);
+        int pageSize = request.getPageSize() == null ? candidates.size() : request.getPageSize();
+        List<Vehicle> page = candidates.subList(0, Math.min(pageSize, candidates.size()));
+        if (page.size() < candidates.size()) {
+            response.setNextCursor(encodeCursor(page.get(page.size() - 1).getId()));
+        }
 
-            Map<Long, List<AvailabilityBlock>> blocksByCleaner =
-                    availabilityBlockRepository.findBlocksForCleaners(cleanerIds, date)
-                            .stream()
-                            .collect(Collectors.groupingBy(AvailabilityBlock::getCleanerId));
+        Set<Long> cleanerFilter = request.getCleanerIds() == null ? null : new HashSet<>(request.getCleanerIds());
+        Map<Long, List<CleanerProfessional>> cleanersByVehicle = new LinkedHashMap<>();
+        List<Long> selectedCleanerIds = new ArrayList<>();
+        for (Vehicle v : page) {
+            List<CleanerProfessional> cleaners = fleet.cleanersOf(v.getId());
+            if (cleanerFilter != null) {
+                cleaners = cleaners.stream().filter(c -> cleanerFilter.contains(c.getId())).toList();
+            }
+            cleanersByVehicle.put(v.getId(), cleaners);
+            cleaners.forEach(c -> selectedCleanerIds.add(c.getId()));
+        }
+        boolean narrowed = cleanerFilter != null || page.size() < fleet.getVehicles().size();
+
+        // Unfiltered: the whole zone-day is loaded (one cached query) and, with a time filter, each
+        // vehicle is a single FreeCleanerIndex lookup. Filtered: only the selected cleaners' blocks
+        // are read, from memory if the day is loaded and with a narrowed query otherwise.
+        boolean withinWorkingHours = filterByTime && isWithinWorkingHours(startDt, endDt);
+        DaySchedule schedule = null;
+        if (narrowed && (!filterByTime || withinWorkingHours)) {
+            schedule = scheduleCache.day(fleet, date, selectedCleanerIds);
+        } else if (!filterByTime) {
+            schedule = scheduleCache.day(fleet, date);
+        }
+        Integer minFreeMinutes = request.getMinFreeMinutes();
+        int cleanersScanned = 0;
 
-            cleanerIds.forEach(id -> blocksByCleaner.putIfAbsent(id, List.of()));
+        for (Vehicle v : page) {
 
-            List<AvailabilityResponse.CleanerAvailability> cleanerDtos = new ArrayList<>();
-            int cleanersThatFit = 0;
+            List<CleanerProfessional> cleaners = cleanersByVehicle.get(v.getId());
+            if (cleaners.isEmpty()) continue;
+            cleanersScanned += cleaners.size();
 
-            for (CleanerProfessional c : cleaners) {
+            AvailabilityResponse.VehicleAvailability va;
+            if (filterByTime && !narrowed) {
+                if (!withinWorkingHours) continue;
+                va = withCleaners(v, scheduleCache.freeCleaners(fleet, v.getId(), startDt, endDt), requiredCleaners, null);
+            } else {
+                va = vehicleAvailability(v, cleaners, schedule == null ? null : schedule::blocksOf, this::calculateFreeSlots,
+                        startDt, endDt, requiredCleaners, minFreeMinutes);
+            }
 
-                List<AvailabilityBlock> blocks = blocksByCleaner.get(c.getId());
+            if (va != null) {
+                vehiclesResponse.add(va);
+                availableVehicleCount++;
+            }
+        }
 
-                List<String> freeSlots = calculateFreeSlots(blocks);
+        response.setAvailableVehicles(vehiclesResponse);
+        response.setCount(availableVehicleCount);
+        bookingMetrics.tag("vehicles.available", availableVehicleCount);
+        bookingMetrics.scanned(Operation.AVAILABILITY, page.size(), cleanersScanned);
 
-                if (filterByTime) {
+        return response;
+    }
 
-                    boolean fits = hasFreeWindowForRange(
-                            freeSlots,
-                            startDt.toLocalTime(),
-                            endDt.toLocalTime()
-                    );
+    /**
+     * One vehicle's entry in the response, or null if it has nothing to offer. With a time window
+     * ({@code start} not null) it lists the cleaners free for the whole window, if at least
+     * {@code requiredCleaners} are; otherwise every cleaner with its free slots (those at least
+     * {@code minFreeMinutes} long, when given). Shared with the reactive availability service,
+     * which reads {@code blocksOf} from its own queries.
+     */
+    public static AvailabilityResponse.VehicleAvailability vehicleAvailability(
+            Vehicle vehicle,
+            List<CleanerProfessional> cleaners,
+            Function<Long, List<AvailabilityBlock>> blocksOf,
+            Function<List<AvailabilityBlock>, List<String>> freeSlots,
+            LocalDateTime start,
+            LocalDateTime end,
+            Integer requiredCleaners,
+            Integer minFreeMinutes) {
+
+        if (start != null) {
+            if (!isWithinWorkingHours(start, end)) return null;
+            return withCleaners(vehicle, freeDuring(blocksOf, cleaners, start, end), requiredCleaners, null);
+        }
 
-                    if (!fits) continue;
-                    else cleanersThatFit++;
-                }
+        List<CleanerProfessional> withSlots = new ArrayList<>(cleaners.size());
+        List<List<String>> slots = new ArrayList<>(cleaners.size());
+        for (CleanerProfessional c : cleaners) {
+            List<String> free = freeSlots.apply(blocksOf.apply(c.getId()));
+            if (minFreeMinutes != null) {
+                free = longerThan(free, minFreeMinutes);
+                if (free.isEmpty()) continue;
+            }
+            withSlots.add(c);
+            slots.add(free);
+        }
+        return withCleaners(vehicle, withSlots, 1, slots);
+    }
 
-                AvailabilityResponse.CleanerAvailability ca = new AvailabilityResponse.CleanerAvailability();
-                ca.setCleanerId(c.getId());
-                ca.setName(c.getName());
+    private static AvailabilityResponse.VehicleAvailability withCleaners(Vehicle vehicle,
+                                                                        List<CleanerProfessional> cleaners,
+                                                                        int requiredCleaners,
+                                                                        List<List<String>> slots) {
+        if (cleaners.isEmpty() || cleaners.size() < requiredCleaners) return null;
+
+        List<AvailabilityResponse.CleanerAvailability> cleanerDtos = new ArrayList<>(cleaners.size());
+        for (int i = 0; i < cleaners.size(); i++) {
+            AvailabilityResponse.CleanerAvailability ca = new AvailabilityResponse.CleanerAvailability();
+            ca.setCleanerId(cleaners.get(i).getId());
+            ca.setName(cleaners.get(i).getName());
+            if (slots != null) ca.setAvailableSlots(slots.get(i));
+            cleanerDtos.add(ca);
+        }
 
-                if (!filterByTime) {
-                    ca.setAvailableSlots(freeSlots);
-                }
+        AvailabilityResponse.VehicleAvailability va = new AvailabilityResponse.VehicleAvailability();
+        va.setVehicleId(vehicle.getId());
+        va.setVehicleName(vehicle.getName());
+        va.setCleaners(cleanerDtos);
+        return va;
+    }
 
-                cleanerDtos.add(ca);
-            }
+    // vehicles in id order, after the cursor, restricted to the requested ids
+    public static List<Vehicle> candidateVehicles(ZoneFleet fleet, AvailabilityRequest request) {
+        long after = request.getCursor() == null ? Long.MIN_VALUE : decodeCursor(request.getCursor());
+        Set<Long> wanted = request.getVehicleIds() == null ? null : new HashSet<>(request.getVehicleIds());
+        return fleet.getVehicles().stream()
+                .filter(v -> v.getId() > after)
+                .filter(v -> wanted == null || wanted.contains(v.getId()))
+                .toList();
+    }
 
-            if (filterByTime && cleanersThatFit < requiredCleaners) continue;
+    private static String encodeCursor(long lastVehicleId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("v" + lastVehicleId).getBytes(StandardCharsets.US_ASCII));
+    }
 
-            if (!cleanerDtos.isEmpty()) {
-                AvailabilityResponse.VehicleAvailability va = new AvailabilityResponse.VehicleAvailability();
-                va.setVehicleId(v.getId());
-                va.setVehicleName(v.getName());
-                va.setCleaners(cleanerDtos);
+    private static long decodeCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (!decoded.startsWith("v")) throw new IllegalArgumentException();
+            return Long.parseLong(decoded.substring(1));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
 
-                vehiclesResponse.add(va);
-                availableVehicleCount++;
+    private static List<CleanerProfessional> freeDuring(Function<Long, List<AvailabilityBlock>> blocksOf,
+                                                        List<CleanerProfessional> cleaners,
+                                                        LocalDateTime start, LocalDateTime end) {
+        List<CleanerProfessional> free = new ArrayList<>(cleaners.size());
+        for (CleanerProfessional c : cleaners) {
+            boolean busy = false;
+            for (AvailabilityBlock b : blocksOf.apply(c.getId())) {
+                if (!BookingBlockType.FREE.name().equalsIgnoreCase(b.getBlockType())
+                        && b.getStartDatetime().isBefore(end) && b.getEndDatetime().isAfter(start)) {
+                    busy = true;
+                    break;
+                }
             }
+            if (!busy) free.add(c);
         }
+        return free;
+    }
 
-        response.setAvailableVehicles(vehiclesResponse);
-        response.setCount(availableVehicleCount);
+    private static List<String> longerThan(List<String> freeSlots, int minMinutes) {
+        List<String> result = new ArrayList<>(freeSlots.size());
+        for (String slot : freeSlots) {
+            String[] parts = slot.split("-");
+            long minutes = Duration.between(LocalTime.parse(parts[0]), LocalTime.parse(parts[1])).toMinutes();
+            if (minutes >= minMinutes) result.add(slot);
+        }
+        return result;
+    }
 
-        return response;
+    // free slots are clipped to working hours, so a window outside them fits nobody
+    private static boolean isWithinWorkingHours(LocalDateTime start, LocalDateTime end) {
+        int startMinute = start.toLocalTime().toSecondOfDay() / 60;
+        int endMinute = end.toLocalTime().toSecondOfDay() / 60;
+        return start.toLocalDate().equals(end.toLocalDate())
+                && startMinute >= BookingServiceConstants.WORK_START_MINUTES
+                && endMinute <= BookingServiceConstants.WORK_END_MINUTES;
     }
 
     public List<String> calculateFreeSlots(List<AvailabilityBlock> blocks) {
+        return bookingMetrics.time(Phase.CALCULATE_FREE_SLOTS, () -> freeSlotsOf(blocks));
+    }
+
+    /** Free slots within working hours, e.g. "08:00-10:00", left by {@code blocks} (one cleaner's day). */
+    public static List<String> freeSlotsOf(List<AvailabilityBlock> blocks) {
 
         int WORK_START = BookingServiceConstants.WORK_START_MINUTES;
         int WORK_END = BookingServiceConstants.WORK_END_MINUTES;
@@ -160,11 +352,11 @@ public class AvailabilityServiceImpl implements AvailabilityService {
         return result;
     }
 
-    private String formatTime(int mins) {
+    private static String formatTime(int mins) {
         return String.format("%02d:%02d", mins / 60, mins % 60);
     }
 
-    private List<Interval> mergeBusy(List<Interval> intervals) {
+    static List<Interval> mergeBusy(List<Interval> intervals) {
 
         if (intervals.isEmpty()) return intervals;
 
@@ -186,19 +378,4 @@ public class AvailabilityServiceImpl implements AvailabilityService {
         merged.add(prev);
         return merged;
     }
-
-    private boolean hasFreeWindowForRange(List<String> freeSlots, LocalTime start, LocalTime end) {
-
-        for (String slot : freeSlots) {
-            String[] parts = slot.split("-");
-            LocalTime fs = LocalTime.parse(parts[0]);
-            LocalTime fe = LocalTime.parse(parts[1]);
-
-            if (!start.isBefore(fs) && !end.isAfter(fe)) {
-                return true;
-            }
-        }
-
-        return false;
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,113 @@
+package com.cleaning.bookingservice.service;
+
+import com.cleaning.bookingservice.constants.BookingServiceConstants;
+import com.cleaning.bookingservice.dto.response.BookingAlternative;
+import com.cleaning.bookingservice.fleet.ZoneFleet;
+import com.cleaning.bookingservice.schedule.ScheduleCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Finds the slots nearest to a request that could not be booked, so the 409 can offer them
+ * instead of leaving the client to poll availability. Candidates are the other vehicles at the
+ * requested time, the same day at other start times, then the neighbouring days. Within a day,
+ * start times are ranked by distance from the requested time of day, and vehicles are tried in
+ * the order the request was searched in. Each start time is offered once, on the first vehicle
+ * with enough free cleaners. Only slots a booking could be created for are offered: working
+ * days and hours, and not started yet.
+ *
+ * <p>The requested day is read from the {@link ScheduleCache} the failed attempt just loaded.
+ * A neighbouring day is only loaded when the requested day yields fewer than
+ * {@code booking.conflict.alternatives} slots.
+ */
+@Component
+public class BookingAlternatives {
+
+    private final ScheduleCache scheduleCache;
+    private final int limit;
+    private final int stepMinutes;
+    private final int dayRange;
+    private final Clock clock;
+
+    @Autowired
+    public BookingAlternatives(ScheduleCache scheduleCache,
+                               @Value("${booking.conflict.alternatives:3}") int limit,
+                               @Value("${booking.conflict.alternative-step-minutes:30}") int stepMinutes,
+                               @Value("${booking.conflict.alternative-days:1}") int dayRange) {
+        this(scheduleCache, limit, stepMinutes, dayRange, Clock.systemDefaultZone());
+    }
+
+    BookingAlternatives(ScheduleCache scheduleCache, int limit, int stepMinutes, int dayRange, Clock clock) {
+        this.scheduleCache = scheduleCache;
+        this.limit = limit;
+        this.stepMinutes = stepMinutes;
+        this.dayRange = dayRange;
+        this.clock = clock;
+    }
+
+    /**
+     * Up to {@code booking.conflict.alternatives} bookable slots of the same duration and team
+     * size, nearest first. {@code vehicleIds} is the order the request tried; the rest of the
+     * fleet follows it.
+     */
+    public List<BookingAlternative> nearest(ZoneFleet fleet, List<Long> vehicleIds,
+                                            LocalDateTime start, LocalDateTime end, int cleanerCount) {
+        List<BookingAlternative> found = new ArrayList<>(limit);
+        if (limit <= 0) return found;
+
+        List<Long> vehicles = new ArrayList<>(vehicleIds);
+        fleet.getVehicles().forEach(v -> {
+            if (!vehicles.contains(v.getId())) vehicles.add(v.getId());
+        });
+        int minutes = (int) Duration.between(start, end).toMinutes();
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        LocalDate date = start.toLocalDate();
+        for (int d = 0; d <= dayRange && found.size() < limit; d++) {
+            List<LocalDateTime> starts = new ArrayList<>();
+            for (LocalDate day : d == 0 ? List.of(date) : List.of(date.minusDays(d), date.plusDays(d))) {
+                if (day.getDayOfWeek() == DayOfWeek.FRIDAY) continue;
+                for (int m = BookingServiceConstants.WORK_START_MINUTES;
+                     m + minutes <= BookingServiceConstants.WORK_END_MINUTES; m += stepMinutes) {
+                    LocalDateTime candidate = day.atStartOfDay().plusMinutes(m);
+                    if (!candidate.isBefore(now)) starts.add(candidate);
+                }
+            }
+            starts.sort(Comparator.comparingLong((LocalDateTime t) -> Math.abs(Duration.between(
+                            start.toLocalTime(), t.toLocalTime()).toMinutes()))
+                    .thenComparing(Comparator.naturalOrder()));
+
+            for (LocalDateTime candidate : starts) {
+                BookingAlternative alternative = firstFit(fleet, vehicles, candidate,
+                        candidate.plusMinutes(minutes), cleanerCount, candidate.equals(start) ? vehicleIds : List.of());
+                if (alternative != null) {
+                    found.add(alternative);
+                    if (found.size() == limit) break;
+                }
+            }
+        }
+        return found;
+    }
+
+    private BookingAlternative firstFit(ZoneFleet fleet, List<Long> vehicles, LocalDateTime start, LocalDateTime end,
+                                        int cleanerCount, List<Long> alreadyTried) {
+        for (Long vehicleId : vehicles) {
+            if (alreadyTried.contains(vehicleId) || fleet.cleanersOf(vehicleId).size() < cleanerCount) continue;
+            int free = scheduleCache.freeCleaners(fleet, vehicleId, start, end).size();
+            if (free >= cleanerCount) {
+                return new BookingAlternative(start, end, vehicleId, free);
+            }
+        }
+        return null;
+    }
+}
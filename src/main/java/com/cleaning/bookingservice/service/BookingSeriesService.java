@@ -0,0 +1,12 @@
+package com.cleaning.bookingservice.service;
+
+import com.cleaning.bookingservice.dto.request.CreateBookingSeriesRequest;
+import com.cleaning.bookingservice.dto.response.BookingSeriesResponse;
+
+import java.time.LocalDate;
+
+public interface BookingSeriesService {
+
+    BookingSeriesResponse createSeries(CreateBookingSeriesRequest request);
+    void skipOccurrence(Long seriesId, LocalDate date);
+}
@@ -0,0 +1,354 @@
+package com.cleaning.bookingservice.service;
+
+import com.cleaning.bookingservice.dto.request.CreateBookingSeriesRequest;
+import com.cleaning.bookingservice.dto.response.BookingSeriesResponse;
+import com.cleaning.bookingservice.entity.AvailabilityBlock;
+import com.cleaning.bookingservice.entity.Booking;
+import com.cleaning.bookingservice.entity.BookingSeries;
+import com.cleaning.bookingservice.entity.CleanerProfessional;
+import com.cleaning.bookingservice.exception.BookingConflictException;
+import com.cleaning.bookingservice.fleet.FleetRegistry;
+import com.cleaning.bookingservice.fleet.ZoneFleet;
+import com.cleaning.bookingservice.metrics.BookingMetrics;
+import com.cleaning.bookingservice.metrics.BookingMetrics.ConflictReason;
+import com.cleaning.bookingservice.repository.BookingSeriesRepository;
+import com.cleaning.bookingservice.schedule.BookingSeriesCalendar;
+import com.cleaning.bookingservice.schedule.ScheduleCache;
+import com.cleaning.bookingservice.schedule.ScheduleChangeLog;
+import com.cleaning.bookingservice.schedule.ScheduleStore;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Recurring bookings: one {@link BookingSeries} row holds the rule (team, weekday, time,
+ * interval) and its exclusions. Only occurrences within {@code booking.series.horizon-days} of
+ * today are written as bookings; the rest are expanded by {@link BookingSeriesCalendar} whenever
+ * a schedule is read, and {@link #materializeDue} turns them into bookings as the horizon
+ * reaches them.
+ *
+ * <p>A new series is checked against every occurrence at once: the zone's blocks across the
+ * whole span are read in one query and swept once, and a team is picked among the vehicles'
+ * cleaners free on every date.
+ */
+@Service
+public class BookingSeriesServiceImpl implements BookingSeriesService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingSeriesServiceImpl.class);
+
+    private final BookingSeriesRepository seriesRepository;
+    private final BookingSeriesCalendar seriesCalendar;
+    private final BookingServiceImpl bookingService;
+    private final ScheduleStore scheduleStore;
+    private final FleetRegistry fleetRegistry;
+    private final ScheduleCache scheduleCache;
+    private final ScheduleChangeLog scheduleChangeLog;
+    private final BookingMetrics bookingMetrics;
+    private final TransactionTemplate transactions;
+    private final int horizonDays;
+    private final int maxDays;
+
+    public BookingSeriesServiceImpl(BookingSeriesRepository seriesRepository,
+                                    BookingSeriesCalendar seriesCalendar,
+                                    BookingServiceImpl bookingService,
+                                    ScheduleStore scheduleStore,
+                                    FleetRegistry fleetRegistry,
+                                    ScheduleCache scheduleCache,
+                                    ScheduleChangeLog scheduleChangeLog,
+                                    BookingMetrics bookingMetrics,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${booking.series.horizon-days:28}") int horizonDays,
+                                    @Value("${booking.series.max-days:366}") int maxDays) {
+        this.seriesRepository = seriesRepository;
+        this.seriesCalendar = seriesCalendar;
+        this.bookingService = bookingService;
+        this.scheduleStore = scheduleStore;
+        this.fleetRegistry = fleetRegistry;
+        this.scheduleCache = scheduleCache;
+        this.scheduleChangeLog = scheduleChangeLog;
+        this.bookingMetrics = bookingMetrics;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.horizonDays = horizonDays;
+        this.maxDays = maxDays;
+    }
+
+    @Override
+    @Transactional
+    public BookingSeriesResponse createSeries(CreateBookingSeriesRequest request) {
+
+        validateRequest(request);
+
+        LocalDate firstDate = LocalDate.parse(request.getStartDate());
+        LocalTime startTime = LocalTime.parse(request.getStartTime());
+        int hours = request.getDurationHours();
+        int intervalWeeks = request.getIntervalWeeks() == null ? 1 : request.getIntervalWeeks();
+
+        // every occurrence falls on the same weekday and time as the first
+        bookingService.validateWorkingDay(firstDate);
+        bookingService.validateWorkingHours(startTime, firstDate.atTime(startTime), hours);
+
+        LocalDate lastDate = lastDate(request, firstDate, intervalWeeks);
+        if (ChronoUnit.DAYS.between(firstDate, lastDate) >= maxDays) {
+            throw new IllegalArgumentException("A series may span at most " + maxDays + " days");
+        }
+
+        BookingSeries series = new BookingSeries();
+        series.setFirstDate(firstDate);
+        series.setLastDate(lastDate);
+        series.setStartTime(startTime);
+        series.setDurationHours(hours);
+        series.setIntervalWeeks(intervalWeeks);
+        for (String excluded : Optional.ofNullable(request.getExcludedDates()).orElse(List.of())) {
+            LocalDate date = LocalDate.parse(excluded);
+            if (!BookingSeriesCalendar.isOccurrence(series, date)) {
+                throw new IllegalArgumentException(excluded + " is not an occurrence of the series");
+            }
+            series.getExcludedDates().add(date);
+        }
+        SortedSet<LocalDate> dates = new TreeSet<>(BookingSeriesCalendar.occurrences(series, firstDate, lastDate));
+        if (dates.isEmpty()) {
+            throw new IllegalArgumentException("Every occurrence of the series is excluded");
+        }
+
+        log.info("Attempting series of {} occurrences {}..{} at {} for {} cleaners (zone={}, preferred vehicle={})",
+                dates.size(), firstDate, lastDate, startTime, request.getRequestedCleanerCount(),
+                FleetRegistry.normalizeZone(request.getZone()), request.getPreferredVehicleId());
+
+        ZoneFleet fleet = fleetRegistry.zone(request.getZone());
+        bookingMetrics.tag("zone", fleet.getZone());
+        bookingMetrics.tag("cleaner.count", request.getRequestedCleanerCount());
+        List<Long> vehicleIds = bookingService.resolveVehicleOrder(fleet, request.getPreferredVehicleId());
+        Map<Long, SortedSet<LocalDate>> busy = seriesCalendar.busyDates(fleet, dates, startTime, hours);
+        List<CleanerProfessional> team = selectTeam(fleet, vehicleIds, busy, request.getRequestedCleanerCount());
+
+        LocalDate materializeUntil = min(LocalDate.now().plusDays(horizonDays), lastDate);
+        series.setZone(fleet.getZone());
+        series.setVehicleId(team.get(0).getVehicle().getId());
+        team.forEach(c -> series.getCleanerIds().add(c.getId()));
+        series.setMaterializedUntil(materializeUntil.isBefore(firstDate) ? firstDate.minusDays(1) : materializeUntil);
+        series.setCreatedAt(LocalDateTime.now());
+        BookingSeries saved = seriesRepository.save(series);
+        bookingMetrics.tag("series.id", saved.getId());
+
+        List<Booking> bookings = materialize(saved, team, firstDate, saved.getMaterializedUntil(), false);
+
+        // later occurrences exist only as the rule; instances with those days loaded still need to hear of them
+        List<AvailabilityBlock> expanded = new ArrayList<>();
+        for (LocalDate date : dates.tailSet(saved.getMaterializedUntil().plusDays(1))) {
+            expanded.addAll(BookingSeriesCalendar.blocksOf(saved, date));
+        }
+        scheduleChangeLog.record(fleet.getZone(), List.of(), expanded);
+        scheduleCache.applyAfterCommit(fleet.getZone(), List.of(), expanded);
+
+        return toResponse(saved, dates.size(), bookings);
+    }
+
+    private void validateRequest(CreateBookingSeriesRequest req) {
+        Objects.requireNonNull(req, "request must not be null");
+
+        if (req.getDurationHours() == null ||
+                (req.getDurationHours() != 2 && req.getDurationHours() != 4)) {
+            throw new IllegalArgumentException("durationHours must be 2 or 4");
+        }
+
+        if (req.getRequestedCleanerCount() == null ||
+                req.getRequestedCleanerCount() < 1 ||
+                req.getRequestedCleanerCount() > 3) {
+            throw new IllegalArgumentException("requestedCleanerCount must be 1..3");
+        }
+
+        if (req.getIntervalWeeks() != null && (req.getIntervalWeeks() < 1 || req.getIntervalWeeks() > 4)) {
+            throw new IllegalArgumentException("intervalWeeks must be 1..4");
+        }
+
+        if ((req.getOccurrences() == null) == (req.getUntilDate() == null)) {
+            throw new IllegalArgumentException("Give exactly one of occurrences and untilDate");
+        }
+
+        if (req.getOccurrences() != null && req.getOccurrences() < 1) {
+            throw new IllegalArgumentException("occurrences must be positive");
+        }
+    }
+
+    private static LocalDate lastDate(CreateBookingSeriesRequest req, LocalDate firstDate, int intervalWeeks) {
+        if (req.getOccurrences() != null) {
+            return firstDate.plusWeeks((long) (req.getOccurrences() - 1) * intervalWeeks);
+        }
+        LocalDate until = LocalDate.parse(req.getUntilDate());
+        if (until.isBefore(firstDate)) {
+            throw new IllegalArgumentException("untilDate must not be before startDate");
+        }
+        long weeks = ChronoUnit.WEEKS.between(firstDate, until);
+        return firstDate.plusWeeks(weeks - weeks % intervalWeeks);
+    }
+
+    /** The first vehicle (in order) with enough cleaners free on every occurrence. */
+    private List<CleanerProfessional> selectTeam(ZoneFleet fleet, List<Long> vehicleIds,
+                                                 Map<Long, SortedSet<LocalDate>> busy, int requestedCount) {
+        Long closestVehicle = null;
+        LocalDate closestClash = null;
+        int closestFree = -1;
+        for (Long vid : vehicleIds) {
+            List<CleanerProfessional> cleaners = fleet.cleanersOf(vid);
+            if (cleaners.size() < requestedCount) continue;
+
+            List<CleanerProfessional> free = cleaners.stream().filter(c -> !busy.containsKey(c.getId())).toList();
+            if (free.size() >= requestedCount) {
+                bookingMetrics.tag("vehicle.id", vid);
+                return List.copyOf(free.subList(0, requestedCount));
+            }
+            if (free.size() > closestFree) {
+                closestFree = free.size();
+                closestVehicle = vid;
+                closestClash = cleaners.stream()
+                        .map(c -> busy.get(c.getId()))
+                        .filter(Objects::nonNull)
+                        .map(SortedSet::first)
+                        .min(Comparator.naturalOrder())
+                        .orElse(null);
+            }
+        }
+
+        bookingMetrics.conflict(ConflictReason.NO_TEAM);
+        throw new BookingConflictException(closestVehicle == null
+                ? "No available team found for requested cleaner count"
+                : "No team is free on every occurrence; vehicle " + closestVehicle
+                        + " has " + closestFree + " cleaners free throughout, first clash on " + closestClash);
+    }
+
+    /**
+     * Books the series' occurrences in {@code from..to}. With {@code recheck}, occurrences
+     * taken in the meantime by a booking that raced the series are excluded instead.
+     */
+    private List<Booking> materialize(BookingSeries series, List<CleanerProfessional> team,
+                                      LocalDate from, LocalDate to, boolean recheck) {
+        List<Booking> bookings = new ArrayList<>();
+        for (LocalDate date : BookingSeriesCalendar.occurrences(series, from, to)) {
+            LocalDateTime start = date.atTime(series.getStartTime());
+            LocalDateTime end = start.plusHours(series.getDurationHours());
+            if (recheck && team.stream().anyMatch(c -> scheduleStore.hasOverlap(c.getId(), start, end))) {
+                log.warn("Occurrence {} of series {} is no longer free; excluding it", date, series.getId());
+                series.getExcludedDates().add(date);
+                List<AvailabilityBlock> expanded = BookingSeriesCalendar.blocksOf(series, date);
+                scheduleChangeLog.record(series.getZone(), expanded, List.of());
+                scheduleCache.applyAfterCommit(series.getZone(), expanded, List.of());
+                continue;
+            }
+            List<AvailabilityBlock> replaced = recheck ? BookingSeriesCalendar.blocksOf(series, date) : List.of();
+            bookings.add(bookingService.book(series.getZone(), start, end, series.getDurationHours(),
+                    team, series.getId(), replaced));
+        }
+        return bookings;
+    }
+
+    /**
+     * Moves the horizon of every series it has passed and books the occurrences it now covers,
+     * one transaction per series. Instances race for a series through the conditional update of
+     * {@code materialized_until}; the loser finds it already moved and skips it.
+     */
+    @Scheduled(fixedDelayString = "${booking.series.materialize-interval-ms:3600000}",
+            initialDelayString = "${booking.series.materialize-interval-ms:3600000}")
+    public void materializeDue() {
+        LocalDate horizon = LocalDate.now().plusDays(horizonDays);
+        int booked = 0;
+        for (Long id : seriesRepository.findDueForMaterialization(horizon)) {
+            try {
+                booked += materialize(id, horizon);
+            } catch (RuntimeException ex) {
+                log.warn("Could not materialize series {}", id, ex);
+            }
+        }
+        if (booked > 0) {
+            log.info("Materialized {} series occurrences up to {}", booked, horizon);
+        }
+    }
+
+    /**
+     * Books the series' occurrences up to {@code horizon}, in a transaction of its own.
+     *
+     * @return number of occurrences booked
+     */
+    int materialize(Long seriesId, LocalDate horizon) {
+        Integer booked = transactions.execute(status -> materializeInTransaction(seriesId, horizon));
+        return booked == null ? 0 : booked;
+    }
+
+    private int materializeInTransaction(Long seriesId, LocalDate horizon) {
+        BookingSeries series = seriesRepository.findWithRule(seriesId).stream().findFirst().orElse(null);
+        if (series == null) return 0;
+        LocalDate from = series.getMaterializedUntil().plusDays(1);
+        LocalDate until = min(horizon, series.getLastDate());
+        if (until.isBefore(from)) return 0;
+        if (seriesRepository.advanceMaterialized(seriesId, series.getMaterializedUntil(), until) == 0) {
+            return 0;
+        }
+        // keep the loaded entity in step with the row, it is flushed with the exclusions
+        series.setMaterializedUntil(until);
+
+        ZoneFleet fleet = fleetRegistry.zone(series.getZone());
+        List<CleanerProfessional> team = fleet.cleanersOf(series.getVehicleId()).stream()
+                .filter(c -> series.getCleanerIds().contains(c.getId()))
+                .toList();
+        if (team.size() != series.getCleanerIds().size()) {
+            log.warn("Series {} lost cleaners from vehicle {}; booking {} of {}",
+                    seriesId, series.getVehicleId(), team.size(), series.getCleanerIds().size());
+        }
+        if (team.isEmpty()) return 0;
+        return materialize(series, team, from, until, true).size();
+    }
+
+    @Override
+    @Transactional
+    public void skipOccurrence(Long seriesId, LocalDate date) {
+        BookingSeries series = seriesRepository.findWithRule(seriesId).stream().findFirst()
+                .orElseThrow(() -> new RuntimeException("Booking series not found: " + seriesId));
+        if (!BookingSeriesCalendar.isOccurrence(series, date)) {
+            throw new IllegalArgumentException(date + " is not an occurrence of series " + seriesId);
+        }
+        // locks the row against a concurrent materialization and checks it has not moved on
+        if (!date.isAfter(series.getMaterializedUntil())
+                || seriesRepository.advanceMaterialized(seriesId, series.getMaterializedUntil(),
+                        series.getMaterializedUntil()) == 0) {
+            throw new BookingConflictException(
+                    "The occurrence on " + date + " is already booked; change that booking instead");
+        }
+
+        List<AvailabilityBlock> expanded = BookingSeriesCalendar.blocksOf(series, date);
+        series.getExcludedDates().add(date);
+        seriesRepository.save(series);
+        scheduleChangeLog.record(series.getZone(), expanded, List.of());
+        scheduleCache.applyAfterCommit(series.getZone(), expanded, List.of());
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static BookingSeriesResponse toResponse(BookingSeries s, int occurrenceCount, List<Booking> bookings) {
+        BookingSeriesResponse r = new BookingSeriesResponse();
+        r.setSeriesId(s.getId());
+        r.setZone(s.getZone());
+        r.setAssignedVehicleId(s.getVehicleId());
+        r.setAssignedCleanerIds(new TreeSet<>(s.getCleanerIds()).stream().toList());
+        r.setStartTime(s.getStartTime());
+        r.setDurationHours(s.getDurationHours());
+        r.setIntervalWeeks(s.getIntervalWeeks());
+        r.setFirstDate(s.getFirstDate());
+        r.setLastDate(s.getLastDate());
+        r.setOccurrenceCount(occurrenceCount);
+        r.setMaterializedUntil(s.getMaterializedUntil());
+        r.setBookingIds(bookings.stream().map(Booking::getId).toList());
+        return r;
+    }
+}
@@ -10,8 +10,21 @@ import com.cleaning.bookingservice.dto.response.BookingResponse;
 import com.cleaning.bookingservice.dto.response.UpdateBookingResponse;
 import com.cleaning.bookingservice.entity.*;
 import com.cleaning.bookingservice.exception.BookingConflictException;
+import com.cleaning.bookingservice.fleet.FleetRegistry;
+import com.cleaning.bookingservice.fleet.ZoneFleet;
 import com.cleaning.bookingservice.mapper.BookingMapper;
+import com.cleaning.bookingservice.metrics.BookingMetrics;
+import com.cleaning.bookingservice.metrics.BookingMetrics.ConflictReason;
+import com.cleaning.bookingservice.metrics.BookingMetrics.Operation;
+import com.cleaning.bookingservice.metrics.BookingMetrics.Phase;
+import com.cleaning.bookingservice.outbox.BookingCreated;
+import com.cleaning.bookingservice.outbox.BookingOutbox;
+import com.cleaning.bookingservice.outbox.BookingUpdated;
 import com.cleaning.bookingservice.repository.*;
+import com.cleaning.bookingservice.schedule.BookingSeriesCalendar;
+import com.cleaning.bookingservice.schedule.ScheduleCache;
+import com.cleaning.bookingservice.schedule.ScheduleChangeLog;
+import com.cleaning.bookingservice.schedule.ScheduleStore;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,26 +43,41 @@ public class BookingServiceImpl implements BookingService {
     private static final Logger log = LoggerFactory.getLogger(BookingServiceImpl.class);
 
     private final BookingRepository bookingRepository;
-    private final CleanerRepository cleanerRepository;
     private final BookingCleanerRepository bookingCleanerRepository;
-    private final AvailabilityBlockRepository availabilityBlockRepository;
-    private final VehicleRepository vehicleRepository;
+    private final ScheduleStore scheduleStore;
+    private final BookingSeriesCalendar seriesCalendar;
+    private final FleetRegistry fleetRegistry;
+    private final ScheduleCache scheduleCache;
+    private final ScheduleChangeLog scheduleChangeLog;
+    private final BookingOutbox bookingOutbox;
+    private final BookingMetrics bookingMetrics;
     private final AvailabilityService availabilityService;
+    private final BookingAlternatives bookingAlternatives;
 
     @Autowired
     public BookingServiceImpl(BookingRepository bookingRepository,
-                              CleanerRepository cleanerRepository,
                               BookingCleanerRepository bookingCleanerRepository,
-                              AvailabilityBlockRepository availabilityBlockRepository,
-                              VehicleRepository vehicleRepository,
-                              AvailabilityService availabilityService) {
+                              ScheduleStore scheduleStore,
+                              BookingSeriesCalendar seriesCalendar,
+                              FleetRegistry fleetRegistry,
+                              ScheduleCache scheduleCache,
+                              ScheduleChangeLog scheduleChangeLog,
+                              BookingOutbox bookingOutbox,
+                              BookingMetrics bookingMetrics,
+                              AvailabilityService availabilityService,
+                              BookingAlternatives bookingAlternatives) {
 
         this.bookingRepository = bookingRepository;
-        this.cleanerRepository = cleanerRepository;
         this.bookingCleanerRepository = bookingCleanerRepository;
-        this.availabilityBlockRepository = availabilityBlockRepository;
-        this.vehicleRepository = vehicleRepository;
+        this.scheduleStore = scheduleStore;
+        this.seriesCalendar = seriesCalendar;
+        this.fleetRegistry = fleetRegistry;
+        this.scheduleCache = scheduleCache;
+        this.scheduleChangeLog = scheduleChangeLog;
+        this.bookingOutbox = bookingOutbox;
+        this.bookingMetrics = bookingMetrics;
         this.availabilityService = availabilityService;
+        this.bookingAlternatives = bookingAlternatives;
     }
 
     @Override
@@ -68,20 +96,43 @@ public class BookingServiceImpl implements BookingService {
 
         logBookingAttempt(request, date, startTime, endDt);
 
-        List<Long> vehicleIds = resolveVehicleOrder(request.getPreferredVehicleId());
-        List<CleanerProfessional> selectedCleaners =
-                findAvailableCleaners(vehicleIds, startDt, endDt, request.getRequestedCleanerCount());
+        ZoneFleet fleet = fleetRegistry.zone(request.getZone());
+        bookingMetrics.tag("zone", fleet.getZone());
+        bookingMetrics.tag("cleaner.count", request.getRequestedCleanerCount());
+        bookingMetrics.tag("vehicle.preferred", request.getPreferredVehicleId());
+        List<Long> vehicleIds = resolveVehicleOrder(fleet, request.getPreferredVehicleId());
+        List<CleanerProfessional> selectedCleaners = bookingMetrics.time(Phase.FIND_AVAILABLE_CLEANERS,
+                () -> findAvailableCleaners(fleet, vehicleIds, startDt, endDt, request.getRequestedCleanerCount()));
 
-        verifyCleanerStillFree(selectedCleaners, startDt, endDt);
+        bookingMetrics.time(Phase.VERIFY_CLEANER_STILL_FREE,
+                () -> verifyCleanerStillFree(fleet.getZone(), selectedCleaners, startDt, endDt));
 
-        Booking savedBooking = saveBooking(startDt, endDt, request.getDurationHours(),
-                request.getRequestedCleanerCount(), selectedCleaners);
-
-        createAvailabilityBlocksTransactional(savedBooking, selectedCleaners);
+        Booking savedBooking = book(fleet.getZone(), startDt, endDt, request.getDurationHours(),
+                selectedCleaners, null, List.of());
+        bookingMetrics.tag("booking.id", savedBooking.getId());
 
         return BookingMapper.toResponse(savedBooking);
     }
 
+    /**
+     * Writes a booking of {@code team} (already checked to be free) with its blocks, change-log
+     * rows and BookingCreated event; {@code replaced} are expanded series blocks the new ones
+     * stand in for, taken out of the loaded schedules first.
+     */
+    Booking book(String zone, LocalDateTime startDt, LocalDateTime endDt, int durationHours,
+                 List<CleanerProfessional> team, Long seriesId, List<AvailabilityBlock> replaced) {
+
+        Booking savedBooking = saveBooking(zone, startDt, endDt, durationHours, team.size(), team, seriesId);
+
+        List<AvailabilityBlock> created = bookingMetrics.time(Phase.CREATE_AVAILABILITY_BLOCKS,
+                () -> createAvailabilityBlocksTransactional(savedBooking, team));
+        scheduleChangeLog.record(zone, replaced, created);
+        bookingOutbox.append(new BookingCreated(savedBooking.getId(), zone, startDt, endDt,
+                team.stream().map(CleanerProfessional::getId).toList()));
+        scheduleCache.applyAfterCommit(zone, replaced, created);
+        return savedBooking;
+    }
+
     // VALIDATION
     private void validateRequest(CreateBookingRequest req) {
         Objects.requireNonNull(req, "request must not be null");
@@ -98,22 +149,25 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
-    private void validateWorkingDay(LocalDate date) {
+    void validateWorkingDay(LocalDate date) {
         if (date.getDayOfWeek() == DayOfWeek.FRIDAY) {
+            bookingMetrics.conflict(ConflictReason.FRIDAY);
             throw new BookingConflictException(BOOKING_NOT_POSSIBLE_FRIDAY_ERR_MSG);
         }
     }
 
-    private void validateWorkingHours(LocalTime startTime, LocalDateTime startDt, int duration) {
+    void validateWorkingHours(LocalTime startTime, LocalDateTime startDt, int duration) {
 
         LocalTime WORK_START = LocalTime.of(8, 0);
         LocalTime WORK_END = LocalTime.of(22, 0);
 
         if (startTime.isBefore(WORK_START) || startTime.isAfter(WORK_END)) {
+            bookingMetrics.conflict(ConflictReason.WORKING_HOURS);
             throw new BookingConflictException("Bookings are only allowed between 08:00 and 22:00");
         }
 
         if (startDt.plusHours(duration).toLocalTime().isBefore(WORK_START) || startDt.plusHours(duration).toLocalTime().isAfter(WORK_END)) {
+            bookingMetrics.conflict(ConflictReason.WORKING_HOURS);
             throw new BookingConflictException("Bookings are only allowed between 08:00 and 22:00");
         }
     }
@@ -125,55 +179,73 @@ public class BookingServiceImpl implements BookingService {
                                    LocalTime startTime,
                                    LocalDateTime endDt) {
 
-        log.info("Attempting booking on {} {} -> {} for {} cleaners (preferred vehicle={})",
+        log.info("Attempting booking on {} {} -> {} for {} cleaners (zone={}, preferred vehicle={})",
                 date,
                 startTime,
                 endDt.toLocalTime(),
                 req.getRequestedCleanerCount(),
+                FleetRegistry.normalizeZone(req.getZone()),
                 req.getPreferredVehicleId());
     }
 
 
     // VEHICLE & CLEANER SELECTION
-    private List<Long> resolveVehicleOrder(Long preferredVehicleId) {
+    List<Long> resolveVehicleOrder(ZoneFleet fleet, Long preferredVehicleId) {
         if (preferredVehicleId != null) {
+            if (!fleet.containsVehicle(preferredVehicleId)) {
+                throw new IllegalArgumentException(
+                        "Vehicle " + preferredVehicleId + " does not belong to zone " + fleet.getZone());
+            }
             return List.of(preferredVehicleId);
         }
-        return vehicleRepository.findAll().stream()
+        return fleet.getVehicles().stream()
                 .map(Vehicle::getId)
-                .sorted()
                 .toList();
     }
 
-    private List<CleanerProfessional> findAvailableCleaners(
+    List<CleanerProfessional> findAvailableCleaners(
+            ZoneFleet fleet,
             List<Long> vehicleIds,
             LocalDateTime startDt,
             LocalDateTime endDt,
             int requestedCount) {
 
+        int vehiclesScanned = 0;
+        int cleanersScanned = 0;
+
         for (Long vid : vehicleIds) {
-            List<CleanerProfessional> cleaners = cleanerRepository.findByVehicle_Id(vid);
+            vehiclesScanned++;
+            List<CleanerProfessional> cleaners = fleet.cleanersOf(vid);
             if (cleaners.size() < requestedCount) continue;
 
-            List<CleanerProfessional> freeCleaners = cleaners.stream()
-                    .filter(c -> isCleanerFree(c.getId(), startDt, endDt))
-                    .limit(requestedCount)
-                    .toList();
+            // one index lookup per vehicle; verifyCleanerStillFree re-checks the chosen team in the database
+            cleanersScanned += cleaners.size();
+            List<CleanerProfessional> freeCleaners = scheduleCache.freeCleaners(fleet, vid, startDt, endDt);
 
-            if (freeCleaners.size() == requestedCount) {
-                return freeCleaners;
+            if (freeCleaners.size() >= requestedCount) {
+                bookingMetrics.tag("vehicle.id", vid);
+                bookingMetrics.scanned(Operation.CREATE_BOOKING, vehiclesScanned, cleanersScanned);
+                return List.copyOf(freeCleaners.subList(0, requestedCount));
             }
         }
 
-        throw new BookingConflictException("No available team found for requested time and cleaner count");
+        bookingMetrics.scanned(Operation.CREATE_BOOKING, vehiclesScanned, cleanersScanned);
+        bookingMetrics.conflict(ConflictReason.NO_TEAM);
+        throw new BookingConflictException("No available team found for requested time and cleaner count",
+                bookingAlternatives.nearest(fleet, vehicleIds, startDt, endDt, requestedCount));
     }
 
-    private void verifyCleanerStillFree(List<CleanerProfessional> cleaners,
+    private void verifyCleanerStillFree(String zone,
+                                        List<CleanerProfessional> cleaners,
                                         LocalDateTime start,
                                         LocalDateTime end) {
 
+        List<AvailabilityBlock> series = seriesCalendar.blocksBetween(zone,
+                cleaners.stream().map(CleanerProfessional::getId).toList(), start.toLocalDate(), start.toLocalDate());
         for (CleanerProfessional cp : cleaners) {
-            if (availabilityBlockRepository.hasOverlap(cp.getId(), start, end)) {
+            if (scheduleStore.hasOverlap(cp.getId(), start, end)
+                    || BookingSeriesCalendar.overlaps(series, cp.getId(), start, end)) {
+                bookingMetrics.conflict(ConflictReason.RACE);
                 throw new BookingConflictException(
                         "Cleaner " + cp.getId() + " is no longer available for the requested slot"
                 );
@@ -182,13 +254,17 @@ public class BookingServiceImpl implements BookingService {
     }
 
     // BOOKING CREATION
-    private Booking saveBooking(LocalDateTime startDt,
+    private Booking saveBooking(String zone,
+                                LocalDateTime startDt,
                                 LocalDateTime endDt,
                                 int durationHours,
                                 int cleanerCount,
-                                List<CleanerProfessional> selectedCleaners) {
+                                List<CleanerProfessional> selectedCleaners,
+                                Long seriesId) {
 
         Booking booking = new Booking();
+        booking.setZone(zone);
+        booking.setSeriesId(seriesId);
         booking.setStartDatetime(startDt);
         booking.setEndDatetime(endDt);
         booking.setDurationInHours(durationHours);
@@ -208,26 +284,23 @@ public class BookingServiceImpl implements BookingService {
         return bookingRepository.save(booking);
     }
 
-    // CLEANER FREE CHECK
-    private boolean isCleanerFree(Long cleanerId, LocalDateTime start, LocalDateTime end) {
-        return !availabilityBlockRepository.hasOverlap(cleanerId, start, end);
-    }
-
-    private void createAvailabilityBlocksTransactional(Booking booking, List<CleanerProfessional> cleaners) {
+    private List<AvailabilityBlock> createAvailabilityBlocksTransactional(Booking booking, List<CleanerProfessional> cleaners) {
 
         LocalDateTime start = booking.getStartDatetime();
         LocalDateTime end = booking.getEndDatetime();
         LocalDateTime breakStart = end;
         LocalDateTime breakEnd = end.plusMinutes(BookingServiceConstants.BREAK_MINUTES);
+        List<AvailabilityBlock> created = new ArrayList<>(cleaners.size() * 2);
 
         for (CleanerProfessional cleaner : cleaners) {
 
             boolean bookedExists =
-                    availabilityBlockRepository.existsByCleanerIdAndStartDatetimeAndEndDatetime(
+                    scheduleStore.exists(
                             cleaner.getId(), start, end
                     );
 
             if (bookedExists) {
+                bookingMetrics.conflict(ConflictReason.RACE);
                 throw new BookingConflictException(
                         "Cleaner " + cleaner.getId() + " already has a booking at the requested time");
             }
@@ -239,10 +312,11 @@ public class BookingServiceImpl implements BookingService {
             booked.setEndDatetime(end);
             booked.setBlockType(BookingBlockType.BOOKED.name());
 
-            availabilityBlockRepository.save(booked);
+            scheduleStore.add(booked);
+            created.add(booked);
 
             boolean breakExists =
-                    availabilityBlockRepository.existsByCleanerIdAndStartDatetimeAndEndDatetime(
+                    scheduleStore.exists(
                             cleaner.getId(), breakStart, breakEnd
                     );
 
@@ -254,14 +328,20 @@ public class BookingServiceImpl implements BookingService {
                 breakBlock.setEndDatetime(breakEnd);
                 breakBlock.setBlockType(BookingBlockType.BREAK.name());
 
-                availabilityBlockRepository.save(breakBlock);
+                scheduleStore.add(breakBlock);
+                created.add(breakBlock);
             }
         }
+        return created;
     }
 
     @Transactional
     @Override
     public UpdateBookingResponse updateBooking(Long bookingId, UpdateBookingRequest req) {
+        return bookingMetrics.time(Phase.UPDATE_BOOKING, () -> applyUpdate(bookingId, req));
+    }
+
+    private UpdateBookingResponse applyUpdate(Long bookingId, UpdateBookingRequest req) {
 
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found: " + bookingId));
@@ -279,23 +359,28 @@ public class BookingServiceImpl implements BookingService {
 
         // ---- Get existing cleaners (unchanged) ----
         List<BookingCleaner> assignedCleaners = booking.getAssignedCleaners();
+        bookingMetrics.tag("booking.id", bookingId);
+        bookingMetrics.tag("cleaner.count", assignedCleaners.size());
         if (assignedCleaners.isEmpty()) {
             throw new RuntimeException("Booking has no assigned cleaners.");
         }
 
         // ---- Validate new time window for every cleaner ----
+        List<AvailabilityBlock> series = seriesCalendar.blocksBetween(booking.getZone(),
+                assignedCleaners.stream().map(bc -> bc.getCleaner().getId()).toList(), date, date);
         for (BookingCleaner bc : assignedCleaners) {
 
             Long cleanerId = bc.getCleaner().getId();
 
-            boolean conflict = availabilityBlockRepository.hasOverlapExcludingBooking(
+            boolean conflict = scheduleStore.hasOverlapExcludingBooking(
                     cleanerId,
                     bookingId,
                     newStart,
                     newEnd
-            );
+            ) || BookingSeriesCalendar.overlaps(series, cleanerId, newStart, newEnd);
 
             if (conflict) {
+                bookingMetrics.conflict(ConflictReason.CLEANER_BUSY);
                 throw new BookingConflictException(
                         "Cleaner " + cleanerId + " is busy during the new requested time");
             }
@@ -311,30 +396,45 @@ public class BookingServiceImpl implements BookingService {
         bookingRepository.save(booking);
 
         // ---- UPDATE Availability Blocks ----
+        List<AvailabilityBlock> removed = new ArrayList<>();
+        List<AvailabilityBlock> added = new ArrayList<>();
         for (BookingCleaner bc : assignedCleaners) {
 
             Long cleanerId = bc.getCleaner().getId();
 
-            //  UPDATE existing BOOKED block
-            availabilityBlockRepository.updateBlock(
+            //  MOVE existing BOOKED block
+            scheduleStore.move(
                     cleanerId,
+                    bookingId,
+                    BookingBlockType.BOOKED,
                     oldStart,
                     oldEnd,
                     newStart,
-                    newEnd,
-                    BookingBlockType.BOOKED.name()
+                    newEnd
             );
 
-            //  UPDATE existing BREAK block
-            availabilityBlockRepository.updateBreakBlock(
+            //  MOVE existing BREAK block
+            scheduleStore.move(
                     cleanerId,
+                    bookingId,
+                    BookingBlockType.BREAK,
                     oldEnd,
                     oldEnd.plusMinutes(BookingServiceConstants.BREAK_MINUTES),
                     newEnd,
-                    newEnd.plusMinutes(BookingServiceConstants.BREAK_MINUTES),
-                    BookingBlockType.BREAK.name()
+                    newEnd.plusMinutes(BookingServiceConstants.BREAK_MINUTES)
             );
+
+            LocalDateTime oldBreakEnd = oldEnd.plusMinutes(BookingServiceConstants.BREAK_MINUTES);
+            LocalDateTime newBreakEnd = newEnd.plusMinutes(BookingServiceConstants.BREAK_MINUTES);
+            removed.add(block(cleanerId, bookingId, oldStart, oldEnd, BookingBlockType.BOOKED));
+            removed.add(block(cleanerId, bookingId, oldEnd, oldBreakEnd, BookingBlockType.BREAK));
+            added.add(block(cleanerId, bookingId, newStart, newEnd, BookingBlockType.BOOKED));
+            added.add(block(cleanerId, bookingId, newEnd, newBreakEnd, BookingBlockType.BREAK));
         }
+        scheduleChangeLog.record(booking.getZone(), removed, added);
+        bookingOutbox.append(new BookingUpdated(bookingId, booking.getZone(), oldStart, oldEnd, newStart, newEnd,
+                assignedCleaners.stream().map(bc -> bc.getCleaner().getId()).toList()));
+        scheduleCache.applyAfterCommit(booking.getZone(), removed, added);
 
         // ---- RESPONSE ----
         UpdateBookingResponse res = new UpdateBookingResponse();
@@ -344,6 +444,17 @@ public class BookingServiceImpl implements BookingService {
         return res;
     }
 
+    private static AvailabilityBlock block(Long cleanerId, Long bookingId,
+                                           LocalDateTime start, LocalDateTime end, BookingBlockType type) {
+        AvailabilityBlock b = new AvailabilityBlock();
+        b.setCleanerId(cleanerId);
+        b.setBookingId(bookingId);
+        b.setStartDatetime(start);
+        b.setEndDatetime(end);
+        b.setBlockType(type.name());
+        return b;
+    }
+
     private void validateUpdateRequest(UpdateBookingRequest req) {
 
         if (req.getDurationHours() != 2 && req.getDurationHours() != 4) {
@@ -0,0 +1,10 @@
+package com.cleaning.bookingservice.service;
+
+import com.cleaning.bookingservice.dto.request.DefragmentationRequest;
+import com.cleaning.bookingservice.dto.response.DefragmentationPlan;
+
+public interface DefragmentationService {
+
+    DefragmentationPlan plan(DefragmentationRequest request);
+    DefragmentationPlan apply(DefragmentationPlan plan);
+}
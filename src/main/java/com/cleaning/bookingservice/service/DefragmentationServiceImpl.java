@@ -0,0 +1,303 @@
+package com.cleaning.bookingservice.service;
+
+import com.cleaning.bookingservice.constants.BookingServiceConstants;
+import com.cleaning.bookingservice.constants.BookingServiceConstants.BookingBlockType;
+import com.cleaning.bookingservice.dto.request.DefragmentationRequest;
+import com.cleaning.bookingservice.dto.response.DefragmentationPlan;
+import com.cleaning.bookingservice.entity.*;
+import com.cleaning.bookingservice.exception.BookingConflictException;
+import com.cleaning.bookingservice.fleet.FleetRegistry;
+import com.cleaning.bookingservice.fleet.ZoneFleet;
+import com.cleaning.bookingservice.outbox.BookingOutbox;
+import com.cleaning.bookingservice.outbox.BookingUpdated;
+import com.cleaning.bookingservice.repository.BookingCleanerRepository;
+import com.cleaning.bookingservice.repository.BookingRepository;
+import com.cleaning.bookingservice.schedule.*;
+import jakarta.annotation.PreDestroy;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reassigns a day's bookings to other cleaners (same times, same team sizes) so that free time
+ * ends up in fewer, longer windows that can still be sold. First-fit assignment at booking time
+ * tends to leave 1-2 hour holes; {@link DefragSearch} looks for a better assignment of the whole
+ * day within a time budget, on a dedicated fork-join pool.
+ *
+ * <p>Planning only reads. A plan is applied in one transaction. Each moved booking must still
+ * have the times and cleaners the plan started from, and each new cleaner must still be free.
+ * Otherwise nothing is applied and the caller gets a 409 and plans again.
+ */
+@Service
+public class DefragmentationServiceImpl implements DefragmentationService {
+
+    private static final Logger log = LoggerFactory.getLogger(DefragmentationServiceImpl.class);
+
+    private final BookingRepository bookingRepository;
+    private final BookingCleanerRepository bookingCleanerRepository;
+    private final ScheduleStore scheduleStore;
+    private final BookingSeriesCalendar seriesCalendar;
+    private final FleetRegistry fleetRegistry;
+    private final ScheduleCache scheduleCache;
+    private final ScheduleChangeLog scheduleChangeLog;
+    private final BookingOutbox bookingOutbox;
+    private final ForkJoinPool pool;
+    private final long defaultBudgetMillis;
+    private final long maxBudgetMillis;
+    private final int minUsefulMinutes;
+    private final int branching;
+    private final int forkDepth;
+
+    public DefragmentationServiceImpl(BookingRepository bookingRepository,
+                                      BookingCleanerRepository bookingCleanerRepository,
+                                      ScheduleStore scheduleStore,
+                                      BookingSeriesCalendar seriesCalendar,
+                                      FleetRegistry fleetRegistry,
+                                      ScheduleCache scheduleCache,
+                                      ScheduleChangeLog scheduleChangeLog,
+                                      BookingOutbox bookingOutbox,
+                                      @Value("${booking.defrag.parallelism:0}") int parallelism,
+                                      @Value("${booking.defrag.time-budget-ms:2000}") long defaultBudgetMillis,
+                                      @Value("${booking.defrag.max-time-budget-ms:10000}") long maxBudgetMillis,
+                                      @Value("${booking.defrag.min-useful-minutes:150}") int minUsefulMinutes,
+                                      @Value("${booking.defrag.branching:4}") int branching,
+                                      @Value("${booking.defrag.fork-depth:3}") int forkDepth) {
+        this.bookingRepository = bookingRepository;
+        this.bookingCleanerRepository = bookingCleanerRepository;
+        this.scheduleStore = scheduleStore;
+        this.seriesCalendar = seriesCalendar;
+        this.fleetRegistry = fleetRegistry;
+        this.scheduleCache = scheduleCache;
+        this.scheduleChangeLog = scheduleChangeLog;
+        this.bookingOutbox = bookingOutbox;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.defaultBudgetMillis = defaultBudgetMillis;
+        this.maxBudgetMillis = maxBudgetMillis;
+        this.minUsefulMinutes = minUsefulMinutes;
+        this.branching = branching;
+        this.forkDepth = forkDepth;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Override
+    public DefragmentationPlan plan(DefragmentationRequest request) {
+        LocalDate date = LocalDate.parse(request.getDate());
+        ZoneFleet fleet = fleetRegistry.zone(request.getZone());
+        long budgetMillis = Math.min(maxBudgetMillis,
+                request.getTimeBudgetMs() == null ? defaultBudgetMillis : Math.max(1, request.getTimeBudgetMs()));
+
+        List<Booking> bookings = bookingRepository.findBookingsByDate(date).stream()
+                .filter(b -> fleet.getZone().equals(b.getZone()))
+                .toList();
+        Map<Long, List<Long>> teams = new HashMap<>();
+        if (!bookings.isEmpty()) {
+            for (BookingCleaner bc : bookingCleanerRepository.findByBooking_IdIn(bookings.stream().map(Booking::getId).toList())) {
+                teams.computeIfAbsent(bc.getBooking().getId(), id -> new ArrayList<>()).add(bc.getCleaner().getId());
+            }
+        }
+
+        // a booking whose team is not one vehicle of this fleet stays where it is
+        Map<Long, Booking> movable = new LinkedHashMap<>();
+        for (Booking b : bookings) {
+            List<Long> team = teams.getOrDefault(b.getId(), List.of());
+            if (!team.isEmpty() && vehicleOf(fleet, team) != null) movable.put(b.getId(), b);
+        }
+
+        List<AvailabilityBlock> blocks = new ArrayList<>(scheduleStore.findBlocksBetween(
+                fleet.getCleanerIds(), date.atStartOfDay(), date.plusDays(1).atStartOfDay()));
+        blocks.addAll(seriesCalendar.blocksBetween(fleet.getZone(), fleet.getCleanerIds(), date, date));
+        Map<Long, List<int[]>> fixed = new HashMap<>();
+        for (AvailabilityBlock b : blocks) {
+            if (BookingBlockType.FREE.name().equalsIgnoreCase(b.getBlockType())
+                    || (b.getBookingId() != null && movable.containsKey(b.getBookingId()))) continue;
+            fixed.computeIfAbsent(b.getCleanerId(), id -> new ArrayList<>())
+                    .add(new int[]{minuteOf(date, b.getStartDatetime()), minuteOf(date, b.getEndDatetime())});
+        }
+
+        Map<Long, List<Long>> cleanersByVehicle = new LinkedHashMap<>();
+        for (Vehicle v : fleet.getVehicles()) {
+            cleanersByVehicle.put(v.getId(), fleet.cleanersOf(v.getId()).stream().map(CleanerProfessional::getId).toList());
+        }
+        List<DefragSearch.Job> jobs = new ArrayList<>();
+        for (Booking b : movable.values()) {
+            jobs.add(new DefragSearch.Job(b.getId(), minuteOf(date, b.getStartDatetime()),
+                    minuteOf(date, b.getEndDatetime()) + BookingServiceConstants.BREAK_MINUTES, teams.get(b.getId())));
+        }
+
+        DefragSearch search = new DefragSearch(cleanersByVehicle, fixed, BookingServiceConstants.WORK_START_MINUTES,
+                BookingServiceConstants.WORK_END_MINUTES + BookingServiceConstants.BREAK_MINUTES,
+                minUsefulMinutes, branching, forkDepth);
+        long started = System.nanoTime();
+        DefragSearch.Result result = search.run(jobs, pool, TimeUnit.MILLISECONDS.toNanos(budgetMillis));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        DefragmentationPlan plan = new DefragmentationPlan();
+        plan.setDate(date.toString());
+        plan.setZone(fleet.getZone());
+        plan.setFragmentedMinutesBefore(result.before().fragmentedMinutes());
+        plan.setFragmentedMinutesAfter(result.after().fragmentedMinutes());
+        plan.setCompleted(result.completed());
+        plan.setNodesExplored(result.nodes());
+        plan.setElapsedMs(elapsedMillis);
+        plan.setApplied(false);
+        for (Booking b : movable.values()) {
+            List<Long> from = teams.get(b.getId());
+            List<Long> to = result.teams().get(b.getId());
+            if (Set.copyOf(from).equals(Set.copyOf(to))) continue;
+            DefragmentationPlan.Move move = new DefragmentationPlan.Move();
+            move.setBookingId(b.getId());
+            move.setStartDatetime(b.getStartDatetime());
+            move.setEndDatetime(b.getEndDatetime());
+            move.setFromCleanerIds(from.stream().sorted().toList());
+            move.setToCleanerIds(to.stream().sorted().toList());
+            move.setToVehicleId(fleet.vehicleOf(to.get(0)));
+            plan.getMoves().add(move);
+        }
+
+        log.info("Defragmentation of {} {}: {} bookings, {} moves, fragmented minutes {} -> {} ({} nodes in {} ms{})",
+                fleet.getZone(), date, jobs.size(), plan.getMoves().size(), plan.getFragmentedMinutesBefore(),
+                plan.getFragmentedMinutesAfter(), result.nodes(), elapsedMillis,
+                result.completed() ? "" : ", budget exhausted");
+        return plan;
+    }
+
+    @Override
+    @Transactional
+    public DefragmentationPlan apply(DefragmentationPlan plan) {
+        LocalDate date = LocalDate.parse(plan.getDate());
+        ZoneFleet fleet = fleetRegistry.zone(plan.getZone());
+        Map<DefragmentationPlan.Move, Booking> bookings = new LinkedHashMap<>();
+        for (DefragmentationPlan.Move move : plan.getMoves()) {
+            Booking booking = bookingRepository.findById(move.getBookingId())
+                    .orElseThrow(() -> new RuntimeException("Booking not found: " + move.getBookingId()));
+            // the plan's zone picks the fleet and where the change is recorded, so it must be the booking's
+            if (!fleet.getZone().equals(booking.getZone()) || !date.equals(booking.getStartDatetime().toLocalDate())) {
+                throw new IllegalArgumentException("Booking " + booking.getId() + " is not in " + fleet.getZone() + " on " + date);
+            }
+            Set<Long> current = new HashSet<>();
+            booking.getAssignedCleaners().forEach(bc -> current.add(bc.getCleaner().getId()));
+            if (!booking.getStartDatetime().equals(move.getStartDatetime())
+                    || !booking.getEndDatetime().equals(move.getEndDatetime())
+                    || !current.equals(Set.copyOf(move.getFromCleanerIds()))) {
+                throw new BookingConflictException("Booking " + booking.getId() + " changed since the plan was made");
+            }
+            Long toVehicleId = vehicleOf(fleet, move.getToCleanerIds());
+            if (Set.copyOf(move.getToCleanerIds()).size() != current.size() || toVehicleId == null) {
+                throw new IllegalArgumentException("Booking " + booking.getId() + " must keep its team size, from one vehicle of "
+                        + fleet.getZone());
+            }
+            // the vehicle follows from the cleaners; a plan stating another one was not made by us
+            if (move.getToVehicleId() != null && !move.getToVehicleId().equals(toVehicleId)) {
+                throw new IllegalArgumentException("Booking " + booking.getId() + ": cleaners " + move.getToCleanerIds()
+                        + " belong to vehicle " + toVehicleId + ", not " + move.getToVehicleId());
+            }
+            if (bookings.values().stream().anyMatch(b -> b.getId().equals(booking.getId()))) {
+                throw new IllegalArgumentException("Booking " + booking.getId() + " is moved twice");
+            }
+            move.setToVehicleId(toVehicleId);
+            bookings.put(move, booking);
+        }
+
+        // take every moved booking off its old cleaners first, so cleaners can swap bookings
+        List<AvailabilityBlock> removed = new ArrayList<>();
+        bookings.forEach((move, booking) -> {
+            for (Long cleanerId : move.getFromCleanerIds()) {
+                if (move.getToCleanerIds().contains(cleanerId)) continue;
+                for (AvailabilityBlock b : blocksOf(booking, cleanerId)) {
+                    scheduleStore.remove(cleanerId, booking.getId(), BookingBlockType.valueOf(b.getBlockType()),
+                            b.getStartDatetime(), b.getEndDatetime());
+                    removed.add(b);
+                }
+            }
+        });
+
+        List<AvailabilityBlock> added = new ArrayList<>();
+        bookings.forEach((move, booking) -> {
+            LocalDateTime start = booking.getStartDatetime();
+            LocalDateTime breakEnd = booking.getEndDatetime().plusMinutes(BookingServiceConstants.BREAK_MINUTES);
+            List<Long> joining = move.getToCleanerIds().stream()
+                    .filter(id -> !move.getFromCleanerIds().contains(id))
+                    .toList();
+            List<AvailabilityBlock> series = seriesCalendar.blocksBetween(booking.getZone(), joining,
+                    start.toLocalDate(), start.toLocalDate());
+            for (Long cleanerId : joining) {
+                if (scheduleStore.hasOverlap(cleanerId, start, breakEnd)
+                        || BookingSeriesCalendar.overlaps(series, cleanerId, start, breakEnd)) {
+                    throw new BookingConflictException("Cleaner " + cleanerId + " is no longer free for booking "
+                            + booking.getId() + "; plan again");
+                }
+                for (AvailabilityBlock b : blocksOf(booking, cleanerId)) {
+                    scheduleStore.add(b);
+                    added.add(b);
+                }
+            }
+
+            Set<Long> to = Set.copyOf(move.getToCleanerIds());
+            booking.getAssignedCleaners().removeIf(bc -> !to.contains(bc.getCleaner().getId()));
+            for (CleanerProfessional cleaner : fleet.cleanersOf(move.getToVehicleId())) {
+                if (!joining.contains(cleaner.getId())) continue;
+                BookingCleaner bc = new BookingCleaner();
+                bc.setBooking(booking);
+                bc.setCleaner(cleaner);
+                booking.getAssignedCleaners().add(bc);
+            }
+            bookingRepository.save(booking);
+            bookingOutbox.append(new BookingUpdated(booking.getId(), booking.getZone(), start, booking.getEndDatetime(),
+                    start, booking.getEndDatetime(), move.getToCleanerIds()));
+        });
+
+        scheduleChangeLog.record(fleet.getZone(), removed, added);
+        scheduleCache.applyAfterCommit(fleet.getZone(), removed, added);
+        log.info("Applied {} defragmentation moves on {} {}", bookings.size(), fleet.getZone(), plan.getDate());
+
+        plan.setApplied(true);
+        return plan;
+    }
+
+    /** The single vehicle all of {@code cleanerIds} belong to, or null. */
+    private static Long vehicleOf(ZoneFleet fleet, Collection<Long> cleanerIds) {
+        Long vehicleId = null;
+        for (Long id : cleanerIds) {
+            Long v = fleet.vehicleOf(id);
+            if (v == null || (vehicleId != null && !vehicleId.equals(v))) return null;
+            vehicleId = v;
+        }
+        return vehicleId;
+    }
+
+    private static List<AvailabilityBlock> blocksOf(Booking booking, Long cleanerId) {
+        LocalDateTime end = booking.getEndDatetime();
+        return List.of(
+                block(cleanerId, booking.getId(), booking.getStartDatetime(), end, BookingBlockType.BOOKED),
+                block(cleanerId, booking.getId(), end, end.plusMinutes(BookingServiceConstants.BREAK_MINUTES),
+                        BookingBlockType.BREAK));
+    }
+
+    private static AvailabilityBlock block(Long cleanerId, Long bookingId,
+                                           LocalDateTime start, LocalDateTime end, BookingBlockType type) {
+        AvailabilityBlock b = new AvailabilityBlock();
+        b.setCleanerId(cleanerId);
+        b.setBookingId(bookingId);
+        b.setStartDatetime(start);
+        b.setEndDatetime(end);
+        b.setBlockType(type.name());
+        return b;
+    }
+
+    private static int minuteOf(LocalDate date, LocalDateTime time) {
+        return (int) ChronoUnit.MINUTES.between(date.atStartOfDay(), time);
+    }
+}
@@ -0,0 +1,130 @@
+package com.cleaning.bookingservice.startup;
+
+import com.cleaning.bookingservice.dto.request.AvailabilityRequest;
+import com.cleaning.bookingservice.fleet.FleetRegistry;
+import com.cleaning.bookingservice.fleet.ZoneFleet;
+import com.cleaning.bookingservice.schedule.ScheduleCache;
+import com.cleaning.bookingservice.schedule.ScheduleSnapshotFile;
+import com.cleaning.bookingservice.schedule.ZoneDay;
+import com.cleaning.bookingservice.service.AvailabilityService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Preloads reference data and the next {@code booking.warmup.schedule-days} days of cleaner
+ * schedules (from the {@link ScheduleSnapshotFile} when one is configured and usable, for zones
+ * it covers entirely), then runs the availability path against them so the hot methods are compiled
+ * before real traffic arrives.
+ *
+ * <p>Runs as an {@link ApplicationRunner}, i.e. before Spring Boot publishes
+ * {@code ReadinessState.ACCEPTING_TRAFFIC}; {@code /actuator/health/readiness} therefore
+ * reports OUT_OF_SERVICE until the warm-up has finished.
+ */
+@Component
+public class ScheduleWarmup implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduleWarmup.class);
+
+    private static final String[] WARMUP_START_TIMES = {"08:00", "10:00", "13:30", "16:00", "18:00"};
+
+    private final FleetRegistry fleetRegistry;
+    private final ScheduleCache scheduleCache;
+    private final ScheduleSnapshotFile snapshotFile;
+    private final AvailabilityService availabilityService;
+    private final boolean enabled;
+    private final int scheduleDays;
+    private final int iterations;
+
+    public ScheduleWarmup(FleetRegistry fleetRegistry,
+                          ScheduleCache scheduleCache,
+                          ScheduleSnapshotFile snapshotFile,
+                          AvailabilityService availabilityService,
+                          @Value("${booking.warmup.enabled:true}") boolean enabled,
+                          @Value("${booking.warmup.schedule-days:7}") int scheduleDays,
+                          @Value("${booking.warmup.iterations:200}") int iterations) {
+        this.fleetRegistry = fleetRegistry;
+        this.scheduleCache = scheduleCache;
+        this.snapshotFile = snapshotFile;
+        this.availabilityService = availabilityService;
+        this.enabled = enabled;
+        this.scheduleDays = scheduleDays;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            log.info("Startup warm-up disabled");
+            return;
+        }
+
+        long started = System.nanoTime();
+        LocalDate today = LocalDate.now();
+
+        List<ZoneFleet> fleets = fleetRegistry.preload();
+        Set<ZoneDay> restored = snapshotFile.restore(fleets);
+
+        int vehicles = 0;
+        int cleaners = 0;
+        int blockRows = 0;
+        for (ZoneFleet fleet : fleets) {
+            vehicles += fleet.getVehicles().size();
+            cleaners += fleet.getCleanerIds().size();
+            // one query for the span of days the snapshot did not cover (usually none, or the last)
+            int first = 0;
+            int last = scheduleDays - 1;
+            while (first <= last && restored.contains(new ZoneDay(fleet.getZone(), today.plusDays(first)))) first++;
+            while (last >= first && restored.contains(new ZoneDay(fleet.getZone(), today.plusDays(last)))) last--;
+            if (first > last) continue;
+            try {
+                blockRows += scheduleCache.preload(fleet, today.plusDays(first), last - first + 1);
+            } catch (RuntimeException ex) {
+                log.warn("Could not preload schedules for zone {}", fleet.getZone(), ex);
+            }
+        }
+        long loadedMs = (System.nanoTime() - started) / 1_000_000;
+
+        int calls = exerciseAvailability(fleets, today);
+        long totalMs = (System.nanoTime() - started) / 1_000_000;
+
+        log.info("Warm-up finished in {} ms (data {} ms, JIT {} ms): {} zones, {} vehicles, {} cleaners, "
+                        + "{} block rows over {} days ({} zone-days from the snapshot file), {} availability calls",
+                totalMs, loadedMs, totalMs - loadedMs, fleets.size(), vehicles, cleaners,
+                blockRows, scheduleDays, restored.size(), calls);
+    }
+
+    // Only reads cached days, so the JIT phase does not touch the database.
+    private int exerciseAvailability(List<ZoneFleet> fleets, LocalDate today) {
+        if (fleets.isEmpty() || scheduleDays <= 0) return 0;
+
+        int calls = 0;
+        try {
+            for (int i = 0; i < iterations; i++) {
+                ZoneFleet fleet = fleets.get(i % fleets.size());
+                LocalDate date = today.plusDays(i % scheduleDays);
+
+                AvailabilityRequest request = new AvailabilityRequest();
+                request.setZone(fleet.getZone());
+                request.setDate(date.toString());
+                if (i % 2 == 1) {
+                    request.setStartTime(WARMUP_START_TIMES[i % WARMUP_START_TIMES.length]);
+                    request.setDurationHours(i % 4 == 1 ? 2 : 4);
+                    request.setCleanerCount(1 + i % 3);
+                }
+                availabilityService.checkAvailability(request);
+                calls++;
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Availability warm-up stopped after {} calls", calls, ex);
+        }
+        return calls;
+    }
+}
@@ -0,0 +1,35 @@
+package com.cleaning.bookingservice.startup;
+
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the pending Flyway migrations at startup unless {@code booking.flyway.migrate-on-startup}
+ * is false. {@code spring.flyway.enabled} is a bean condition, which AOT processing freezes at
+ * build time; this switch is read when the context starts, so the CDS training run can skip the
+ * database while running the same AOT initializers as the launch it trains for.
+ */
+@Component
+public class StartupMigration implements FlywayMigrationStrategy {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupMigration.class);
+
+    private final boolean enabled;
+
+    public StartupMigration(@Value("${booking.flyway.migrate-on-startup:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void migrate(Flyway flyway) {
+        if (!enabled) {
+            log.info("Startup migration disabled");
+            return;
+        }
+        flyway.migrate();
+    }
+}
@@ -0,0 +1,95 @@
+package com.cleaning.bookingservice.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One span per repository call ({@code <Repository>.<method>}) inside a traced request, with the
+ * cleaner / booking / zone arguments and the number of rows returned as attributes. Calls made
+ * outside a trace (scheduled refreshes, warm-up) are not traced.
+ */
+@Aspect
+@Component
+public class RepositoryTracingAspect {
+
+    private static final Map<String, String> TRACED_ARGUMENTS = Map.of(
+            "cleanerId", "cleaner.id",
+            "bookingId", "booking.id",
+            "zone", "zone");
+
+    private final Tracer tracer;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    public RepositoryTracingAspect(ObjectProvider<Tracer> tracer) {
+        this.tracer = tracer.getIfAvailable(() -> Tracer.NOOP);
+    }
+
+    @Around("this(com.cleaning.bookingservice.repository.base.BaseRepository)")
+    public Object trace(ProceedingJoinPoint call) throws Throwable {
+        if (tracer.currentSpan() == null) {
+            return call.proceed();
+        }
+
+        MethodSignature signature = (MethodSignature) call.getSignature();
+        Span span = tracer.nextSpan()
+                .name(repositoryName(call.getThis()) + "." + signature.getName())
+                .start();
+        tagArguments(span, signature.getParameterNames(), call.getArgs());
+
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            Object result = call.proceed();
+            tagResult(span, result);
+            return result;
+        } catch (Throwable ex) {
+            span.error(ex);
+            throw ex;
+        } finally {
+            span.end();
+        }
+    }
+
+    private String repositoryName(Object proxy) {
+        return repositoryNames.computeIfAbsent(proxy.getClass(), type -> {
+            for (Class<?> iface : AopProxyUtils.proxiedUserInterfaces(proxy)) {
+                if (iface.getPackageName().startsWith("com.cleaning.bookingservice.repository")) {
+                    return iface.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        });
+    }
+
+    private static void tagArguments(Span span, String[] names, Object[] args) {
+        if (names == null) return;
+        for (int i = 0; i < names.length && i < args.length; i++) {
+            String key = TRACED_ARGUMENTS.get(names[i]);
+            if (key != null && args[i] != null) {
+                span.tag(key, String.valueOf(args[i]));
+            } else if ("cleanerIds".equals(names[i]) && args[i] instanceof Collection<?> ids) {
+                span.tag("cleaner.count", ids.size());
+            }
+        }
+    }
+
+    private static void tagResult(Span span, Object result) {
+        if (result instanceof Collection<?> rows) {
+            span.tag("db.rows", rows.size());
+        } else if (result instanceof Optional<?> row) {
+            span.tag("db.rows", row.isPresent() ? 1 : 0);
+        } else if (result instanceof Boolean found) {
+            span.tag("db.result", found);
+        }
+    }
+}
@@ -1,25 +1,32 @@
+-- ============================================================
+-- DEV SEED DATA (only on the dev migration path)
+-- Kept idempotent so databases seeded by the old data.sql and
+-- baselined at version 1 do not get duplicate rows.
+-- Versioned 2.1 so it runs after V2 has added the zone columns.
+-- ============================================================
+
 -- ============================================================
 -- INSERT VEHICLES (IDEMPOTENT)
 -- ============================================================
 
-INSERT INTO vehicle (name)
-SELECT 'DXB-Vehicle-101'
+INSERT INTO vehicle (name, zone)
+SELECT 'DXB-Vehicle-101', 'DXB'
 WHERE NOT EXISTS (SELECT 1 FROM vehicle WHERE name='DXB-Vehicle-101');
 
-INSERT INTO vehicle (name)
-SELECT 'DXB-Vehicle-102'
+INSERT INTO vehicle (name, zone)
+SELECT 'DXB-Vehicle-102', 'DXB'
 WHERE NOT EXISTS (SELECT 1 FROM vehicle WHERE name='DXB-Vehicle-102');
 
-INSERT INTO vehicle (name)
-SELECT 'DXB-Vehicle-103'
+INSERT INTO vehicle (name, zone)
+SELECT 'DXB-Vehicle-103', 'DXB'
 WHERE NOT EXISTS (SELECT 1 FROM vehicle WHERE name='DXB-Vehicle-103');
 
-INSERT INTO vehicle (name)
-SELECT 'DXB-Vehicle-104'
+INSERT INTO vehicle (name, zone)
+SELECT 'DXB-Vehicle-104', 'DXB'
 WHERE NOT EXISTS (SELECT 1 FROM vehicle WHERE name='DXB-Vehicle-104');
 
-INSERT INTO vehicle (name)
-SELECT 'DXB-Vehicle-105'
+INSERT INTO vehicle (name, zone)
+SELECT 'DXB-Vehicle-105', 'DXB'
 WHERE NOT EXISTS (SELECT 1 FROM vehicle WHERE name='DXB-Vehicle-105');
 
 
@@ -134,4 +141,4 @@ WHERE NOT EXISTS (SELECT 1 FROM cleaner_professional WHERE name='Aftab Mirza' AN
 
 INSERT INTO cleaner_professional (name, vehicle_id)
 SELECT 'Manish Tiwari', 5
-WHERE NOT EXISTS (SELECT 1 FROM cleaner_professional WHERE name='Manish Tiwari' AND vehicle_id=5);
\ No newline at end of file
+WHERE NOT EXISTS (SELECT 1 FROM cleaner_professional WHERE name='Manish Tiwari' AND vehicle_id=5);
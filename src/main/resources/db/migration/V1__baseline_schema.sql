@@ -0,0 +1,67 @@
+-- ============================================================
+-- BASELINE SCHEMA
+-- Exactly the structure the old schema.sql produced, before zones.
+-- Databases created by schema.sql are baselined at version 1 and skip
+-- this script, so every later change belongs in V2 onwards.
+-- ============================================================
+
+-- ============================================================
+-- VEHICLE TABLE
+-- ============================================================
+CREATE TABLE vehicle (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL
+);
+
+-- ============================================================
+-- CLEANER PROFESSIONAL TABLE
+-- ============================================================
+CREATE TABLE cleaner_professional (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    vehicle_id BIGINT NOT NULL,
+    FOREIGN KEY (vehicle_id) REFERENCES vehicle(id)
+        ON DELETE CASCADE
+);
+
+-- ============================================================
+-- BOOKING TABLE
+-- ============================================================
+CREATE TABLE booking (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    start_datetime DATETIME NOT NULL,
+    end_datetime DATETIME NOT NULL,
+    duration_in_hours INT NOT NULL,
+    requested_cleaner_count INT NOT NULL
+);
+
+-- ============================================================
+-- BOOKING-CLEANER MAPPING TABLE
+-- ============================================================
+CREATE TABLE booking_cleaner (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    booking_id BIGINT NOT NULL,
+    cleaner_id BIGINT NOT NULL,
+    CONSTRAINT uq_booking_cleaner UNIQUE (booking_id, cleaner_id),
+    FOREIGN KEY (booking_id) REFERENCES booking(id)
+        ON DELETE CASCADE,
+    FOREIGN KEY (cleaner_id) REFERENCES cleaner_professional(id)
+        ON DELETE CASCADE
+);
+
+-- ============================================================
+-- AVAILABILITY BLOCKS TABLE
+-- ============================================================
+CREATE TABLE availability_blocks (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    cleaner_id BIGINT NOT NULL,
+    start_datetime DATETIME NOT NULL,
+    end_datetime DATETIME NOT NULL,
+    block_type VARCHAR(20) NOT NULL,
+    booking_id BIGINT NULL,
+    CONSTRAINT uq_cleaner_block UNIQUE (cleaner_id, start_datetime, end_datetime, block_type),
+    FOREIGN KEY (cleaner_id) REFERENCES cleaner_professional(id)
+        ON DELETE CASCADE,
+    CONSTRAINT fk_block_booking FOREIGN KEY (booking_id) REFERENCES booking(id)
+        ON DELETE CASCADE
+);
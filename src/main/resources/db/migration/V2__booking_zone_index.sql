@@ -0,0 +1,19 @@
+-- ============================================================
+-- ZONES FOR VEHICLES AND BOOKINGS
+-- Adds the zone columns the baseline lacks, backfills the zone of
+-- bookings created before zones existed and indexes
+-- (zone, start_datetime) for per-zone, per-day lookups.
+--
+-- availability_blocks needs no new index: uq_cleaner_block already
+-- leads with (cleaner_id, start_datetime), which serves both the
+-- overlap checks and the per-cleaner day range scans.
+-- ============================================================
+ALTER TABLE vehicle ADD COLUMN zone VARCHAR(32) NOT NULL DEFAULT 'DXB';
+
+CREATE INDEX idx_vehicle_zone ON vehicle (zone);
+
+ALTER TABLE booking ADD COLUMN zone VARCHAR(32) NULL;
+
+UPDATE booking SET zone = 'DXB' WHERE zone IS NULL;
+
+CREATE INDEX idx_booking_zone_start ON booking (zone, start_datetime);
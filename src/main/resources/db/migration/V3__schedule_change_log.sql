@@ -0,0 +1,21 @@
+-- ============================================================
+-- SCHEDULE CHANGE LOG
+-- One row per (cleaner, day) a booking write touched, inserted in
+-- the same transaction as the write. Every instance polls rows past
+-- its high-water mark (primary key order) and refreshes those
+-- cleaners in its in-memory schedule. origin is the instance that
+-- wrote the row; it already applied the change itself.
+--
+-- No foreign keys: the log outlives the rows it describes and is
+-- pruned by age (idx_schedule_change_created).
+-- ============================================================
+CREATE TABLE schedule_change_log (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    zone VARCHAR(32) NOT NULL,
+    cleaner_id BIGINT NOT NULL,
+    change_date DATE NOT NULL,
+    origin VARCHAR(64) NOT NULL,
+    created_at DATETIME NOT NULL
+);
+
+CREATE INDEX idx_schedule_change_created ON schedule_change_log (created_at);
@@ -0,0 +1,33 @@
+-- ============================================================
+-- BOOKING OUTBOX
+-- Booking events, inserted in the same transaction as the write
+-- they describe and published afterwards by OutboxDispatcher.
+-- dispatched_at stays NULL until every sink has accepted the
+-- event; idx_outbox_pending serves the "oldest pending" scan.
+-- ============================================================
+CREATE TABLE booking_outbox (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    booking_id BIGINT NOT NULL,
+    event_type VARCHAR(32) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at DATETIME(3) NOT NULL,
+    dispatched_at DATETIME(3) NULL,
+    attempts INT NOT NULL DEFAULT 0
+);
+
+CREATE INDEX idx_outbox_pending ON booking_outbox (dispatched_at, id);
+
+-- ============================================================
+-- DISPATCHER LEASE
+-- One dispatcher at a time across instances, so events leave in
+-- id order. The holder renews on every poll; another instance
+-- takes over once expires_at has passed.
+-- ============================================================
+CREATE TABLE outbox_dispatcher_lease (
+    name VARCHAR(64) PRIMARY KEY,
+    owner VARCHAR(64) NOT NULL,
+    expires_at DATETIME(3) NOT NULL
+);
+
+INSERT INTO outbox_dispatcher_lease (name, owner, expires_at)
+VALUES ('booking-events', '', '1970-01-01 00:00:00');
@@ -0,0 +1,42 @@
+-- ============================================================
+-- EVENT-SOURCED CLEANER SCHEDULES (booking.schedule.store=events)
+-- Each cleaner-day is an append-only stream of ADD / MOVE / REMOVE
+-- events numbered 1, 2, 3... (seq). Writes only ever insert, so
+-- busy cleaners cause no row lock contention; two writers taking
+-- the same seq collide on uq_schedule_event_seq and one of them
+-- fails, instead of one silently overwriting the other.
+-- A cleaner-day is rebuilt as its snapshot (if any) plus the
+-- events after the snapshot's last_seq. Compaction folds events
+-- into the snapshot and deletes them, in one transaction.
+-- A move to another day is logged as REMOVE on the old day and
+-- ADD on the new one.
+-- ============================================================
+CREATE TABLE cleaner_schedule_event (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    cleaner_id BIGINT NOT NULL,
+    schedule_date DATE NOT NULL,
+    seq INT NOT NULL,
+    event_type VARCHAR(8) NOT NULL,
+    block_type VARCHAR(20) NOT NULL,
+    booking_id BIGINT NULL,
+    start_datetime DATETIME NOT NULL,
+    end_datetime DATETIME NOT NULL,
+    from_start DATETIME NULL,
+    from_end DATETIME NULL,
+    created_at DATETIME NOT NULL,
+    CONSTRAINT uq_schedule_event_seq UNIQUE (cleaner_id, schedule_date, seq)
+);
+
+CREATE INDEX idx_schedule_event_day ON cleaner_schedule_event (schedule_date);
+
+CREATE TABLE cleaner_schedule_snapshot (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    cleaner_id BIGINT NOT NULL,
+    schedule_date DATE NOT NULL,
+    last_seq INT NOT NULL,
+    blocks TEXT NOT NULL,
+    created_at DATETIME NOT NULL,
+    CONSTRAINT uq_schedule_snapshot UNIQUE (cleaner_id, schedule_date)
+);
+
+CREATE INDEX idx_schedule_snapshot_day ON cleaner_schedule_snapshot (schedule_date);
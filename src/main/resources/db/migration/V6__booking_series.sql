@@ -0,0 +1,43 @@
+-- ============================================================
+-- RECURRING BOOKING SERIES
+-- One row per rule: the same team, weekday and time every
+-- interval_weeks weeks from first_date to last_date, minus the
+-- dates in booking_series_exclusion.
+-- Occurrences up to materialized_until exist as ordinary booking
+-- rows (booking.series_id) with their availability blocks; later
+-- ones are expanded from the rule whenever a schedule is read,
+-- and materialized as the rolling horizon reaches them.
+-- ============================================================
+CREATE TABLE booking_series (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    zone VARCHAR(32) NOT NULL,
+    vehicle_id BIGINT NOT NULL,
+    first_date DATE NOT NULL,
+    last_date DATE NOT NULL,
+    start_time TIME NOT NULL,
+    duration_hours INT NOT NULL,
+    interval_weeks INT NOT NULL,
+    materialized_until DATE NOT NULL,
+    created_at DATETIME NOT NULL
+);
+
+CREATE INDEX idx_booking_series_zone ON booking_series (zone, last_date);
+
+CREATE TABLE booking_series_cleaner (
+    series_id BIGINT NOT NULL,
+    cleaner_id BIGINT NOT NULL,
+    PRIMARY KEY (series_id, cleaner_id),
+    CONSTRAINT fk_series_cleaner_series FOREIGN KEY (series_id) REFERENCES booking_series(id),
+    CONSTRAINT fk_series_cleaner_cleaner FOREIGN KEY (cleaner_id) REFERENCES cleaner_professional(id)
+);
+
+CREATE TABLE booking_series_exclusion (
+    series_id BIGINT NOT NULL,
+    excluded_date DATE NOT NULL,
+    PRIMARY KEY (series_id, excluded_date),
+    CONSTRAINT fk_series_exclusion_series FOREIGN KEY (series_id) REFERENCES booking_series(id)
+);
+
+ALTER TABLE booking ADD COLUMN series_id BIGINT NULL;
+
+CREATE INDEX idx_booking_series ON booking (series_id);
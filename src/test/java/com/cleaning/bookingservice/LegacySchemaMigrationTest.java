@@ -0,0 +1,55 @@
+package com.cleaning.bookingservice;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A database built by the old schema.sql is baselined at version 1 (as the dev and prod
+ * profiles configure Flyway) and must migrate forward from there without V1.
+ */
+class LegacySchemaMigrationTest {
+
+    private static final String URL =
+            "jdbc:h2:mem:legacy;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    @Test
+    void databaseFromTheOldSchemaMigratesFromTheBaseline() throws SQLException {
+        try (Connection c = DriverManager.getConnection(URL, "sa", "");
+             Statement s = c.createStatement()) {
+            s.execute("RUNSCRIPT FROM 'classpath:db/legacy/schema.sql'");
+
+            MigrateResult result = Flyway.configure()
+                    .dataSource(URL, "sa", "")
+                    .locations("classpath:db/migration", "classpath:db/dev-data")
+                    .baselineOnMigrate(true)
+                    .baselineVersion("1")
+                    .load()
+                    .migrate();
+
+            assertTrue(result.success);
+            assertEquals("2", result.migrations.get(0).version);
+            assertEquals("DXB", single(s, "SELECT zone FROM vehicle WHERE name = 'DXB-Vehicle-101'"));
+            assertEquals("DXB", single(s, "SELECT zone FROM booking WHERE id = 1"));
+            assertEquals("1", single(s, "SELECT COUNT(*) FROM vehicle WHERE name = 'DXB-Vehicle-101'"));
+            assertEquals("1", single(s, """
+                    SELECT COUNT(*) FROM information_schema.indexes
+                    WHERE table_name = 'vehicle' AND index_name = 'idx_vehicle_zone'"""));
+        }
+    }
+
+    private static String single(Statement s, String sql) throws SQLException {
+        try (ResultSet rs = s.executeQuery(sql)) {
+            assertTrue(rs.next(), sql);
+            return rs.getString(1);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.cleaning.bookingservice.bulkhead;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    // pool of 4: two permits for bookings, two for availability
+    private final BulkheadFilter filter = new BulkheadFilter(registry, new ObjectMapper().findAndRegisterModules(),
+            4, 0, 0, 50);
+
+    @Test
+    void availabilityStormIsTurnedAwayWhileBookingsStillGetThrough() throws Exception {
+        CountDownLatch holding = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain blocking = (req, res) -> {
+            holding.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> first = executor.submit(() -> run("POST", "/api/availability", blocking));
+            Future<?> second = executor.submit(() -> run("GET", "/api/availability", blocking));
+            assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+            MockHttpServletResponse rejected = run("POST", "/api/availability", (req, res) -> fail("no permit left"));
+            assertEquals(503, rejected.getStatus());
+            assertEquals("1", rejected.getHeader("Retry-After"));
+            assertTrue(rejected.getContentAsString().contains("availability"), rejected.getContentAsString());
+
+            assertEquals(200, run("POST", "/api/bookings", (req, res) -> { }).getStatus());
+            assertEquals(200, run("PUT", "/api/bookings/7", (req, res) -> { }).getStatus());
+
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(1.0, registry.get("booking.bulkhead.rejected").tag("bulkhead", "availability").counter().count());
+        assertEquals(0.0, registry.get("booking.bulkhead.rejected").tag("bulkhead", "booking").counter().count());
+        assertEquals(0.0, registry.get("booking.bulkhead.active").tag("bulkhead", "availability").gauge().value());
+        assertEquals(200, run("POST", "/api/availability", (req, res) -> { }).getStatus());
+    }
+
+    @Test
+    void otherPathsAreNotLimited() throws Exception {
+        BulkheadFilter single = new BulkheadFilter(new SimpleMeterRegistry(), new ObjectMapper(), 1, 0, 0, 0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/health");
+        assertNull(single.bulkheadFor(request));
+        assertEquals(1, single.bulkheadFor(new MockHttpServletRequest("GET", "/api/bookings")).getPermits());
+        assertEquals(1, single.bulkheadFor(new MockHttpServletRequest("GET", "/api/availability")).getPermits());
+    }
+
+    private MockHttpServletResponse run(String method, String uri, FilterChain chain) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(new MockHttpServletRequest(method, uri), response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,62 @@
+package com.cleaning.bookingservice.controller;
+
+import com.cleaning.bookingservice.dto.response.AvailabilityBinaryFormat;
+import com.cleaning.bookingservice.dto.response.AvailabilityResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "booking.warmup.enabled=false",
+        "spring.flyway.locations=classpath:db/migration,classpath:db/dev-data"
+})
+@ActiveProfiles("embedded")
+@AutoConfigureMockMvc
+class AvailabilityContentNegotiationTest {
+
+    private static final String REQUEST = """
+            { "date": "2030-01-14", "zone": "DXB" }
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void jsonStaysTheDefaultAndBinaryIsServedOnRequest() throws Exception {
+        MvcResult json = mockMvc.perform(post("/api/availability")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(REQUEST))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.VARY, containsString("Accept")))
+                .andReturn();
+
+        MvcResult binary = mockMvc.perform(post("/api/availability")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(AvailabilityBinaryFormat.MEDIA_TYPE)
+                        .content(REQUEST))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(AvailabilityBinaryFormat.MEDIA_TYPE))
+                .andReturn();
+
+        byte[] body = binary.getResponse().getContentAsByteArray();
+        AvailabilityResponse decoded = AvailabilityBinaryFormat.read(new ByteArrayInputStream(body));
+        assertEquals(5, decoded.getCount());
+        assertEquals(5, decoded.getAvailableVehicles().get(0).getCleaners().size());
+        assertTrue(body.length * 3 < json.getResponse().getContentAsByteArray().length);
+        assertNotEquals(json.getResponse().getHeader(HttpHeaders.ETAG), binary.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+}
@@ -0,0 +1,56 @@
+package com.cleaning.bookingservice.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "booking.warmup.enabled=false",
+        "spring.flyway.locations=classpath:db/migration,classpath:db/dev-data"
+})
+@ActiveProfiles("embedded")
+@AutoConfigureMockMvc
+class AvailabilityHttpCachingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void nonCanonicalQueryIsRedirectedToTheCanonicalOne() throws Exception {
+        mockMvc.perform(get("/api/availability?cleanerIds=3,1,1&zone=dxb&date=2030-01-15"))
+                .andExpect(status().isPermanentRedirect())
+                .andExpect(header().string(HttpHeaders.LOCATION,
+                        "/api/availability?date=2030-01-15&zone=DXB&cleanerIds=1,3"));
+    }
+
+    @Test
+    void canonicalGetIsCacheableAndRevalidates() throws Exception {
+        String url = "/api/availability?date=2030-01-15&zone=DXB&startTime=10:00&durationHours=2&cleanerCount=1";
+
+        MvcResult first = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=5, public"))
+                .andExpect(header().string(HttpHeaders.VARY, containsString("Accept")))
+                .andExpect(jsonPath("$.count").value(5))
+                .andReturn();
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, first.getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=5, public"));
+    }
+
+    @Test
+    void invalidParametersAreRejected() throws Exception {
+        mockMvc.perform(get("/api/availability?date=2030-01-15&zone=DXB&cleanerCount=9"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,91 @@
+package com.cleaning.bookingservice.controller;
+
+import com.cleaning.bookingservice.fleet.FleetRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static com.cleaning.bookingservice.metrics.SqlStatementBudget.atMost;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Performance contracts: how many SQL statements each endpoint may run against the dev fleet
+ * (5 vehicles, 5 cleaners each) on the embedded database. Raise a budget only together with
+ * the change that needs it.
+ */
+@SpringBootTest(properties = {
+        "booking.warmup.enabled=false",
+        "spring.flyway.locations=classpath:db/migration,classpath:db/dev-data"
+})
+@ActiveProfiles("embedded")
+@AutoConfigureMockMvc
+class SqlStatementBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private FleetRegistry fleetRegistry;
+
+    @Test
+    void availabilityLoadsFleetAndDayOnceThenServesFromCache() throws Exception {
+        String json = """
+            { "date": "2030-01-07", "zone": "DXB" }
+            """;
+
+        // vehicles + cleaners (if the zone is not loaded yet) + one blocks query and one series
+        // query for the day
+        mockMvc.perform(post("/api/availability")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(atMost(4));
+
+        mockMvc.perform(post("/api/availability")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(atMost(0));
+    }
+
+    @Test
+    void createAndUpdateBookingStayWithinBudget() throws Exception {
+        fleetRegistry.zone("DXB");
+
+        // day load (blocks + series) for the in-memory overlap checks, 2 cleaners: series lookup
+        // and re-check each, booking + 2 links, exists/insert for BOOKED and BREAK each, change-log
+        // row each, outbox event
+        MvcResult created = mockMvc.perform(post("/api/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            { "date": "2030-01-08", "startTime": "10:00", "durationHours": 2,
+                              "requestedCleanerCount": 2, "zone": "DXB" }
+                            """))
+                .andExpect(status().isOk())
+                .andExpect(atMost(19))
+                .andReturn();
+
+        long bookingId = mapper.readTree(created.getResponse().getContentAsString()).path("bookingId").asLong();
+
+        // booking + its cleaners, series lookup, overlap check per cleaner, booking update, BOOKED and BREAK update
+        // and change-log row per cleaner, outbox event
+        mockMvc.perform(put("/api/bookings/" + bookingId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            { "date": "2030-01-08", "startTime": "14:00", "durationHours": 2, "cleanerCount": 2 }
+                            """))
+                .andExpect(status().isOk())
+                .andExpect(atMost(13));
+    }
+}
@@ -0,0 +1,97 @@
+package com.cleaning.bookingservice.dto.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityBinaryFormatTest {
+
+    private static AvailabilityResponse.CleanerAvailability cleaner(long id, String name, List<String> slots) {
+        AvailabilityResponse.CleanerAvailability c = new AvailabilityResponse.CleanerAvailability();
+        c.setCleanerId(id);
+        c.setName(name);
+        c.setAvailableSlots(slots);
+        return c;
+    }
+
+    private static AvailabilityResponse.VehicleAvailability vehicle(long id, String name,
+                                                                    List<AvailabilityResponse.CleanerAvailability> cleaners) {
+        AvailabilityResponse.VehicleAvailability v = new AvailabilityResponse.VehicleAvailability();
+        v.setVehicleId(id);
+        v.setVehicleName(name);
+        v.setCleaners(cleaners);
+        return v;
+    }
+
+    private static byte[] write(AvailabilityBinaryFormat format, AvailabilityResponse response) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        format.write(response, out);
+        return out.toByteArray();
+    }
+
+    @Test
+    void roundTripsAndRoundsPartialSlotsDownToBusy() throws Exception {
+        AvailabilityResponse response = new AvailabilityResponse();
+        response.setDate("2025-11-16");
+        response.setAvailableVehicles(List.of(
+                vehicle(1, "Van", List.of(
+                        cleaner(10, "Ayesha", List.of("08:00-10:00", "12:30-22:00")),
+                        cleaner(11, "Ayesha", List.of("08:10-09:50"))))));
+        response.setCount(1);
+        response.setNextCursor("djQy");
+
+        AvailabilityResponse decoded = AvailabilityBinaryFormat.read(
+                new ByteArrayInputStream(write(new AvailabilityBinaryFormat(15), response)));
+
+        assertEquals("2025-11-16", decoded.getDate());
+        assertEquals(1, decoded.getCount());
+        assertEquals("djQy", decoded.getNextCursor());
+        AvailabilityResponse.VehicleAvailability v = decoded.getAvailableVehicles().get(0);
+        assertEquals(1L, v.getVehicleId());
+        assertEquals("Van", v.getVehicleName());
+        assertEquals(List.of("08:00-10:00", "12:30-22:00"), v.getCleaners().get(0).getAvailableSlots());
+        assertEquals(List.of("08:15-09:45"), v.getCleaners().get(1).getAvailableSlots());
+        assertEquals("Ayesha", v.getCleaners().get(1).getName());
+    }
+
+    @Test
+    void timeFilteredResponsesCarryNoMasks() throws Exception {
+        AvailabilityResponse response = new AvailabilityResponse();
+        response.setDate("2025-11-16");
+        response.setAvailableVehicles(List.of(vehicle(1, "Van", List.of(cleaner(10, "Ayesha", null)))));
+
+        AvailabilityResponse decoded = AvailabilityBinaryFormat.read(
+                new ByteArrayInputStream(write(new AvailabilityBinaryFormat(15), response)));
+
+        assertNull(decoded.getAvailableVehicles().get(0).getCleaners().get(0).getAvailableSlots());
+        assertEquals(10L, decoded.getAvailableVehicles().get(0).getCleaners().get(0).getCleanerId());
+    }
+
+    @Test
+    void fullDayOfALargeFleetIsAFractionOfTheJson() throws Exception {
+        List<AvailabilityResponse.VehicleAvailability> vehicles = new ArrayList<>();
+        for (long v = 1; v <= 200; v++) {
+            List<AvailabilityResponse.CleanerAvailability> cleaners = new ArrayList<>();
+            for (long c = 1; c <= 5; c++) {
+                cleaners.add(cleaner(v * 10 + c, "Cleaner " + (v * 10 + c),
+                        List.of("08:00-10:00", "12:30-16:00", "18:30-22:00")));
+            }
+            vehicles.add(vehicle(v, "DXB-Vehicle-" + v, cleaners));
+        }
+        AvailabilityResponse response = new AvailabilityResponse();
+        response.setDate("2025-11-16");
+        response.setAvailableVehicles(vehicles);
+        response.setCount(vehicles.size());
+
+        int json = new ObjectMapper().writeValueAsBytes(response).length;
+        int binary = write(new AvailabilityBinaryFormat(15), response).length;
+
+        assertTrue(binary * 4 < json, "binary " + binary + " bytes vs JSON " + json);
+    }
+}
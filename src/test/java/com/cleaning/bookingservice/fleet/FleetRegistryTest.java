@@ -0,0 +1,50 @@
+package com.cleaning.bookingservice.fleet;
+
+import com.cleaning.bookingservice.entity.CleanerProfessional;
+import com.cleaning.bookingservice.entity.Vehicle;
+import com.cleaning.bookingservice.repository.CleanerRepository;
+import com.cleaning.bookingservice.repository.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FleetRegistryTest {
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private CleanerRepository cleanerRepository;
+
+    @Test
+    void unknownZonesAreNeitherCachedNorRefreshed() {
+        Vehicle v = new Vehicle();
+        v.setId(1L);
+        v.setZone("DXB");
+        when(vehicleRepository.findByZoneOrderByIdAsc(anyString())).thenReturn(List.of());
+        when(vehicleRepository.findByZoneOrderByIdAsc("DXB")).thenReturn(List.of(v));
+        when(cleanerRepository.findByZoneWithVehicle("DXB")).thenReturn(List.of(new CleanerProfessional(10L, "A", v)));
+        FleetRegistry registry = new FleetRegistry(vehicleRepository, cleanerRepository, List.of());
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(registry.zone("zone-" + i).getVehicles().isEmpty());
+        }
+        assertSame(registry.zone("dxb"), registry.zone("DXB"));
+        assertEquals(Set.of("DXB"), registry.loadedZones());
+        verify(cleanerRepository, never()).findByZoneWithVehicle(startsWith("ZONE-"));
+
+        // a zone whose vehicles are all gone is dropped on refresh
+        when(vehicleRepository.findByZoneOrderByIdAsc("DXB")).thenReturn(List.of());
+        registry.refreshLoadedZones();
+        assertTrue(registry.loadedZones().isEmpty());
+    }
+}
@@ -0,0 +1,164 @@
+package com.cleaning.bookingservice.loadtest;
+
+import com.cleaning.bookingservice.constants.BookingServiceConstants;
+import com.cleaning.bookingservice.constants.BookingServiceConstants.BookingBlockType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Fills an empty, migrated database with a fleet and its booking history: vehicles spread over
+ * the configured zones, cleaners per vehicle, and per vehicle and working day a sequence of
+ * bookings (BOOKED + BREAK blocks for each assigned cleaner) from {@code history-days} ago to
+ * {@code future-days} ahead.
+ *
+ * <p>A vehicle's bookings of a day never overlap, so the generated data is free of double
+ * bookings by construction; any violation found after a run was introduced by the traffic.
+ */
+class FleetDataGenerator {
+
+    record Result(int vehicles, int cleaners, int bookings, int blocks, List<Long> upcomingBookingIds) {
+    }
+
+    private record PlannedBooking(String zone, LocalDateTime start, int durationHours, List<Long> cleanerIds) {
+    }
+
+    private final JdbcTemplate jdbc;
+
+    FleetDataGenerator(DataSource dataSource) {
+        this.jdbc = new JdbcTemplate(dataSource);
+    }
+
+    Result generate(LoadTestConfig config, LocalDate today) {
+        Random random = new Random(config.seed());
+
+        List<String> vehicleZones = new ArrayList<>(config.vehicles());
+        List<Object[]> vehicleRows = new ArrayList<>(config.vehicles());
+        for (int i = 0; i < config.vehicles(); i++) {
+            String zone = config.zones().get(i % config.zones().size());
+            vehicleZones.add(zone);
+            vehicleRows.add(new Object[]{zone + "-Vehicle-" + (i + 1), zone});
+        }
+        jdbc.batchUpdate("INSERT INTO vehicle (name, zone) VALUES (?, ?)", vehicleRows);
+        List<Long> vehicleIds = jdbc.queryForList("SELECT id FROM vehicle ORDER BY id", Long.class);
+
+        List<Object[]> cleanerRows = new ArrayList<>();
+        for (Long vehicleId : vehicleIds) {
+            for (int c = 0; c < config.cleanersPerVehicle(); c++) {
+                cleanerRows.add(new Object[]{"Cleaner " + vehicleId + "-" + (c + 1), vehicleId});
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO cleaner_professional (name, vehicle_id) VALUES (?, ?)", cleanerRows);
+        List<Long> cleanerIds = jdbc.queryForList("SELECT id FROM cleaner_professional ORDER BY id", Long.class);
+
+        List<PlannedBooking> planned = new ArrayList<>();
+        for (LocalDate day = today.minusDays(config.historyDays());
+             day.isBefore(today.plusDays(config.futureDays()));
+             day = day.plusDays(1)) {
+
+            if (day.getDayOfWeek() == DayOfWeek.FRIDAY) continue;
+
+            for (int v = 0; v < vehicleIds.size(); v++) {
+                List<Long> crew = cleanerIds.subList(
+                        v * config.cleanersPerVehicle(), (v + 1) * config.cleanersPerVehicle());
+                planDay(planned, vehicleZones.get(v), day, crew, config.bookingsPerVehicleDay(), random);
+            }
+        }
+
+        jdbc.batchUpdate(
+                "INSERT INTO booking (start_datetime, end_datetime, duration_in_hours, requested_cleaner_count, zone) "
+                        + "VALUES (?, ?, ?, ?, ?)",
+                planned.stream()
+                        .map(p -> new Object[]{
+                                Timestamp.valueOf(p.start()),
+                                Timestamp.valueOf(p.start().plusHours(p.durationHours())),
+                                p.durationHours(),
+                                p.cleanerIds().size(),
+                                p.zone()})
+                        .toList());
+        List<Long> bookingIds = jdbc.queryForList("SELECT id FROM booking ORDER BY id", Long.class);
+        if (bookingIds.size() != planned.size()) {
+            throw new IllegalStateException("Expected an empty booking table before generating data");
+        }
+
+        List<Object[]> links = new ArrayList<>();
+        List<Object[]> blocks = new ArrayList<>();
+        List<Long> upcoming = new ArrayList<>();
+        for (int i = 0; i < planned.size(); i++) {
+            PlannedBooking p = planned.get(i);
+            Long bookingId = bookingIds.get(i);
+            LocalDateTime end = p.start().plusHours(p.durationHours());
+            Timestamp breakEnd = Timestamp.valueOf(end.plusMinutes(BookingServiceConstants.BREAK_MINUTES));
+
+            for (Long cleanerId : p.cleanerIds()) {
+                links.add(new Object[]{bookingId, cleanerId});
+                blocks.add(new Object[]{cleanerId, Timestamp.valueOf(p.start()), Timestamp.valueOf(end),
+                        BookingBlockType.BOOKED.name(), bookingId});
+                blocks.add(new Object[]{cleanerId, Timestamp.valueOf(end), breakEnd,
+                        BookingBlockType.BREAK.name(), bookingId});
+            }
+            if (!p.start().toLocalDate().isBefore(today)) {
+                upcoming.add(bookingId);
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO booking_cleaner (booking_id, cleaner_id) VALUES (?, ?)", links);
+        jdbc.batchUpdate(
+                "INSERT INTO availability_blocks (cleaner_id, start_datetime, end_datetime, block_type, booking_id) "
+                        + "VALUES (?, ?, ?, ?, ?)",
+                blocks);
+
+        return new Result(vehicleIds.size(), cleanerIds.size(), planned.size(), blocks.size(), upcoming);
+    }
+
+    private void planDay(List<PlannedBooking> planned,
+                         String zone,
+                         LocalDate day,
+                         List<Long> crew,
+                         int bookings,
+                         Random random) {
+
+        int cursor = BookingServiceConstants.WORK_START_MINUTES + 30 * random.nextInt(3);
+
+        for (int b = 0; b < bookings; b++) {
+            int durationHours = random.nextBoolean() ? 2 : 4;
+            if (cursor + durationHours * 60 > BookingServiceConstants.WORK_END_MINUTES) break;
+
+            List<Long> shuffled = new ArrayList<>(crew);
+            Collections.shuffle(shuffled, random);
+            int teamSize = 1 + random.nextInt(Math.min(3, crew.size()));
+
+            planned.add(new PlannedBooking(
+                    zone,
+                    day.atStartOfDay().plusMinutes(cursor),
+                    durationHours,
+                    List.copyOf(shuffled.subList(0, teamSize))));
+
+            cursor += durationHours * 60 + BookingServiceConstants.BREAK_MINUTES + 30 * random.nextInt(5);
+        }
+    }
+
+    /**
+     * Pairs of overlapping BOOKED blocks of the same cleaner that start on or after {@code from}.
+     * (A BREAK overlapping the next booking is allowed by the current rules and not counted.)
+     */
+    static long doubleBookings(DataSource dataSource, LocalDateTime from) {
+        Long count = new JdbcTemplate(dataSource).queryForObject("""
+                SELECT COUNT(*)
+                FROM availability_blocks a
+                JOIN availability_blocks b
+                  ON b.cleaner_id = a.cleaner_id
+                 AND b.id > a.id
+                 AND b.start_datetime < a.end_datetime
+                 AND b.end_datetime > a.start_datetime
+                WHERE a.block_type = 'BOOKED'
+                  AND b.block_type = 'BOOKED'
+                  AND a.start_datetime >= ?
+                """, Long.class, Timestamp.valueOf(from));
+        return count == null ? 0 : count;
+    }
+}
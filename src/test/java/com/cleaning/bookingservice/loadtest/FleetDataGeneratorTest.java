@@ -0,0 +1,66 @@
+package com.cleaning.bookingservice.loadtest;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FleetDataGeneratorTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 11, 17);   // a Monday
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "sa", "");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+    }
+
+    @Test
+    void generatesFleetAndHistoryWithoutDoubleBookings() {
+        LoadTestConfig config = LoadTestConfig.parse(
+                "--zones=DXB,AUH", "--vehicles=6", "--cleaners-per-vehicle=4",
+                "--history-days=7", "--future-days=7", "--bookings-per-vehicle-day=3");
+
+        FleetDataGenerator.Result result = new FleetDataGenerator(dataSource).generate(config, TODAY);
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        assertEquals(6, result.vehicles());
+        assertEquals(24, result.cleaners());
+        assertEquals(3, jdbc.queryForObject("SELECT COUNT(*) FROM vehicle WHERE zone = 'AUH'", Integer.class));
+        assertEquals(result.bookings(), jdbc.queryForObject("SELECT COUNT(*) FROM booking", Integer.class));
+        assertEquals(result.blocks(), jdbc.queryForObject("SELECT COUNT(*) FROM availability_blocks", Integer.class));
+        assertEquals(0, jdbc.queryForObject(
+                "SELECT COUNT(*) FROM booking WHERE DAYOFWEEK(start_datetime) = 6", Integer.class));
+        assertFalse(result.upcomingBookingIds().isEmpty());
+
+        assertEquals(0, FleetDataGenerator.doubleBookings(dataSource, TODAY.minusDays(7).atStartOfDay()));
+    }
+
+    @Test
+    void doubleBookingsCountsOverlappingBookedBlocksOfOneCleaner() {
+        LoadTestConfig config = LoadTestConfig.parse(
+                "--zones=DXB", "--vehicles=1", "--cleaners-per-vehicle=1",
+                "--history-days=0", "--future-days=1", "--bookings-per-vehicle-day=1");
+        new FleetDataGenerator(dataSource).generate(config, TODAY);
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("""
+                INSERT INTO availability_blocks (cleaner_id, start_datetime, end_datetime, block_type)
+                SELECT cleaner_id, DATEADD('MINUTE', 30, start_datetime), DATEADD('MINUTE', 90, start_datetime), 'BOOKED'
+                FROM availability_blocks WHERE block_type = 'BOOKED'
+                """);
+
+        assertEquals(1, FleetDataGenerator.doubleBookings(dataSource, TODAY.atStartOfDay()));
+    }
+}
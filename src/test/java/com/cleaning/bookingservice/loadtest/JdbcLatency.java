@@ -0,0 +1,83 @@
+package com.cleaning.bookingservice.loadtest;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Adds a fixed delay to every JDBC statement execution of the service's {@link DataSource}. The
+ * in-memory database answers in microseconds, so without it a request thread barely ever
+ * blocks, and platform and virtual threads look the same. With a delay, the threads park the way
+ * they would during a round trip to MySQL. The delay holds the connection, just as a real
+ * round trip would.
+ */
+final class JdbcLatency implements BeanPostProcessor {
+
+    private static final Set<String> EXECUTE = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final Duration latency;
+
+    JdbcLatency(long millis) {
+        this.latency = Duration.ofMillis(millis);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource)) return bean;
+        return proxy(DataSource.class, dataSource, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection connection ? connection(connection) : result;
+        });
+    }
+
+    private Connection connection(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof CallableStatement s) return proxy(CallableStatement.class, s, this::delayed);
+            if (result instanceof PreparedStatement s) return proxy(PreparedStatement.class, s, this::delayed);
+            if (result instanceof Statement s) return proxy(Statement.class, s, this::delayed);
+            return result;
+        });
+    }
+
+    private Object delayed(Object target, Method method, Object[] args) throws Throwable {
+        if (EXECUTE.contains(method.getName())) {
+            Thread.sleep(latency);
+        }
+        return invoke(target, method, args);
+    }
+
+    private interface Handler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        InvocationHandler h = (p, method, args) -> {
+            if (method.getName().equals("unwrap") || method.getName().equals("isWrapperFor")) {
+                return invoke(target, method, args);
+            }
+            return handler.handle(target, method, args);
+        };
+        return (T) Proxy.newProxyInstance(JdbcLatency.class.getClassLoader(), new Class<?>[]{type}, h);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+}
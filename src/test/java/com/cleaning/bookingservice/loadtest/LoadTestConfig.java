@@ -0,0 +1,119 @@
+package com.cleaning.bookingservice.loadtest;
+
+import java.util.*;
+
+/**
+ * Load-test options, given as {@code --name=value} arguments.
+ *
+ * <pre>
+ *   --zones=DXB,AUH                     zones the fleet is spread over
+ *   --vehicles=200                      vehicles in total (round-robin over zones)
+ *   --cleaners-per-vehicle=5
+ *   --history-days=60                   days of past bookings to generate
+ *   --future-days=14                    days of upcoming bookings; traffic targets this window
+ *   --bookings-per-vehicle-day=3        generated bookings per vehicle and day
+ *   --concurrency=32                    client threads
+ *   --warmup-s=10                       traffic not counted in the report
+ *   --duration-s=60                     measured traffic
+ *   --mix=availability:70,create:20,update:10
+ *   --pool-size=20                      Hikari pool size of the service
+ *   --threads=platform                  request threads: platform, virtual, or platform,virtual to
+ *                                       run both on identical data and compare them
+ *   --tomcat-threads=0                  platform-thread pool size (0 = max(200, 2 x concurrency))
+ *   --db-latency-ms=0                   added to every JDBC statement, standing in for a network
+ *                                       round trip to MySQL that in-memory H2 does not have
+ *   --seed=42
+ *   --report=target/loadtest-report.json
+ * </pre>
+ */
+record LoadTestConfig(List<String> zones,
+                      int vehicles,
+                      int cleanersPerVehicle,
+                      int historyDays,
+                      int futureDays,
+                      int bookingsPerVehicleDay,
+                      int concurrency,
+                      int warmupSeconds,
+                      int durationSeconds,
+                      Map<Operation, Integer> mix,
+                      int poolSize,
+                      List<ThreadMode> threadModes,
+                      int tomcatThreads,
+                      int dbLatencyMillis,
+                      long seed,
+                      String report) {
+
+    enum Operation {
+        AVAILABILITY,
+        CREATE,
+        UPDATE
+    }
+
+    enum ThreadMode {
+        PLATFORM,
+        VIRTUAL
+    }
+
+    static LoadTestConfig parse(String... args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        LoadTestConfig config = new LoadTestConfig(
+                Arrays.stream(option(options, "zones", "DXB,AUH").split(","))
+                        .map(String::trim)
+                        .map(String::toUpperCase)
+                        .toList(),
+                intOption(options, "vehicles", 200),
+                intOption(options, "cleaners-per-vehicle", 5),
+                intOption(options, "history-days", 60),
+                intOption(options, "future-days", 14),
+                intOption(options, "bookings-per-vehicle-day", 3),
+                intOption(options, "concurrency", 32),
+                intOption(options, "warmup-s", 10),
+                intOption(options, "duration-s", 60),
+                parseMix(option(options, "mix", "availability:70,create:20,update:10")),
+                intOption(options, "pool-size", 20),
+                Arrays.stream(option(options, "threads", "platform").split(","))
+                        .map(mode -> ThreadMode.valueOf(mode.trim().toUpperCase()))
+                        .distinct()
+                        .toList(),
+                intOption(options, "tomcat-threads", 0),
+                intOption(options, "db-latency-ms", 0),
+                Long.parseLong(option(options, "seed", "42")),
+                option(options, "report", "target/loadtest-report.json"));
+
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + options.keySet());
+        }
+        return config;
+    }
+
+    /** Tomcat's pool size in platform mode; unused with virtual threads. */
+    int effectiveTomcatThreads() {
+        return tomcatThreads > 0 ? tomcatThreads : Math.max(200, concurrency * 2);
+    }
+
+    private static String option(Map<String, String> options, String name, String defaultValue) {
+        String value = options.remove(name);
+        return value == null ? defaultValue : value;
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        return Integer.parseInt(option(options, name, String.valueOf(defaultValue)));
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] kv = part.split(":");
+            weights.put(Operation.valueOf(kv[0].trim().toUpperCase()), Integer.parseInt(kv[1].trim()));
+        }
+        return weights;
+    }
+}
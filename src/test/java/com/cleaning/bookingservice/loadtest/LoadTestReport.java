@@ -0,0 +1,133 @@
+package com.cleaning.bookingservice.loadtest;
+
+import com.cleaning.bookingservice.loadtest.LoadTestConfig.Operation;
+import com.cleaning.bookingservice.loadtest.LoadTestConfig.ThreadMode;
+import com.cleaning.bookingservice.loadtest.TrafficDriver.Samples;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Throughput, latency percentiles and status counts per operation, plus the double-booking
+ * check. Printed as a table and written as JSON so runs can be compared.
+ */
+class LoadTestReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, Object> report = new LinkedHashMap<>();
+
+    LoadTestReport(LoadTestConfig config,
+                   ThreadMode threads,
+                   FleetDataGenerator.Result data,
+                   Map<Operation, Samples> samples,
+                   long doubleBookings) {
+
+        report.put("config", config);
+        report.put("threads", threads.name().toLowerCase());
+        Map<String, Object> generated = new LinkedHashMap<>();
+        generated.put("vehicles", data.vehicles());
+        generated.put("cleaners", data.cleaners());
+        generated.put("bookings", data.bookings());
+        generated.put("blocks", data.blocks());
+        report.put("data", generated);
+
+        Map<String, Object> operations = new LinkedHashMap<>();
+        long total = 0;
+        for (Map.Entry<Operation, Samples> e : samples.entrySet()) {
+            Samples s = e.getValue();
+            long[] sorted = s.sortedLatencies();
+            total += s.count();
+
+            Map<String, Object> op = new LinkedHashMap<>();
+            op.put("requests", s.count());
+            op.put("throughputPerSecond", round((double) s.count() / config.durationSeconds()));
+            for (double p : PERCENTILES) {
+                op.put("p" + (p == Math.floor(p) ? String.valueOf((int) p) : String.valueOf(p)) + "Ms",
+                        millis(percentile(sorted, p)));
+            }
+            op.put("maxMs", millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+            op.put("statuses", s.statuses());
+            op.put("clientErrors", s.errors());
+            operations.put(e.getKey().name().toLowerCase(), op);
+        }
+        report.put("operations", operations);
+        report.put("throughputPerSecond", round((double) total / config.durationSeconds()));
+        report.put("doubleBookings", doubleBookings);
+    }
+
+    void print() {
+        Map<String, Map<String, Object>> operations = operations();
+
+        StringBuilder out = new StringBuilder("\n========= Load test (" + report.get("threads") + " threads) =========\n");
+        out.append("data: ").append(report.get("data")).append('\n');
+        out.append(String.format("%-13s %9s %9s %9s %9s %9s %9s %9s  %s%n",
+                "operation", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "statuses"));
+        operations.forEach((name, op) -> out.append(String.format("%-13s %9s %9s %9s %9s %9s %9s %9s  %s%s%n",
+                name, op.get("requests"), op.get("throughputPerSecond"),
+                op.get("p50Ms"), op.get("p90Ms"), op.get("p99Ms"), op.get("p99.9Ms"), op.get("maxMs"),
+                op.get("statuses"),
+                ((int) op.get("clientErrors")) > 0 ? " client errors=" + op.get("clientErrors") : "")));
+        out.append("total req/s: ").append(report.get("throughputPerSecond")).append('\n');
+        out.append("double bookings (overlapping BOOKED blocks per cleaner): ").append(report.get("doubleBookings"));
+        System.out.println(out);
+    }
+
+    /** Throughput and tail latency of each operation, one column pair per thread mode. */
+    static void printComparison(Map<ThreadMode, LoadTestReport> reports) {
+        StringBuilder out = new StringBuilder("\n========= Thread modes =========\n");
+        out.append(String.format("%-13s", "operation"));
+        reports.keySet().forEach(mode -> out.append(String.format(" %12s %12s %12s",
+                mode.name().toLowerCase() + " r/s", "p99 ms", "p99.9 ms")));
+        out.append('\n');
+
+        Set<String> names = new LinkedHashSet<>();
+        reports.values().forEach(r -> names.addAll(r.operations().keySet()));
+        for (String name : names) {
+            out.append(String.format("%-13s", name));
+            for (LoadTestReport r : reports.values()) {
+                Map<String, Object> op = r.operations().getOrDefault(name, Map.of());
+                out.append(String.format(" %12s %12s %12s", op.getOrDefault("throughputPerSecond", "-"),
+                        op.getOrDefault("p99Ms", "-"), op.getOrDefault("p99.9Ms", "-")));
+            }
+            out.append('\n');
+        }
+        out.append(String.format("%-13s", "total"));
+        reports.values().forEach(r -> out.append(String.format(" %12s %12s %12s",
+                r.report.get("throughputPerSecond"), "", "")));
+        System.out.println(out);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Map<String, Object>> operations() {
+        return (Map<String, Map<String, Object>>) report.get("operations");
+    }
+
+    void write(String path) throws IOException {
+        File file = new File(path);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file, report);
+        System.out.println("Report written to " + file.getAbsolutePath());
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
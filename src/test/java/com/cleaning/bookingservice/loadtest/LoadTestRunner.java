@@ -0,0 +1,103 @@
+package com.cleaning.bookingservice.loadtest;
+
+import com.cleaning.bookingservice.CleaningBookingServiceApplication;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.cleaning.bookingservice.loadtest.LoadTestConfig.ThreadMode;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * End-to-end load test that needs nothing but a JDK: migrates an in-memory H2 database (MySQL
+ * mode) with the production Flyway scripts, fills it with {@link FleetDataGenerator}, starts the
+ * service on it with the {@code embedded} profile and drives it over HTTP with {@link TrafficDriver}.
+ *
+ * <pre>
+ *   mvn -Ploadtest test-compile exec:exec@loadtest -Dloadtest.args="--concurrency=64"
+ * </pre>
+ *
+ * H2 is not InnoDB: absolute numbers say little about production, but contention effects
+ * (lock waits, races, double bookings, pool exhaustion) reproduce. {@code --threads=platform,virtual}
+ * runs the same traffic once per request-thread mode and prints both side by side; combine it
+ * with {@code --db-latency-ms} so requests actually wait on the database.
+ */
+public final class LoadTestRunner {
+
+    static final String JDBC_URL = "jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        // DevTools would relaunch main() in a restart class loader and generate the data twice
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        Map<ThreadMode, LoadTestReport> reports = new EnumMap<>(ThreadMode.class);
+        for (ThreadMode mode : config.threadModes()) {
+            LoadTestReport report = run(config, mode);
+            report.print();
+            report.write(config.threadModes().size() == 1 ? config.report() : reportPath(config.report(), mode));
+            reports.put(mode, report);
+        }
+        if (reports.size() > 1) {
+            LoadTestReport.printComparison(reports);
+        }
+    }
+
+    /** One run on freshly generated data (the same seed, so the same fleet and history each time). */
+    private static LoadTestReport run(LoadTestConfig config, ThreadMode mode) throws Exception {
+        LocalDate today = LocalDate.now();
+        String jdbcUrl = JDBC_URL.replace("mem:loadtest", "mem:loadtest_" + mode.name().toLowerCase());
+
+        DataSource dataSource = new DriverManagerDataSource(jdbcUrl, "sa", "");
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        long started = System.nanoTime();
+        FleetDataGenerator.Result data = new FleetDataGenerator(dataSource).generate(config, today);
+        System.out.printf("Generated %d vehicles, %d cleaners, %d bookings, %d blocks in %d ms%n",
+                data.vehicles(), data.cleaners(), data.bookings(), data.blocks(),
+                (System.nanoTime() - started) / 1_000_000);
+
+        SpringApplicationBuilder service = new SpringApplicationBuilder(CleaningBookingServiceApplication.class);
+        if (config.dbLatencyMillis() > 0) {
+            service.initializers(context -> context.getBeanFactory()
+                    .addBeanPostProcessor(new JdbcLatency(config.dbLatencyMillis())));
+        }
+        try (ConfigurableApplicationContext context = service.run(
+                "--spring.profiles.active=embedded",
+                "--server.port=0",
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.hikari.maximum-pool-size=" + config.poolSize(),
+                "--booking.fleet.preload-zones=" + String.join(",", config.zones()),
+                "--spring.threads.virtual.enabled=" + (mode == ThreadMode.VIRTUAL),
+                "--server.tomcat.threads.max=" + config.effectiveTomcatThreads())) {
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            System.out.printf("Driving %d clients for %ds (+%ds warm-up) against port %d, %s threads, mix %s%n",
+                    config.concurrency(), config.durationSeconds(), config.warmupSeconds(), port,
+                    mode.name().toLowerCase(), config.mix());
+
+            var samples = new TrafficDriver(config, port, data.upcomingBookingIds(), today).run();
+            long doubleBookings = FleetDataGenerator.doubleBookings(dataSource, today.atStartOfDay());
+
+            return new LoadTestReport(config, mode, data, samples, doubleBookings);
+        }
+    }
+
+    private static String reportPath(String path, ThreadMode mode) {
+        String suffix = "-" + mode.name().toLowerCase();
+        return path.endsWith(".json") ? path.substring(0, path.length() - 5) + suffix + ".json" : path + suffix;
+    }
+}
@@ -0,0 +1,220 @@
+package com.cleaning.bookingservice.loadtest;
+
+import com.cleaning.bookingservice.loadtest.LoadTestConfig.Operation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Closed-loop HTTP clients: {@code concurrency} threads each send one request at a time, picking
+ * availability / create / update by the configured mix, for the warm-up and then the measured
+ * period. Only responses received in the measured period are recorded.
+ */
+class TrafficDriver {
+
+    /** Latency samples (nanoseconds) and status counts of one operation. */
+    static final class Samples {
+        private long[] latencies = new long[1024];
+        private int size;
+        private final Map<Integer, Integer> statuses = new TreeMap<>();
+        private int errors;
+
+        void add(long nanos, int status) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = nanos;
+            statuses.merge(status, 1, Integer::sum);
+        }
+
+        void merge(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                if (size == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, size * 2);
+                }
+                latencies[size++] = other.latencies[i];
+            }
+            other.statuses.forEach((status, n) -> statuses.merge(status, n, Integer::sum));
+            errors += other.errors;
+        }
+
+        int count() {
+            return size;
+        }
+
+        int errors() {
+            return errors;
+        }
+
+        Map<Integer, Integer> statuses() {
+            return statuses;
+        }
+
+        long[] sortedLatencies() {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+
+    /** Booking ids that update traffic can move around; newest creates overwrite the oldest entries. */
+    private static final class BookingPool {
+        private final AtomicReferenceArray<Long> ids = new AtomicReferenceArray<>(4096);
+        private final AtomicLong added = new AtomicLong();
+
+        void add(long id) {
+            ids.set((int) (added.getAndIncrement() % ids.length()), id);
+        }
+
+        Long pick(Random random) {
+            long n = Math.min(added.get(), ids.length());
+            return n == 0 ? null : ids.get(random.nextInt((int) n));
+        }
+    }
+
+    private final LoadTestConfig config;
+    private final String baseUrl;
+    private final HttpClient http;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final BookingPool bookings = new BookingPool();
+    private final List<LocalDate> days;
+
+    TrafficDriver(LoadTestConfig config, int port, List<Long> upcomingBookingIds, LocalDate today) {
+        this.config = config;
+        this.baseUrl = "http://localhost:" + port;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        upcomingBookingIds.forEach(bookings::add);
+
+        List<LocalDate> bookable = new ArrayList<>();
+        for (int d = 0; d < config.futureDays(); d++) {
+            LocalDate day = today.plusDays(d);
+            if (day.getDayOfWeek() != DayOfWeek.FRIDAY) {
+                bookable.add(day);
+            }
+        }
+        this.days = bookable;
+    }
+
+    Map<Operation, Samples> run() throws InterruptedException {
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(config.warmupSeconds());
+        long stopAt = measureFrom + TimeUnit.SECONDS.toNanos(config.durationSeconds());
+
+        ExecutorService workers = Executors.newFixedThreadPool(config.concurrency());
+        List<Future<Map<Operation, Samples>>> results = new ArrayList<>();
+        for (int w = 0; w < config.concurrency(); w++) {
+            long seed = config.seed() * 31 + w;
+            results.add(workers.submit(() -> drive(new Random(seed), measureFrom, stopAt)));
+        }
+        workers.shutdown();
+
+        Map<Operation, Samples> merged = new EnumMap<>(Operation.class);
+        for (Future<Map<Operation, Samples>> result : results) {
+            try {
+                result.get().forEach((op, samples) -> merged.computeIfAbsent(op, o -> new Samples()).merge(samples));
+            } catch (ExecutionException ex) {
+                throw new IllegalStateException("Load-test worker failed", ex.getCause());
+            }
+        }
+        return merged;
+    }
+
+    private Map<Operation, Samples> drive(Random random, long measureFrom, long stopAt) {
+        Map<Operation, Samples> samples = new EnumMap<>(Operation.class);
+        int totalWeight = config.mix().values().stream().mapToInt(Integer::intValue).sum();
+
+        while (System.nanoTime() < stopAt) {
+            Operation op = pick(random, totalWeight);
+            HttpRequest request = request(op, random);
+            if (request == null) continue;
+
+            long started = System.nanoTime();
+            try {
+                HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                long finished = System.nanoTime();
+                if (op == Operation.CREATE && response.statusCode() == 200) {
+                    bookings.add(mapper.readTree(response.body()).path("bookingId").asLong());
+                }
+                if (started >= measureFrom && finished < stopAt) {
+                    samples.computeIfAbsent(op, o -> new Samples()).add(finished - started, response.statusCode());
+                }
+            } catch (Exception ex) {
+                if (started >= measureFrom) {
+                    samples.computeIfAbsent(op, o -> new Samples()).errors++;
+                }
+            }
+        }
+        return samples;
+    }
+
+    private Operation pick(Random random, int totalWeight) {
+        int r = random.nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> e : config.mix().entrySet()) {
+            r -= e.getValue();
+            if (r < 0) return e.getKey();
+        }
+        throw new IllegalStateException("empty traffic mix");
+    }
+
+    private HttpRequest request(Operation op, Random random) {
+        LocalDate day = days.get(random.nextInt(days.size()));
+        String zone = config.zones().get(random.nextInt(config.zones().size()));
+        int duration = random.nextBoolean() ? 2 : 4;
+        int cleaners = 1 + random.nextInt(3);
+        // half-hour starts that keep the job inside 08:00-22:00
+        int startSlot = random.nextInt((14 - duration) * 2 + 1);
+        String startTime = String.format("%02d:%02d", 8 + startSlot / 2, (startSlot % 2) * 30);
+
+        return switch (op) {
+            case AVAILABILITY -> {
+                Map<String, Object> body = new LinkedHashMap<>();
+                body.put("date", day.toString());
+                body.put("zone", zone);
+                if (random.nextBoolean()) {
+                    body.put("startTime", startTime);
+                    body.put("durationHours", duration);
+                    body.put("cleanerCount", cleaners);
+                }
+                yield json("POST", "/api/availability", body);
+            }
+            case CREATE -> json("POST", "/api/bookings", Map.of(
+                    "date", day.toString(),
+                    "startTime", startTime,
+                    "durationHours", duration,
+                    "requestedCleanerCount", cleaners,
+                    "zone", zone));
+            case UPDATE -> {
+                Long bookingId = bookings.pick(random);
+                yield bookingId == null ? null : json("PUT", "/api/bookings/" + bookingId, Map.of(
+                        "date", day.toString(),
+                        "startTime", startTime,
+                        "durationHours", duration,
+                        "cleanerCount", cleaners));
+            }
+        };
+    }
+
+    private HttpRequest json(String method, String path, Map<String, Object> body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body)))
+                    .build();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.cleaning.bookingservice.metrics;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * MockMvc matcher enforcing a per-request SQL statement budget, read from the
+ * {@link SqlStatementCountFilter#HEADER} header:
+ *
+ * <pre>
+ *   mockMvc.perform(post("/api/availability")...)
+ *          .andExpect(status().isOk())
+ *          .andExpect(SqlStatementBudget.atMost(3));
+ * </pre>
+ *
+ * Requires {@code booking.sql.statement-count.enabled=true} (set by the {@code embedded} profile).
+ */
+public final class SqlStatementBudget {
+
+    private SqlStatementBudget() {
+    }
+
+    public static ResultMatcher atMost(int budget) {
+        return result -> {
+            String header = result.getResponse().getHeader(SqlStatementCountFilter.HEADER);
+            assertNotNull(header, "No " + SqlStatementCountFilter.HEADER
+                    + " header; is booking.sql.statement-count.enabled set?");
+
+            int statements = Integer.parseInt(header);
+            if (statements > budget) {
+                fail(String.format("%s %s ran %d SQL statements, budget is %d",
+                        result.getRequest().getMethod(), result.getRequest().getRequestURI(), statements, budget));
+            }
+        };
+    }
+}
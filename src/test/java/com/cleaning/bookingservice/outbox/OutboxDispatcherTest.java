@@ -0,0 +1,121 @@
+package com.cleaning.bookingservice.outbox;
+
+import com.cleaning.bookingservice.dto.request.CreateBookingRequest;
+import com.cleaning.bookingservice.dto.request.UpdateBookingRequest;
+import com.cleaning.bookingservice.service.BookingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "booking.warmup.enabled=false",
+        "spring.flyway.locations=classpath:db/migration,classpath:db/dev-data",
+        "booking.outbox.dispatch.enabled=true",
+        "booking.outbox.poll-interval-ms=3600000",
+        "booking.outbox.retry-delay-ms=0"
+})
+@ActiveProfiles("embedded")
+@Import(OutboxDispatcherTest.Sinks.class)
+class OutboxDispatcherTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 17);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private OutboxDispatcher dispatcher;
+
+    @Autowired
+    private RecordingSink sink;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void failingBookingIsHeldBackWhileOthersFlowAndThenArrivesInOrder() {
+        Long a = bookingService.createBooking(create("10:00")).getBookingId();
+        Long b = bookingService.createBooking(create("10:00")).getBookingId();
+        UpdateBookingRequest move = new UpdateBookingRequest();
+        move.setDate(DAY.toString());
+        move.setStartTime("14:00");
+        move.setDurationHours(2);
+        move.setCleanerCount(2);
+        bookingService.updateBooking(a, move);
+
+        sink.failing.add(a);
+        dispatcher.dispatch();
+
+        assertEquals(List.of(), sink.eventsOf(a));
+        assertEquals(List.of(BookingCreated.class), sink.eventsOf(b));
+        assertEquals(2.0, registry.get("booking.outbox.pending").gauge().value());
+
+        sink.failing.clear();
+        dispatcher.dispatch();
+
+        assertEquals(List.of(BookingCreated.class, BookingUpdated.class), sink.eventsOf(a));
+        assertEquals(List.of(BookingCreated.class), sink.eventsOf(b));
+        assertEquals(0.0, registry.get("booking.outbox.pending").gauge().value());
+        assertEquals(0, dispatcher.dispatch());
+
+        BookingUpdated updated = (BookingUpdated) sink.received.stream()
+                .filter(m -> m.event() instanceof BookingUpdated u && u.bookingId().equals(a))
+                .findFirst().orElseThrow().event();
+        assertEquals(DAY.atTime(10, 0), updated.previousStart());
+        assertEquals(DAY.atTime(14, 0), updated.start());
+        assertEquals(2, updated.cleanerIds().size());
+    }
+
+    private static CreateBookingRequest create(String startTime) {
+        CreateBookingRequest request = new CreateBookingRequest();
+        request.setDate(DAY.toString());
+        request.setStartTime(startTime);
+        request.setDurationHours(2);
+        request.setRequestedCleanerCount(2);
+        request.setZone("DXB");
+        return request;
+    }
+
+    static class RecordingSink implements BookingEventSink {
+
+        final Set<Long> failing = new HashSet<>();
+        final List<OutboxMessage> received = new ArrayList<>();
+
+        @Override
+        public void publish(List<OutboxMessage> batch) {
+            for (OutboxMessage message : batch) {
+                if (failing.contains(message.event().bookingId())) {
+                    throw new IllegalStateException("Sink down for booking " + message.event().bookingId());
+                }
+            }
+            received.addAll(batch);
+        }
+
+        List<Class<?>> eventsOf(Long bookingId) {
+            return received.stream()
+                    .map(OutboxMessage::event)
+                    .filter(e -> e.bookingId().equals(bookingId))
+                    .<Class<?>>map(Object::getClass)
+                    .toList();
+        }
+    }
+
+    @TestConfiguration
+    static class Sinks {
+
+        @Bean
+        RecordingSink recordingSink() {
+            return new RecordingSink();
+        }
+    }
+}
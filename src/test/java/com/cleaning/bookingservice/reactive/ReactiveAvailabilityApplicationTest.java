@@ -0,0 +1,154 @@
+package com.cleaning.bookingservice.reactive;
+
+import com.cleaning.bookingservice.dto.request.AvailabilityRequest;
+import com.cleaning.bookingservice.dto.response.AvailabilityResponse.CleanerAvailability;
+import com.cleaning.bookingservice.dto.response.AvailabilityResponse.VehicleAvailability;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The reactive service against its own embedded database, migrated and seeded with the dev fleet
+ * here since the servlet application is what normally runs the migrations.
+ */
+@SpringBootTest(
+        classes = ReactiveAvailabilityApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.main.web-application-type=reactive",
+                "spring.r2dbc.url=r2dbc:h2:mem:///reactive;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+        })
+@ActiveProfiles("embedded")
+class ReactiveAvailabilityApplicationTest {
+
+    private static final String JDBC_URL = "jdbc:h2:mem:reactive;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final LocalDate TUESDAY = LocalDate.of(2031, 3, 11);
+
+    private static final JdbcTemplate jdbc;
+
+    static {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(JDBC_URL, "sa", "");
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:db/dev-data")
+                .load()
+                .migrate();
+        jdbc = new JdbcTemplate(dataSource);
+    }
+
+    @Autowired
+    private WebTestClient client;
+
+    @Test
+    void streamsEveryVehicleWithBookedAndSeriesTimeTakenOut() {
+        List<Long> vehicles = vehicleIds();
+        List<Long> first = cleanerIds(vehicles.get(0));
+        List<Long> second = cleanerIds(vehicles.get(1));
+
+        insertBlock(first.get(0), "10:00", "12:00", "BOOKED");
+        insertBlock(first.get(0), "12:00", "12:30", "BREAK");
+        // weekly since January, only materialized up to the week before
+        jdbc.update("""
+                INSERT INTO booking_series (zone, vehicle_id, first_date, last_date, start_time, duration_hours,
+                                            interval_weeks, materialized_until, created_at)
+                VALUES ('DXB', ?, ?, ?, '14:00:00', 2, 1, ?, CURRENT_TIMESTAMP)
+                """, vehicles.get(1), TUESDAY.minusWeeks(10), TUESDAY.plusWeeks(10), TUESDAY.minusWeeks(1));
+        Long seriesId = jdbc.queryForObject("SELECT MAX(id) FROM booking_series", Long.class);
+        for (Long cleanerId : second.subList(0, 3)) {
+            jdbc.update("INSERT INTO booking_series_cleaner (series_id, cleaner_id) VALUES (?, ?)", seriesId, cleanerId);
+        }
+
+        List<VehicleAvailability> all = stream(request(null, null, null));
+        assertEquals(vehicles, all.stream().map(VehicleAvailability::getVehicleId).toList());
+        assertEquals(List.of("08:00-10:00", "12:30-22:00"), slotsOf(all.get(0), first.get(0)));
+        assertEquals(List.of("08:00-22:00"), slotsOf(all.get(0), first.get(1)));
+        assertEquals(List.of("08:00-14:00", "16:30-22:00"), slotsOf(all.get(1), second.get(0)));
+        assertEquals(List.of("08:00-22:00"), slotsOf(all.get(1), second.get(3)));
+
+        // three cleaners at 14:00: the series leaves the second vehicle two
+        List<VehicleAvailability> afternoon = stream(request("14:00", 2, 3));
+        assertFalse(afternoon.stream().anyMatch(v -> v.getVehicleId().equals(vehicles.get(1))));
+        assertEquals(vehicles.size() - 1, afternoon.size());
+
+        List<VehicleAvailability> morning = stream(request("10:00", 2, 3));
+        assertEquals(first.size() - 1, morning.get(0).getCleaners().size());
+        assertEquals(vehicles.size(), morning.size());
+    }
+
+    @Test
+    void fridayIsEmptyAndABadCursorIsRejected() {
+        assertTrue(stream(request(TUESDAY.plusDays(3), null, null, null)).isEmpty());
+
+        AvailabilityRequest badCursor = request(null, null, null);
+        badCursor.setCursor("not-a-cursor");
+        client.post().uri("/api/availability/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(badCursor)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    private List<VehicleAvailability> stream(AvailabilityRequest request) {
+        return client.post().uri("/api/availability/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(VehicleAvailability.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+    }
+
+    private static List<String> slotsOf(VehicleAvailability vehicle, Long cleanerId) {
+        return vehicle.getCleaners().stream()
+                .filter(c -> c.getCleanerId().equals(cleanerId))
+                .map(CleanerAvailability::getAvailableSlots)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static List<Long> vehicleIds() {
+        return jdbc.queryForList("SELECT id FROM vehicle WHERE zone = 'DXB' ORDER BY id", Long.class);
+    }
+
+    private static List<Long> cleanerIds(Long vehicleId) {
+        return jdbc.queryForList("SELECT id FROM cleaner_professional WHERE vehicle_id = ? ORDER BY id",
+                Long.class, vehicleId);
+    }
+
+    private static void insertBlock(Long cleanerId, String start, String end, String type) {
+        jdbc.update("""
+                INSERT INTO availability_blocks (cleaner_id, start_datetime, end_datetime, block_type)
+                VALUES (?, ?, ?, ?)
+                """, cleanerId, TUESDAY.atTime(LocalTime.parse(start)),
+                TUESDAY.atTime(LocalTime.parse(end)), type);
+    }
+
+    private static AvailabilityRequest request(String startTime, Integer durationHours, Integer cleanerCount) {
+        return request(TUESDAY, startTime, durationHours, cleanerCount);
+    }
+
+    private static AvailabilityRequest request(LocalDate date, String startTime, Integer durationHours,
+                                               Integer cleanerCount) {
+        AvailabilityRequest request = new AvailabilityRequest();
+        request.setDate(date.toString());
+        request.setStartTime(startTime);
+        request.setDurationHours(durationHours);
+        request.setCleanerCount(cleanerCount);
+        request.setZone("DXB");
+        return request;
+    }
+}
@@ -0,0 +1,112 @@
+package com.cleaning.bookingservice.schedule;
+
+import com.cleaning.bookingservice.dto.response.AvailabilityResponse;
+import com.cleaning.bookingservice.exception.AvailabilityOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityCoalescerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final AvailabilityResultCache.Key key = new AvailabilityResultCache.Key(
+            ZoneDay.of("DXB", LocalDate.of(2025, 11, 16)), null, 0, "10:00|2|1");
+
+    private double calls(String role) {
+        return registry.get("availability.coalescing.calls").tag("role", role).counter().count();
+    }
+
+    @Test
+    void concurrentIdenticalRequestsShareOneComputation() throws Exception {
+        AvailabilityCoalescer coalescer = new AvailabilityCoalescer(registry, 100, 5000);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+        AvailabilityResultCache.Result expected = result();
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<AvailabilityResultCache.Result>> results = new ArrayList<>();
+            results.add(pool.submit(() -> coalescer.execute(key, () -> {
+                computations.incrementAndGet();
+                leaderStarted.countDown();
+                await(release);
+                return expected;
+            })));
+            leaderStarted.await();
+
+            for (int i = 0; i < 7; i++) {
+                results.add(pool.submit(() -> coalescer.execute(key, () -> {
+                    computations.incrementAndGet();
+                    return result();
+                })));
+            }
+            while (calls("follower") < 7) Thread.sleep(5);
+            release.countDown();
+
+            for (Future<AvailabilityResultCache.Result> f : results) {
+                assertSame(expected, f.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, computations.get());
+        assertEquals(1, calls("leader"));
+        assertEquals(7, calls("follower"));
+    }
+
+    @Test
+    void waitersBeyondBoundAreRejected() throws Exception {
+        AvailabilityCoalescer coalescer = new AvailabilityCoalescer(registry, 0, 5000);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread leader = new Thread(() -> coalescer.execute(key, () -> {
+            leaderStarted.countDown();
+            await(release);
+            return result();
+        }));
+        leader.start();
+        leaderStarted.await();
+
+        assertThrows(AvailabilityOverloadedException.class,
+                () -> coalescer.execute(key, AvailabilityCoalescerTest::result));
+
+        release.countDown();
+        leader.join();
+        assertEquals(1, calls("rejected"));
+    }
+
+    @Test
+    void failureIsPropagatedAndNextCallRecomputes() {
+        AvailabilityCoalescer coalescer = new AvailabilityCoalescer(registry, 10, 5000);
+
+        assertThrows(IllegalStateException.class, () -> coalescer.execute(key, () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        AvailabilityResultCache.Result ok = result();
+        assertSame(ok, coalescer.execute(key, () -> ok));
+    }
+
+    private static AvailabilityResultCache.Result result() {
+        return new AvailabilityResultCache.Result(new AvailabilityResponse(), "\"etag\"");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
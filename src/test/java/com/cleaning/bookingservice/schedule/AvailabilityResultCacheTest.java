@@ -0,0 +1,52 @@
+package com.cleaning.bookingservice.schedule;
+
+import com.cleaning.bookingservice.dto.response.AvailabilityResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityResultCacheTest {
+
+    private final AvailabilityResultCache.Key key = new AvailabilityResultCache.Key(
+            ZoneDay.of("DXB", LocalDate.of(2025, 11, 16)), null, 0, "10:00|2|1");
+
+    @Test
+    void entriesExpireAfterTheTtl() throws Exception {
+        AvailabilityResultCache cache = new AvailabilityResultCache(16, 50);
+        AvailabilityResultCache.Result result = AvailabilityResultCache.Result.of(response("08:00-22:00"));
+        cache.put(key, result);
+
+        assertSame(result, cache.get(key));
+        Thread.sleep(80);
+        assertNull(cache.get(key));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void etagDependsOnTheContentOnly() {
+        String free = AvailabilityResultCache.Result.of(response("08:00-22:00")).etag();
+
+        assertEquals(free, AvailabilityResultCache.Result.of(response("08:00-22:00")).etag());
+        assertNotEquals(free, AvailabilityResultCache.Result.of(response("08:00-10:00")).etag());
+        assertTrue(free.startsWith("\"") && free.endsWith("\""), free);
+    }
+
+    private static AvailabilityResponse response(String slot) {
+        AvailabilityResponse.CleanerAvailability cleaner = new AvailabilityResponse.CleanerAvailability();
+        cleaner.setCleanerId(10L);
+        cleaner.setName("Ayesha");
+        cleaner.setAvailableSlots(List.of(slot));
+        AvailabilityResponse.VehicleAvailability vehicle = new AvailabilityResponse.VehicleAvailability();
+        vehicle.setVehicleId(1L);
+        vehicle.setVehicleName("Car");
+        vehicle.setCleaners(List.of(cleaner));
+        AvailabilityResponse response = new AvailabilityResponse();
+        response.setDate("2025-11-16");
+        response.setAvailableVehicles(List.of(vehicle));
+        response.setCount(1);
+        return response;
+    }
+}
@@ -0,0 +1,100 @@
+package com.cleaning.bookingservice.schedule;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DefragSearchTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+    private static final long BUDGET = TimeUnit.SECONDS.toNanos(5);
+
+    @AfterAll
+    static void shutdown() {
+        POOL.shutdownNow();
+    }
+
+    private static DefragSearch search(Map<Long, List<Long>> vehicles, Map<Long, List<int[]>> fixed) {
+        return new DefragSearch(vehicles, fixed, 480, 1350, 150, 4, 2);
+    }
+
+    @Test
+    void movesABookingNextToAnotherToCloseTheGaps() {
+        // 08:00-10:00 on 1, 10:00-12:00 on 2, 12:30-14:30 on 1 (each plus a 30 minute break)
+        List<DefragSearch.Job> jobs = List.of(
+                new DefragSearch.Job(10L, 480, 630, List.of(1L)),
+                new DefragSearch.Job(11L, 600, 750, List.of(2L)),
+                new DefragSearch.Job(12L, 750, 900, List.of(1L)));
+
+        DefragSearch.Result result = search(Map.of(100L, List.of(1L, 2L)), Map.of()).run(jobs, POOL, BUDGET);
+
+        assertTrue(result.completed());
+        assertEquals(240, result.before().fragmentedMinutes());
+        assertEquals(120, result.after().fragmentedMinutes());
+        assertEquals(1, result.after().moved());
+        assertEquals(List.of(1L), result.teams().get(10L));
+        assertEquals(List.of(2L), result.teams().get(11L));
+        assertEquals(List.of(2L), result.teams().get(12L));
+    }
+
+    @Test
+    void keepsTheCurrentAssignmentWhenNothingIsBetter() {
+        List<DefragSearch.Job> jobs = List.of(
+                new DefragSearch.Job(10L, 480, 630, List.of(1L)),
+                new DefragSearch.Job(11L, 630, 780, List.of(1L)));
+
+        DefragSearch.Result result = search(Map.of(100L, List.of(1L, 2L)), Map.of()).run(jobs, POOL, BUDGET);
+
+        assertEquals(result.before(), result.after());
+        assertEquals(List.of(1L), result.teams().get(11L));
+    }
+
+    @Test
+    void teamsStayWithinOneVehicleAndAvoidFixedBlocks() {
+        // cleaner 2 is held 10:00-12:00 by something that cannot move
+        Map<Long, List<Long>> vehicles = new LinkedHashMap<>();
+        vehicles.put(100L, List.of(1L, 2L));
+        vehicles.put(200L, List.of(3L, 4L));
+        List<DefragSearch.Job> jobs = List.of(
+                new DefragSearch.Job(10L, 600, 750, List.of(3L, 4L)),
+                new DefragSearch.Job(11L, 750, 900, List.of(1L, 2L)));
+
+        DefragSearch.Result result = search(vehicles, Map.of(2L, List.<int[]>of(new int[]{600, 720})))
+                .run(jobs, POOL, BUDGET);
+
+        assertTrue(result.completed());
+        for (List<Long> team : result.teams().values()) {
+            assertTrue(vehicles.get(100L).containsAll(team) || vehicles.get(200L).containsAll(team), team.toString());
+        }
+        // two back-to-back bookings end up on the same pair
+        assertEquals(Set.copyOf(result.teams().get(10L)), Set.copyOf(result.teams().get(11L)));
+    }
+
+    @Test
+    void stopsAtTheBudgetWithAnAssignmentNoWorseThanTheCurrentOne() {
+        Map<Long, List<Long>> vehicles = new LinkedHashMap<>();
+        for (long v = 0; v < 5; v++) vehicles.put(v, List.of(v * 10 + 1, v * 10 + 2, v * 10 + 3, v * 10 + 4, v * 10 + 5));
+        List<Long> cleaners = vehicles.values().stream().flatMap(List::stream).toList();
+        Random random = new Random(3);
+        List<DefragSearch.Job> jobs = new ArrayList<>();
+        Map<Long, Integer> freeFrom = new HashMap<>();
+        for (long id = 0; id < 60; id++) {
+            Long cleaner = cleaners.get(random.nextInt(cleaners.size()));
+            int start = Math.max(freeFrom.getOrDefault(cleaner, 480), 480 + 30 * random.nextInt(20));
+            if (start + 150 > 1350) continue;
+            freeFrom.put(cleaner, start + 150);
+            jobs.add(new DefragSearch.Job(id, start, start + 150, List.of(cleaner)));
+        }
+
+        DefragSearch.Result result = search(vehicles, Map.of()).run(jobs, POOL, TimeUnit.MILLISECONDS.toNanos(200));
+
+        assertFalse(result.before().betterThan(result.after()));
+        assertEquals(jobs.size(), result.teams().size());
+        assertTrue(result.nodes() > 0);
+    }
+}
@@ -0,0 +1,129 @@
+package com.cleaning.bookingservice.schedule;
+
+import com.cleaning.bookingservice.dto.request.CreateBookingRequest;
+import com.cleaning.bookingservice.dto.request.UpdateBookingRequest;
+import com.cleaning.bookingservice.dto.response.BookingResponse;
+import com.cleaning.bookingservice.entity.AvailabilityBlock;
+import com.cleaning.bookingservice.fleet.FleetRegistry;
+import com.cleaning.bookingservice.fleet.ZoneFleet;
+import com.cleaning.bookingservice.repository.AvailabilityBlockRepository;
+import com.cleaning.bookingservice.repository.ScheduleEventRepository;
+import com.cleaning.bookingservice.service.BookingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "booking.warmup.enabled=false",
+        "spring.flyway.locations=classpath:db/migration,classpath:db/dev-data",
+        "booking.schedule.store=events",
+        "booking.schedule.events.compact-interval-ms=3600000"
+})
+@ActiveProfiles("embedded")
+class EventSourcedScheduleStoreTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 22);
+    private static final LocalDate NEXT_DAY = DAY.plusDays(1);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ScheduleStore scheduleStore;
+
+    @Autowired
+    private ScheduleEventLog eventLog;
+
+    @Autowired
+    private ScheduleEventRepository events;
+
+    @Autowired
+    private AvailabilityBlockRepository availabilityBlockRepository;
+
+    @Autowired
+    private ScheduleCache scheduleCache;
+
+    @Autowired
+    private FleetRegistry fleetRegistry;
+
+    @Test
+    void bookingsAreKeptInTheLogOnly() {
+        assertInstanceOf(EventSourcedScheduleStore.class, scheduleStore);
+        ZoneFleet fleet = fleetRegistry.zone("DXB");
+
+        BookingResponse booking = bookingService.createBooking(create());
+        Long cleanerId = booking.getAssignedCleanerIds().get(0);
+
+        assertTrue(availabilityBlockRepository.findBlocksBetween(DAY.atStartOfDay(), NEXT_DAY.plusDays(1).atStartOfDay()).isEmpty());
+        assertTrue(scheduleStore.hasOverlap(cleanerId, DAY.atTime(11, 0), DAY.atTime(11, 30)));
+        assertTrue(scheduleStore.exists(cleanerId, DAY.atTime(10, 0), DAY.atTime(12, 0)));
+        assertFalse(scheduleStore.hasOverlapExcludingBooking(cleanerId, booking.getBookingId(), DAY.atTime(10, 0), DAY.atTime(13, 0)));
+        assertTrue(scheduleCache.hasOverlap(fleet, cleanerId, DAY.atTime(10, 0), DAY.atTime(12, 0)));
+
+        // same day: one MOVE per block
+        bookingService.updateBooking(booking.getBookingId(), update(DAY, "15:00"));
+        assertEquals(List.of(DAY.atTime(15, 0), DAY.atTime(17, 0)), starts(cleanerId, DAY));
+        assertFalse(scheduleCache.hasOverlap(fleet, cleanerId, DAY.atTime(10, 0), DAY.atTime(12, 0)));
+
+        // next day: REMOVE here, ADD there
+        bookingService.updateBooking(booking.getBookingId(), update(NEXT_DAY, "09:00"));
+        assertEquals(List.of(), starts(cleanerId, DAY));
+        assertEquals(List.of(NEXT_DAY.atTime(9, 0), NEXT_DAY.atTime(11, 0)), starts(cleanerId, NEXT_DAY));
+        assertTrue(scheduleCache.hasOverlap(fleet, cleanerId, NEXT_DAY.atTime(9, 0), NEXT_DAY.atTime(10, 0)));
+    }
+
+    @Test
+    void compactionFoldsTheTailWithoutChangingTheDay() {
+        LocalDate day = DAY.plusDays(2);
+        CreateBookingRequest request = create();
+        request.setDate(day.toString());
+        BookingResponse booking = bookingService.createBooking(request);
+        bookingService.updateBooking(booking.getBookingId(), update(day, "13:00"));
+        Long cleanerId = booking.getAssignedCleanerIds().get(0);
+        List<AvailabilityBlock> before = scheduleStore.findBlocksBetween(List.of(cleanerId),
+                day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+
+        assertEquals(4, eventLog.compact(cleanerId, day));
+        assertTrue(events.findForCleanersBetween(List.of(cleanerId), day, day).isEmpty());
+        assertEquals(0, eventLog.compact(cleanerId, day));
+        assertEquals(starts(before), starts(cleanerId, day));
+
+        // appends continue after the folded seqs
+        bookingService.updateBooking(booking.getBookingId(), update(day, "16:00"));
+        assertEquals(List.of(day.atTime(16, 0), day.atTime(18, 0)), starts(cleanerId, day));
+    }
+
+    private List<LocalDateTime> starts(Long cleanerId, LocalDate day) {
+        return starts(scheduleStore.findBlocksBetween(List.of(cleanerId), day.atStartOfDay(), day.plusDays(1).atStartOfDay()));
+    }
+
+    private static List<LocalDateTime> starts(List<AvailabilityBlock> blocks) {
+        return blocks.stream().map(AvailabilityBlock::getStartDatetime).toList();
+    }
+
+    private static CreateBookingRequest create() {
+        CreateBookingRequest request = new CreateBookingRequest();
+        request.setDate(DAY.toString());
+        request.setStartTime("10:00");
+        request.setDurationHours(2);
+        request.setRequestedCleanerCount(2);
+        request.setZone("DXB");
+        return request;
+    }
+
+    private static UpdateBookingRequest update(LocalDate date, String startTime) {
+        UpdateBookingRequest request = new UpdateBookingRequest();
+        request.setDate(date.toString());
+        request.setStartTime(startTime);
+        request.setDurationHours(2);
+        request.setCleanerCount(2);
+        return request;
+    }
+}
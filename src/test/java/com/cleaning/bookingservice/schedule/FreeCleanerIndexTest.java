@@ -0,0 +1,75 @@
+package com.cleaning.bookingservice.schedule;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FreeCleanerIndexTest {
+
+    private static final long DAY = 20_000 * 86_400L;
+
+    private static CleanerTimeline.Block block(int startMinute, int endMinute, String type) {
+        return new CleanerTimeline.Block(DAY + startMinute * 60L, DAY + endMinute * 60L, type, null);
+    }
+
+    private static long free(FreeCleanerIndex index, int startMinute, int endMinute) {
+        return index.freeDuring(startMinute * 60L, endMinute * 60L);
+    }
+
+    @Test
+    void backToBackBlocksLeaveNoGapAndFreeBlocksDoNotCount() {
+        FreeCleanerIndex index = FreeCleanerIndex.build(DAY, List.of(
+                List.of(block(600, 720, "BOOKED"), block(720, 750, "BREAK")),
+                List.of(block(600, 900, "FREE")),
+                List.of()));
+
+        assertEquals(0b110, free(index, 719, 721));
+        assertEquals(0b110, free(index, 749, 750));
+        assertEquals(0b111, free(index, 750, 870));
+        assertEquals(0b111, free(index, 480, 600));
+        assertEquals(0b110, free(index, 480, 601));
+    }
+
+    @Test
+    void agreesWithTheTimelineOnRandomMinuteSchedules() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            int cleaners = 1 + random.nextInt(10);
+            List<List<CleanerTimeline.Block>> blocks = new ArrayList<>();
+            for (int c = 0; c < cleaners; c++) {
+                List<CleanerTimeline.Block> day = new ArrayList<>();
+                for (int b = random.nextInt(12); b > 0; b--) {
+                    int start = 480 + random.nextInt(840);
+                    day.add(block(start, start + 5 + random.nextInt(240), random.nextInt(4) == 0 ? "FREE" : "BOOKED"));
+                }
+                blocks.add(day);
+            }
+            FreeCleanerIndex index = FreeCleanerIndex.build(DAY, blocks);
+            List<CleanerTimeline> timelines = new ArrayList<>();
+            for (List<CleanerTimeline.Block> day : blocks) {
+                CleanerTimeline timeline = new CleanerTimeline();
+                day.forEach(timeline::add);
+                timelines.add(timeline);
+            }
+
+            for (int q = 0; q < 50; q++) {
+                int start = 420 + random.nextInt(900);
+                int end = start + 1 + random.nextInt(300);
+                long expected = 0;
+                for (int c = 0; c < cleaners; c++) {
+                    boolean busy = false;
+                    for (CleanerTimeline.Block b : blocks.get(c)) {
+                        busy |= b.busy() && b.start() < DAY + end * 60L && b.end() > DAY + start * 60L;
+                    }
+                    assertEquals(busy, timelines.get(c).overlaps(DAY + start * 60L, DAY + end * 60L));
+                    if (!busy) expected |= 1L << c;
+                }
+                assertEquals(expected, free(index, start, end), "round " + round + " [" + start + ", " + end + ")");
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.cleaning.bookingservice.schedule;
+
+import com.cleaning.bookingservice.entity.AvailabilityBlock;
+import com.cleaning.bookingservice.entity.CleanerProfessional;
+import com.cleaning.bookingservice.entity.Vehicle;
+import com.cleaning.bookingservice.fleet.ZoneFleet;
+import com.cleaning.bookingservice.repository.AvailabilityBlockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ScheduleCacheTest {
+
+    private AvailabilityBlockRepository repository;
+    private ScheduleVersions versions;
+    private ScheduleCache cache;
+    private ZoneFleet fleet;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(AvailabilityBlockRepository.class);
+        versions = new ScheduleVersions();
+        cache = new ScheduleCache(new RelationalScheduleStore(repository), versions, 60_000);
+
+        Vehicle v = new Vehicle();
+        v.setId(1L);
+        v.setZone("DXB");
+        CleanerProfessional c = new CleanerProfessional(10L, "Ayesha", v);
+        fleet = ZoneFleet.of("DXB", List.of(v), List.of(c));
+    }
+
+    private AvailabilityBlock block(LocalDateTime start, LocalDateTime end) {
+        return block(start, end, "BOOKED");
+    }
+
+    private AvailabilityBlock block(LocalDateTime start, LocalDateTime end, String type) {
+        AvailabilityBlock b = new AvailabilityBlock();
+        b.setCleanerId(10L);
+        b.setStartDatetime(start);
+        b.setEndDatetime(end);
+        b.setBlockType(type);
+        return b;
+    }
+
+    @Test
+    void preloadLoadsAllDaysWithOneQuery() {
+        LocalDate from = LocalDate.of(2025, 11, 16);
+        when(repository.findBlocksForCleanersBetween(List.of(10L), from.atStartOfDay(), from.plusDays(3).atStartOfDay()))
+                .thenReturn(List.of(
+                        block(from.atTime(10, 0), from.atTime(12, 0)),
+                        block(from.plusDays(2).atTime(9, 0), from.plusDays(2).atTime(11, 0))));
+
+        int rows = cache.preload(fleet, from, 3);
+
+        assertEquals(2, rows);
+        assertEquals(1, cache.day(fleet, from).blocksOf(10L).size());
+        assertTrue(cache.day(fleet, from.plusDays(1)).blocksOf(10L).isEmpty());
+        assertEquals(1, cache.day(fleet, from.plusDays(2)).blocksOf(10L).size());
+        verify(repository, times(1)).findBlocksForCleanersBetween(anyList(), any(), any());
+    }
+
+    @Test
+    void versionBumpForcesReloadOfThatDayOnly() {
+        LocalDate day = LocalDate.of(2025, 11, 16);
+        when(repository.findBlocksForCleanersBetween(anyList(), any(), any())).thenReturn(List.of());
+
+        cache.preload(fleet, day, 2);
+        versions.bumpAfterCommit("dxb", day);
+
+        cache.day(fleet, day);
+        cache.day(fleet, day.plusDays(1));
+
+        verify(repository).findBlocksForCleanersBetween(List.of(10L), day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+        verify(repository, times(2)).findBlocksForCleanersBetween(anyList(), any(), any());
+    }
+
+    @Test
+    void hasOverlapIsAnsweredFromTheLoadedDayAtMinuteGranularity() {
+        LocalDate day = LocalDate.of(2025, 11, 16);
+        when(repository.findBlocksForCleanersBetween(anyList(), any(), any()))
+                .thenReturn(List.of(block(day.atTime(10, 15), day.atTime(11, 40))));
+
+        assertTrue(cache.hasOverlap(fleet, 10L, day.atTime(11, 39), day.atTime(12, 0)));
+        assertTrue(cache.hasOverlap(fleet, 10L, day.atTime(9, 0), day.atTime(10, 16)));
+        assertFalse(cache.hasOverlap(fleet, 10L, day.atTime(11, 40), day.atTime(13, 0)));
+        assertFalse(cache.hasOverlap(fleet, 10L, day.atTime(8, 0), day.atTime(10, 15)));
+        assertFalse(cache.hasOverlap(fleet, 11L, day.atTime(10, 0), day.atTime(12, 0)));
+
+        verify(repository, times(1)).findBlocksForCleanersBetween(anyList(), any(), any());
+        verify(repository, never()).hasOverlap(any(), any(), any());
+    }
+
+    @Test
+    void committedWritesAreAppliedWithoutReloadingTheDay() {
+        LocalDate day = LocalDate.of(2025, 11, 16);
+        when(repository.findBlocksForCleanersBetween(anyList(), any(), any()))
+                .thenReturn(List.of(block(day.atTime(10, 0), day.atTime(12, 0))));
+        cache.preload(fleet, day, 1);
+        long before = versions.current(ZoneDay.of("DXB", day));
+
+        cache.applyAfterCommit("dxb",
+                List.of(block(day.atTime(10, 0), day.atTime(12, 0))),
+                List.of(block(day.atTime(14, 0), day.atTime(16, 0))));
+
+        assertEquals(before + 1, versions.current(ZoneDay.of("DXB", day)));
+        assertFalse(cache.hasOverlap(fleet, 10L, day.atTime(10, 0), day.atTime(12, 0)));
+        assertTrue(cache.hasOverlap(fleet, 10L, day.atTime(15, 0), day.atTime(17, 0)));
+
+        DaySchedule schedule = cache.day(fleet, day);
+        assertEquals(before + 1, schedule.getVersion());
+        assertEquals(day.atTime(14, 0), schedule.blocksOf(10L).get(0).getStartDatetime());
+        verify(repository, times(1)).findBlocksForCleanersBetween(anyList(), any(), any());
+    }
+
+    @Test
+    void refreshRereadsOnlyTheChangedCleanersOfALoadedDay() {
+        LocalDate day = LocalDate.of(2025, 11, 16);
+        when(repository.findBlocksForCleanersBetween(anyList(), any(), any())).thenReturn(List.of());
+        cache.preload(fleet, day, 1);
+        assertFalse(cache.hasOverlap(fleet, 10L, day.atTime(10, 0), day.atTime(12, 0)));
+
+        // another instance booked 10:00-12:00
+        when(repository.findBlocksForCleanersBetween(List.of(10L), day.atStartOfDay(), day.plusDays(1).atStartOfDay()))
+                .thenReturn(List.of(block(day.atTime(10, 0), day.atTime(12, 0))));
+        cache.refresh(ZoneDay.of("dxb", day), List.of(10L));
+
+        assertEquals(1, versions.current(ZoneDay.of("DXB", day)));
+        assertTrue(cache.hasOverlap(fleet, 10L, day.atTime(11, 0), day.atTime(13, 0)));
+        assertEquals(List.of(fleet.cleanersOf(1L).get(0)),
+                cache.freeCleaners(fleet, 1L, day.atTime(13, 0), day.atTime(15, 0)));
+        verify(repository, times(2)).findBlocksForCleanersBetween(anyList(), any(), any());
+    }
+
+    @Test
+    void refreshOfAnUnloadedDayOnlyBumpsItsVersion() {
+        LocalDate day = LocalDate.of(2025, 11, 16);
+
+        cache.refresh(ZoneDay.of("DXB", day), List.of(10L));
+
+        assertEquals(1, versions.current(ZoneDay.of("DXB", day)));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void writeToAnUnloadedDayOnlyBumpsItsVersion() {
+        LocalDate day = LocalDate.of(2025, 11, 16);
+        when(repository.findBlocksForCleanersBetween(anyList(), any(), any())).thenReturn(List.of());
+
+        cache.applyAfterCommit("DXB", List.of(), List.of(block(day.atTime(10, 0), day.atTime(12, 0))));
+
+        assertEquals(1, versions.current(ZoneDay.of("DXB", day)));
+        assertEquals(0, cache.size());
+        // loads the day (empty per the stub) rather than trusting a half-known timeline
+        assertFalse(cache.hasOverlap(fleet, 10L, day.atTime(10, 0), day.atTime(12, 0)));
+        verify(repository, times(1)).findBlocksForCleanersBetween(anyList(), any(), any());
+    }
+
+    @Test
+    void freeCleanersFollowCommittedWritesWithoutReloading() {
+        LocalDate day = LocalDate.of(2025, 11, 16);
+        when(repository.findBlocksForCleanersBetween(anyList(), any(), any())).thenReturn(List.of());
+        CleanerProfessional cleaner = fleet.cleanersOf(1L).get(0);
+
+        assertEquals(List.of(cleaner), cache.freeCleaners(fleet, 1L, day.atTime(10, 0), day.atTime(12, 0)));
+
+        cache.applyAfterCommit("DXB", List.of(), List.of(block(day.atTime(11, 0), day.atTime(13, 0))));
+
+        assertTrue(cache.freeCleaners(fleet, 1L, day.atTime(10, 0), day.atTime(12, 0)).isEmpty());
+        assertEquals(List.of(cleaner), cache.freeCleaners(fleet, 1L, day.atTime(13, 0), day.atTime(15, 0)));
+        verify(repository, times(1)).findBlocksForCleanersBetween(anyList(), any(), any());
+    }
+
+    @Test
+    void freeBlocksNeitherOverlapNorTakeTheCleaner() {
+        LocalDate day = LocalDate.of(2025, 11, 16);
+        when(repository.findBlocksForCleanersBetween(anyList(), any(), any()))
+                .thenReturn(List.of(block(day.atTime(8, 0), day.atTime(18, 0), "FREE"),
+                        block(day.atTime(14, 0), day.atTime(16, 0))));
+        CleanerProfessional cleaner = fleet.cleanersOf(1L).get(0);
+
+        assertFalse(cache.hasOverlap(fleet, 10L, day.atTime(10, 0), day.atTime(12, 0)));
+        assertEquals(List.of(cleaner), cache.freeCleaners(fleet, 1L, day.atTime(10, 0), day.atTime(12, 0)));
+        assertTrue(cache.hasOverlap(fleet, 10L, day.atTime(13, 0), day.atTime(15, 0)));
+        assertTrue(cache.freeCleaners(fleet, 1L, day.atTime(13, 0), day.atTime(15, 0)).isEmpty());
+    }
+
+    @Test
+    void cleanerSubsetIsReadNarrowlyUntilTheDayIsLoaded() {
+        LocalDate day = LocalDate.of(2025, 11, 16);
+        when(repository.findBlocksForCleanersBetween(anyList(), any(), any()))
+                .thenReturn(List.of(block(day.atTime(10, 0), day.atTime(12, 0))));
+
+        assertEquals(1, cache.day(fleet, day, List.of(10L)).blocksOf(10L).size());
+        assertEquals(0, cache.size());
+
+        cache.preload(fleet, day, 1);
+        assertEquals(1, cache.day(fleet, day, List.of(10L)).blocksOf(10L).size());
+        assertTrue(cache.day(fleet, day, List.of()).getBlocksByCleaner().isEmpty());
+
+        verify(repository, times(2)).findBlocksForCleanersBetween(anyList(), any(), any());
+    }
+}
@@ -0,0 +1,116 @@
+package com.cleaning.bookingservice.schedule;
+
+import com.cleaning.bookingservice.CleaningBookingServiceApplication;
+import com.cleaning.bookingservice.dto.request.CreateBookingRequest;
+import com.cleaning.bookingservice.dto.request.UpdateBookingRequest;
+import com.cleaning.bookingservice.dto.response.BookingResponse;
+import com.cleaning.bookingservice.fleet.FleetRegistry;
+import com.cleaning.bookingservice.fleet.ZoneFleet;
+import com.cleaning.bookingservice.service.BookingService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two instances against one embedded database: this test's context ("a") and a second
+ * application context ("b") started beside it. Polling is driven by hand.
+ */
+@SpringBootTest(properties = {
+        "booking.warmup.enabled=false",
+        "spring.flyway.locations=classpath:db/migration,classpath:db/dev-data",
+        "booking.instance-id=a",
+        "booking.schedule.change-log.poll-interval-ms=3600000"
+})
+@ActiveProfiles("embedded")
+class ScheduleChangeLogTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 16);
+
+    private static ConfigurableApplicationContext other;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ScheduleChangeLog changeLog;
+
+    @Autowired
+    private ScheduleCache scheduleCache;
+
+    @Autowired
+    private FleetRegistry fleetRegistry;
+
+    @BeforeAll
+    static void startSecondInstance() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        other = new SpringApplicationBuilder(CleaningBookingServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=embedded",
+                        "--booking.warmup.enabled=false",
+                        "--spring.flyway.locations=classpath:db/migration,classpath:db/dev-data",
+                        "--booking.instance-id=b",
+                        "--booking.schedule.change-log.poll-interval-ms=3600000");
+    }
+
+    @AfterAll
+    static void stopSecondInstance() {
+        other.close();
+    }
+
+    @Test
+    void writesOnOneInstanceReachTheOtherOnItsNextPoll() {
+        ScheduleCache otherCache = other.getBean(ScheduleCache.class);
+        ScheduleChangeLog otherLog = other.getBean(ScheduleChangeLog.class);
+        ZoneFleet otherFleet = other.getBean(FleetRegistry.class).zone("DXB");
+        ZoneFleet fleet = fleetRegistry.zone("DXB");
+        changeLog.poll();
+        otherLog.poll();
+
+        // b has the day in memory before a books on it
+        otherCache.preload(otherFleet, DAY, 1);
+        scheduleCache.preload(fleet, DAY, 1);
+        BookingResponse booking = bookingService.createBooking(create());
+        Long cleanerId = booking.getAssignedCleanerIds().get(0);
+        assertFalse(otherCache.hasOverlap(otherFleet, cleanerId, DAY.atTime(10, 0), DAY.atTime(12, 0)));
+
+        assertEquals(0, changeLog.poll());
+        assertEquals(2, otherLog.poll());
+        assertTrue(otherCache.hasOverlap(otherFleet, cleanerId, DAY.atTime(10, 0), DAY.atTime(12, 0)));
+        assertEquals(0, otherLog.poll());
+
+        // and back: b moves the booking, a follows
+        UpdateBookingRequest move = new UpdateBookingRequest();
+        move.setDate(DAY.toString());
+        move.setStartTime("15:00");
+        move.setDurationHours(2);
+        move.setCleanerCount(2);
+        other.getBean(BookingService.class).updateBooking(booking.getBookingId(), move);
+        assertTrue(scheduleCache.hasOverlap(fleet, cleanerId, DAY.atTime(10, 0), DAY.atTime(12, 0)));
+
+        assertEquals(2, changeLog.poll());
+        assertFalse(scheduleCache.hasOverlap(fleet, cleanerId, DAY.atTime(10, 0), DAY.atTime(12, 0)));
+        assertTrue(scheduleCache.hasOverlap(fleet, cleanerId, DAY.atTime(16, 0), DAY.atTime(17, 0)));
+        assertEquals(0, scheduleCache.freeCleaners(fleet, booking.getAssignedVehicleId(),
+                DAY.atTime(15, 0), DAY.atTime(17, 0)).stream().filter(c -> c.getId().equals(cleanerId)).count());
+    }
+
+    private static CreateBookingRequest create() {
+        CreateBookingRequest request = new CreateBookingRequest();
+        request.setDate(DAY.toString());
+        request.setStartTime("10:00");
+        request.setDurationHours(2);
+        request.setRequestedCleanerCount(2);
+        request.setZone("DXB");
+        return request;
+    }
+}
@@ -0,0 +1,87 @@
+package com.cleaning.bookingservice.schedule;
+
+import com.cleaning.bookingservice.constants.BookingServiceConstants.BookingBlockType;
+import com.cleaning.bookingservice.dto.request.CreateBookingRequest;
+import com.cleaning.bookingservice.dto.request.UpdateBookingRequest;
+import com.cleaning.bookingservice.dto.response.BookingResponse;
+import com.cleaning.bookingservice.entity.AvailabilityBlock;
+import com.cleaning.bookingservice.repository.AvailabilityBlockRepository;
+import com.cleaning.bookingservice.service.BookingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Relational store with the event log written alongside (shadow mode). */
+@SpringBootTest(properties = {
+        "booking.warmup.enabled=false",
+        "spring.flyway.locations=classpath:db/migration,classpath:db/dev-data",
+        "booking.schedule.events.shadow=true",
+        "booking.schedule.events.check-interval-ms=3600000",
+        "booking.schedule.events.compact-interval-ms=3600000"
+})
+@ActiveProfiles("embedded")
+class ScheduleConsistencyCheckerTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 28);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ScheduleConsistencyChecker checker;
+
+    @Autowired
+    private ScheduleEventLog eventLog;
+
+    @Autowired
+    private AvailabilityBlockRepository availabilityBlockRepository;
+
+    @Test
+    void shadowWritesKeepTheLogInStepWithTheTable() {
+        CreateBookingRequest create = new CreateBookingRequest();
+        create.setDate(DAY.toString());
+        create.setStartTime("10:00");
+        create.setDurationHours(2);
+        create.setRequestedCleanerCount(3);
+        create.setZone("DXB");
+        BookingResponse booking = bookingService.createBooking(create);
+
+        UpdateBookingRequest move = new UpdateBookingRequest();
+        move.setDate(DAY.plusDays(1).toString());
+        move.setStartTime("14:00");
+        move.setDurationHours(4);
+        move.setCleanerCount(3);
+        bookingService.updateBooking(booking.getBookingId(), move);
+        eventLog.compact(booking.getAssignedCleanerIds().get(0), DAY.plusDays(1));
+
+        ScheduleConsistencyChecker.Report report = checker.check(DAY, DAY.plusDays(1));
+        assertTrue(report.consistent(), () -> report.mismatches().toString());
+        // the first day is empty again on both sides
+        assertEquals(3, report.cleanerDays());
+    }
+
+    @Test
+    void blocksWrittenBeforeTheLogShowUpUntilBackfilled() {
+        LocalDate day = DAY.plusDays(3);
+        AvailabilityBlock legacy = new AvailabilityBlock();
+        legacy.setCleanerId(1L);
+        legacy.setStartDatetime(day.atTime(8, 0));
+        legacy.setEndDatetime(day.atTime(9, 0));
+        legacy.setBlockType(BookingBlockType.BOOKED.name());
+        availabilityBlockRepository.save(legacy);
+
+        ScheduleConsistencyChecker.Report before = checker.check(day, day);
+        assertEquals(1, before.mismatches().size());
+        assertEquals(1, before.mismatches().get(0).onlyInTable().size());
+        assertTrue(before.mismatches().get(0).onlyInLog().isEmpty());
+
+        assertEquals(1, checker.backfill(day, day));
+        assertEquals(0, checker.backfill(day, day));
+        assertTrue(checker.check(day, day).consistent());
+    }
+}
@@ -0,0 +1,108 @@
+package com.cleaning.bookingservice.schedule;
+
+import com.cleaning.bookingservice.entity.ScheduleEvent;
+import com.cleaning.bookingservice.entity.ScheduleSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleEventLogTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 21);
+    private static final ScheduleEventLog.CleanerDay CLEANER_DAY = new ScheduleEventLog.CleanerDay(10L, DAY);
+
+    private int seq;
+
+    private ScheduleEvent event(ScheduleEvent.Type type, String blockType, int startHour, int endHour) {
+        ScheduleEvent e = new ScheduleEvent();
+        e.setCleanerId(10L);
+        e.setScheduleDate(DAY);
+        e.setSeq(++seq);
+        e.setEventType(type);
+        e.setBlockType(blockType);
+        e.setBookingId(7L);
+        e.setStartDatetime(DAY.atTime(startHour, 0));
+        e.setEndDatetime(DAY.atTime(endHour, 0));
+        return e;
+    }
+
+    private ScheduleEvent move(int fromStart, int fromEnd, int toStart, int toEnd) {
+        ScheduleEvent e = event(ScheduleEvent.Type.MOVE, "BOOKED", toStart, toEnd);
+        e.setFromStart(DAY.atTime(fromStart, 0));
+        e.setFromEnd(DAY.atTime(fromEnd, 0));
+        return e;
+    }
+
+    private static List<LocalDateTime> starts(CleanerTimeline timeline) {
+        return timeline.all().stream().map(b -> b.toEntity(10L).getStartDatetime()).toList();
+    }
+
+    @Test
+    void replaysAddMoveAndRemoveInSeqOrder() {
+        List<ScheduleEvent> tail = List.of(
+                event(ScheduleEvent.Type.ADD, "BOOKED", 10, 12),
+                event(ScheduleEvent.Type.ADD, "BREAK", 12, 13),
+                move(10, 12, 14, 16),
+                event(ScheduleEvent.Type.REMOVE, "BREAK", 12, 13));
+
+        CleanerTimeline timeline = ScheduleEventLog.replay(List.of(), tail).get(CLEANER_DAY);
+
+        assertEquals(List.of(DAY.atTime(14, 0)), starts(timeline));
+    }
+
+    @Test
+    void moveOfAMissingBlockChangesNothingLikeTheUpdateQuery() {
+        List<ScheduleEvent> tail = List.of(
+                event(ScheduleEvent.Type.ADD, "BOOKED", 10, 12),
+                move(9, 11, 14, 16));
+
+        CleanerTimeline timeline = ScheduleEventLog.replay(List.of(), tail).get(CLEANER_DAY);
+
+        assertEquals(List.of(DAY.atTime(10, 0)), starts(timeline));
+    }
+
+    @Test
+    void snapshotPlusTailEqualsFullReplayAndSkipsFoldedEvents() {
+        List<ScheduleEvent> all = new ArrayList<>();
+        all.add(event(ScheduleEvent.Type.ADD, "BOOKED", 8, 10));
+        all.add(event(ScheduleEvent.Type.ADD, "BREAK", 10, 11));
+        all.add(move(8, 10, 11, 13));
+        all.add(event(ScheduleEvent.Type.ADD, "BOOKED", 15, 17));
+        all.add(event(ScheduleEvent.Type.REMOVE, "BOOKED", 15, 17));
+        all.add(event(ScheduleEvent.Type.ADD, "BOOKED", 18, 20));
+        CleanerTimeline full = ScheduleEventLog.replay(List.of(), all).get(CLEANER_DAY);
+
+        // folded up to seq 3; the tail read still holds events 2 and 3 (compaction raced the read)
+        CleanerTimeline folded = ScheduleEventLog.replay(List.of(), all.subList(0, 3)).get(CLEANER_DAY);
+        ScheduleSnapshot snapshot = new ScheduleSnapshot();
+        snapshot.setCleanerId(10L);
+        snapshot.setScheduleDate(DAY);
+        snapshot.setLastSeq(3);
+        snapshot.setBlocks(ScheduleEventLog.encode(folded.all()));
+
+        Map<ScheduleEventLog.CleanerDay, CleanerTimeline> rebuilt =
+                ScheduleEventLog.replay(List.of(snapshot), all.subList(1, all.size()));
+
+        assertEquals(List.copyOf(full.all()), List.copyOf(rebuilt.get(CLEANER_DAY).all()));
+        assertEquals(List.of(DAY.atTime(10, 0), DAY.atTime(11, 0), DAY.atTime(18, 0)), starts(full));
+    }
+
+    @Test
+    void encodeRoundTripsBlocksWithAndWithoutBooking() {
+        CleanerTimeline timeline = new CleanerTimeline();
+        timeline.add(new CleanerTimeline.Block(1_000, 2_000, "BOOKED", 42L));
+        timeline.add(new CleanerTimeline.Block(2_000, 2_500, "FREE", null));
+
+        String encoded = ScheduleEventLog.encode(timeline.all());
+
+        assertEquals("BOOKED,1000,2000,42;FREE,2000,2500,", encoded);
+        assertEquals(List.copyOf(timeline.all()), List.copyOf(ScheduleEventLog.decode(encoded).all()));
+        assertTrue(ScheduleEventLog.decode("").isEmpty());
+    }
+}
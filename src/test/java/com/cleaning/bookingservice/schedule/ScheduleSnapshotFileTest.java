@@ -0,0 +1,130 @@
+package com.cleaning.bookingservice.schedule;
+
+import com.cleaning.bookingservice.constants.BookingServiceConstants.BookingBlockType;
+import com.cleaning.bookingservice.dto.request.CreateBookingRequest;
+import com.cleaning.bookingservice.dto.request.UpdateBookingRequest;
+import com.cleaning.bookingservice.dto.response.BookingResponse;
+import com.cleaning.bookingservice.entity.AvailabilityBlock;
+import com.cleaning.bookingservice.fleet.FleetRegistry;
+import com.cleaning.bookingservice.fleet.ZoneFleet;
+import com.cleaning.bookingservice.repository.AvailabilityBlockRepository;
+import com.cleaning.bookingservice.repository.ScheduleChangeRepository;
+import com.cleaning.bookingservice.service.BookingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** A "restarted" instance is a fresh cache and snapshot file reading what this context wrote. */
+@SpringBootTest(properties = {
+        "booking.warmup.enabled=false",
+        "spring.flyway.locations=classpath:db/migration,classpath:db/dev-data",
+        "booking.schedule.snapshot.interval-ms=3600000",
+        "booking.schedule.snapshot.path=target/schedule-snapshot-test/schedule.snap"
+})
+@ActiveProfiles("embedded")
+class ScheduleSnapshotFileTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 2, 4);
+
+    // outside a @TempDir: the context writes once more when it closes, after the test class
+    private static final Path FILE = Path.of("target", "schedule-snapshot-test", "schedule.snap");
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ScheduleCache scheduleCache;
+
+    @Autowired
+    private ScheduleSnapshotFile snapshotFile;
+
+    @Autowired
+    private ScheduleStore scheduleStore;
+
+    @Autowired
+    private ScheduleChangeLog changeLog;
+
+    @Autowired
+    private ScheduleChangeRepository changes;
+
+    @Autowired
+    private AvailabilityBlockRepository availabilityBlockRepository;
+
+    @Autowired
+    private FleetRegistry fleetRegistry;
+
+    @Test
+    void restartRestoresTheSavedDaysAndReplaysOnlyNewerChanges() {
+        ZoneFleet fleet = fleetRegistry.zone("DXB");
+        scheduleCache.preload(fleet, DAY, 2);
+        BookingResponse booking = bookingService.createBooking(create());
+        Long cleanerId = booking.getAssignedCleanerIds().get(0);
+
+        assertTrue(snapshotFile.write() >= 2);
+
+        // after the snapshot: a booking write (logged) and a stray row (not logged)
+        bookingService.updateBooking(booking.getBookingId(), moveTo("15:00"));
+        AvailabilityBlock stray = new AvailabilityBlock();
+        stray.setCleanerId(cleanerId);
+        stray.setStartDatetime(DAY.plusDays(1).atTime(8, 0));
+        stray.setEndDatetime(DAY.plusDays(1).atTime(9, 0));
+        stray.setBlockType(BookingBlockType.BOOKED.name());
+        availabilityBlockRepository.save(stray);
+
+        ScheduleCache restarted = new ScheduleCache(scheduleStore, new ScheduleVersions(), 60_000);
+        Set<ZoneDay> restored = restartedFile(restarted).restore(List.of(fleet));
+
+        assertTrue(restored.containsAll(List.of(new ZoneDay("DXB", DAY), new ZoneDay("DXB", DAY.plusDays(1)))));
+        assertFalse(restarted.hasOverlap(fleet, cleanerId, DAY.atTime(10, 0), DAY.atTime(12, 0)));
+        assertTrue(restarted.hasOverlap(fleet, cleanerId, DAY.atTime(15, 0), DAY.atTime(17, 30)));
+        // served from the file: the unlogged row is not there
+        assertFalse(restarted.hasOverlap(fleet, cleanerId, DAY.plusDays(1).atTime(8, 0), DAY.plusDays(1).atTime(9, 0)));
+        assertEquals(restored.size(), restarted.size());
+    }
+
+    @Test
+    void aDamagedFileRestoresNothing() throws Exception {
+        scheduleCache.preload(fleetRegistry.zone("DXB"), DAY.plusDays(3), 1);
+        assertTrue(snapshotFile.write() >= 1);
+        byte[] bytes = Files.readAllBytes(FILE);
+        bytes[bytes.length / 2] ^= 0x55;
+        Files.write(FILE, bytes);
+
+        ScheduleCache restarted = new ScheduleCache(scheduleStore, new ScheduleVersions(), 60_000);
+        assertTrue(restartedFile(restarted).restore(List.of(fleetRegistry.zone("DXB"))).isEmpty());
+        assertEquals(0, restarted.size());
+    }
+
+    private ScheduleSnapshotFile restartedFile(ScheduleCache cache) {
+        return new ScheduleSnapshotFile(cache, changeLog, changes,
+                FILE.toString(), true, 5_000, 24);
+    }
+
+    private static CreateBookingRequest create() {
+        CreateBookingRequest request = new CreateBookingRequest();
+        request.setDate(DAY.toString());
+        request.setStartTime("10:00");
+        request.setDurationHours(2);
+        request.setRequestedCleanerCount(1);
+        request.setZone("DXB");
+        return request;
+    }
+
+    private static UpdateBookingRequest moveTo(String startTime) {
+        UpdateBookingRequest request = new UpdateBookingRequest();
+        request.setDate(DAY.toString());
+        request.setStartTime(startTime);
+        request.setDurationHours(2);
+        request.setCleanerCount(1);
+        return request;
+    }
+}
@@ -5,15 +5,23 @@ import com.cleaning.bookingservice.dto.response.AvailabilityResponse;
 import com.cleaning.bookingservice.entity.AvailabilityBlock;
 import com.cleaning.bookingservice.entity.CleanerProfessional;
 import com.cleaning.bookingservice.entity.Vehicle;
-import com.cleaning.bookingservice.repository.AvailabilityBlockRepository;
-import com.cleaning.bookingservice.repository.CleanerRepository;
-import com.cleaning.bookingservice.repository.VehicleRepository;
+import com.cleaning.bookingservice.fleet.FleetRegistry;
+import com.cleaning.bookingservice.fleet.ZoneFleet;
+import com.cleaning.bookingservice.metrics.BookingMetrics;
+import com.cleaning.bookingservice.schedule.AvailabilityCoalescer;
+import com.cleaning.bookingservice.schedule.AvailabilityResultCache;
+import com.cleaning.bookingservice.schedule.DaySchedule;
+import com.cleaning.bookingservice.schedule.ScheduleCache;
+import com.cleaning.bookingservice.schedule.ScheduleVersions;
+import com.cleaning.bookingservice.schedule.ZoneDay;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 import java.sql.Timestamp;
 import java.time.LocalDate;
@@ -25,13 +33,22 @@ import static org.junit.jupiter.api.Assertions.*;
 public class AvailabilityServiceImplTest {
 
     @Mock
-    private CleanerRepository cleanerRepository;
+    private FleetRegistry fleetRegistry;
 
     @Mock
-    private VehicleRepository vehicleRepository;
+    private ScheduleCache scheduleCache;
 
-    @Mock
-    private AvailabilityBlockRepository availabilityBlockRepository;
+    @Spy
+    private ScheduleVersions scheduleVersions = new ScheduleVersions();
+
+    @Spy
+    private AvailabilityResultCache resultCache = new AvailabilityResultCache(16, 60_000);
+
+    @Spy
+    private AvailabilityCoalescer coalescer = new AvailabilityCoalescer(new SimpleMeterRegistry(), 10, 1000);
+
+    @Spy
+    private BookingMetrics bookingMetrics = new BookingMetrics(new SimpleMeterRegistry());
 
     @InjectMocks
     private AvailabilityServiceImpl service;
@@ -50,11 +67,10 @@ public class AvailabilityServiceImplTest {
         CleanerProfessional c = new CleanerProfessional();
         c.setId(10L);
         c.setName("Ayesha");
+        c.setVehicle(v);
 
-        when(vehicleRepository.findAll()).thenReturn(List.of(v));
-        when(cleanerRepository.findByVehicle_Id(1L)).thenReturn(List.of(c));
-        when(availabilityBlockRepository.findBlocksForCleaner(anyLong(), any()))
-                .thenReturn(Collections.emptyList());
+        when(fleetRegistry.zone(null)).thenReturn(ZoneFleet.of("DXB", List.of(v), List.of(c)));
+        when(scheduleCache.day(any(), any())).thenReturn(DaySchedule.of(Collections.emptyList()));
 
         AvailabilityRequest req = new AvailabilityRequest();
         req.setDate("2025-11-16");
@@ -65,6 +81,160 @@ public class AvailabilityServiceImplTest {
         assertEquals("Car", res.getAvailableVehicles().get(0).getVehicleName());
     }
 
+    @Test
+    void testCheckAvailability_OnlySearchesRequestedZone() {
+        Vehicle auh = new Vehicle();
+        auh.setId(7L);
+        auh.setName("AUH-Vehicle-201");
+        auh.setZone("AUH");
+
+        CleanerProfessional c = new CleanerProfessional();
+        c.setId(70L);
+        c.setName("Omar");
+        c.setVehicle(auh);
+
+        ZoneFleet auhFleet = ZoneFleet.of("AUH", List.of(auh), List.of(c));
+        when(fleetRegistry.zone("AUH")).thenReturn(auhFleet);
+        when(scheduleCache.day(auhFleet, LocalDate.parse("2025-11-16")))
+                .thenReturn(DaySchedule.of(Collections.emptyList()));
+
+        AvailabilityRequest req = new AvailabilityRequest();
+        req.setDate("2025-11-16");
+        req.setZone("AUH");
+
+        AvailabilityResponse res = service.checkAvailability(req);
+
+        assertEquals(1, res.getCount());
+        assertEquals(7L, res.getAvailableVehicles().get(0).getVehicleId());
+        verify(fleetRegistry, never()).zone("DXB");
+    }
+
+    @Test
+    void testCheckAvailability_ReusesResultUntilVersionBumpedOrFleetReloaded() {
+        Vehicle v = new Vehicle();
+        v.setId(1L);
+        v.setName("Car");
+
+        CleanerProfessional c = new CleanerProfessional(10L, "Ayesha", v);
+
+        when(fleetRegistry.zone("DXB")).thenReturn(ZoneFleet.of("DXB", List.of(v), List.of(c)));
+        when(scheduleCache.day(any(), any())).thenReturn(DaySchedule.of(Collections.emptyList()));
+
+        AvailabilityRequest req = new AvailabilityRequest();
+        req.setDate("2025-11-16");
+        req.setZone("DXB");
+
+        String etag = service.checkAvailabilityWithETag(req).etag();
+        AvailabilityResponse first = service.checkAvailability(req);
+        AvailabilityResponse second = service.checkAvailability(req);
+
+        // one computation, but every caller gets its own copy
+        assertNotSame(first, second);
+        assertEquals(first, second);
+        first.getAvailableVehicles().clear();
+        assertEquals(1, service.checkAvailability(req).getAvailableVehicles().size());
+        assertEquals(etag, service.checkAvailabilityWithETag(req).etag());
+        verify(scheduleCache, times(1)).day(any(), any());
+
+        // a new version recomputes; the tag follows the content, not the version
+        scheduleVersions.bump(ZoneDay.of("DXB", LocalDate.parse("2025-11-16")));
+        assertEquals(etag, service.checkAvailabilityWithETag(req).etag());
+        verify(scheduleCache, times(2)).day(any(), any());
+
+        AvailabilityBlock booked = new AvailabilityBlock();
+        booked.setCleanerId(10L);
+        booked.setStartDatetime(LocalDate.parse("2025-11-16").atTime(10, 0));
+        booked.setEndDatetime(LocalDate.parse("2025-11-16").atTime(12, 0));
+        booked.setBlockType("BOOKED");
+        when(scheduleCache.day(any(), any())).thenReturn(DaySchedule.of(List.of(booked)));
+        scheduleVersions.bump(ZoneDay.of("DXB", LocalDate.parse("2025-11-16")));
+        String booked1 = service.checkAvailabilityWithETag(req).etag();
+        assertNotEquals(etag, booked1);
+
+        // a reloaded fleet is a new snapshot: recomputed without any version change
+        when(fleetRegistry.zone("DXB")).thenReturn(ZoneFleet.of("DXB", List.of(v), List.of()));
+        assertEquals(0, service.checkAvailability(req).getCount());
+        assertNotEquals(booked1, service.checkAvailabilityWithETag(req).etag());
+    }
+
+    @Test
+    void testCheckAvailability_FiltersAndPagesWithNarrowedLoad() {
+        List<Vehicle> vehicles = new ArrayList<>();
+        List<CleanerProfessional> cleaners = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            Vehicle v = new Vehicle();
+            v.setId(id);
+            v.setName("Car " + id);
+            vehicles.add(v);
+            cleaners.add(new CleanerProfessional(id * 10, "A" + id, v));
+            cleaners.add(new CleanerProfessional(id * 10 + 1, "B" + id, v));
+        }
+        ZoneFleet fleet = ZoneFleet.of("DXB", vehicles, cleaners);
+        LocalDate date = LocalDate.parse("2025-11-16");
+        when(fleetRegistry.zone(null)).thenReturn(fleet);
+        when(scheduleCache.day(eq(fleet), eq(date), anyCollection())).thenReturn(DaySchedule.of(Collections.emptyList()));
+
+        AvailabilityRequest req = new AvailabilityRequest();
+        req.setDate("2025-11-16");
+        req.setCleanerIds(List.of(10L, 30L, 31L));
+        req.setPageSize(2);
+
+        AvailabilityResponse first = service.checkAvailability(req);
+
+        assertEquals(1, first.getCount());
+        assertEquals(List.of(10L), first.getAvailableVehicles().get(0).getCleaners().stream()
+                .map(AvailabilityResponse.CleanerAvailability::getCleanerId).toList());
+        assertNotNull(first.getNextCursor());
+        verify(scheduleCache).day(fleet, date, List.of(10L));
+
+        req.setCursor(first.getNextCursor());
+        AvailabilityResponse second = service.checkAvailability(req);
+
+        assertEquals(3L, second.getAvailableVehicles().get(0).getVehicleId());
+        assertEquals(2, second.getAvailableVehicles().get(0).getCleaners().size());
+        assertNull(second.getNextCursor());
+        verify(scheduleCache).day(fleet, date, List.of(30L, 31L));
+        verify(scheduleCache, never()).day(any(), any());
+    }
+
+    @Test
+    void testCheckAvailability_MinFreeMinutesDropsShortSlots() {
+        Vehicle v = new Vehicle();
+        v.setId(1L);
+        v.setName("Car");
+        CleanerProfessional c = new CleanerProfessional(10L, "Ayesha", v);
+
+        AvailabilityBlock booked = new AvailabilityBlock();
+        booked.setCleanerId(10L);
+        booked.setStartDatetime(Timestamp.valueOf("2025-11-16 09:00:00").toLocalDateTime());
+        booked.setEndDatetime(Timestamp.valueOf("2025-11-16 21:00:00").toLocalDateTime());
+        booked.setBlockType("BOOKED");
+
+        when(fleetRegistry.zone(null)).thenReturn(ZoneFleet.of("DXB", List.of(v), List.of(c)));
+        when(scheduleCache.day(any(), any())).thenReturn(DaySchedule.of(List.of(booked)));
+
+        AvailabilityRequest req = new AvailabilityRequest();
+        req.setDate("2025-11-16");
+        req.setMinFreeMinutes(60);
+        assertEquals(List.of("08:00-09:00", "21:00-22:00"),
+                service.checkAvailability(req).getAvailableVehicles().get(0).getCleaners().get(0).getAvailableSlots());
+
+        req.setMinFreeMinutes(90);
+        assertEquals(0, service.checkAvailability(req).getCount());
+    }
+
+    @Test
+    void testCheckAvailability_RejectsForgedCursor() {
+        when(fleetRegistry.zone(null)).thenReturn(ZoneFleet.of("DXB", List.of(), List.of(
+                new CleanerProfessional(10L, "Ayesha", new Vehicle()))));
+
+        AvailabilityRequest req = new AvailabilityRequest();
+        req.setDate("2025-11-16");
+        req.setCursor("not-a-cursor");
+
+        assertThrows(IllegalArgumentException.class, () -> service.checkAvailability(req));
+    }
+
     @Test
     void testCalculateFreeSlots() {
 
@@ -0,0 +1,132 @@
+package com.cleaning.bookingservice.service;
+
+import com.cleaning.bookingservice.dto.response.BookingAlternative;
+import com.cleaning.bookingservice.entity.CleanerProfessional;
+import com.cleaning.bookingservice.entity.Vehicle;
+import com.cleaning.bookingservice.fleet.ZoneFleet;
+import com.cleaning.bookingservice.schedule.ScheduleCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingAlternativesTest {
+
+    // a Thursday: the next day is a Friday
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 10);
+
+    @Mock
+    private ScheduleCache scheduleCache;
+
+    private ZoneFleet fleet;
+    private BookingAlternatives alternatives;
+
+    @BeforeEach
+    void setUp() {
+        Vehicle v1 = vehicle(1);
+        Vehicle v2 = vehicle(2);
+        fleet = ZoneFleet.of("DXB", List.of(v1, v2),
+                List.of(cleaner(1, v1), cleaner(2, v1), cleaner(3, v2), cleaner(4, v2)));
+        alternatives = new BookingAlternatives(scheduleCache, 3, 30, 1);
+    }
+
+    @Test
+    void offersTheNearestTimesOnTheFirstVehicleWithAFreeTeam() {
+        // vehicle 1 is busy 10:00-14:00, vehicle 2 09:00-13:00
+        when(scheduleCache.freeCleaners(eq(fleet), anyLong(), any(), any())).thenAnswer(call -> {
+            Long vehicleId = call.getArgument(1);
+            LocalDateTime start = call.getArgument(2);
+            LocalDateTime end = call.getArgument(3);
+            boolean busy = vehicleId == 1
+                    ? start.isBefore(DAY.atTime(14, 0)) && end.isAfter(DAY.atTime(10, 0))
+                    : start.isBefore(DAY.atTime(13, 0)) && end.isAfter(DAY.atTime(9, 0));
+            return busy ? List.of() : fleet.cleanersOf(vehicleId);
+        });
+
+        List<BookingAlternative> found = alternatives.nearest(fleet, List.of(1L),
+                DAY.atTime(11, 0), DAY.atTime(13, 0), 2);
+
+        assertEquals(3, found.size());
+        assertEquals(DAY.atTime(13, 0), found.get(0).getStartDatetime());
+        assertEquals(DAY.atTime(15, 0), found.get(0).getEndDatetime());
+        assertEquals(2L, found.get(0).getVehicleId());
+        assertEquals(2, found.get(0).getFreeCleanerCount());
+        assertEquals(DAY.atTime(13, 30), found.get(1).getStartDatetime());
+        assertEquals(2L, found.get(1).getVehicleId());
+        assertEquals(DAY.atTime(8, 0), found.get(2).getStartDatetime());
+        assertEquals(1L, found.get(2).getVehicleId());
+    }
+
+    @Test
+    void fullDayFallsBackToNeighbouringWorkingDays() {
+        when(scheduleCache.freeCleaners(eq(fleet), anyLong(), any(), any())).thenAnswer(call -> {
+            LocalDateTime start = call.getArgument(2);
+            return start.toLocalDate().equals(DAY) ? List.of() : fleet.cleanersOf(call.getArgument(1));
+        });
+
+        List<BookingAlternative> found = alternatives.nearest(fleet, List.of(1L, 2L),
+                DAY.atTime(10, 0), DAY.atTime(14, 0), 1);
+
+        assertEquals(List.of(DAY.minusDays(1).atTime(10, 0), DAY.minusDays(1).atTime(9, 30),
+                DAY.minusDays(1).atTime(10, 30)), found.stream().map(BookingAlternative::getStartDatetime).toList());
+        verify(scheduleCache, never()).freeCleaners(eq(fleet), anyLong(),
+                argThat(t -> t.toLocalDate().equals(DAY.plusDays(1))), any());
+    }
+
+    @Test
+    void teamLargerThanAnyVehicleGetsNoAlternatives() {
+        assertTrue(alternatives.nearest(fleet, List.of(1L, 2L), DAY.atTime(10, 0), DAY.atTime(12, 0), 3).isEmpty());
+        verifyNoInteractions(scheduleCache);
+    }
+
+    @Test
+    void slotsThatHaveStartedAreNotOffered() {
+        Clock quarterPastEleven = Clock.fixed(DAY.atTime(11, 15).atZone(ZoneId.systemDefault()).toInstant(),
+                ZoneId.systemDefault());
+        alternatives = new BookingAlternatives(scheduleCache, 3, 30, 1, quarterPastEleven);
+        // vehicle 1 is busy 12:00-14:00, vehicle 2 all day
+        when(scheduleCache.freeCleaners(eq(fleet), anyLong(), any(), any())).thenAnswer(call -> {
+            Long vehicleId = call.getArgument(1);
+            LocalDateTime start = call.getArgument(2);
+            LocalDateTime end = call.getArgument(3);
+            boolean busy = vehicleId == 2
+                    || start.isBefore(DAY.atTime(14, 0)) && end.isAfter(DAY.atTime(12, 0));
+            return busy ? List.of() : fleet.cleanersOf(vehicleId);
+        });
+
+        List<BookingAlternative> found = alternatives.nearest(fleet, List.of(1L),
+                DAY.atTime(12, 0), DAY.atTime(14, 0), 2);
+
+        // 10:00 and the day before were nearer, but are past; the day after is a Friday
+        assertEquals(List.of(DAY.atTime(14, 0), DAY.atTime(14, 30), DAY.atTime(15, 0)),
+                found.stream().map(BookingAlternative::getStartDatetime).toList());
+        verify(scheduleCache, never()).freeCleaners(any(), anyLong(), argThat(t -> t.isBefore(DAY.atTime(11, 15))), any());
+    }
+
+    private static Vehicle vehicle(long id) {
+        Vehicle v = new Vehicle();
+        v.setId(id);
+        v.setName("Vehicle " + id);
+        return v;
+    }
+
+    private static CleanerProfessional cleaner(long id, Vehicle vehicle) {
+        CleanerProfessional c = new CleanerProfessional();
+        c.setId(id);
+        c.setName("Cleaner " + id);
+        c.setVehicle(vehicle);
+        return c;
+    }
+}
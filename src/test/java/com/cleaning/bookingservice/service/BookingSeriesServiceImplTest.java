@@ -0,0 +1,144 @@
+package com.cleaning.bookingservice.service;
+
+import com.cleaning.bookingservice.dto.request.CreateBookingRequest;
+import com.cleaning.bookingservice.dto.request.CreateBookingSeriesRequest;
+import com.cleaning.bookingservice.dto.response.BookingResponse;
+import com.cleaning.bookingservice.dto.response.BookingSeriesResponse;
+import com.cleaning.bookingservice.exception.BookingConflictException;
+import com.cleaning.bookingservice.fleet.FleetRegistry;
+import com.cleaning.bookingservice.fleet.ZoneFleet;
+import com.cleaning.bookingservice.schedule.ScheduleCache;
+import com.cleaning.bookingservice.schedule.ScheduleStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "booking.warmup.enabled=false",
+        "spring.flyway.locations=classpath:db/migration,classpath:db/dev-data",
+        "booking.series.materialize-interval-ms=3600000"
+})
+@ActiveProfiles("embedded")
+class BookingSeriesServiceImplTest {
+
+    // Mondays, 2030-02-11 .. 2031-02-03
+    private static final LocalDate MONDAY = LocalDate.of(2030, 2, 11);
+    // Wednesdays, 2030-02-13 .. 2030-08-07
+    private static final LocalDate WEDNESDAY = LocalDate.of(2030, 2, 13);
+
+    @Autowired
+    private BookingSeriesServiceImpl seriesService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ScheduleStore scheduleStore;
+
+    @Autowired
+    private ScheduleCache scheduleCache;
+
+    @Autowired
+    private FleetRegistry fleetRegistry;
+
+    @Test
+    void yearLongSeriesHoldsItsTeamAndIsBookedAsTheHorizonMoves() {
+        ZoneFleet fleet = fleetRegistry.zone("DXB");
+        BookingSeriesResponse series = seriesService.createSeries(series(MONDAY, "18:00", 2, 52, null));
+
+        // far beyond the horizon: nothing is written but the rule
+        assertEquals(52, series.getOccurrenceCount());
+        assertEquals(MONDAY.plusWeeks(51), series.getLastDate());
+        assertTrue(series.getBookingIds().isEmpty());
+        assertTrue(scheduleStore.findBlocksBetween(series.getAssignedCleanerIds(),
+                MONDAY.atStartOfDay(), series.getLastDate().plusDays(1).atStartOfDay()).isEmpty());
+
+        // yet every occurrence is taken, in the cache and for new bookings
+        LocalDate later = MONDAY.plusWeeks(39);
+        Long cleanerId = series.getAssignedCleanerIds().get(0);
+        assertTrue(scheduleCache.hasOverlap(fleet, cleanerId, later.atTime(19, 0), later.atTime(20, 0)));
+        assertTrue(scheduleCache.hasOverlap(fleet, cleanerId, later.atTime(20, 0), later.atTime(20, 30)));
+        BookingResponse booking = bookingService.createBooking(booking(later, "18:00", 3, series.getAssignedVehicleId()));
+        assertTrue(Collections.disjoint(series.getAssignedCleanerIds(), booking.getAssignedCleanerIds()));
+        assertThrows(BookingConflictException.class,
+                () -> bookingService.createBooking(booking(later, "19:00", 1, series.getAssignedVehicleId())));
+
+        LocalDate skipped = MONDAY.plusWeeks(3);
+        scheduleCache.preload(fleet, skipped, 1);
+        seriesService.skipOccurrence(series.getSeriesId(), skipped);
+        assertFalse(scheduleCache.hasOverlap(fleet, cleanerId, skipped.atTime(18, 0), skipped.atTime(20, 0)));
+        assertThrows(IllegalArgumentException.class,
+                () -> seriesService.skipOccurrence(series.getSeriesId(), MONDAY.plusDays(1)));
+
+        // the horizon reaches the first three occurrences
+        scheduleCache.preload(fleet, MONDAY.plusWeeks(1), 1);
+        assertEquals(3, seriesService.materialize(series.getSeriesId(), MONDAY.plusWeeks(2)));
+        assertEquals(12, scheduleStore.findBlocksBetween(series.getAssignedCleanerIds(),
+                MONDAY.atStartOfDay(), MONDAY.plusWeeks(3).atStartOfDay()).size());
+        assertTrue(scheduleCache.hasOverlap(fleet, cleanerId, MONDAY.plusWeeks(1).atTime(18, 0),
+                MONDAY.plusWeeks(1).atTime(19, 0)));
+        assertEquals(0, seriesService.materialize(series.getSeriesId(), MONDAY.plusWeeks(2)));
+        assertThrows(BookingConflictException.class,
+                () -> seriesService.skipOccurrence(series.getSeriesId(), MONDAY.plusWeeks(1)));
+    }
+
+    @Test
+    void seriesIsCheckedAgainstEveryOccurrenceAtOnce() {
+        ZoneFleet fleet = fleetRegistry.zone("DXB");
+        Long vehicleId = fleet.getVehicles().get(fleet.getVehicles().size() - 1).getId();
+        LocalDate clash = WEDNESDAY.plusWeeks(12);
+        BookingResponse booking = bookingService.createBooking(booking(clash, "11:00", 3, vehicleId));
+
+        CreateBookingSeriesRequest threeCleaners = series(WEDNESDAY, "10:00", 3, null, WEDNESDAY.plusWeeks(25));
+        threeCleaners.setPreferredVehicleId(vehicleId);
+        BookingConflictException conflict = assertThrows(BookingConflictException.class,
+                () -> seriesService.createSeries(threeCleaners));
+        assertTrue(conflict.getMessage().contains(clash.toString()), conflict.getMessage());
+
+        // a smaller team is found around the booking...
+        CreateBookingSeriesRequest twoCleaners = series(WEDNESDAY, "10:00", 2, null, WEDNESDAY.plusWeeks(25));
+        twoCleaners.setPreferredVehicleId(vehicleId);
+        BookingSeriesResponse two = seriesService.createSeries(twoCleaners);
+        assertEquals(26, two.getOccurrenceCount());
+        assertTrue(Collections.disjoint(two.getAssignedCleanerIds(), booking.getAssignedCleanerIds()));
+
+        // ...and with the clashing occurrence left out, the booked cleaners take the rest
+        threeCleaners.setExcludedDates(List.of(clash.toString()));
+        BookingSeriesResponse three = seriesService.createSeries(threeCleaners);
+        assertEquals(25, three.getOccurrenceCount());
+        assertEquals(Set.copyOf(booking.getAssignedCleanerIds()), Set.copyOf(three.getAssignedCleanerIds()));
+        assertThrows(BookingConflictException.class, () -> seriesService.createSeries(twoCleaners));
+    }
+
+    private static CreateBookingSeriesRequest series(LocalDate start, String time, int cleaners,
+                                                     Integer occurrences, LocalDate until) {
+        CreateBookingSeriesRequest request = new CreateBookingSeriesRequest();
+        request.setStartDate(start.toString());
+        request.setStartTime(time);
+        request.setDurationHours(2);
+        request.setRequestedCleanerCount(cleaners);
+        request.setOccurrences(occurrences);
+        request.setUntilDate(until == null ? null : until.toString());
+        request.setZone("DXB");
+        return request;
+    }
+
+    private static CreateBookingRequest booking(LocalDate date, String time, int cleaners, Long vehicleId) {
+        CreateBookingRequest request = new CreateBookingRequest();
+        request.setDate(date.toString());
+        request.setStartTime(time);
+        request.setDurationHours(2);
+        request.setRequestedCleanerCount(cleaners);
+        request.setPreferredVehicleId(vehicleId);
+        request.setZone("DXB");
+        return request;
+    }
+}
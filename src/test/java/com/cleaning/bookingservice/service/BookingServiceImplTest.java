@@ -6,13 +6,23 @@ import com.cleaning.bookingservice.dto.response.AvailabilityResponse;
 import com.cleaning.bookingservice.dto.response.BookingResponse;
 import com.cleaning.bookingservice.dto.response.UpdateBookingResponse;
 import com.cleaning.bookingservice.entity.*;
+import com.cleaning.bookingservice.fleet.FleetRegistry;
+import com.cleaning.bookingservice.fleet.ZoneFleet;
+import com.cleaning.bookingservice.metrics.BookingMetrics;
+import com.cleaning.bookingservice.outbox.BookingOutbox;
 import com.cleaning.bookingservice.repository.*;
+import com.cleaning.bookingservice.schedule.ScheduleCache;
+import com.cleaning.bookingservice.schedule.ScheduleChangeLog;
+import com.cleaning.bookingservice.schedule.BookingSeriesCalendar;
+import com.cleaning.bookingservice.schedule.ScheduleStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
@@ -36,16 +46,33 @@ class BookingServiceImplTest {
     private BookingCleanerRepository bookingCleanerRepository;
 
     @Mock
-    private CleanerRepository cleanerRepository;
+    private FleetRegistry fleetRegistry;
 
     @Mock
-    private VehicleRepository vehicleRepository;
+    private ScheduleCache scheduleCache;
+
+    @Mock
+    private ScheduleChangeLog scheduleChangeLog;
+
+    @Mock
+    private BookingOutbox bookingOutbox;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private BookingMetrics bookingMetrics = new BookingMetrics(meterRegistry);
 
     @Mock
     private BookingRepository bookingRepository;
 
     @Mock
-    private AvailabilityBlockRepository availabilityBlockRepository;
+    private ScheduleStore scheduleStore;
+
+    @Mock
+    private BookingSeriesCalendar seriesCalendar;
+
+    @Mock
+    private BookingAlternatives bookingAlternatives;
 
 
     private Vehicle vehicle(long id) {
@@ -63,6 +90,10 @@ class BookingServiceImplTest {
         return c;
     }
 
+    private ZoneFleet fleet(List<Vehicle> vehicles, List<CleanerProfessional> cleaners) {
+        return ZoneFleet.of("DXB", vehicles, cleaners);
+    }
+
     private BookingCleaner bookingCleaner(Booking booking, CleanerProfessional cleaner) {
         BookingCleaner bc = new BookingCleaner();
         bc.setId(1L);
@@ -89,8 +120,8 @@ class BookingServiceImplTest {
         CleanerProfessional c1 = cleaner(1, 1);
         CleanerProfessional c2 = cleaner(2, 1);
 
-        when(vehicleRepository.findAll()).thenReturn(List.of(v1));
-        when(cleanerRepository.findByVehicle_Id(1L)).thenReturn(List.of(c1, c2));
+        when(fleetRegistry.zone(null)).thenReturn(fleet(List.of(v1), List.of(c1, c2)));
+        when(scheduleCache.freeCleaners(any(), eq(1L), any(), any())).thenReturn(List.of(c1, c2));
 
         Booking saved = new Booking();
         saved.setId(100L);
@@ -124,13 +155,14 @@ class BookingServiceImplTest {
 
         Vehicle v1 = vehicle(1);
 
-        when(vehicleRepository.findAll()).thenReturn(List.of(v1));
-        when(cleanerRepository.findByVehicle_Id(1L)).thenReturn(List.of());
+        when(fleetRegistry.zone(null)).thenReturn(fleet(List.of(v1), List.of()));
 
         RuntimeException ex = assertThrows(RuntimeException.class,
                 () -> bookingService.createBooking(req));
 
         assertEquals("No available team found for requested time and cleaner count", ex.getMessage());
+        assertEquals(1, meterRegistry.get("booking.conflicts").tag("reason", "no_team").counter().count());
+        assertEquals(1, meterRegistry.get("booking.scan.vehicles").tag("operation", "create_booking").summary().totalAmount());
     }
 
     @Test
@@ -172,8 +204,7 @@ class BookingServiceImplTest {
 
         Vehicle v1 = vehicle(1);
 
-        when(vehicleRepository.findAll()).thenReturn(List.of(v1));
-        when(cleanerRepository.findByVehicle_Id(1L)).thenReturn(List.of(cleaner(1, 1)));
+        when(fleetRegistry.zone(null)).thenReturn(fleet(List.of(v1), List.of(cleaner(1, 1))));
 
         RuntimeException ex = assertThrows(RuntimeException.class,
                 () -> bookingService.createBooking(req));
@@ -194,8 +225,7 @@ class BookingServiceImplTest {
         CleanerProfessional c1 = cleaner(1, 1);
         CleanerProfessional c2 = cleaner(2, 1);
 
-        when(vehicleRepository.findAll()).thenReturn(List.of(v1));
-        when(cleanerRepository.findByVehicle_Id(1L)).thenReturn(List.of(c1, c2));
+        when(fleetRegistry.zone(null)).thenReturn(fleet(List.of(v1), List.of(c1, c2)));
 
         // Create busy block for cleaner 1
         AvailabilityBlock busy = new AvailabilityBlock();
@@ -204,6 +234,8 @@ class BookingServiceImplTest {
         busy.setStartDatetime(LocalDateTime.of(2025, 11, 16, 10, 0));
         busy.setEndDatetime(LocalDateTime.of(2025, 11, 16, 12, 0));
         busy.setBlockType("BOOKED");
+        when(scheduleCache.freeCleaners(any(), eq(1L), eq(busy.getStartDatetime()), eq(busy.getEndDatetime())))
+                .thenReturn(List.of(c2));
 
         Booking saved = new Booking();
         saved.setId(200L);
@@ -224,6 +256,27 @@ class BookingServiceImplTest {
     }
 
 
+    @Test
+    void testCreateBooking_PreferredVehicleOutsideZone() {
+
+        CreateBookingRequest req = new CreateBookingRequest();
+        req.setDate("2025-11-16");
+        req.setStartTime("10:00");
+        req.setDurationHours(2);
+        req.setRequestedCleanerCount(1);
+        req.setZone("AUH");
+        req.setPreferredVehicleId(1L);
+
+        Vehicle auh = vehicle(7);
+        when(fleetRegistry.zone("AUH")).thenReturn(ZoneFleet.of("AUH", List.of(auh), List.of()));
+
+        RuntimeException ex = assertThrows(IllegalArgumentException.class,
+                () -> bookingService.createBooking(req));
+
+        assertEquals("Vehicle 1 does not belong to zone AUH", ex.getMessage());
+    }
+
+
     // ---------------------------------------------------------------
 // UPDATE BOOKING TESTS
 // ---------------------------------------------------------------
@@ -299,7 +352,7 @@ class BookingServiceImplTest {
 
 
         // REAL overlap check → cleaner is actually busy
-        when(availabilityBlockRepository.hasOverlapExcludingBooking(
+        when(scheduleStore.hasOverlapExcludingBooking(
                 eq(1L),                               // cleanerId
                 eq(60L),
                 any(LocalDateTime.class),
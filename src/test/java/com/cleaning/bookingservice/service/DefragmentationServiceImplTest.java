@@ -0,0 +1,153 @@
+package com.cleaning.bookingservice.service;
+
+import com.cleaning.bookingservice.dto.request.CreateBookingRequest;
+import com.cleaning.bookingservice.dto.request.DefragmentationRequest;
+import com.cleaning.bookingservice.dto.response.BookingResponse;
+import com.cleaning.bookingservice.dto.response.DefragmentationPlan;
+import com.cleaning.bookingservice.entity.CleanerProfessional;
+import com.cleaning.bookingservice.entity.Vehicle;
+import com.cleaning.bookingservice.exception.BookingConflictException;
+import com.cleaning.bookingservice.fleet.FleetRegistry;
+import com.cleaning.bookingservice.fleet.ZoneFleet;
+import com.cleaning.bookingservice.repository.CleanerRepository;
+import com.cleaning.bookingservice.repository.VehicleRepository;
+import com.cleaning.bookingservice.schedule.ScheduleCache;
+import com.cleaning.bookingservice.schedule.ScheduleStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "booking.warmup.enabled=false",
+        "spring.flyway.locations=classpath:db/migration,classpath:db/dev-data"
+})
+@ActiveProfiles("embedded")
+class DefragmentationServiceImplTest {
+
+    private static final LocalDate DAY = LocalDate.of(2031, 3, 4);
+
+    @Autowired
+    private DefragmentationService defragmentationService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ScheduleStore scheduleStore;
+
+    @Autowired
+    private ScheduleCache scheduleCache;
+
+    @Autowired
+    private FleetRegistry fleetRegistry;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private CleanerRepository cleanerRepository;
+
+    @Test
+    void planMovesABookingIntoAGapAndAppliesOnce() {
+        ZoneFleet fleet = fleetRegistry.zone("DXB");
+        Long vehicleId = fleet.getVehicles().get(0).getId();
+        BookingResponse first = bookingService.createBooking(booking("08:00", vehicleId));
+        BookingResponse second = bookingService.createBooking(booking("10:00", vehicleId));
+        BookingResponse third = bookingService.createBooking(booking("12:30", vehicleId));
+        // first fit put the third booking back on the first cleaner, leaving a 2-hour hole on each
+        assertEquals(first.getAssignedCleanerIds(), third.getAssignedCleanerIds());
+        Long target = second.getAssignedCleanerIds().get(0);
+
+        DefragmentationPlan plan = defragmentationService.plan(request());
+        assertTrue(plan.getCompleted());
+        assertEquals(240, plan.getFragmentedMinutesBefore());
+        assertEquals(120, plan.getFragmentedMinutesAfter());
+        assertEquals(1, plan.getMoves().size());
+        DefragmentationPlan.Move move = plan.getMoves().get(0);
+        assertEquals(third.getBookingId(), move.getBookingId());
+        assertEquals(third.getAssignedCleanerIds(), move.getFromCleanerIds());
+        assertEquals(List.of(target), move.getToCleanerIds());
+        assertEquals(vehicleId, move.getToVehicleId());
+
+        // the vehicle must be the one the cleaners belong to
+        DefragmentationPlan otherVehicle = copyOf(plan);
+        otherVehicle.getMoves().get(0).setToVehicleId(fleet.getVehicles().get(1).getId());
+        assertThrows(IllegalArgumentException.class, () -> defragmentationService.apply(otherVehicle));
+
+        // and the booking must be in the plan's zone, on the plan's day
+        Vehicle auh = new Vehicle();
+        auh.setName("AUH-Vehicle-201");
+        auh.setZone("AUH");
+        vehicleRepository.save(auh);
+        CleanerProfessional auhCleaner = cleanerRepository.save(new CleanerProfessional(null, "Omar", auh));
+        try {
+            DefragmentationPlan otherZone = copyOf(plan);
+            otherZone.setZone("AUH");
+            otherZone.getMoves().get(0).setToCleanerIds(List.of(auhCleaner.getId()));
+            otherZone.getMoves().get(0).setToVehicleId(null);
+            assertThrows(IllegalArgumentException.class, () -> defragmentationService.apply(otherZone));
+        } finally {
+            cleanerRepository.delete(auhCleaner);
+            vehicleRepository.delete(auh);
+            fleetRegistry.reload("AUH");
+        }
+        DefragmentationPlan otherDay = copyOf(plan);
+        otherDay.setDate(DAY.plusDays(1).toString());
+        assertThrows(IllegalArgumentException.class, () -> defragmentationService.apply(otherDay));
+
+        scheduleCache.preload(fleet, DAY, 1);
+        assertTrue(defragmentationService.apply(plan).getApplied());
+
+        Long freed = third.getAssignedCleanerIds().get(0);
+        assertTrue(scheduleStore.findBlocksBetween(List.of(freed), DAY.atTime(12, 0), DAY.atTime(23, 0)).isEmpty());
+        assertEquals(2, scheduleStore.findBlocksBetween(List.of(target), DAY.atTime(12, 30), DAY.atTime(15, 0)).size());
+        assertFalse(scheduleCache.hasOverlap(fleet, freed, DAY.atTime(12, 30), DAY.atTime(15, 0)));
+        assertTrue(scheduleCache.hasOverlap(fleet, target, DAY.atTime(12, 30), DAY.atTime(15, 0)));
+
+        // the day is already compact, and the old plan no longer matches
+        assertTrue(defragmentationService.plan(request()).getMoves().isEmpty());
+        assertThrows(BookingConflictException.class, () -> defragmentationService.apply(plan));
+    }
+
+    private static DefragmentationPlan copyOf(DefragmentationPlan plan) {
+        DefragmentationPlan copy = new DefragmentationPlan();
+        copy.setDate(plan.getDate());
+        copy.setZone(plan.getZone());
+        for (DefragmentationPlan.Move move : plan.getMoves()) {
+            DefragmentationPlan.Move m = new DefragmentationPlan.Move();
+            m.setBookingId(move.getBookingId());
+            m.setStartDatetime(move.getStartDatetime());
+            m.setEndDatetime(move.getEndDatetime());
+            m.setFromCleanerIds(move.getFromCleanerIds());
+            m.setToCleanerIds(move.getToCleanerIds());
+            m.setToVehicleId(move.getToVehicleId());
+            copy.getMoves().add(m);
+        }
+        return copy;
+    }
+
+    private static DefragmentationRequest request() {
+        DefragmentationRequest request = new DefragmentationRequest();
+        request.setDate(DAY.toString());
+        request.setZone("DXB");
+        request.setTimeBudgetMs(2000L);
+        return request;
+    }
+
+    private static CreateBookingRequest booking(String time, Long vehicleId) {
+        CreateBookingRequest request = new CreateBookingRequest();
+        request.setDate(DAY.toString());
+        request.setStartTime(time);
+        request.setDurationHours(2);
+        request.setRequestedCleanerCount(1);
+        request.setPreferredVehicleId(vehicleId);
+        request.setZone("DXB");
+        return request;
+    }
+}
@@ -0,0 +1,82 @@
+package com.cleaning.bookingservice.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "booking.warmup.enabled=false",
+        "spring.flyway.locations=classpath:db/migration,classpath:db/dev-data",
+        "management.tracing.sampling.probability=1.0",
+        "booking.tracing.export-file=target/test-spans/request-tracing.jsonl"
+})
+@ActiveProfiles("embedded")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(metrics = false)
+class RequestTracingTest {
+
+    private static final Path SPANS = Path.of("target/test-spans/request-tracing.jsonl");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void bookingRequestIsTracedThroughPhasesAndRepositoryCalls() throws Exception {
+        mockMvc.perform(post("/api/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            { "date": "2030-01-09", "startTime": "10:00", "durationHours": 2,
+                              "requestedCleanerCount": 2, "zone": "DXB" }
+                            """))
+                .andExpect(status().isOk());
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+
+        List<JsonNode> spans = new ArrayList<>();
+        for (String line : Files.readAllLines(SPANS)) {
+            spans.add(mapper.readTree(line));
+        }
+
+        JsonNode request = find(spans, "http post /api/bookings");
+        assertEquals("2", request.at("/attributes/cleaner.count").asText());
+        assertFalse(request.at("/attributes/booking.id").isMissingNode());
+
+        JsonNode teamSearch = find(spans, "booking.find_available_cleaners");
+        assertEquals(request.get("spanId").asText(), teamSearch.get("parentSpanId").asText());
+        assertFalse(teamSearch.at("/attributes/vehicle.id").isMissingNode());
+
+        JsonNode overlapCheck = find(spans, "AvailabilityBlockRepository.hasOverlap");
+        assertEquals(request.get("traceId").asText(), overlapCheck.get("traceId").asText());
+        assertFalse(overlapCheck.at("/attributes/cleaner.id").isMissingNode());
+        assertEquals("false", overlapCheck.at("/attributes/db.result").asText());
+    }
+
+    private static JsonNode find(List<JsonNode> spans, String name) {
+        return spans.stream()
+                .filter(s -> name.equals(s.get("name").asText()))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new AssertionError("No span named " + name + " in " + spans));
+    }
+}
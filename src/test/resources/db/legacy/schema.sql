@@ -0,0 +1,65 @@
+-- ============================================================
+-- PRE-FLYWAY SCHEMA
+-- The tables src/main/resources/schema.sql left behind before zones
+-- were introduced, with its conditional ALTERs already applied (H2
+-- cannot run the PREPARE/EXECUTE guards). LegacySchemaMigrationTest
+-- baselines a database built from it and migrates it forward.
+-- ============================================================
+CREATE TABLE vehicle (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE cleaner_professional (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    vehicle_id BIGINT NOT NULL,
+    FOREIGN KEY (vehicle_id) REFERENCES vehicle(id)
+        ON DELETE CASCADE
+);
+
+CREATE TABLE booking (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    start_datetime DATETIME NOT NULL,
+    end_datetime DATETIME NOT NULL,
+    duration_in_hours INT NOT NULL,
+    requested_cleaner_count INT NOT NULL
+);
+
+CREATE TABLE booking_cleaner (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    booking_id BIGINT NOT NULL,
+    cleaner_id BIGINT NOT NULL,
+    FOREIGN KEY (booking_id) REFERENCES booking(id)
+        ON DELETE CASCADE,
+    FOREIGN KEY (cleaner_id) REFERENCES cleaner_professional(id)
+        ON DELETE CASCADE
+);
+
+ALTER TABLE booking_cleaner ADD CONSTRAINT uq_booking_cleaner UNIQUE (booking_id, cleaner_id);
+
+CREATE TABLE availability_blocks (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    cleaner_id BIGINT NOT NULL,
+    start_datetime DATETIME NOT NULL,
+    end_datetime DATETIME NOT NULL,
+    block_type VARCHAR(20) NOT NULL,
+    booking_id BIGINT NULL,
+    FOREIGN KEY (cleaner_id) REFERENCES cleaner_professional(id)
+        ON DELETE CASCADE
+);
+
+ALTER TABLE availability_blocks
+    ADD CONSTRAINT fk_block_booking
+    FOREIGN KEY (booking_id) REFERENCES booking(id)
+    ON DELETE CASCADE;
+
+ALTER TABLE availability_blocks
+    ADD CONSTRAINT uq_cleaner_block
+    UNIQUE (cleaner_id, start_datetime, end_datetime, block_type);
+
+-- a little of what the old data.sql seeded, plus a booking made before zones
+INSERT INTO vehicle (name) VALUES ('DXB-Vehicle-101');
+INSERT INTO cleaner_professional (name, vehicle_id) VALUES ('Ayesha', 1);
+INSERT INTO booking (start_datetime, end_datetime, duration_in_hours, requested_cleaner_count)
+VALUES ('2025-11-16 10:00:00', '2025-11-16 12:00:00', 2, 1);